@@ -5,6 +5,7 @@ import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.ClassFileVersion;
 import net.bytebuddy.asm.Advice;
 import net.bytebuddy.asm.AsmVisitorWrapper;
+import net.bytebuddy.build.CachedReturnPlugin;
 import net.bytebuddy.build.EntryPoint;
 import net.bytebuddy.build.HashCodeAndEqualsPlugin;
 import net.bytebuddy.build.Plugin;
@@ -43,8 +44,11 @@ import net.bytebuddy.implementation.bytecode.member.FieldAccess;
 import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
 import net.bytebuddy.implementation.bytecode.member.MethodReturn;
 import net.bytebuddy.implementation.bytecode.member.MethodVariableAccess;
+import net.bytebuddy.matcher.ConstantPoolConstraint;
 import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.matcher.LatentMatcher;
+import net.bytebuddy.matcher.Memoization;
+import net.bytebuddy.matcher.NameConstraint;
 import net.bytebuddy.pool.TypePool;
 import net.bytebuddy.utility.CompoundList;
 import net.bytebuddy.utility.JavaConstant;
@@ -55,23 +59,37 @@ import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
 
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
 import java.io.*;
 import java.lang.instrument.ClassDefinition;
 import java.lang.instrument.ClassFileTransformer;
 import java.lang.instrument.Instrumentation;
 import java.lang.instrument.UnmodifiableClassException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
 import java.security.AccessControlContext;
 import java.security.AccessController;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.PrivilegedAction;
 import java.security.ProtectionDomain;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -231,6 +249,31 @@ public interface AgentBuilder {
      */
     AgentBuilder with(ClassFileBufferStrategy classFileBufferStrategy);
 
+    /**
+     * Specifies a transformation cache that retains transformed class files, also beyond the life-time of the current VM.
+     *
+     * @param transformationCache The transformation cache to use.
+     * @return A new agent builder that applies the supplied transformation cache.
+     */
+    AgentBuilder with(TransformationCache transformationCache);
+
+    /**
+     * Specifies transformation metrics that measure the time spent in the different phases of a transformation.
+     *
+     * @param transformationMetrics The transformation metrics to use.
+     * @return A new agent builder that applies the supplied transformation metrics.
+     */
+    AgentBuilder with(TransformationMetrics transformationMetrics);
+
+    /**
+     * Specifies a deduplication strategy that allows for reusing the transformation of a type for an equivalent type that is loaded
+     * by another class loader.
+     *
+     * @param deduplicationStrategy The deduplication strategy to use.
+     * @return A new agent builder that applies the supplied deduplication strategy.
+     */
+    AgentBuilder with(DeduplicationStrategy deduplicationStrategy);
+
     /**
      * Adds an installation listener that is notified during installation events. Installation listeners are only invoked if
      * a class file transformer is installed using this agent builder's installation methods and uninstalled via the created
@@ -378,6 +421,12 @@ public interface AgentBuilder {
      * also recommended, to exclude class loaders such as for example the bootstrap class loader by using
      * {@link AgentBuilder#type(ElementMatcher, ElementMatcher)} instead.
      * </p>
+     * <p>
+     * <b>Note</b>: If all registered matchers require a type's name or one of its declared annotations, or an annotation of one of its declared
+     * fields or methods, a type that is not named accordingly or whose class file does not reference any such annotation is excluded from its
+     * class file without being described. For such a type, the ignore matcher is not applied and a registered {@link Listener} is notified
+     * of the type being ignored with a description that is only resolved from the type pool if a property other than the type's name is requested.
+     * </p>
      *
      * @param typeMatcher An {@link net.bytebuddy.matcher.ElementMatcher} that is applied on the type being loaded that
      *                    decides if the entailed {@link net.bytebuddy.agent.builder.AgentBuilder.Transformer}s should
@@ -813,6 +862,23 @@ public interface AgentBuilder {
          */
         RedefinitionListenable with(RedefinitionStrategy.Listener redefinitionListener);
 
+        /**
+         * <p>
+         * Specifies an executor that is used for preparing a batch of redefined types. When using the
+         * {@link RedefinitionStrategy#REDEFINITION} strategy, the class files of all types of a batch are located concurrently
+         * on the supplied executor what can reduce the time for reading a large amount of class files from disk or from an archive.
+         * The actual redefinition of the batch is still applied on the installing thread. For retransformation, the executor
+         * is not used as the class files are supplied by the virtual machine.
+         * </p>
+         * <p>
+         * <b>Important</b>: The class file locators of the applied {@link LocationStrategy} must be thread-safe.
+         * </p>
+         *
+         * @param executor The executor to use for preparing a batch of redefined types.
+         * @return A new instance of this agent builder which prepares batches of redefined types using the supplied executor.
+         */
+        RedefinitionListenable withPreparationExecutor(Executor executor);
+
         /**
          * Enables resubmission of failed transformations by applying a retransformation of the loaded type. This can be meaningful if
          * class files cannot be located from the class loader as a resource where the loaded type becomes available.
@@ -832,6 +898,44 @@ public interface AgentBuilder {
          */
         AgentBuilder withResubmission(RedefinitionStrategy.ResubmissionScheduler resubmissionScheduler, ElementMatcher<? super Throwable> matcher);
 
+        /**
+         * Enables the deferral of transformations of types that are loaded after the installation. Such types are loaded in their original
+         * form and are retransformed in batches by the resubmission job. This avoids that the transformation is applied on the thread that
+         * is loading a type. Deferral replaces a resubmission of failed transformations. As deferred types are retransformed after being
+         * loaded, deferral implies {@link AgentBuilder#disableClassFormatChanges()}. Installing an agent that defers transformations
+         * with a type strategy that changes the class format is rejected.
+         *
+         * @param resubmissionScheduler A scheduler which is responsible for scheduling the resubmission job.
+         * @return A new instance of this agent builder that defers transformations.
+         */
+        AgentBuilder withDeferral(RedefinitionStrategy.ResubmissionScheduler resubmissionScheduler);
+
+        /**
+         * Enables the deferral of transformations of types that are loaded after the installation. Such types are loaded in their original
+         * form and are retransformed in batches by the resubmission job. This avoids that the transformation is applied on the thread that
+         * is loading a type. Deferral replaces a resubmission of failed transformations. As deferred types are retransformed after being
+         * loaded, deferral implies {@link AgentBuilder#disableClassFormatChanges()}. Installing an agent that defers transformations
+         * with a type strategy that changes the class format is rejected.
+         *
+         * @param resubmissionScheduler A scheduler which is responsible for scheduling the resubmission job.
+         * @param synchronousMatcher    A matcher for types that are transformed upon being loaded rather than being deferred.
+         * @return A new instance of this agent builder that defers transformations.
+         */
+        AgentBuilder withDeferral(RedefinitionStrategy.ResubmissionScheduler resubmissionScheduler, ElementMatcher<? super TypeDescription> synchronousMatcher);
+
+        /**
+         * Enables the deferral of transformations of types that are loaded after the installation. Such types are loaded in their original
+         * form and are retransformed in batches by the resubmission job. This avoids that the transformation is applied on the thread that
+         * is loading a type. Deferral replaces a resubmission of failed transformations. As deferred types are retransformed after being
+         * loaded, deferral implies {@link AgentBuilder#disableClassFormatChanges()}. Installing an agent that defers transformations
+         * with a type strategy that changes the class format is rejected.
+         *
+         * @param resubmissionScheduler A scheduler which is responsible for scheduling the resubmission job.
+         * @param synchronousMatcher    A matcher for types that are transformed upon being loaded rather than being deferred.
+         * @return A new instance of this agent builder that defers transformations.
+         */
+        AgentBuilder withDeferral(RedefinitionStrategy.ResubmissionScheduler resubmissionScheduler, RawMatcher synchronousMatcher);
+
         /**
          * An agent builder configuration strategy that allows the definition of a discovery strategy.
          */
@@ -1197,6 +1301,23 @@ public interface AgentBuilder {
              */
             private final ElementMatcher<? super JavaModule> moduleMatcher;
 
+            /**
+             * A weakly keyed mapping of class loaders to the results of the class loader matcher or {@code null} if these results are not memoized.
+             */
+            @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+            private final ConcurrentMap<RedefinitionStrategy.ResubmissionStrategy.Enabled.StorageKey, Boolean> classLoaderMatches;
+
+            /**
+             * A weakly keyed mapping of unwrapped modules to the results of the module matcher or {@code null} if these results are not memoized.
+             */
+            @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+            private final ConcurrentMap<RedefinitionStrategy.ResubmissionStrategy.Enabled.StorageKey, Boolean> moduleMatches;
+
+            /**
+             * The reference queue of the keys of the memoized results of the class loader and module matchers.
+             */
+            @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+            private final ReferenceQueue<Object> referenceQueue;
 
             /**
              * Creates a new {@link net.bytebuddy.agent.builder.AgentBuilder.RawMatcher} that only matches the
@@ -1224,7 +1345,9 @@ public interface AgentBuilder {
             /**
              * Creates a new {@link net.bytebuddy.agent.builder.AgentBuilder.RawMatcher} that only matches the
              * supplied {@link TypeDescription}, its {@link java.lang.ClassLoader} and module against element
-             * suitable matchers.
+             * suitable matchers. If the class loader or module matcher is known to always yield the same result
+             * for the same class loader or module and if it cannot be applied in constant time, its results are
+             * memoized per class loader or module.
              *
              * @param typeMatcher        The type matcher to apply to a {@link TypeDescription}.
              * @param classLoaderMatcher The class loader matcher to apply to a {@link java.lang.ClassLoader}.
@@ -1236,6 +1359,13 @@ public interface AgentBuilder {
                 this.typeMatcher = typeMatcher;
                 this.classLoaderMatcher = classLoaderMatcher;
                 this.moduleMatcher = moduleMatcher;
+                classLoaderMatches = Memoization.of(classLoaderMatcher).isBeneficial()
+                        ? new ConcurrentHashMap<RedefinitionStrategy.ResubmissionStrategy.Enabled.StorageKey, Boolean>()
+                        : null;
+                moduleMatches = Memoization.of(moduleMatcher).isBeneficial()
+                        ? new ConcurrentHashMap<RedefinitionStrategy.ResubmissionStrategy.Enabled.StorageKey, Boolean>()
+                        : null;
+                referenceQueue = new ReferenceQueue<Object>();
             }
 
             /**
@@ -1246,7 +1376,59 @@ public interface AgentBuilder {
                                    JavaModule module,
                                    Class<?> classBeingRedefined,
                                    ProtectionDomain protectionDomain) {
-                return moduleMatcher.matches(module) && classLoaderMatcher.matches(classLoader) && typeMatcher.matches(typeDescription);
+                return matches(module) && matches(classLoader) && typeMatcher.matches(typeDescription);
+            }
+
+            /**
+             * Applies the module matcher to a module, using a memoized result if available.
+             *
+             * @param module The module to match or {@code null} if the current VM does not support modules.
+             * @return {@code true} if the module is matched.
+             */
+            private boolean matches(JavaModule module) {
+                if (moduleMatches == null || module == JavaModule.UNSUPPORTED) {
+                    return moduleMatcher.matches(module);
+                }
+                Boolean matched = moduleMatches.get(new RedefinitionStrategy.ResubmissionStrategy.Enabled.LookupKey(module.unwrap()));
+                if (matched == null) {
+                    matched = moduleMatcher.matches(module);
+                    register(moduleMatches, referenceQueue, module.unwrap(), matched);
+                }
+                return matched;
+            }
+
+            /**
+             * Applies the class loader matcher to a class loader, using a memoized result if available.
+             *
+             * @param classLoader The class loader to match.
+             * @return {@code true} if the class loader is matched.
+             */
+            private boolean matches(ClassLoader classLoader) {
+                if (classLoaderMatches == null) {
+                    return classLoaderMatcher.matches(classLoader);
+                }
+                Boolean matched = classLoaderMatches.get(new RedefinitionStrategy.ResubmissionStrategy.Enabled.LookupKey(classLoader));
+                if (matched == null) {
+                    matched = classLoaderMatcher.matches(classLoader);
+                    register(classLoaderMatches, referenceQueue, classLoader, matched);
+                }
+                return matched;
+            }
+
+            /**
+             * Registers a memoized result and removes all results of class loaders or modules that were garbage collected.
+             *
+             * @param matches        A weakly keyed mapping of class loaders or modules to the results of their matcher.
+             * @param referenceQueue The reference queue of the mapping's keys.
+             * @param value          The matched class loader or unwrapped module or {@code null} for the bootstrap loader.
+             * @param matched        {@code true} if the class loader or module was matched.
+             */
+            private static void register(ConcurrentMap<RedefinitionStrategy.ResubmissionStrategy.Enabled.StorageKey, Boolean> matches,
+                                         ReferenceQueue<Object> referenceQueue,
+                                         Object value,
+                                         boolean matched) {
+                RedefinitionStrategy.ResubmissionStrategy.Enabled.StorageKey.expunge(matches, referenceQueue);
+                matches.putIfAbsent(new RedefinitionStrategy.ResubmissionStrategy.Enabled.StorageKey(value, referenceQueue), matched);
             }
         }
     }
@@ -1919,6 +2101,115 @@ public interface AgentBuilder {
                 lock.unlock();
             }
         }
+
+        /**
+         * A circularity lock that is held per thread without a global monitor or a thread-local lookup. Each thread is assigned a home
+         * slot of a fixed-size table that is derived from its identity hash code and that is claimed and released by compare-and-swap
+         * operations. Slots are padded to avoid false sharing between threads. If a thread's home slot is occupied by another thread,
+         * the thread holds the lock by an entry in a concurrent map that is keyed by the thread such that the lock can always be acquired
+         * by a thread that does not yet hold it. The table's size therefore only bounds the number of threads that use the fast path.
+         */
+        class Bounded implements CircularityLock {
+
+            /**
+             * The default number of slots per available processor.
+             */
+            private static final int SLOTS_PER_PROCESSOR = 4;
+
+            /**
+             * The spacing of slots within the table to avoid that adjacent slots share a cache line.
+             */
+            private static final int PADDING = 16;
+
+            /**
+             * The number of slots.
+             */
+            private final int size;
+
+            /**
+             * The threads that currently hold this lock in their home slot where a {@code null} value represents an unoccupied slot.
+             */
+            private final AtomicReferenceArray<Thread> slots;
+
+            /**
+             * The threads that currently hold this lock but whose home slot was occupied when acquiring the lock.
+             */
+            private final ConcurrentMap<Thread, Boolean> overflow;
+
+            /**
+             * Creates a new bounded circularity lock with a number of slots that is derived from the number of available processors.
+             */
+            public Bounded() {
+                this(Runtime.getRuntime().availableProcessors() * SLOTS_PER_PROCESSOR);
+            }
+
+            /**
+             * Creates a new bounded circularity lock.
+             *
+             * @param slots The number of slots that are available to threads before falling back to a concurrent map.
+             */
+            public Bounded(int slots) {
+                if (slots < 1) {
+                    throw new IllegalArgumentException("Number of slots must be positive: " + slots);
+                }
+                size = slots;
+                this.slots = new AtomicReferenceArray<Thread>(slots * PADDING);
+                overflow = new ConcurrentHashMap<Thread, Boolean>();
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public boolean acquire() {
+                Thread thread = Thread.currentThread();
+                int slot = slot(thread);
+                Thread holder = slots.get(slot);
+                if (holder == thread) {
+                    return false;
+                } else if (holder == null && slots.compareAndSet(slot, null, thread)) {
+                    if (overflow.containsKey(thread)) {
+                        slots.set(slot, null);
+                        return false;
+                    }
+                    return true;
+                } else {
+                    return overflow.putIfAbsent(thread, Boolean.TRUE) == null;
+                }
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void release() {
+                Thread thread = Thread.currentThread();
+                int slot = slot(thread);
+                if (slots.get(slot) == thread) {
+                    slots.set(slot, null);
+                } else {
+                    overflow.remove(thread);
+                }
+            }
+
+            /**
+             * Returns {@code true} if the current thread holds this lock.
+             *
+             * @return {@code true} if the current thread holds this lock.
+             */
+            public boolean isLocked() {
+                Thread thread = Thread.currentThread();
+                return slots.get(slot(thread)) == thread || overflow.containsKey(thread);
+            }
+
+            /**
+             * Returns the index of the home slot of a thread.
+             *
+             * @param thread The thread for which to resolve the home slot.
+             * @return The index of the thread's home slot.
+             */
+            private int slot(Thread thread) {
+                return ((System.identityHashCode(thread) & Integer.MAX_VALUE) % size) * PADDING;
+            }
+        }
     }
 
     /**
@@ -2744,7 +3035,10 @@ public interface AgentBuilder {
          * that a cache provider can be accessed concurrently by multiple {@link ClassLoader}s.
          * </p>
          * <p>
-         * All types that are returned by the locator's type pool are resolved lazily.
+         * All types that are returned by the locator's type pool are resolved lazily. Optionally, types of the {@code java.*} packages
+         * can be described by a process-wide {@link TypePool.Platform} pool such that they are not parsed once per cache provider. Such
+         * types are then described by the class files of the platform loader rather than by the supplied {@link ClassFileLocator}. For
+         * types of the boot loader or the platform loader, which might be retransformed, the process-wide pool is never used.
          * </p>
          */
         @HashCodeAndEqualsPlugin.Enhance
@@ -2755,20 +3049,38 @@ public interface AgentBuilder {
              */
             protected final TypePool.Default.ReaderMode readerMode;
 
+            /**
+             * {@code true} if types of the {@code java.*} packages are described by a process-wide {@link TypePool.Platform} pool.
+             */
+            protected final boolean sharePlatformTypes;
+
             /**
              * Creates a new type locator that creates {@link TypePool}s but provides a custom {@link net.bytebuddy.pool.TypePool.CacheProvider}.
              *
              * @param readerMode The reader mode to use for parsing a class file.
              */
             protected WithTypePoolCache(TypePool.Default.ReaderMode readerMode) {
+                this(readerMode, false);
+            }
+
+            /**
+             * Creates a new type locator that creates {@link TypePool}s but provides a custom {@link net.bytebuddy.pool.TypePool.CacheProvider}.
+             *
+             * @param readerMode         The reader mode to use for parsing a class file.
+             * @param sharePlatformTypes {@code true} if types of the {@code java.*} packages are described by a process-wide {@link TypePool.Platform} pool.
+             */
+            protected WithTypePoolCache(TypePool.Default.ReaderMode readerMode, boolean sharePlatformTypes) {
                 this.readerMode = readerMode;
+                this.sharePlatformTypes = sharePlatformTypes;
             }
 
             /**
              * {@inheritDoc}
              */
             public TypePool typePool(ClassFileLocator classFileLocator, ClassLoader classLoader) {
-                return new TypePool.Default.WithLazyResolution(locate(classLoader), classFileLocator, readerMode);
+                return sharePlatformTypes && classLoader != null && classLoader != ClassLoader.getSystemClassLoader().getParent()
+                        ? new TypePool.Default.WithLazyResolution(locate(classLoader), classFileLocator, readerMode, TypePool.Platform.shared(readerMode))
+                        : new TypePool.Default.WithLazyResolution(locate(classLoader), classFileLocator, readerMode);
             }
 
             /**
@@ -2808,7 +3120,20 @@ public interface AgentBuilder {
                  * @param cacheProviders The concurrent map that is used for storing a cache provider per class loader.
                  */
                 public Simple(TypePool.Default.ReaderMode readerMode, ConcurrentMap<? super ClassLoader, TypePool.CacheProvider> cacheProviders) {
-                    super(readerMode);
+                    this(readerMode, false, cacheProviders);
+                }
+
+                /**
+                 * Creates a new type locator that caches a cache provider per class loader in a concurrent map.
+                 *
+                 * @param readerMode         The reader mode to use for parsing a class file.
+                 * @param sharePlatformTypes {@code true} if types of the {@code java.*} packages are described by a process-wide {@link TypePool.Platform} pool.
+                 * @param cacheProviders     The concurrent map that is used for storing a cache provider per class loader.
+                 */
+                public Simple(TypePool.Default.ReaderMode readerMode,
+                              boolean sharePlatformTypes,
+                              ConcurrentMap<? super ClassLoader, TypePool.CacheProvider> cacheProviders) {
+                    super(readerMode, sharePlatformTypes);
                     this.cacheProviders = cacheProviders;
                 }
 
@@ -3929,6 +4254,96 @@ public interface AgentBuilder {
                 return new ClassFileLocator.Compound(classFileLocators);
             }
         }
+
+        /**
+         * A location strategy that caches the class files that are located by another location strategy. Class files and unresolved
+         * lookups are cached per class loader where class loaders are only referenced weakly. Each class loader's cache is bounded by
+         * the accumulated size of its cached class files and by a maximum number of cached misses. If this location strategy is
+         * registered directly with an agent builder, all caches are cleared when the installed class file transformer is reset.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        class Caching implements LocationStrategy {
+
+            /**
+             * The location strategy to delegate to.
+             */
+            private final LocationStrategy locationStrategy;
+
+            /**
+             * The maximum accumulated size of all class files that are cached per class loader in bytes.
+             */
+            private final long maximumWeight;
+
+            /**
+             * The maximum number of unresolved lookups that are cached per class loader.
+             */
+            private final int maximumMisses;
+
+            /**
+             * A map of class loaders to their caches where class loaders are referenced weakly.
+             */
+            @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+            private final Map<ClassLoader, ClassFileLocator.Caching.Cache> caches;
+
+            /**
+             * Creates a new caching location strategy with default bounds.
+             *
+             * @param locationStrategy The location strategy to delegate to.
+             */
+            public Caching(LocationStrategy locationStrategy) {
+                this(locationStrategy, ClassFileLocator.Caching.Cache.DEFAULT_MAXIMUM_WEIGHT, ClassFileLocator.Caching.Cache.DEFAULT_MAXIMUM_MISSES);
+            }
+
+            /**
+             * Creates a new caching location strategy.
+             *
+             * @param locationStrategy The location strategy to delegate to.
+             * @param maximumWeight    The maximum accumulated size of all class files that are cached per class loader in bytes.
+             * @param maximumMisses    The maximum number of unresolved lookups that are cached per class loader.
+             */
+            public Caching(LocationStrategy locationStrategy, long maximumWeight, int maximumMisses) {
+                if (maximumWeight < 0) {
+                    throw new IllegalArgumentException("Maximum weight must not be negative: " + maximumWeight);
+                } else if (maximumMisses < 0) {
+                    throw new IllegalArgumentException("Maximum number of misses must not be negative: " + maximumMisses);
+                }
+                this.locationStrategy = locationStrategy;
+                this.maximumWeight = maximumWeight;
+                this.maximumMisses = maximumMisses;
+                caches = Collections.synchronizedMap(new WeakHashMap<ClassLoader, ClassFileLocator.Caching.Cache>());
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public ClassFileLocator classFileLocator(ClassLoader classLoader, JavaModule module) {
+                ClassFileLocator.Caching.Cache cache;
+                synchronized (caches) {
+                    cache = caches.get(classLoader);
+                    if (cache == null) {
+                        cache = new ClassFileLocator.Caching.Cache(maximumWeight, maximumMisses);
+                        caches.put(classLoader, cache);
+                    }
+                }
+                return new ClassFileLocator.Caching(locationStrategy.classFileLocator(classLoader, module), cache);
+            }
+
+            /**
+             * Returns the number of class loaders for which a cache is currently retained.
+             *
+             * @return The number of class loaders for which a cache is currently retained.
+             */
+            public int getSize() {
+                return caches.size();
+            }
+
+            /**
+             * Removes all cached class files and unresolved lookups of all class loaders.
+             */
+            public void clear() {
+                caches.clear();
+            }
+        }
     }
 
     /**
@@ -4412,86 +4827,1685 @@ public interface AgentBuilder {
 
     /**
      * <p>
-     * A redefinition strategy regulates how already loaded classes are modified by a built agent.
+     * A transformation cache allows for retaining the result of a transformation beyond the life-time of the current VM. If a type
+     * is loaded with the same class file and a cached transformation is available, this transformation is applied without transforming
+     * the type. The type is still described and matched such that a cached transformation is only applied if the type is not ignored
+     * and if it is matched by the agent for its class loader and module. A cached transformation is furthermore only applied if the
+     * same transformations of the agent are matched. With a lazily resolving {@link PoolStrategy}, a type's class file is only parsed
+     * if a matcher requires more information than the type's name.
      * </p>
      * <p>
-     * <b>Important</b>: Most JVMs do not support changes of a class's structure after a class was already
-     * loaded. Therefore, it is typically required that this class file transformer was built while enabling
-     * {@link AgentBuilder#disableClassFormatChanges()}.
+     * <b>Important</b>: A cache must only be used if the result of a transformation is fully determined by the loaded class file and
+     * by the agent's configuration. A transformation that depends on the identity of a class loader, on other types or on state
+     * of the running application must not be cached. Also, transformations that define auxiliary types or that require the registration
+     * of a live {@link LoadedTypeInitializer} are never cached. For a type that is resolved from the cache, a {@link Listener} is only
+     * notified of the type's discovery and completion. Types that are redefined or retransformed are never resolved from a cache.
      * </p>
      */
-    enum RedefinitionStrategy {
+    interface TransformationCache {
 
         /**
-         * Disables redefinition such that already loaded classes are not affected by the agent.
+         * Resolves a dispatcher for a type that is about to be transformed.
+         *
+         * @param typeName             The binary name of the instrumented type.
+         * @param binaryRepresentation The instrumented type's binary representation.
+         * @param transformations      A description of the agent's transformations that are applied to the instrumented type which
+         *                             is stable for the same configuration of an agent.
+         * @return A dispatcher for the transformation of the supplied class file.
          */
-        DISABLED(false, false) {
-            @Override
-            public void apply(Instrumentation instrumentation,
-                              AgentBuilder.Listener listener,
-                              CircularityLock circularityLock,
-                              PoolStrategy poolStrategy,
-                              LocationStrategy locationStrategy,
-                              DiscoveryStrategy discoveryStrategy,
-                              BatchAllocator redefinitionBatchAllocator,
-                              Listener redefinitionListener,
-                              LambdaInstrumentationStrategy lambdaInstrumentationStrategy,
-                              DescriptionStrategy descriptionStrategy,
-                              FallbackStrategy fallbackStrategy,
-                              RawMatcher typeMatcher,
-                              RawMatcher ignoredTypeMatcher) {
-                /* do nothing */
-            }
-
-            @Override
-            protected void check(Instrumentation instrumentation) {
-                throw new IllegalStateException("Cannot apply redefinition on disabled strategy");
-            }
-
-            @Override
-            protected Collector make() {
-                throw new IllegalStateException("A disabled redefinition strategy cannot create a collector");
-            }
-        },
+        Dispatcher dispatcher(String typeName, byte[] binaryRepresentation, String transformations);
 
         /**
-         * <p>
-         * Applies a <b>redefinition</b> to all classes that are already loaded and that would have been transformed if
-         * the built agent was registered before they were loaded. The created {@link ClassFileTransformer} is <b>not</b>
-         * registered for applying retransformations.
-         * </p>
-         * <p>
-         * Using this strategy, a redefinition is applied as a single transformation request. This means that a single illegal
-         * redefinition of a class causes the entire redefinition attempt to fail.
-         * </p>
-         * <p>
-         * <b>Note</b>: When applying a redefinition, it is normally required to use a {@link TypeStrategy} that applies
-         * a redefinition instead of rebasing classes such as {@link TypeStrategy.Default#REDEFINE}. Also, consider
-         * the constrains given by this type strategy.
-         * </p>
+         * A dispatcher for the transformation of a single class file.
          */
-        REDEFINITION(true, false) {
-            @Override
-            protected void check(Instrumentation instrumentation) {
-                if (!instrumentation.isRedefineClassesSupported()) {
-                    throw new IllegalStateException("Cannot apply redefinition on " + instrumentation);
-                }
-            }
+        interface Dispatcher {
 
-            @Override
-            protected Collector make() {
-                return new Collector.ForRedefinition();
-            }
-        },
+            /**
+             * Indicates that no transformation was cached for a type.
+             */
+            byte[] NOT_CACHED = null;
 
-        /**
-         * <p>
-         * Applies a <b>retransformation</b> to all classes that are already loaded and that would have been transformed if
-         * the built agent was registered before they were loaded. The created {@link ClassFileTransformer} is registered
-         * for applying retransformations.
-         * </p>
-         * <p>
-         * Using this strategy, a retransformation is applied as a single transformation request. This means that a single illegal
+            /**
+             * Resolves a cached transformation.
+             *
+             * @return The cached transformation or {@link Dispatcher#NOT_CACHED} if no transformation is cached for the represented class file.
+             */
+            byte[] resolve();
+
+            /**
+             * Decorates a listener to register a transformation of the represented class file with the cache.
+             *
+             * @param listener The listener to decorate.
+             * @return A listener that registers any transformation of the represented class file with the cache.
+             */
+            Listener register(Listener listener);
+
+            /**
+             * A non-operational dispatcher.
+             */
+            enum NoOp implements Dispatcher {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public byte[] resolve() {
+                    return NOT_CACHED;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Listener register(Listener listener) {
+                    return listener;
+                }
+            }
+        }
+
+        /**
+         * A non-operational transformation cache.
+         */
+        enum NoOp implements TransformationCache {
+
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
+
+            /**
+             * {@inheritDoc}
+             */
+            public Dispatcher dispatcher(String typeName, byte[] binaryRepresentation, String transformations) {
+                return Dispatcher.NoOp.INSTANCE;
+            }
+        }
+
+        /**
+         * <p>
+         * A transformation cache that is stored in an append-only file that is memory-mapped upon opening the cache. Each entry is keyed
+         * by a digest of the instrumented type's name, the applied transformations and its original class file. The file is bound to a fingerprint of the agent's
+         * configuration and of the running VM's version. If the fingerprint of an existing file does not match, the file is replaced by
+         * a new, empty file. The header of the file records the length of its committed entries such that an entry that was not completely
+         * written is overwritten by a later entry. A cache file is never truncated as it might be mapped by another VM.
+         * </p>
+         * <p>
+         * <b>Important</b>: The fingerprint must change with any change to the agent's configuration that might alter a transformation,
+         * for example by including the agent's build version. Byte Buddy cannot compute a stable fingerprint of transformers, matchers or
+         * other configuration as these are not guaranteed to be stable between two runs of a VM. A cache file must not be opened
+         * more than once by the same VM.
+         * </p>
+         */
+        class ForMappedFile implements TransformationCache, Closeable {
+
+            /**
+             * The magic number that starts a cache file.
+             */
+            private static final int MAGIC = 0x42425443;
+
+            /**
+             * The version of the cache file format.
+             */
+            private static final int VERSION = 3;
+
+            /**
+             * The digest algorithm to use.
+             */
+            private static final String ALGORITHM = "SHA-256";
+
+            /**
+             * The length of a digest in bytes.
+             */
+            private static final int DIGEST_LENGTH = 32;
+
+            /**
+             * The offset of the committed length within the file's header.
+             */
+            private static final int COMMITTED_OFFSET = 8 + DIGEST_LENGTH;
+
+            /**
+             * The length of the file's header in bytes.
+             */
+            private static final int HEADER_LENGTH = COMMITTED_OFFSET + 8;
+
+            /**
+             * The encoding to use for type names and fingerprints.
+             */
+            private static final String CHARSET = "UTF-8";
+
+            /**
+             * The file's channel.
+             */
+            private final FileChannel channel;
+
+            /**
+             * A buffer representing the file's content at the time of its opening.
+             */
+            private final ByteBuffer mapped;
+
+            /**
+             * A mapping of cache keys to the offset of their entry's value within the file.
+             */
+            private final Map<Key, Entry> entries;
+
+            /**
+             * Creates a new transformation cache for a memory-mapped file.
+             *
+             * @param channel The file's channel.
+             * @param mapped  A buffer representing the file's content at the time of its opening.
+             * @param entries A mapping of cache keys to the offset of their entry's value within the file.
+             */
+            protected ForMappedFile(FileChannel channel, ByteBuffer mapped, Map<Key, Entry> entries) {
+                this.channel = channel;
+                this.mapped = mapped;
+                this.entries = entries;
+            }
+
+            /**
+             * Opens a transformation cache that is stored in the supplied file. If the file does not exist, it is created.
+             *
+             * @param file        The file to use for storing the cache.
+             * @param fingerprint A fingerprint of the agent's configuration.
+             * @return A transformation cache for the supplied file.
+             * @throws IOException If an I/O exception occurs.
+             */
+            @SuppressFBWarnings(value = "OBL_UNSATISFIED_OBLIGATION", justification = "Channel is closed when closing the cache")
+            public static ForMappedFile of(File file, String fingerprint) throws IOException {
+                byte[] digest = digest((fingerprint + '\0' + System.getProperty("java.version")).getBytes(CHARSET));
+                FileChannel channel = new RandomAccessFile(file, "rw").getChannel();
+                try {
+                    ForMappedFile replacement;
+                    FileLock lock = channel.lock();
+                    try {
+                        long size = channel.size();
+                        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+                        while (header.hasRemaining() && channel.read(header, header.position()) != -1) {
+                            /* do nothing */
+                        }
+                        header.flip();
+                        if (size == 0) {
+                            write(channel, header(digest), 0);
+                            return new ForMappedFile(channel, ByteBuffer.allocate(0), new HashMap<Key, Entry>());
+                        } else if (isHeader(header, digest)) {
+                            Map<Key, Entry> entries = new HashMap<Key, Entry>();
+                            long committed = Math.min(header.getLong(COMMITTED_OFFSET), size), position = HEADER_LENGTH;
+                            ByteBuffer prefix = ByteBuffer.allocate(DIGEST_LENGTH + 4);
+                            while (committed - position >= DIGEST_LENGTH + 4) {
+                                prefix.clear();
+                                while (prefix.hasRemaining() && channel.read(prefix, position + prefix.position()) != -1) {
+                                    /* do nothing */
+                                }
+                                int length = prefix.getInt(DIGEST_LENGTH);
+                                if (prefix.hasRemaining() || length < 0 || committed - position - DIGEST_LENGTH - 4 < length) {
+                                    break;
+                                }
+                                byte[] key = new byte[DIGEST_LENGTH];
+                                prefix.position(0);
+                                prefix.get(key);
+                                entries.put(new Key(key), new Entry((int) position + DIGEST_LENGTH + 4, length));
+                                position += DIGEST_LENGTH + 4 + length;
+                            }
+                            return new ForMappedFile(channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, position), entries);
+                        } else {
+                            replacement = replace(file, digest);
+                        }
+                    } finally {
+                        lock.release();
+                    }
+                    channel.close();
+                    return replacement;
+                } catch (IOException exception) {
+                    channel.close();
+                    throw exception;
+                } catch (RuntimeException exception) {
+                    channel.close();
+                    throw exception;
+                }
+            }
+
+            /**
+             * Replaces a cache file of a mismatched fingerprint by writing a new, empty cache file that is moved to the location of the
+             * existing file. The existing file is never modified as it might still be mapped by another VM. If the existing file cannot be
+             * replaced, the new file is used by this VM only and deleted upon the VM's exit.
+             *
+             * @param file   The cache file to replace.
+             * @param digest The digest of the fingerprint of the new cache file.
+             * @return A transformation cache for the new cache file.
+             * @throws IOException If an I/O exception occurs.
+             */
+            @SuppressFBWarnings(value = "OBL_UNSATISFIED_OBLIGATION", justification = "Channel is closed when closing the cache")
+            private static ForMappedFile replace(File file, byte[] digest) throws IOException {
+                File temporary = File.createTempFile("." + file.getName() + ".", ".tmp", file.getAbsoluteFile().getParentFile());
+                FileChannel channel = new RandomAccessFile(temporary, "rw").getChannel();
+                try {
+                    write(channel, header(digest), 0);
+                    if (!temporary.renameTo(file)) {
+                        temporary.deleteOnExit();
+                    }
+                    return new ForMappedFile(channel, ByteBuffer.allocate(0), new HashMap<Key, Entry>());
+                } catch (IOException exception) {
+                    channel.close();
+                    if (!temporary.delete()) {
+                        temporary.deleteOnExit();
+                    }
+                    throw exception;
+                } catch (RuntimeException exception) {
+                    channel.close();
+                    if (!temporary.delete()) {
+                        temporary.deleteOnExit();
+                    }
+                    throw exception;
+                }
+            }
+
+            /**
+             * Creates the header of a cache file without any committed entries.
+             *
+             * @param digest The digest of the cache file's fingerprint.
+             * @return A buffer containing the header of a cache file.
+             */
+            private static ByteBuffer header(byte[] digest) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH).putInt(MAGIC).putInt(VERSION).put(digest).putLong(HEADER_LENGTH);
+                header.flip();
+                return header;
+            }
+
+            /**
+             * Writes the supplied buffer to a channel at the given position.
+             *
+             * @param channel  The channel to write to.
+             * @param buffer   The buffer to write.
+             * @param position The position to write the buffer to.
+             * @throws IOException If an I/O exception occurs.
+             */
+            private static void write(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer, position + buffer.position());
+                }
+            }
+
+            /**
+             * Checks if the supplied buffer starts with a valid header.
+             *
+             * @param buffer The buffer to check.
+             * @param digest The digest of the expected fingerprint.
+             * @return {@code true} if the buffer starts with a valid header.
+             */
+            private static boolean isHeader(ByteBuffer buffer, byte[] digest) {
+                if (buffer.limit() < HEADER_LENGTH || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                    return false;
+                }
+                for (int index = 0; index < DIGEST_LENGTH; index++) {
+                    if (buffer.get(8 + index) != digest[index]) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            /**
+             * Computes the digest of the supplied bytes.
+             *
+             * @param binaryRepresentation The bytes to digest.
+             * @return The digest of the supplied bytes.
+             */
+            private static byte[] digest(byte[]... binaryRepresentation) {
+                try {
+                    MessageDigest messageDigest = MessageDigest.getInstance(ALGORITHM);
+                    for (byte[] aBinaryRepresentation : binaryRepresentation) {
+                        messageDigest.update(aBinaryRepresentation);
+                    }
+                    return messageDigest.digest();
+                } catch (NoSuchAlgorithmException exception) {
+                    throw new IllegalStateException("Could not resolve " + ALGORITHM, exception);
+                }
+            }
+
+            /**
+             * Computes the cache key of a type.
+             *
+             * @param typeName             The binary name of the type.
+             * @param binaryRepresentation The type's binary representation.
+             * @param transformations      A description of the agent's transformations that are applied to the type.
+             * @return The cache key of the supplied type.
+             */
+            private static Key key(String typeName, byte[] binaryRepresentation, String transformations) {
+                try {
+                    return new Key(digest(typeName.getBytes(CHARSET), new byte[1], transformations.getBytes(CHARSET), new byte[1], binaryRepresentation));
+                } catch (UnsupportedEncodingException exception) {
+                    throw new IllegalStateException("Could not resolve " + CHARSET, exception);
+                }
+            }
+
+            /**
+             * Returns the amount of cached transformations.
+             *
+             * @return The amount of cached transformations.
+             */
+            public int getSize() {
+                synchronized (entries) {
+                    return entries.size();
+                }
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Dispatcher dispatcher(String typeName, byte[] binaryRepresentation, String transformations) {
+                return new KeyedDispatcher(key(typeName, binaryRepresentation, transformations));
+            }
+
+            /**
+             * Resolves a cached transformation.
+             *
+             * @param key The key of the instrumented type's class file.
+             * @return The cached transformation or {@link Dispatcher#NOT_CACHED} if no transformation is cached for the supplied key.
+             */
+            protected byte[] find(Key key) {
+                Entry entry;
+                synchronized (entries) {
+                    entry = entries.get(key);
+                }
+                if (entry == null) {
+                    return Dispatcher.NOT_CACHED;
+                } else if (entry.getOffset() + entry.getLength() <= mapped.limit()) {
+                    byte[] transformed = new byte[entry.getLength()];
+                    ByteBuffer buffer = mapped.duplicate();
+                    buffer.position(entry.getOffset());
+                    buffer.get(transformed);
+                    return transformed;
+                } else {
+                    try {
+                        ByteBuffer buffer = ByteBuffer.allocate(entry.getLength());
+                        while (buffer.hasRemaining()) {
+                            if (channel.read(buffer, entry.getOffset() + buffer.position()) == -1) {
+                                return Dispatcher.NOT_CACHED;
+                            }
+                        }
+                        return buffer.array();
+                    } catch (IOException ignored) {
+                        return Dispatcher.NOT_CACHED;
+                    }
+                }
+            }
+
+            /**
+             * Appends a transformation to the cache file unless an entry for the given key is already registered.
+             *
+             * @param key         The key of the instrumented type's original class file.
+             * @param transformed The instrumented type's transformed binary representation.
+             */
+            protected void register(Key key, byte[] transformed) {
+                synchronized (entries) {
+                    if (entries.containsKey(key)) {
+                        return;
+                    }
+                    try {
+                        FileLock lock = channel.lock();
+                        try {
+                            ByteBuffer committed = ByteBuffer.allocate(8);
+                            while (committed.hasRemaining()) {
+                                if (channel.read(committed, COMMITTED_OFFSET + committed.position()) == -1) {
+                                    return;
+                                }
+                            }
+                            long position = committed.getLong(0);
+                            if (position < HEADER_LENGTH || position + DIGEST_LENGTH + 4 + transformed.length > Integer.MAX_VALUE) {
+                                return;
+                            }
+                            ByteBuffer buffer = ByteBuffer.allocate(DIGEST_LENGTH + 4 + transformed.length)
+                                    .put(key.getDigest())
+                                    .putInt(transformed.length)
+                                    .put(transformed);
+                            buffer.flip();
+                            write(channel, buffer, position);
+                            committed.clear();
+                            committed.putLong(position + DIGEST_LENGTH + 4 + transformed.length).flip();
+                            write(channel, committed, COMMITTED_OFFSET);
+                            entries.put(key, new Entry((int) position + DIGEST_LENGTH + 4, transformed.length));
+                        } finally {
+                            lock.release();
+                        }
+                    } catch (IOException ignored) {
+                        /* do nothing */
+                    }
+                }
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void close() throws IOException {
+                channel.close();
+            }
+
+            /**
+             * A key of a cached transformation.
+             */
+            protected static class Key {
+
+                /**
+                 * The digest representing this key.
+                 */
+                private final byte[] digest;
+
+                /**
+                 * The hash code of this key.
+                 */
+                private final int hashCode;
+
+                /**
+                 * Creates a new key.
+                 *
+                 * @param digest The digest representing this key.
+                 */
+                protected Key(byte[] digest) {
+                    this.digest = digest;
+                    hashCode = Arrays.hashCode(digest);
+                }
+
+                /**
+                 * Returns the digest representing this key.
+                 *
+                 * @return The digest representing this key.
+                 */
+                protected byte[] getDigest() {
+                    return digest;
+                }
+
+                @Override
+                public int hashCode() {
+                    return hashCode;
+                }
+
+                @Override
+                public boolean equals(Object other) {
+                    return this == other || other instanceof Key && Arrays.equals(digest, ((Key) other).digest);
+                }
+            }
+
+            /**
+             * An entry of a cached transformation.
+             */
+            protected static class Entry {
+
+                /**
+                 * The offset of the transformed class file within the cache file.
+                 */
+                private final int offset;
+
+                /**
+                 * The length of the transformed class file.
+                 */
+                private final int length;
+
+                /**
+                 * Creates a new entry.
+                 *
+                 * @param offset The offset of the transformed class file within the cache file.
+                 * @param length The length of the transformed class file.
+                 */
+                protected Entry(int offset, int length) {
+                    this.offset = offset;
+                    this.length = length;
+                }
+
+                /**
+                 * Returns the offset of the transformed class file within the cache file.
+                 *
+                 * @return The offset of the transformed class file within the cache file.
+                 */
+                protected int getOffset() {
+                    return offset;
+                }
+
+                /**
+                 * Returns the length of the transformed class file.
+                 *
+                 * @return The length of the transformed class file.
+                 */
+                protected int getLength() {
+                    return length;
+                }
+            }
+
+            /**
+             * A dispatcher for a class file of a given key.
+             */
+            protected class KeyedDispatcher implements Dispatcher {
+
+                /**
+                 * The key of the instrumented type's original class file.
+                 */
+                private final Key key;
+
+                /**
+                 * Creates a new keyed dispatcher.
+                 *
+                 * @param key The key of the instrumented type's original class file.
+                 */
+                protected KeyedDispatcher(Key key) {
+                    this.key = key;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public byte[] resolve() {
+                    return find(key);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Listener register(Listener listener) {
+                    return new Registering(listener, ForMappedFile.this, key);
+                }
+            }
+
+            /**
+             * A listener that registers a type's transformation with a cache file if the transformation is eligible for caching.
+             */
+            protected static class Registering implements Listener {
+
+                /**
+                 * The listener to delegate to.
+                 */
+                private final Listener listener;
+
+                /**
+                 * The cache to register transformations with.
+                 */
+                private final ForMappedFile transformationCache;
+
+                /**
+                 * The key of the instrumented type's original class file.
+                 */
+                private final Key key;
+
+                /**
+                 * Creates a new registering listener.
+                 *
+                 * @param listener            The listener to delegate to.
+                 * @param transformationCache The cache to register transformations with.
+                 * @param key                 The key of the instrumented type's original class file.
+                 */
+                protected Registering(Listener listener, ForMappedFile transformationCache, Key key) {
+                    this.listener = listener;
+                    this.transformationCache = transformationCache;
+                    this.key = key;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onDiscovery(String typeName, ClassLoader classLoader, JavaModule module, boolean loaded) {
+                    listener.onDiscovery(typeName, classLoader, module, loaded);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onTransformation(TypeDescription typeDescription, ClassLoader classLoader, JavaModule module, boolean loaded, DynamicType dynamicType) {
+                    if (!loaded && dynamicType.getAuxiliaryTypes().isEmpty() && !dynamicType.hasAliveLoadedTypeInitializers()) {
+                        transformationCache.register(key, dynamicType.getBytes());
+                    }
+                    listener.onTransformation(typeDescription, classLoader, module, loaded, dynamicType);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onIgnored(TypeDescription typeDescription, ClassLoader classLoader, JavaModule module, boolean loaded) {
+                    listener.onIgnored(typeDescription, classLoader, module, loaded);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onError(String typeName, ClassLoader classLoader, JavaModule module, boolean loaded, Throwable throwable) {
+                    listener.onError(typeName, classLoader, module, loaded, throwable);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onComplete(String typeName, ClassLoader classLoader, JavaModule module, boolean loaded) {
+                    listener.onComplete(typeName, classLoader, module, loaded);
+                }
+            }
+        }
+    }
+
+    /**
+     * Transformation metrics measure the time that is spent in the different phases of a transformation that is applied by a
+     * class file transformer. Implementations must not allocate on the transformation's hot path.
+     */
+    interface TransformationMetrics {
+
+        /**
+         * Indicates that a phase is not measured.
+         */
+        long NOT_MEASURED = 0L;
+
+        /**
+         * Starts the measurement of a phase.
+         *
+         * @return A time stamp that represents the start of the phase or {@link TransformationMetrics#NOT_MEASURED} if phases are not measured.
+         */
+        long start();
+
+        /**
+         * Records the completion of a phase.
+         *
+         * @param phase   The completed phase.
+         * @param started The time stamp of the phase's start as returned by {@link TransformationMetrics#start()}.
+         * @return A time stamp that represents the completion of the phase what can be used as the start of the next phase.
+         */
+        long onPhase(Phase phase, long started);
+
+        /**
+         * Records the length of a transformed class file.
+         *
+         * @param length The length of the transformed class file in bytes.
+         */
+        void onTransformation(int length);
+
+        /**
+         * Describes a phase of a transformation.
+         */
+        enum Phase {
+
+            /**
+             * Resolution of the class file locator and the type pool of an instrumented type.
+             */
+            LOCATION,
+
+            /**
+             * Resolution of the instrumented type's description by the {@link DescriptionStrategy}.
+             */
+            DESCRIPTION,
+
+            /**
+             * Matching the instrumented type against the ignored type matcher.
+             */
+            IGNORE_MATCHING,
+
+            /**
+             * Resolution of the applied transformation, including the matching of all transformations.
+             */
+            RESOLUTION,
+
+            /**
+             * Generation of the transformed class file.
+             */
+            GENERATION
+        }
+
+        /**
+         * Non-operational transformation metrics.
+         */
+        enum NoOp implements TransformationMetrics {
+
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
+
+            /**
+             * {@inheritDoc}
+             */
+            public long start() {
+                return NOT_MEASURED;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public long onPhase(Phase phase, long started) {
+                return NOT_MEASURED;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void onTransformation(int length) {
+                /* do nothing */
+            }
+        }
+
+        /**
+         * The management interface of recording transformation metrics.
+         */
+        interface MBean {
+
+            /**
+             * Returns the names of all measured phases.
+             *
+             * @return The names of all measured phases.
+             */
+            String[] getPhases();
+
+            /**
+             * Returns the amount of measurements of a phase.
+             *
+             * @param phase The name of the phase.
+             * @return The amount of measurements of the phase.
+             */
+            long getCount(String phase);
+
+            /**
+             * Returns the total time spent in a phase.
+             *
+             * @param phase The name of the phase.
+             * @return The total time spent in the phase in nanoseconds.
+             */
+            long getTotalNanos(String phase);
+
+            /**
+             * Returns an upper bound for the duration of a phase for a given percentile of measurements.
+             *
+             * @param phase      The name of the phase.
+             * @param percentile The percentile between {@code 0} and {@code 1}.
+             * @return An upper bound of the phase's duration for the given percentile in nanoseconds.
+             */
+            long getPercentileNanos(String phase, double percentile);
+
+            /**
+             * Returns the amount of transformed class files.
+             *
+             * @return The amount of transformed class files.
+             */
+            long getTransformationCount();
+
+            /**
+             * Returns the total length of all transformed class files.
+             *
+             * @return The total length of all transformed class files in bytes.
+             */
+            long getTransformedBytes();
+
+            /**
+             * Resets all metrics.
+             */
+            void reset();
+        }
+
+        /**
+         * Transformation metrics that record the duration of each phase and the length of transformed class files in histograms
+         * with exponentially growing buckets. Each histogram is striped by thread such that concurrent transformations rarely
+         * contend on the same counters. The recorded metrics can be read by taking a {@link Histogram.Snapshot} or, optionally,
+         * via JMX.
+         */
+        class Recording implements TransformationMetrics, MBean {
+
+            /**
+             * The histograms for each phase, indexed by the phase's ordinal.
+             */
+            private final Histogram[] phases;
+
+            /**
+             * The histogram of the length of transformed class files.
+             */
+            private final Histogram transformations;
+
+            /**
+             * Creates new recording transformation metrics with a default amount of stripes.
+             */
+            public Recording() {
+                this(Runtime.getRuntime().availableProcessors());
+            }
+
+            /**
+             * Creates new recording transformation metrics.
+             *
+             * @param stripes The minimum amount of stripes for each histogram.
+             */
+            public Recording(int stripes) {
+                if (stripes < 1) {
+                    throw new IllegalArgumentException("Amount of stripes must be positive: " + stripes);
+                }
+                phases = new Histogram[Phase.values().length];
+                for (int index = 0; index < phases.length; index++) {
+                    phases[index] = new Histogram(stripes);
+                }
+                transformations = new Histogram(stripes);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public long start() {
+                return System.nanoTime();
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public long onPhase(Phase phase, long started) {
+                long completed = System.nanoTime();
+                phases[phase.ordinal()].record(completed - started);
+                return completed;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void onTransformation(int length) {
+                transformations.record(length);
+            }
+
+            /**
+             * Returns a snapshot of the durations of a phase in nanoseconds.
+             *
+             * @param phase The phase for which to return a snapshot.
+             * @return A snapshot of the durations of the supplied phase in nanoseconds.
+             */
+            public Histogram.Snapshot getSnapshot(Phase phase) {
+                return phases[phase.ordinal()].getSnapshot();
+            }
+
+            /**
+             * Returns a snapshot of the length of transformed class files in bytes.
+             *
+             * @return A snapshot of the length of transformed class files in bytes.
+             */
+            public Histogram.Snapshot getTransformationSnapshot() {
+                return transformations.getSnapshot();
+            }
+
+            /**
+             * Registers these metrics with the platform MBean server.
+             *
+             * @param name The object name to register these metrics by.
+             * @throws JMException If the registration fails.
+             */
+            public void register(String name) throws JMException {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(new StandardMBean(this, MBean.class), new ObjectName(name));
+            }
+
+            /**
+             * Unregisters these metrics from the platform MBean server.
+             *
+             * @param name The object name that these metrics were registered by.
+             * @throws JMException If the unregistration fails.
+             */
+            public void unregister(String name) throws JMException {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(name));
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public String[] getPhases() {
+                Phase[] phase = Phase.values();
+                String[] name = new String[phase.length];
+                for (int index = 0; index < phase.length; index++) {
+                    name[index] = phase[index].name();
+                }
+                return name;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public long getCount(String phase) {
+                return getSnapshot(Phase.valueOf(phase)).getCount();
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public long getTotalNanos(String phase) {
+                return getSnapshot(Phase.valueOf(phase)).getTotal();
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public long getPercentileNanos(String phase, double percentile) {
+                return getSnapshot(Phase.valueOf(phase)).getPercentile(percentile);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public long getTransformationCount() {
+                return transformations.getSnapshot().getCount();
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public long getTransformedBytes() {
+                return transformations.getSnapshot().getTotal();
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void reset() {
+                for (Histogram phase : phases) {
+                    phase.reset();
+                }
+                transformations.reset();
+            }
+
+            /**
+             * A histogram of non-negative values with buckets of exponentially growing size that is striped by thread.
+             */
+            public static class Histogram {
+
+                /**
+                 * The amount of buckets. A value is recorded in the bucket of the index of its highest set bit plus one.
+                 */
+                private static final int BUCKETS = 64;
+
+                /**
+                 * The length of a stripe where the last slot contains the total of all recorded values.
+                 */
+                private static final int STRIPE = BUCKETS + 1;
+
+                /**
+                 * The counters of all stripes.
+                 */
+                private final AtomicLongArray counters;
+
+                /**
+                 * A mask for resolving the stripe of a thread.
+                 */
+                private final int mask;
+
+                /**
+                 * Creates a new histogram.
+                 *
+                 * @param stripes The minimum amount of stripes.
+                 */
+                protected Histogram(int stripes) {
+                    int size = 1;
+                    while (size < stripes && size < 1 << 16) {
+                        size <<= 1;
+                    }
+                    counters = new AtomicLongArray(size * STRIPE);
+                    mask = size - 1;
+                }
+
+                /**
+                 * Records a value.
+                 *
+                 * @param value The value to record where negative values are recorded as {@code 0}.
+                 */
+                protected void record(long value) {
+                    value = Math.max(0L, value);
+                    int offset = ((int) Thread.currentThread().getId() & mask) * STRIPE;
+                    counters.incrementAndGet(offset + Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(value)));
+                    counters.addAndGet(offset + BUCKETS, value);
+                }
+
+                /**
+                 * Resets this histogram.
+                 */
+                protected void reset() {
+                    for (int index = 0; index < counters.length(); index++) {
+                        counters.set(index, 0L);
+                    }
+                }
+
+                /**
+                 * Takes a snapshot of this histogram.
+                 *
+                 * @return A snapshot of this histogram.
+                 */
+                public Snapshot getSnapshot() {
+                    long[] buckets = new long[BUCKETS];
+                    long total = 0L;
+                    for (int offset = 0; offset < counters.length(); offset += STRIPE) {
+                        for (int index = 0; index < BUCKETS; index++) {
+                            buckets[index] += counters.get(offset + index);
+                        }
+                        total += counters.get(offset + BUCKETS);
+                    }
+                    return new Snapshot(buckets, total);
+                }
+
+                /**
+                 * A snapshot of a histogram.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                public static class Snapshot {
+
+                    /**
+                     * The amount of recorded values per bucket.
+                     */
+                    private final long[] buckets;
+
+                    /**
+                     * The total of all recorded values.
+                     */
+                    private final long total;
+
+                    /**
+                     * Creates a new snapshot.
+                     *
+                     * @param buckets The amount of recorded values per bucket.
+                     * @param total   The total of all recorded values.
+                     */
+                    protected Snapshot(long[] buckets, long total) {
+                        this.buckets = buckets;
+                        this.total = total;
+                    }
+
+                    /**
+                     * Returns the amount of recorded values.
+                     *
+                     * @return The amount of recorded values.
+                     */
+                    public long getCount() {
+                        long count = 0L;
+                        for (long bucket : buckets) {
+                            count += bucket;
+                        }
+                        return count;
+                    }
+
+                    /**
+                     * Returns the total of all recorded values.
+                     *
+                     * @return The total of all recorded values.
+                     */
+                    public long getTotal() {
+                        return total;
+                    }
+
+                    /**
+                     * Returns the amount of recorded values per bucket. The bucket with index {@code 0} contains all values that
+                     * are {@code 0}, any other bucket with index {@code n} contains all values from {@code 2^(n-1)} to {@code 2^n - 1}.
+                     *
+                     * @return The amount of recorded values per bucket.
+                     */
+                    public long[] getBuckets() {
+                        return buckets.clone();
+                    }
+
+                    /**
+                     * Returns an upper bound of the values of the given percentile of all recorded values.
+                     *
+                     * @param percentile The percentile between {@code 0} and {@code 1}.
+                     * @return An upper bound of the values of the given percentile or {@code 0} if no values were recorded.
+                     */
+                    public long getPercentile(double percentile) {
+                        if (percentile < 0d || percentile > 1d) {
+                            throw new IllegalArgumentException("Percentile must be between 0 and 1: " + percentile);
+                        }
+                        long count = getCount(), threshold = (long) Math.ceil(count * percentile), cumulated = 0L;
+                        for (int index = 0; index < buckets.length; index++) {
+                            cumulated += buckets[index];
+                            if (cumulated > 0L && cumulated >= threshold) {
+                                return index == BUCKETS - 1
+                                        ? Long.MAX_VALUE
+                                        : (1L << index) - 1L;
+                            }
+                        }
+                        return 0L;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * A deduplication strategy allows for reusing the result of a transformation for an equivalent type that is loaded by another class
+     * loader, for example if the same library is loaded by several sibling class loaders. Two types are equivalent if their class files
+     * are equal, if they are transformed by an equal transformer and if the class files of all of their super classes and interfaces are
+     * equal.
+     * </p>
+     * <p>
+     * <b>Important</b>: Deduplication must only be enabled if the result of a transformation does not depend on the identity of the
+     * transformed type's class loader, module or protection domain. Transformations that define auxiliary types or that require the
+     * registration of a live {@link LoadedTypeInitializer} are never reused. For a type whose transformation is reused, a {@link Listener}
+     * is only notified of the type's discovery and completion.
+     * </p>
+     */
+    interface DeduplicationStrategy {
+
+        /**
+         * Resolves a dispatcher for a type that is about to be transformed.
+         *
+         * @param typeDescription  A description of the transformed type.
+         * @param classLoader      The class loader of the transformed type or {@code null} if the type is loaded by the bootstrap loader.
+         * @param transformer      The transformer that is applied to the transformed type.
+         * @param classFileLocator The class file locator for the transformed type.
+         * @return A dispatcher for the transformation of the supplied type.
+         */
+        Dispatcher dispatcher(TypeDescription typeDescription, ClassLoader classLoader, Transformer transformer, ClassFileLocator classFileLocator);
+
+        /**
+         * A dispatcher for the transformation of a single type.
+         */
+        interface Dispatcher {
+
+            /**
+             * Indicates that no transformation of an equivalent type is available.
+             */
+            byte[] NOT_DEDUPLICATED = null;
+
+            /**
+             * Resolves the result of a transformation of an equivalent type.
+             *
+             * @return The transformed class file or {@link Dispatcher#NOT_DEDUPLICATED} if no transformation of an equivalent type is available.
+             */
+            byte[] resolve();
+
+            /**
+             * Decorates a listener to register the transformation of the represented type for its reuse.
+             *
+             * @param listener The listener to decorate.
+             * @return A listener that registers the transformation of the represented type for its reuse.
+             */
+            Listener register(Listener listener);
+
+            /**
+             * A non-operational dispatcher.
+             */
+            enum NoOp implements Dispatcher {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public byte[] resolve() {
+                    return NOT_DEDUPLICATED;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Listener register(Listener listener) {
+                    return listener;
+                }
+            }
+        }
+
+        /**
+         * A deduplication strategy that does not reuse any transformation.
+         */
+        enum Disabled implements DeduplicationStrategy {
+
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
+
+            /**
+             * {@inheritDoc}
+             */
+            public Dispatcher dispatcher(TypeDescription typeDescription, ClassLoader classLoader, Transformer transformer, ClassFileLocator classFileLocator) {
+                return Dispatcher.NoOp.INSTANCE;
+            }
+        }
+
+        /**
+         * <p>
+         * A deduplication strategy that retains transformations in memory, keyed by the transformer that was applied and by a digest
+         * of the class files of the transformed type and its super classes and interfaces. Types of the {@code java.*} namespace
+         * are not included in the digest as they can only be defined by the boot or platform loader. If the class file of any other
+         * type of the hierarchy cannot be located, a transformation is not deduplicated.
+         * </p>
+         * <p>
+         * The digests of super classes and interfaces are retained per class loader, which is only weakly referenced. Once the maximum
+         * amount of transformations is retained, an arbitrary transformation is discarded for every newly registered transformation.
+         * </p>
+         * <p>
+         * <b>Important</b>: A deduplication strategy must not be shared by agents with different configurations.
+         * </p>
+         */
+        class ForDigest implements DeduplicationStrategy {
+
+            /**
+             * The digest algorithm to use.
+             */
+            private static final String ALGORITHM = "SHA-256";
+
+            /**
+             * The charset for encoding type names.
+             */
+            private static final String CHARSET = "UTF-8";
+
+            /**
+             * The namespace of types that can only be defined by the boot or platform loader.
+             */
+            private static final String JAVA_NAMESPACE = "java.";
+
+            /**
+             * The default maximum amount of retained transformations.
+             */
+            private static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+            /**
+             * A mapping of keys of transformed types to their transformed class files.
+             */
+            private final ConcurrentMap<Key, byte[]> transformations;
+
+            /**
+             * A mapping of class loaders to the digests of the super classes and interfaces of their transformed types.
+             */
+            private final ConcurrentMap<RedefinitionStrategy.ResubmissionStrategy.Enabled.StorageKey, ConcurrentMap<String, byte[]>> digests;
+
+            /**
+             * The reference queue of the keys of the digests of super classes and interfaces.
+             */
+            private final ReferenceQueue<Object> referenceQueue;
+
+            /**
+             * The maximum amount of retained transformations.
+             */
+            private final int maximumSize;
+
+            /**
+             * Creates a new deduplication strategy that retains transformations in memory.
+             */
+            public ForDigest() {
+                this(DEFAULT_MAXIMUM_SIZE);
+            }
+
+            /**
+             * Creates a new deduplication strategy that retains transformations in memory.
+             *
+             * @param maximumSize The maximum amount of retained transformations.
+             */
+            public ForDigest(int maximumSize) {
+                if (maximumSize < 1) {
+                    throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+                }
+                this.maximumSize = maximumSize;
+                transformations = new ConcurrentHashMap<Key, byte[]>();
+                digests = new ConcurrentHashMap<RedefinitionStrategy.ResubmissionStrategy.Enabled.StorageKey, ConcurrentMap<String, byte[]>>();
+                referenceQueue = new ReferenceQueue<Object>();
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Dispatcher dispatcher(TypeDescription typeDescription, ClassLoader classLoader, Transformer transformer, ClassFileLocator classFileLocator) {
+                try {
+                    MessageDigest messageDigest = MessageDigest.getInstance(ALGORITHM);
+                    if (!update(messageDigest, typeDescription.getName(), digest(typeDescription.getName(), classFileLocator))) {
+                        return Dispatcher.NoOp.INSTANCE;
+                    }
+                    ConcurrentMap<String, byte[]> digests = null;
+                    Set<String> names = new HashSet<String>();
+                    LinkedList<TypeDescription> typeDescriptions = new LinkedList<TypeDescription>();
+                    typeDescriptions.add(typeDescription);
+                    while (!typeDescriptions.isEmpty()) {
+                        TypeDescription current = typeDescriptions.removeFirst();
+                        TypeDescription.Generic superClass = current.getSuperClass();
+                        if (superClass != null) {
+                            typeDescriptions.add(superClass.asErasure());
+                        }
+                        typeDescriptions.addAll(current.getInterfaces().asErasures());
+                        if (current != typeDescription
+                                && !current.getName().startsWith(JAVA_NAMESPACE)
+                                && names.add(current.getName())) {
+                            if (digests == null) {
+                                digests = digests(classLoader);
+                            }
+                            byte[] digest = digests.get(current.getName());
+                            if (digest == null) {
+                                digest = digest(current.getName(), classFileLocator);
+                                if (digest != null) {
+                                    digests.put(current.getName(), digest);
+                                }
+                            }
+                            if (!update(messageDigest, current.getName(), digest)) {
+                                return Dispatcher.NoOp.INSTANCE;
+                            }
+                        }
+                    }
+                    return new Resolved(transformations, maximumSize, new Key(messageDigest.digest(), transformer));
+                } catch (IOException exception) {
+                    return Dispatcher.NoOp.INSTANCE;
+                } catch (NoSuchAlgorithmException exception) {
+                    throw new IllegalStateException("Could not resolve " + ALGORITHM, exception);
+                }
+            }
+
+            /**
+             * Resolves the digests of the super classes and interfaces of the types of a class loader.
+             *
+             * @param classLoader The class loader or {@code null} for the bootstrap loader.
+             * @return A mapping of type names to the digests of their class files.
+             */
+            private ConcurrentMap<String, byte[]> digests(ClassLoader classLoader) {
+                ConcurrentMap<String, byte[]> digests = this.digests.get(new RedefinitionStrategy.ResubmissionStrategy.Enabled.LookupKey(classLoader));
+                if (digests == null) {
+                    RedefinitionStrategy.ResubmissionStrategy.Enabled.StorageKey.expunge(this.digests, referenceQueue);
+                    digests = new ConcurrentHashMap<String, byte[]>();
+                    ConcurrentMap<String, byte[]> previous = this.digests.putIfAbsent(new RedefinitionStrategy.ResubmissionStrategy.Enabled.StorageKey(classLoader, referenceQueue),
+                            digests);
+                    if (previous != null) {
+                        digests = previous;
+                    }
+                }
+                return digests;
+            }
+
+            /**
+             * Computes the digest of the class file of a type.
+             *
+             * @param name             The binary name of the type.
+             * @param classFileLocator The class file locator to use.
+             * @return The digest of the type's class file or {@code null} if the class file cannot be located.
+             * @throws IOException              If an I/O exception occurs.
+             * @throws NoSuchAlgorithmException If the digest algorithm is not available.
+             */
+            private static byte[] digest(String name, ClassFileLocator classFileLocator) throws IOException, NoSuchAlgorithmException {
+                ClassFileLocator.Resolution resolution = classFileLocator.locate(name);
+                return resolution.isResolved()
+                        ? MessageDigest.getInstance(ALGORITHM).digest(resolution.resolve())
+                        : null;
+            }
+
+            /**
+             * Updates a digest with the name and the digest of the class file of a type.
+             *
+             * @param messageDigest The digest to update.
+             * @param name          The binary name of the type.
+             * @param digest        The digest of the type's class file or {@code null} if the class file cannot be located.
+             * @return {@code true} if the class file of the type was located.
+             * @throws IOException If an I/O exception occurs.
+             */
+            private static boolean update(MessageDigest messageDigest, String name, byte[] digest) throws IOException {
+                if (digest == null) {
+                    return false;
+                }
+                messageDigest.update(name.getBytes(CHARSET));
+                messageDigest.update((byte) 0);
+                messageDigest.update(digest);
+                return true;
+            }
+
+            /**
+             * Returns the amount of retained transformations.
+             *
+             * @return The amount of retained transformations.
+             */
+            public int getSize() {
+                return transformations.size();
+            }
+
+            /**
+             * A key of a transformed type.
+             */
+            protected static class Key {
+
+                /**
+                 * The digest of the class files of the transformed type and its hierarchy.
+                 */
+                private final byte[] digest;
+
+                /**
+                 * The transformer that was applied.
+                 */
+                private final Transformer transformer;
+
+                /**
+                 * The hash code of this key.
+                 */
+                private final int hashCode;
+
+                /**
+                 * Creates a new key.
+                 *
+                 * @param digest      The digest of the class files of the transformed type and its hierarchy.
+                 * @param transformer The transformer that was applied.
+                 */
+                protected Key(byte[] digest, Transformer transformer) {
+                    this.digest = digest;
+                    this.transformer = transformer;
+                    hashCode = 31 * Arrays.hashCode(digest) + transformer.hashCode();
+                }
+
+                @Override
+                public int hashCode() {
+                    return hashCode;
+                }
+
+                @Override
+                public boolean equals(Object other) {
+                    if (this == other) {
+                        return true;
+                    } else if (!(other instanceof Key)) {
+                        return false;
+                    }
+                    Key key = (Key) other;
+                    return hashCode == key.hashCode && Arrays.equals(digest, key.digest) && transformer.equals(key.transformer);
+                }
+            }
+
+            /**
+             * A dispatcher for a type that is eligible for deduplication.
+             */
+            protected static class Resolved implements Dispatcher {
+
+                /**
+                 * A mapping of keys of transformed types to their transformed class files.
+                 */
+                private final ConcurrentMap<Key, byte[]> transformations;
+
+                /**
+                 * The maximum amount of retained transformations.
+                 */
+                private final int maximumSize;
+
+                /**
+                 * The key of the represented type.
+                 */
+                private final Key key;
+
+                /**
+                 * Creates a new resolved dispatcher.
+                 *
+                 * @param transformations A mapping of keys of transformed types to their transformed class files.
+                 * @param maximumSize     The maximum amount of retained transformations.
+                 * @param key             The key of the represented type.
+                 */
+                protected Resolved(ConcurrentMap<Key, byte[]> transformations, int maximumSize, Key key) {
+                    this.transformations = transformations;
+                    this.maximumSize = maximumSize;
+                    this.key = key;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public byte[] resolve() {
+                    return transformations.get(key);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Listener register(Listener listener) {
+                    return new Registering(listener, transformations, maximumSize, key);
+                }
+            }
+
+            /**
+             * A listener that registers a type's transformation for its reuse if the transformation is eligible for deduplication.
+             */
+            protected static class Registering implements Listener {
+
+                /**
+                 * The listener to delegate to.
+                 */
+                private final Listener listener;
+
+                /**
+                 * A mapping of keys of transformed types to their transformed class files.
+                 */
+                private final ConcurrentMap<Key, byte[]> transformations;
+
+                /**
+                 * The maximum amount of retained transformations.
+                 */
+                private final int maximumSize;
+
+                /**
+                 * The key of the transformed type.
+                 */
+                private final Key key;
+
+                /**
+                 * Creates a new registering listener.
+                 *
+                 * @param listener        The listener to delegate to.
+                 * @param transformations A mapping of keys of transformed types to their transformed class files.
+                 * @param maximumSize     The maximum amount of retained transformations.
+                 * @param key             The key of the transformed type.
+                 */
+                protected Registering(Listener listener, ConcurrentMap<Key, byte[]> transformations, int maximumSize, Key key) {
+                    this.listener = listener;
+                    this.transformations = transformations;
+                    this.maximumSize = maximumSize;
+                    this.key = key;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onDiscovery(String typeName, ClassLoader classLoader, JavaModule module, boolean loaded) {
+                    listener.onDiscovery(typeName, classLoader, module, loaded);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onTransformation(TypeDescription typeDescription, ClassLoader classLoader, JavaModule module, boolean loaded, DynamicType dynamicType) {
+                    if (dynamicType.getAuxiliaryTypes().isEmpty() && !dynamicType.hasAliveLoadedTypeInitializers()) {
+                        Iterator<Key> iterator = transformations.keySet().iterator();
+                        while (transformations.size() >= maximumSize && iterator.hasNext()) {
+                            iterator.next();
+                            iterator.remove();
+                        }
+                        transformations.putIfAbsent(key, dynamicType.getBytes());
+                    }
+                    listener.onTransformation(typeDescription, classLoader, module, loaded, dynamicType);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onIgnored(TypeDescription typeDescription, ClassLoader classLoader, JavaModule module, boolean loaded) {
+                    listener.onIgnored(typeDescription, classLoader, module, loaded);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onError(String typeName, ClassLoader classLoader, JavaModule module, boolean loaded, Throwable throwable) {
+                    listener.onError(typeName, classLoader, module, loaded, throwable);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public void onComplete(String typeName, ClassLoader classLoader, JavaModule module, boolean loaded) {
+                    listener.onComplete(typeName, classLoader, module, loaded);
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * A redefinition strategy regulates how already loaded classes are modified by a built agent.
+     * </p>
+     * <p>
+     * <b>Important</b>: Most JVMs do not support changes of a class's structure after a class was already
+     * loaded. Therefore, it is typically required that this class file transformer was built while enabling
+     * {@link AgentBuilder#disableClassFormatChanges()}.
+     * </p>
+     */
+    enum RedefinitionStrategy {
+
+        /**
+         * Disables redefinition such that already loaded classes are not affected by the agent.
+         */
+        DISABLED(false, false) {
+            @Override
+            public void apply(Instrumentation instrumentation,
+                              AgentBuilder.Listener listener,
+                              CircularityLock circularityLock,
+                              PoolStrategy poolStrategy,
+                              LocationStrategy locationStrategy,
+                              DiscoveryStrategy discoveryStrategy,
+                              BatchAllocator redefinitionBatchAllocator,
+                              Listener redefinitionListener,
+                              LambdaInstrumentationStrategy lambdaInstrumentationStrategy,
+                              DescriptionStrategy descriptionStrategy,
+                              FallbackStrategy fallbackStrategy,
+                              RawMatcher typeMatcher,
+                              RawMatcher ignoredTypeMatcher) {
+                /* do nothing */
+            }
+
+            @Override
+            protected void check(Instrumentation instrumentation) {
+                throw new IllegalStateException("Cannot apply redefinition on disabled strategy");
+            }
+
+            @Override
+            protected Collector make() {
+                throw new IllegalStateException("A disabled redefinition strategy cannot create a collector");
+            }
+        },
+
+        /**
+         * <p>
+         * Applies a <b>redefinition</b> to all classes that are already loaded and that would have been transformed if
+         * the built agent was registered before they were loaded. The created {@link ClassFileTransformer} is <b>not</b>
+         * registered for applying retransformations.
+         * </p>
+         * <p>
+         * Using this strategy, a redefinition is applied as a single transformation request. This means that a single illegal
+         * redefinition of a class causes the entire redefinition attempt to fail.
+         * </p>
+         * <p>
+         * <b>Note</b>: When applying a redefinition, it is normally required to use a {@link TypeStrategy} that applies
+         * a redefinition instead of rebasing classes such as {@link TypeStrategy.Default#REDEFINE}. Also, consider
+         * the constrains given by this type strategy.
+         * </p>
+         */
+        REDEFINITION(true, false) {
+            @Override
+            protected void check(Instrumentation instrumentation) {
+                if (!instrumentation.isRedefineClassesSupported()) {
+                    throw new IllegalStateException("Cannot apply redefinition on " + instrumentation);
+                }
+            }
+
+            @Override
+            protected Collector make() {
+                return new Collector.ForRedefinition();
+            }
+        },
+
+        /**
+         * <p>
+         * Applies a <b>retransformation</b> to all classes that are already loaded and that would have been transformed if
+         * the built agent was registered before they were loaded. The created {@link ClassFileTransformer} is registered
+         * for applying retransformations.
+         * </p>
+         * <p>
+         * Using this strategy, a retransformation is applied as a single transformation request. This means that a single illegal
          * retransformation of a class causes the entire retransformation attempt to fail.
          * </p>
          * <p>
@@ -4605,6 +6619,56 @@ public interface AgentBuilder {
                           FallbackStrategy fallbackStrategy,
                           RawMatcher typeMatcher,
                           RawMatcher ignoredTypeMatcher) {
+            apply(instrumentation,
+                    listener,
+                    circularityLock,
+                    poolStrategy,
+                    locationStrategy,
+                    redefinitionDiscoveryStrategy,
+                    redefinitionBatchAllocator,
+                    redefinitionListener,
+                    SynchronousExecutor.INSTANCE,
+                    lambdaInstrumentationStrategy,
+                    descriptionStrategy,
+                    fallbackStrategy,
+                    typeMatcher,
+                    ignoredTypeMatcher);
+        }
+
+        /**
+         * Applies this redefinition strategy by submitting all loaded types to redefinition. If this redefinition strategy is disabled,
+         * this method is non-operational.
+         *
+         * @param instrumentation               The instrumentation instance to use.
+         * @param listener                      The listener to notify on transformations.
+         * @param circularityLock               The circularity lock to use.
+         * @param poolStrategy                  The type locator to use.
+         * @param locationStrategy              The location strategy to use.
+         * @param redefinitionDiscoveryStrategy The discovery strategy for loaded types to be redefined.
+         * @param redefinitionBatchAllocator    The batch allocator for the redefinition strategy to apply.
+         * @param redefinitionListener          The redefinition listener for the redefinition strategy to apply.
+         * @param redefinitionExecutor          The executor to use for preparing a batch of redefined types.
+         * @param lambdaInstrumentationStrategy A strategy to determine of the {@code LambdaMetafactory} should be instrumented to allow for the
+         *                                      instrumentation of classes that represent lambda expressions.
+         * @param descriptionStrategy           The description strategy for resolving type descriptions for types.
+         * @param fallbackStrategy              The fallback strategy to apply.
+         * @param typeMatcher                   Identifies types that should be instrumented.
+         * @param ignoredTypeMatcher            Identifies types that should not be instrumented.
+         */
+        public void apply(Instrumentation instrumentation,
+                          AgentBuilder.Listener listener,
+                          CircularityLock circularityLock,
+                          PoolStrategy poolStrategy,
+                          LocationStrategy locationStrategy,
+                          DiscoveryStrategy redefinitionDiscoveryStrategy,
+                          BatchAllocator redefinitionBatchAllocator,
+                          Listener redefinitionListener,
+                          Executor redefinitionExecutor,
+                          LambdaInstrumentationStrategy lambdaInstrumentationStrategy,
+                          DescriptionStrategy descriptionStrategy,
+                          FallbackStrategy fallbackStrategy,
+                          RawMatcher typeMatcher,
+                          RawMatcher ignoredTypeMatcher) {
             check(instrumentation);
             int batch = RedefinitionStrategy.BatchAllocator.FIRST_BATCH;
             for (Iterable<Class<?>> types : redefinitionDiscoveryStrategy.resolve(instrumentation)) {
@@ -4649,7 +6713,7 @@ public interface AgentBuilder {
                         }
                     }
                 }
-                batch = collector.apply(instrumentation, circularityLock, locationStrategy, listener, redefinitionBatchAllocator, redefinitionListener, batch);
+                batch = collector.apply(instrumentation, circularityLock, locationStrategy, listener, redefinitionBatchAllocator, redefinitionListener, redefinitionExecutor, batch);
             }
         }
 
@@ -5039,60 +7103,383 @@ public interface AgentBuilder {
                         }
                     }
                 }
-            }
+            }
+
+            /**
+             * A partitioning batch allocator that splits types for redefinition into a fixed amount of parts.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class Partitioning implements BatchAllocator {
+
+                /**
+                 * The amount of batches to generate.
+                 */
+                private final int parts;
+
+                /**
+                 * Creates a new batch allocator that splits types for redefinition into a fixed amount of parts.
+                 *
+                 * @param parts The amount of parts to create.
+                 */
+                protected Partitioning(int parts) {
+                    this.parts = parts;
+                }
+
+                /**
+                 * Creates a part-splitting batch allocator.
+                 *
+                 * @param parts The amount of parts to create.
+                 * @return A batch allocator that splits the redefined types into a fixed amount of batches.
+                 */
+                public static BatchAllocator of(int parts) {
+                    if (parts < 1) {
+                        throw new IllegalArgumentException("A batch size must be positive: " + parts);
+                    }
+                    return new Partitioning(parts);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Iterable<? extends List<Class<?>>> batch(List<Class<?>> types) {
+                    if (types.isEmpty()) {
+                        return Collections.emptyList();
+                    } else {
+                        List<List<Class<?>>> batches = new ArrayList<List<Class<?>>>();
+                        int size = types.size() / parts, reminder = types.size() % parts;
+                        for (int index = reminder; index < types.size(); index += size) {
+                            batches.add(new ArrayList<Class<?>>(types.subList(index, index + size)));
+                        }
+                        if (batches.isEmpty()) {
+                            return Collections.singletonList(types);
+                        } else {
+                            batches.get(0).addAll(0, types.subList(0, reminder));
+                            return batches;
+                        }
+                    }
+                }
+            }
+
+            /**
+             * <p>
+             * A batch allocator that adapts the size of each batch such that the application of a batch approaches a target duration. As
+             * the redefinition or retransformation of a batch is applied within a safepoint of the virtual machine, this allows for limiting
+             * the pause that is imposed onto a running application when attaching to it. The size of a batch is never increased by more than
+             * twice the size of the previous batch and is halved if a garbage collection was observed while a batch was applied.
+             * </p>
+             * <p>
+             * <b>Important</b>: This batch allocator measures the duration of each batch by the {@link Listener} that is returned by
+             * {@link ForLatencyTarget#getListener()}. This listener must be registered in addition to the batch allocator. Without it,
+             * all batches are allocated with the minimum size.
+             * </p>
+             */
+            class ForLatencyTarget implements BatchAllocator {
+
+                /**
+                 * The weight of the most recent measurement when estimating the duration of redefining a single type.
+                 */
+                private static final double WEIGHT = 0.5d;
+
+                /**
+                 * Indicates that no batch is currently measured.
+                 */
+                private static final int NO_BATCH = 0;
+
+                /**
+                 * The targeted duration of a batch in nanoseconds.
+                 */
+                private final long target;
+
+                /**
+                 * The minimum size of each batch.
+                 */
+                private final int minimum;
+
+                /**
+                 * The maximum size of each batch.
+                 */
+                private final int maximum;
+
+                /**
+                 * The garbage collector beans to observe for detecting collections.
+                 */
+                private final List<GarbageCollectorMXBean> garbageCollectors;
+
+                /**
+                 * The listener that measures the duration of each batch.
+                 */
+                private final Listener listener;
+
+                /**
+                 * The size of the next batch.
+                 */
+                private int size;
+
+                /**
+                 * The estimated duration of redefining a single type in nanoseconds or {@code 0} if no estimate is available yet.
+                 */
+                private double estimate;
+
+                /**
+                 * The size of the batch that is currently measured or {@link ForLatencyTarget#NO_BATCH} if no batch is measured.
+                 */
+                private int measured;
+
+                /**
+                 * The value of {@link System#nanoTime()} when the currently measured batch was started.
+                 */
+                private long started;
+
+                /**
+                 * The total amount of garbage collections when the currently measured batch was started.
+                 */
+                private long collections;
+
+                /**
+                 * Creates a new batch allocator that targets a given duration per batch.
+                 *
+                 * @param target            The targeted duration of a batch in nanoseconds.
+                 * @param minimum           The minimum size of each batch.
+                 * @param maximum           The maximum size of each batch.
+                 * @param garbageCollectors The garbage collector beans to observe for detecting collections.
+                 */
+                protected ForLatencyTarget(long target, int minimum, int maximum, List<GarbageCollectorMXBean> garbageCollectors) {
+                    this.target = target;
+                    this.minimum = minimum;
+                    this.maximum = maximum;
+                    this.garbageCollectors = garbageCollectors;
+                    listener = new Measuring();
+                    size = minimum;
+                }
+
+                /**
+                 * Creates a batch allocator that targets the given duration per batch.
+                 *
+                 * @param target   The targeted duration of a batch.
+                 * @param timeUnit The time unit of {@code target}.
+                 * @return An appropriate batch allocator.
+                 */
+                public static ForLatencyTarget of(long target, TimeUnit timeUnit) {
+                    return of(target, timeUnit, 1, Integer.MAX_VALUE);
+                }
+
+                /**
+                 * Creates a batch allocator that targets the given duration per batch.
+                 *
+                 * @param target   The targeted duration of a batch.
+                 * @param timeUnit The time unit of {@code target}.
+                 * @param minimum  The minimum size of each batch.
+                 * @param maximum  The maximum size of each batch.
+                 * @return An appropriate batch allocator.
+                 */
+                public static ForLatencyTarget of(long target, TimeUnit timeUnit, int minimum, int maximum) {
+                    if (target <= 0L) {
+                        throw new IllegalArgumentException("Target duration must be a positive number: " + target);
+                    } else if (minimum <= 0) {
+                        throw new IllegalArgumentException("Minimum must be a positive number: " + minimum);
+                    } else if (minimum > maximum) {
+                        throw new IllegalArgumentException("Minimum must not be bigger than maximum: " + minimum + " >" + maximum);
+                    }
+                    List<GarbageCollectorMXBean> garbageCollectors;
+                    try {
+                        garbageCollectors = ManagementFactory.getGarbageCollectorMXBeans();
+                    } catch (Throwable ignored) {
+                        garbageCollectors = Collections.emptyList();
+                    }
+                    return new ForLatencyTarget(timeUnit.toNanos(target), minimum, maximum, garbageCollectors);
+                }
+
+                /**
+                 * Returns the listener that measures the duration of each batch. This listener must be registered for this batch allocator
+                 * to adapt the size of its batches. It should be registered after any listener that delays a batch such as
+                 * {@link Listener.Pausing} as the duration of a batch is measured from the notification of this listener.
+                 *
+                 * @return The listener that measures the duration of each batch.
+                 */
+                public Listener getListener() {
+                    return listener;
+                }
+
+                /**
+                 * Returns the size of the next batch.
+                 *
+                 * @return The size of the next batch.
+                 */
+                public synchronized int getSize() {
+                    return size;
+                }
 
-            /**
-             * A partitioning batch allocator that splits types for redefinition into a fixed amount of parts.
-             */
-            @HashCodeAndEqualsPlugin.Enhance
-            class Partitioning implements BatchAllocator {
+                /**
+                 * {@inheritDoc}
+                 */
+                public Iterable<? extends List<Class<?>>> batch(List<Class<?>> types) {
+                    return new AdaptiveIterable(types);
+                }
 
                 /**
-                 * The amount of batches to generate.
+                 * Adjusts the size of the next batch after a batch was applied.
+                 *
+                 * @param batch      The size of the applied batch.
+                 * @param elapsed    The duration of applying the batch in nanoseconds.
+                 * @param collection {@code true} if a garbage collection was observed while the batch was applied.
                  */
-                private final int parts;
+                protected synchronized void adjust(int batch, long elapsed, boolean collection) {
+                    if (collection) {
+                        size = Math.max(minimum, size / 2);
+                    } else {
+                        double duration = (double) Math.max(1L, elapsed) / batch;
+                        estimate = estimate == 0d
+                                ? duration
+                                : WEIGHT * duration + (1d - WEIGHT) * estimate;
+                        size = (int) Math.max(minimum, Math.min(Math.min(maximum, 2L * size), (long) (target / estimate)));
+                    }
+                }
 
                 /**
-                 * Creates a new batch allocator that splits types for redefinition into a fixed amount of parts.
+                 * Starts the measurement of a batch.
                  *
-                 * @param parts The amount of parts to create.
+                 * @param batch The size of the batch.
                  */
-                protected Partitioning(int parts) {
-                    this.parts = parts;
+                private synchronized void start(int batch) {
+                    measured = batch;
+                    collections = collections();
+                    started = System.nanoTime();
                 }
 
                 /**
-                 * Creates a part-splitting batch allocator.
+                 * Completes the measurement of the current batch, if any.
+                 */
+                private synchronized void complete() {
+                    if (measured != NO_BATCH) {
+                        long elapsed = System.nanoTime() - started;
+                        adjust(measured, elapsed, collections() > collections);
+                        measured = NO_BATCH;
+                    }
+                }
+
+                /**
+                 * Resolves the amount of garbage collections that were observed in total.
                  *
-                 * @param parts The amount of parts to create.
-                 * @return A batch allocator that splits the redefined types into a fixed amount of batches.
+                 * @return The amount of garbage collections that were observed in total.
                  */
-                public static BatchAllocator of(int parts) {
-                    if (parts < 1) {
-                        throw new IllegalArgumentException("A batch size must be positive: " + parts);
+                private long collections() {
+                    long collections = 0L;
+                    for (GarbageCollectorMXBean garbageCollector : garbageCollectors) {
+                        collections += Math.max(0L, garbageCollector.getCollectionCount());
                     }
-                    return new Partitioning(parts);
+                    return collections;
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * A listener that measures the duration of each batch of the enclosing batch allocator.
                  */
-                public Iterable<? extends List<Class<?>>> batch(List<Class<?>> types) {
-                    if (types.isEmpty()) {
+                protected class Measuring implements Listener {
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void onBatch(int index, List<Class<?>> batch, List<Class<?>> types) {
+                        complete();
+                        start(batch.size());
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Iterable<? extends List<Class<?>>> onError(int index, List<Class<?>> batch, Throwable throwable, List<Class<?>> types) {
+                        complete();
                         return Collections.emptyList();
-                    } else {
-                        List<List<Class<?>>> batches = new ArrayList<List<Class<?>>>();
-                        int size = types.size() / parts, reminder = types.size() % parts;
-                        for (int index = reminder; index < types.size(); index += size) {
-                            batches.add(new ArrayList<Class<?>>(types.subList(index, index + size)));
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void onComplete(int amount, List<Class<?>> types, Map<List<Class<?>>, Throwable> failures) {
+                        complete();
+                    }
+                }
+
+                /**
+                 * An iterable that allocates batches of the enclosing batch allocator's current size.
+                 */
+                protected class AdaptiveIterable implements Iterable<List<Class<?>>> {
+
+                    /**
+                     * The types to allocate into batches.
+                     */
+                    private final List<Class<?>> types;
+
+                    /**
+                     * Creates a new adaptive iterable.
+                     *
+                     * @param types The types to allocate into batches.
+                     */
+                    protected AdaptiveIterable(List<Class<?>> types) {
+                        this.types = types;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Iterator<List<Class<?>>> iterator() {
+                        return new AdaptiveIterator(types);
+                    }
+                }
+
+                /**
+                 * An iterator that allocates batches of the enclosing batch allocator's current size. The size of a batch is only
+                 * determined when it is requested such that the measurement of the previous batch is considered.
+                 */
+                protected class AdaptiveIterator implements Iterator<List<Class<?>>> {
+
+                    /**
+                     * The types to allocate into batches.
+                     */
+                    private final List<Class<?>> types;
+
+                    /**
+                     * The index of the next type to allocate.
+                     */
+                    private int index;
+
+                    /**
+                     * Creates a new adaptive iterator.
+                     *
+                     * @param types The types to allocate into batches.
+                     */
+                    protected AdaptiveIterator(List<Class<?>> types) {
+                        this.types = types;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public boolean hasNext() {
+                        return index < types.size();
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public List<Class<?>> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
                         }
-                        if (batches.isEmpty()) {
-                            return Collections.singletonList(types);
-                        } else {
-                            batches.get(0).addAll(0, types.subList(0, reminder));
-                            return batches;
+                        complete();
+                        int size = Math.min(getSize(), types.size() - index);
+                        try {
+                            return new ArrayList<Class<?>>(types.subList(index, index + size));
+                        } finally {
+                            index += size;
                         }
                     }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public void remove() {
+                        throw new UnsupportedOperationException("remove");
+                    }
                 }
             }
         }
@@ -6115,19 +8502,30 @@ public interface AgentBuilder {
                     /**
                      * {@inheritDoc}
                      */
-                    @SuppressFBWarnings(value = "GC_UNRELATED_TYPES", justification = "Use of unrelated key is intended for avoiding unnecessary weak reference")
                     public void onError(String typeName, ClassLoader classLoader, JavaModule module, boolean loaded, Throwable throwable) {
                         if (!loaded && matcher.matches(throwable)) {
-                            Set<String> types = this.types.get(new LookupKey(classLoader));
-                            if (types == null) {
-                                types = new ConcurrentHashSet<String>();
-                                Set<String> previous = this.types.putIfAbsent(new StorageKey(classLoader), types);
-                                if (previous != null) {
-                                    types = previous;
-                                }
+                            register(types, typeName, classLoader);
+                        }
+                    }
+
+                    /**
+                     * Registers a type for resubmission.
+                     *
+                     * @param types       A map of class loaders to their types to resubmit.
+                     * @param typeName    The name of the type to resubmit.
+                     * @param classLoader The class loader of the type to resubmit or {@code null} if the type is loaded by the bootstrap loader.
+                     */
+                    @SuppressFBWarnings(value = "GC_UNRELATED_TYPES", justification = "Use of unrelated key is intended for avoiding unnecessary weak reference")
+                    protected static void register(ConcurrentMap<StorageKey, Set<String>> types, String typeName, ClassLoader classLoader) {
+                        Set<String> registered = types.get(new LookupKey(classLoader));
+                        if (registered == null) {
+                            registered = new ConcurrentHashSet<String>();
+                            Set<String> previous = types.putIfAbsent(new StorageKey(classLoader), registered);
+                            if (previous != null) {
+                                registered = previous;
                             }
-                            types.add(typeName);
                         }
+                        registered.add(typeName);
                     }
 
                     /**
@@ -6295,7 +8693,7 @@ public interface AgentBuilder {
                             List<Class<?>> types = new ArrayList<Class<?>>();
                             while (!Thread.interrupted() && entries.hasNext()) {
                                 Map.Entry<StorageKey, Set<String>> entry = entries.next();
-                                ClassLoader classLoader = entry.getKey().get();
+                                ClassLoader classLoader = (ClassLoader) entry.getKey().get();
                                 if (classLoader != null || entry.getKey().isBootstrapLoader()) {
                                     Iterator<String> iterator = entry.getValue().iterator();
                                     while (iterator.hasNext()) {
@@ -6342,111 +8740,315 @@ public interface AgentBuilder {
                                         listener,
                                         redefinitionBatchAllocator,
                                         redefinitionBatchListener,
-                                        BatchAllocator.FIRST_BATCH);
-                            }
-                        } finally {
-                            if (release) {
-                                circularityLock.release();
-                            }
-                        }
+                                        BatchAllocator.FIRST_BATCH);
+                            }
+                        } finally {
+                            if (release) {
+                                circularityLock.release();
+                            }
+                        }
+                    }
+                }
+
+                /**
+                 * A key for a class loader or an unwrapped module that can only be used for looking up a preexisting value but avoids
+                 * reference management.
+                 */
+                protected static class LookupKey {
+
+                    /**
+                     * The represented class loader or unwrapped module or {@code null} for the bootstrap loader.
+                     */
+                    private final Object value;
+
+                    /**
+                     * The represented value's identity hash code or {@code 0} if this entry represents the bootstrap class loader.
+                     */
+                    private final int hashCode;
+
+                    /**
+                     * Creates a new lookup key.
+                     *
+                     * @param value The represented class loader or unwrapped module or {@code null} for the bootstrap loader.
+                     */
+                    protected LookupKey(Object value) {
+                        this.value = value;
+                        hashCode = System.identityHashCode(value);
+                    }
+
+                    @Override
+                    public int hashCode() {
+                        return hashCode;
+                    }
+
+                    @Override
+                    @SuppressFBWarnings(value = "EQ_CHECK_FOR_OPERAND_NOT_COMPATIBLE_WITH_THIS", justification = "Cross-comparison is intended")
+                    public boolean equals(Object other) {
+                        if (this == other) {
+                            return true;
+                        } else if (other instanceof LookupKey) {
+                            return value == ((LookupKey) other).value;
+                        } else if (other instanceof StorageKey) {
+                            StorageKey storageKey = (StorageKey) other;
+                            return hashCode == storageKey.hashCode && value == storageKey.get();
+                        } else {
+                            return false;
+                        }
+                    }
+                }
+
+                /**
+                 * A key for a class loader or an unwrapped module that only weakly references its value.
+                 */
+                protected static class StorageKey extends WeakReference<Object> {
+
+                    /**
+                     * The represented value's identity hash code or {@code 0} if this entry represents the bootstrap class loader.
+                     */
+                    private final int hashCode;
+
+                    /**
+                     * Creates a new storage key.
+                     *
+                     * @param value The represented class loader or unwrapped module or {@code null} for the bootstrap loader.
+                     */
+                    protected StorageKey(Object value) {
+                        super(value);
+                        hashCode = System.identityHashCode(value);
+                    }
+
+                    /**
+                     * Creates a new storage key that is enqueued once its value is garbage collected.
+                     *
+                     * @param value          The represented class loader or unwrapped module or {@code null} for the bootstrap loader.
+                     * @param referenceQueue The reference queue to notify upon a garbage collection.
+                     */
+                    protected StorageKey(Object value, ReferenceQueue<? super Object> referenceQueue) {
+                        super(value, referenceQueue);
+                        hashCode = System.identityHashCode(value);
+                    }
+
+                    /**
+                     * Checks if this reference represents the bootstrap class loader.
+                     *
+                     * @return {@code true} if this entry represents the bootstrap class loader.
+                     */
+                    protected boolean isBootstrapLoader() {
+                        return hashCode == 0;
+                    }
+
+                    /**
+                     * Removes all keys from the supplied map that were enqueued as their value was garbage collected.
+                     *
+                     * @param map            The map from which to remove the keys of garbage collected values.
+                     * @param referenceQueue The reference queue of the map's keys.
+                     */
+                    protected static void expunge(Map<StorageKey, ?> map, ReferenceQueue<Object> referenceQueue) {
+                        Reference<?> reference;
+                        while ((reference = referenceQueue.poll()) != null) {
+                            map.remove(reference);
+                        }
+                    }
+
+                    @Override
+                    public int hashCode() {
+                        return hashCode;
+                    }
+
+                    @Override
+                    @SuppressFBWarnings(value = "EQ_CHECK_FOR_OPERAND_NOT_COMPATIBLE_WITH_THIS", justification = "Cross-comparison is intended")
+                    public boolean equals(Object other) {
+                        if (this == other) {
+                            return true;
+                        } else if (other instanceof LookupKey) {
+                            LookupKey lookupKey = (LookupKey) other;
+                            return hashCode == lookupKey.hashCode && get() == lookupKey.value;
+                        } else if (other instanceof StorageKey) {
+                            StorageKey storageKey = (StorageKey) other;
+                            return hashCode == storageKey.hashCode && get() == storageKey.get();
+                        } else {
+                            return false;
+                        }
+                    }
+                }
+            }
+
+            /**
+             * A resubmission strategy that defers the transformation of types that are loaded after the installation. Such types are loaded
+             * in their original form and are registered for resubmission. Upon resubmission, all registered types are matched and retransformed
+             * in batches as determined by the configured batch allocator. Types that are matched by a synchronous matcher are still transformed
+             * upon being loaded.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class Deferring implements ResubmissionStrategy {
+
+                /**
+                 * A scheduler that is responsible for resubmission of types.
+                 */
+                private final ResubmissionScheduler resubmissionScheduler;
+
+                /**
+                 * A matcher for types that are transformed upon being loaded rather than being deferred.
+                 */
+                private final RawMatcher synchronousMatcher;
+
+                /**
+                 * Creates a new deferring resubmission strategy.
+                 *
+                 * @param resubmissionScheduler A scheduler that is responsible for resubmission of types.
+                 * @param synchronousMatcher    A matcher for types that are transformed upon being loaded rather than being deferred.
+                 */
+                protected Deferring(ResubmissionScheduler resubmissionScheduler, RawMatcher synchronousMatcher) {
+                    this.resubmissionScheduler = resubmissionScheduler;
+                    this.synchronousMatcher = synchronousMatcher;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Installation apply(Instrumentation instrumentation,
+                                          LocationStrategy locationStrategy,
+                                          AgentBuilder.Listener listener,
+                                          InstallationListener installationListener,
+                                          CircularityLock circularityLock,
+                                          RawMatcher matcher,
+                                          RedefinitionStrategy redefinitionStrategy,
+                                          RedefinitionStrategy.BatchAllocator redefinitionBatchAllocator,
+                                          RedefinitionStrategy.Listener redefinitionBatchListener) {
+                    if (redefinitionStrategy.isEnabled() && resubmissionScheduler.isAlive()) {
+                        ConcurrentMap<Enabled.StorageKey, Set<String>> types = new ConcurrentHashMap<Enabled.StorageKey, Set<String>>();
+                        return new DeferredInstallation(listener,
+                                new InstallationListener.Compound(new Enabled.ResubmissionInstallationListener(resubmissionScheduler,
+                                        instrumentation,
+                                        locationStrategy,
+                                        listener,
+                                        circularityLock,
+                                        matcher,
+                                        redefinitionStrategy,
+                                        redefinitionBatchAllocator,
+                                        redefinitionBatchListener,
+                                        types), installationListener),
+                                synchronousMatcher,
+                                types);
+                    } else {
+                        return new Installation(listener, installationListener);
                     }
                 }
 
                 /**
-                 * A key for a class loader that can only be used for looking up a preexisting value but avoids reference management.
+                 * An installation that decorates the installed transformation to defer the transformation of types that are being loaded.
                  */
-                protected static class LookupKey {
+                @HashCodeAndEqualsPlugin.Enhance
+                protected static class DeferredInstallation extends Installation {
 
                     /**
-                     * The represented class loader.
+                     * A matcher for types that are transformed upon being loaded rather than being deferred.
                      */
-                    private final ClassLoader classLoader;
+                    private final RawMatcher synchronousMatcher;
 
                     /**
-                     * The represented class loader's hash code or {@code 0} if this entry represents the bootstrap class loader.
+                     * A map of class loaders to their types to resubmit.
                      */
-                    private final int hashCode;
+                    private final ConcurrentMap<Enabled.StorageKey, Set<String>> types;
 
                     /**
-                     * Creates a new lookup key.
+                     * Creates a new deferred installation.
                      *
-                     * @param classLoader The represented class loader.
+                     * @param listener             The listener to apply.
+                     * @param installationListener The installation listener to apply.
+                     * @param synchronousMatcher   A matcher for types that are transformed upon being loaded rather than being deferred.
+                     * @param types                A map of class loaders to their types to resubmit.
                      */
-                    protected LookupKey(ClassLoader classLoader) {
-                        this.classLoader = classLoader;
-                        hashCode = System.identityHashCode(classLoader);
-                    }
-
-                    @Override
-                    public int hashCode() {
-                        return hashCode;
+                    protected DeferredInstallation(AgentBuilder.Listener listener,
+                                                   InstallationListener installationListener,
+                                                   RawMatcher synchronousMatcher,
+                                                   ConcurrentMap<Enabled.StorageKey, Set<String>> types) {
+                        super(listener, installationListener);
+                        this.synchronousMatcher = synchronousMatcher;
+                        this.types = types;
                     }
 
                     @Override
-                    @SuppressFBWarnings(value = "EQ_CHECK_FOR_OPERAND_NOT_COMPATIBLE_WITH_THIS", justification = "Cross-comparison is intended")
-                    public boolean equals(Object other) {
-                        if (this == other) {
-                            return true;
-                        } else if (other instanceof LookupKey) {
-                            return classLoader == ((LookupKey) other).classLoader;
-                        } else if (other instanceof StorageKey) {
-                            StorageKey storageKey = (StorageKey) other;
-                            return hashCode == storageKey.hashCode && classLoader == storageKey.get();
-                        } else {
-                            return false;
-                        }
+                    protected Default.Transformation decorate(Default.Transformation transformation) {
+                        return new DeferringTransformation(transformation, synchronousMatcher, types);
                     }
                 }
 
                 /**
-                 * A key for a class loader that only weakly references the class loader.
+                 * A transformation that registers types that are being loaded and that are matched by the delegate transformation for
+                 * resubmission instead of transforming them. Types that are being retransformed or redefined are transformed by the delegate
+                 * transformation.
                  */
-                protected static class StorageKey extends WeakReference<ClassLoader> {
+                @HashCodeAndEqualsPlugin.Enhance
+                protected static class DeferringTransformation implements Default.Transformation {
 
                     /**
-                     * The represented class loader's hash code or {@code 0} if this entry represents the bootstrap class loader.
+                     * The transformation to delegate to.
                      */
-                    private final int hashCode;
+                    private final Default.Transformation transformation;
 
                     /**
-                     * Creates a new storage key.
-                     *
-                     * @param classLoader The represented class loader or {@code null} for the bootstrap class loader.
+                     * A matcher for types that are transformed upon being loaded rather than being deferred.
                      */
-                    protected StorageKey(ClassLoader classLoader) {
-                        super(classLoader);
-                        hashCode = System.identityHashCode(classLoader);
-                    }
+                    private final RawMatcher synchronousMatcher;
 
                     /**
-                     * Checks if this reference represents the bootstrap class loader.
+                     * A map of class loaders to their types to resubmit.
+                     */
+                    private final ConcurrentMap<Enabled.StorageKey, Set<String>> types;
+
+                    /**
+                     * Creates a new deferring transformation.
                      *
-                     * @return {@code true} if this entry represents the bootstrap class loader.
+                     * @param transformation     The transformation to delegate to.
+                     * @param synchronousMatcher A matcher for types that are transformed upon being loaded rather than being deferred.
+                     * @param types              A map of class loaders to their types to resubmit.
                      */
-                    protected boolean isBootstrapLoader() {
-                        return hashCode == 0;
+                    protected DeferringTransformation(Default.Transformation transformation,
+                                                      RawMatcher synchronousMatcher,
+                                                      ConcurrentMap<Enabled.StorageKey, Set<String>> types) {
+                        this.transformation = transformation;
+                        this.synchronousMatcher = synchronousMatcher;
+                        this.types = types;
                     }
 
-                    @Override
-                    public int hashCode() {
-                        return hashCode;
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public boolean matches(TypeDescription typeDescription,
+                                           ClassLoader classLoader,
+                                           JavaModule module,
+                                           Class<?> classBeingRedefined,
+                                           ProtectionDomain protectionDomain) {
+                        return transformation.matches(typeDescription, classLoader, module, classBeingRedefined, protectionDomain);
                     }
 
-                    @Override
-                    @SuppressFBWarnings(value = "EQ_CHECK_FOR_OPERAND_NOT_COMPATIBLE_WITH_THIS", justification = "Cross-comparison is intended")
-                    public boolean equals(Object other) {
-                        if (this == other) {
-                            return true;
-                        } else if (other instanceof LookupKey) {
-                            LookupKey lookupKey = (LookupKey) other;
-                            return hashCode == lookupKey.hashCode && get() == lookupKey.classLoader;
-                        } else if (other instanceof StorageKey) {
-                            StorageKey storageKey = (StorageKey) other;
-                            return hashCode == storageKey.hashCode && get() == storageKey.get();
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Resolution resolve(TypeDescription typeDescription,
+                                              ClassLoader classLoader,
+                                              JavaModule module,
+                                              Class<?> classBeingRedefined,
+                                              boolean loaded,
+                                              ProtectionDomain protectionDomain,
+                                              TypePool typePool) {
+                        if (classBeingRedefined != null || synchronousMatcher.matches(typeDescription, classLoader, module, classBeingRedefined, protectionDomain)) {
+                            return transformation.resolve(typeDescription, classLoader, module, classBeingRedefined, loaded, protectionDomain, typePool);
                         } else {
-                            return false;
+                            if (transformation.matches(typeDescription, classLoader, module, classBeingRedefined, protectionDomain)) {
+                                Enabled.ResubmissionListener.register(types, typeDescription.getName(), classLoader);
+                            }
+                            return new Resolution.Unresolved(typeDescription, classLoader, module, loaded);
                         }
                     }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public boolean isExcluded(String typeName, byte[] binaryRepresentation) {
+                        return transformation.isExcluded(typeName, binaryRepresentation);
+                    }
                 }
             }
 
@@ -6494,6 +9096,16 @@ public interface AgentBuilder {
                 protected InstallationListener getInstallationListener() {
                     return installationListener;
                 }
+
+                /**
+                 * Decorates the transformation that is applied by the installed class file transformer.
+                 *
+                 * @param transformation The transformation to decorate.
+                 * @return The transformation to apply.
+                 */
+                protected Default.Transformation decorate(Default.Transformation transformation) {
+                    return transformation;
+                }
             }
         }
 
@@ -6664,6 +9276,25 @@ public interface AgentBuilder {
             }
         }
 
+        /**
+         * An executor that executes any command on the calling thread. This executor is used for preparing batches of
+         * redefined types if no other executor is specified.
+         */
+        public enum SynchronousExecutor implements Executor {
+
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
+
+            /**
+             * {@inheritDoc}
+             */
+            public void execute(Runnable command) {
+                command.run();
+            }
+        }
+
         /**
          * A collector is responsible for collecting classes that are to be considered for modification.
          */
@@ -6769,13 +9400,44 @@ public interface AgentBuilder {
                                 BatchAllocator redefinitionBatchAllocator,
                                 Listener redefinitionListener,
                                 int batch) {
+                return apply(instrumentation,
+                        circularityLock,
+                        locationStrategy,
+                        listener,
+                        redefinitionBatchAllocator,
+                        redefinitionListener,
+                        SynchronousExecutor.INSTANCE,
+                        batch);
+            }
+
+            /**
+             * Applies all types that this collector collected.
+             *
+             * @param instrumentation            The instrumentation instance to apply changes to.
+             * @param circularityLock            The circularity lock to use.
+             * @param locationStrategy           The location strategy to use.
+             * @param listener                   The listener to use.
+             * @param redefinitionBatchAllocator The redefinition batch allocator to use.
+             * @param redefinitionListener       The redefinition listener to use.
+             * @param redefinitionExecutor       The executor to use for preparing a batch of redefined types.
+             * @param batch                      The next batch's index.
+             * @return The next batch's index after this application.
+             */
+            protected int apply(Instrumentation instrumentation,
+                                CircularityLock circularityLock,
+                                LocationStrategy locationStrategy,
+                                AgentBuilder.Listener listener,
+                                BatchAllocator redefinitionBatchAllocator,
+                                Listener redefinitionListener,
+                                Executor redefinitionExecutor,
+                                int batch) {
                 Map<List<Class<?>>, Throwable> failures = new HashMap<List<Class<?>>, Throwable>();
                 PrependableIterator prepanedableIterator = new PrependableIterator(redefinitionBatchAllocator.batch(this.types));
                 while (prepanedableIterator.hasNext()) {
                     List<Class<?>> types = prepanedableIterator.next();
                     redefinitionListener.onBatch(batch, types, this.types);
                     try {
-                        doApply(instrumentation, circularityLock, types, locationStrategy, listener);
+                        doApply(instrumentation, circularityLock, types, locationStrategy, listener, redefinitionExecutor);
                     } catch (Throwable throwable) {
                         prepanedableIterator.prepend(redefinitionListener.onError(batch, types, throwable, this.types));
                         failures.put(types, throwable);
@@ -6794,6 +9456,7 @@ public interface AgentBuilder {
              * @param types            The types of the current patch to transform.
              * @param locationStrategy The location strategy to use.
              * @param listener         the listener to notify.
+             * @param executor         The executor to use for preparing the types of the current batch.
              * @throws UnmodifiableClassException If a class is not modifiable.
              * @throws ClassNotFoundException     If a class could not be found.
              */
@@ -6801,7 +9464,8 @@ public interface AgentBuilder {
                                             CircularityLock circularityLock,
                                             List<Class<?>> types,
                                             LocationStrategy locationStrategy,
-                                            AgentBuilder.Listener listener) throws UnmodifiableClassException, ClassNotFoundException;
+                                            AgentBuilder.Listener listener,
+                                            Executor executor) throws UnmodifiableClassException, ClassNotFoundException;
 
             /**
              * An iterator that allows prepending of iterables to be applied previous to another iterator.
@@ -6872,7 +9536,9 @@ public interface AgentBuilder {
             }
 
             /**
-             * A collector that applies a <b>redefinition</b> of already loaded classes.
+             * A collector that applies a <b>redefinition</b> of already loaded classes. The class files of a batch's types are
+             * located by submitting a task per type to the supplied executor while the redefinition itself is always applied
+             * on the calling thread.
              */
             protected static class ForRedefinition extends Collector {
 
@@ -6881,14 +9547,20 @@ public interface AgentBuilder {
                                        CircularityLock circularityLock,
                                        List<Class<?>> types,
                                        LocationStrategy locationStrategy,
-                                       AgentBuilder.Listener listener) throws UnmodifiableClassException, ClassNotFoundException {
-                    List<ClassDefinition> classDefinitions = new ArrayList<ClassDefinition>(types.size());
+                                       AgentBuilder.Listener listener,
+                                       Executor executor) throws UnmodifiableClassException, ClassNotFoundException {
+                    List<FutureTask<byte[]>> resolutions = new ArrayList<FutureTask<byte[]>>(types.size());
                     for (Class<?> type : types) {
+                        FutureTask<byte[]> resolution = new FutureTask<byte[]>(new ClassFileResolution(type, locationStrategy));
+                        executor.execute(resolution);
+                        resolutions.add(resolution);
+                    }
+                    List<ClassDefinition> classDefinitions = new ArrayList<ClassDefinition>(types.size());
+                    for (int index = 0; index < types.size(); index++) {
+                        Class<?> type = types.get(index);
                         try {
                             try {
-                                classDefinitions.add(new ClassDefinition(type, locationStrategy.classFileLocator(type.getClassLoader(), JavaModule.ofType(type))
-                                        .locate(TypeDescription.ForLoadedType.getName(type))
-                                        .resolve()));
+                                classDefinitions.add(new ClassDefinition(type, resolve(resolutions.get(index))));
                             } catch (Throwable throwable) {
                                 JavaModule module = JavaModule.ofType(type);
                                 try {
@@ -6910,6 +9582,61 @@ public interface AgentBuilder {
                         }
                     }
                 }
+
+                /**
+                 * Awaits the resolution of a class file.
+                 *
+                 * @param resolution The resolution to await.
+                 * @return The resolved class file.
+                 * @throws Throwable If the class file could not be resolved.
+                 */
+                private static byte[] resolve(FutureTask<byte[]> resolution) throws Throwable {
+                    try {
+                        return resolution.get();
+                    } catch (ExecutionException exception) {
+                        throw exception.getCause();
+                    } catch (InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                        throw exception;
+                    }
+                }
+
+                /**
+                 * A task that locates the class file of a loaded type.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                protected static class ClassFileResolution implements Callable<byte[]> {
+
+                    /**
+                     * The type for which to locate the class file.
+                     */
+                    private final Class<?> type;
+
+                    /**
+                     * The location strategy to use.
+                     */
+                    private final LocationStrategy locationStrategy;
+
+                    /**
+                     * Creates a new class file resolution.
+                     *
+                     * @param type             The type for which to locate the class file.
+                     * @param locationStrategy The location strategy to use.
+                     */
+                    protected ClassFileResolution(Class<?> type, LocationStrategy locationStrategy) {
+                        this.type = type;
+                        this.locationStrategy = locationStrategy;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public byte[] call() throws IOException {
+                        return locationStrategy.classFileLocator(type.getClassLoader(), JavaModule.ofType(type))
+                                .locate(TypeDescription.ForLoadedType.getName(type))
+                                .resolve();
+                    }
+                }
             }
 
             /**
@@ -6922,7 +9649,8 @@ public interface AgentBuilder {
                                        CircularityLock circularityLock,
                                        List<Class<?>> types,
                                        LocationStrategy locationStrategy,
-                                       AgentBuilder.Listener listener) throws UnmodifiableClassException {
+                                       AgentBuilder.Listener listener,
+                                       Executor executor) throws UnmodifiableClassException {
                     if (!types.isEmpty()) {
                         circularityLock.release();
                         try {
@@ -8250,6 +10978,11 @@ public interface AgentBuilder {
          */
         protected final RedefinitionStrategy.Listener redefinitionListener;
 
+        /**
+         * The executor to use for preparing a batch of redefined types.
+         */
+        protected final Executor redefinitionExecutor;
+
         /**
          * The resubmission strategy to apply.
          */
@@ -8281,6 +11014,21 @@ public interface AgentBuilder {
          */
         protected final ClassFileBufferStrategy classFileBufferStrategy;
 
+        /**
+         * The transformation cache to use.
+         */
+        protected final TransformationCache transformationCache;
+
+        /**
+         * The transformation metrics to use.
+         */
+        protected final TransformationMetrics transformationMetrics;
+
+        /**
+         * The deduplication strategy to use.
+         */
+        protected final DeduplicationStrategy deduplicationStrategy;
+
         /**
          * The installation listener to notify.
          */
@@ -8324,12 +11072,16 @@ public interface AgentBuilder {
                     RedefinitionStrategy.DiscoveryStrategy.SinglePass.INSTANCE,
                     RedefinitionStrategy.BatchAllocator.ForTotal.INSTANCE,
                     RedefinitionStrategy.Listener.NoOp.INSTANCE,
+                    RedefinitionStrategy.SynchronousExecutor.INSTANCE,
                     RedefinitionStrategy.ResubmissionStrategy.Disabled.INSTANCE,
                     BootstrapInjectionStrategy.Disabled.INSTANCE,
                     LambdaInstrumentationStrategy.DISABLED,
                     DescriptionStrategy.Default.HYBRID,
                     FallbackStrategy.ByThrowableType.ofOptionalTypes(),
                     ClassFileBufferStrategy.Default.RETAINING,
+                    TransformationCache.NoOp.INSTANCE,
+                    TransformationMetrics.NoOp.INSTANCE,
+                    DeduplicationStrategy.Disabled.INSTANCE,
                     InstallationListener.NoOp.INSTANCE,
                     new RawMatcher.Disjunction(
                             new RawMatcher.ForElementMatchers(any(), isBootstrapClassLoader()),
@@ -8352,6 +11104,7 @@ public interface AgentBuilder {
          * @param redefinitionDiscoveryStrategy    The discovery strategy for loaded types to be redefined.
          * @param redefinitionBatchAllocator       The batch allocator for the redefinition strategy to apply.
          * @param redefinitionListener             The redefinition listener for the redefinition strategy to apply.
+         * @param redefinitionExecutor             The executor to use for preparing a batch of redefined types.
          * @param redefinitionResubmissionStrategy The resubmission strategy to apply.
          * @param bootstrapInjectionStrategy       The injection strategy for injecting classes into the bootstrap class loader.
          * @param lambdaInstrumentationStrategy    A strategy to determine of the {@code LambdaMetafactory} should be instrumented to allow for the
@@ -8359,6 +11112,9 @@ public interface AgentBuilder {
          * @param descriptionStrategy              The description strategy for resolving type descriptions for types.
          * @param fallbackStrategy                 The fallback strategy to apply.
          * @param classFileBufferStrategy          The class file buffer strategy to use.
+         * @param transformationCache              The transformation cache to use.
+         * @param transformationMetrics            The transformation metrics to use.
+         * @param deduplicationStrategy            The deduplication strategy to use.
          * @param installationListener             The installation listener to notify.
          * @param ignoredTypeMatcher               Identifies types that should not be instrumented.
          * @param transformation                   The transformation object for handling type transformations.
@@ -8375,12 +11131,16 @@ public interface AgentBuilder {
                           RedefinitionStrategy.DiscoveryStrategy redefinitionDiscoveryStrategy,
                           RedefinitionStrategy.BatchAllocator redefinitionBatchAllocator,
                           RedefinitionStrategy.Listener redefinitionListener,
+                          Executor redefinitionExecutor,
                           RedefinitionStrategy.ResubmissionStrategy redefinitionResubmissionStrategy,
                           BootstrapInjectionStrategy bootstrapInjectionStrategy,
                           LambdaInstrumentationStrategy lambdaInstrumentationStrategy,
                           DescriptionStrategy descriptionStrategy,
                           FallbackStrategy fallbackStrategy,
                           ClassFileBufferStrategy classFileBufferStrategy,
+                          TransformationCache transformationCache,
+                          TransformationMetrics transformationMetrics,
+                          DeduplicationStrategy deduplicationStrategy,
                           InstallationListener installationListener,
                           RawMatcher ignoredTypeMatcher,
                           Transformation transformation) {
@@ -8396,12 +11156,16 @@ public interface AgentBuilder {
             this.redefinitionDiscoveryStrategy = redefinitionDiscoveryStrategy;
             this.redefinitionBatchAllocator = redefinitionBatchAllocator;
             this.redefinitionListener = redefinitionListener;
+            this.redefinitionExecutor = redefinitionExecutor;
             this.redefinitionResubmissionStrategy = redefinitionResubmissionStrategy;
             this.bootstrapInjectionStrategy = bootstrapInjectionStrategy;
             this.lambdaInstrumentationStrategy = lambdaInstrumentationStrategy;
             this.descriptionStrategy = descriptionStrategy;
             this.fallbackStrategy = fallbackStrategy;
             this.classFileBufferStrategy = classFileBufferStrategy;
+            this.transformationCache = transformationCache;
+            this.transformationMetrics = transformationMetrics;
+            this.deduplicationStrategy = deduplicationStrategy;
             this.installationListener = installationListener;
             this.ignoredTypeMatcher = ignoredTypeMatcher;
             this.transformation = transformation;
@@ -8515,12 +11279,16 @@ public interface AgentBuilder {
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
                     redefinitionListener,
+                    redefinitionExecutor,
                     redefinitionResubmissionStrategy,
                     bootstrapInjectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    transformationCache,
+                    transformationMetrics,
+                    deduplicationStrategy,
                     installationListener,
                     ignoredTypeMatcher,
                     transformation);
@@ -8542,12 +11310,16 @@ public interface AgentBuilder {
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
                     redefinitionListener,
+                    redefinitionExecutor,
                     redefinitionResubmissionStrategy,
                     bootstrapInjectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    transformationCache,
+                    transformationMetrics,
+                    deduplicationStrategy,
                     installationListener,
                     ignoredTypeMatcher,
                     transformation);
@@ -8569,12 +11341,16 @@ public interface AgentBuilder {
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
                     redefinitionListener,
+                    redefinitionExecutor,
                     redefinitionResubmissionStrategy,
                     bootstrapInjectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    transformationCache,
+                    transformationMetrics,
+                    deduplicationStrategy,
                     installationListener,
                     ignoredTypeMatcher,
                     transformation);
@@ -8596,12 +11372,16 @@ public interface AgentBuilder {
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
                     redefinitionListener,
+                    redefinitionExecutor,
                     redefinitionResubmissionStrategy,
                     bootstrapInjectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    transformationCache,
+                    transformationMetrics,
+                    deduplicationStrategy,
                     installationListener,
                     ignoredTypeMatcher,
                     transformation);
@@ -8623,12 +11403,16 @@ public interface AgentBuilder {
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
                     redefinitionListener,
+                    redefinitionExecutor,
                     redefinitionResubmissionStrategy,
                     bootstrapInjectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    transformationCache,
+                    transformationMetrics,
+                    deduplicationStrategy,
                     installationListener,
                     ignoredTypeMatcher,
                     transformation);
@@ -8650,12 +11434,16 @@ public interface AgentBuilder {
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
                     redefinitionListener,
+                    redefinitionExecutor,
                     redefinitionResubmissionStrategy,
                     bootstrapInjectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    transformationCache,
+                    transformationMetrics,
+                    deduplicationStrategy,
                     installationListener,
                     ignoredTypeMatcher,
                     transformation);
@@ -8677,12 +11465,16 @@ public interface AgentBuilder {
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
                     redefinitionListener,
+                    redefinitionExecutor,
                     redefinitionResubmissionStrategy,
                     bootstrapInjectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    transformationCache,
+                    transformationMetrics,
+                    deduplicationStrategy,
                     installationListener,
                     ignoredTypeMatcher,
                     transformation);
@@ -8704,12 +11496,109 @@ public interface AgentBuilder {
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
                     redefinitionListener,
+                    redefinitionExecutor,
+                    redefinitionResubmissionStrategy,
+                    bootstrapInjectionStrategy,
+                    lambdaInstrumentationStrategy,
+                    descriptionStrategy,
+                    fallbackStrategy,
+                    classFileBufferStrategy,
+                    transformationCache,
+                    transformationMetrics,
+                    deduplicationStrategy,
+                    installationListener,
+                    ignoredTypeMatcher,
+                    transformation);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public RedefinitionListenable.WithoutBatchStrategy with(RedefinitionStrategy redefinitionStrategy) {
+            return new Redefining(byteBuddy,
+                    listener,
+                    circularityLock,
+                    poolStrategy,
+                    typeStrategy,
+                    locationStrategy,
+                    nativeMethodStrategy,
+                    initializationStrategy,
+                    redefinitionStrategy,
+                    RedefinitionStrategy.DiscoveryStrategy.SinglePass.INSTANCE,
+                    RedefinitionStrategy.BatchAllocator.ForTotal.INSTANCE,
+                    RedefinitionStrategy.Listener.NoOp.INSTANCE,
+                    RedefinitionStrategy.SynchronousExecutor.INSTANCE,
+                    RedefinitionStrategy.ResubmissionStrategy.Disabled.INSTANCE,
+                    bootstrapInjectionStrategy,
+                    lambdaInstrumentationStrategy,
+                    descriptionStrategy,
+                    fallbackStrategy,
+                    classFileBufferStrategy,
+                    transformationCache,
+                    transformationMetrics,
+                    deduplicationStrategy,
+                    installationListener,
+                    ignoredTypeMatcher,
+                    transformation);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public AgentBuilder with(InitializationStrategy initializationStrategy) {
+            return new Default(byteBuddy,
+                    listener,
+                    circularityLock,
+                    poolStrategy,
+                    typeStrategy,
+                    locationStrategy,
+                    nativeMethodStrategy,
+                    initializationStrategy,
+                    redefinitionStrategy,
+                    redefinitionDiscoveryStrategy,
+                    redefinitionBatchAllocator,
+                    redefinitionListener,
+                    redefinitionExecutor,
+                    redefinitionResubmissionStrategy,
+                    bootstrapInjectionStrategy,
+                    lambdaInstrumentationStrategy,
+                    descriptionStrategy,
+                    fallbackStrategy,
+                    classFileBufferStrategy,
+                    transformationCache,
+                    transformationMetrics,
+                    deduplicationStrategy,
+                    installationListener,
+                    ignoredTypeMatcher,
+                    transformation);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public AgentBuilder with(LambdaInstrumentationStrategy lambdaInstrumentationStrategy) {
+            return new Default(byteBuddy,
+                    listener,
+                    circularityLock,
+                    poolStrategy,
+                    typeStrategy,
+                    locationStrategy,
+                    nativeMethodStrategy,
+                    initializationStrategy,
+                    redefinitionStrategy,
+                    redefinitionDiscoveryStrategy,
+                    redefinitionBatchAllocator,
+                    redefinitionListener,
+                    redefinitionExecutor,
                     redefinitionResubmissionStrategy,
                     bootstrapInjectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    transformationCache,
+                    transformationMetrics,
+                    deduplicationStrategy,
                     installationListener,
                     ignoredTypeMatcher,
                     transformation);
@@ -8718,8 +11607,8 @@ public interface AgentBuilder {
         /**
          * {@inheritDoc}
          */
-        public RedefinitionListenable.WithoutBatchStrategy with(RedefinitionStrategy redefinitionStrategy) {
-            return new Redefining(byteBuddy,
+        public AgentBuilder with(DescriptionStrategy descriptionStrategy) {
+            return new Default(byteBuddy,
                     listener,
                     circularityLock,
                     poolStrategy,
@@ -8728,15 +11617,19 @@ public interface AgentBuilder {
                     nativeMethodStrategy,
                     initializationStrategy,
                     redefinitionStrategy,
-                    RedefinitionStrategy.DiscoveryStrategy.SinglePass.INSTANCE,
-                    RedefinitionStrategy.BatchAllocator.ForTotal.INSTANCE,
-                    RedefinitionStrategy.Listener.NoOp.INSTANCE,
-                    RedefinitionStrategy.ResubmissionStrategy.Disabled.INSTANCE,
+                    redefinitionDiscoveryStrategy,
+                    redefinitionBatchAllocator,
+                    redefinitionListener,
+                    redefinitionExecutor,
+                    redefinitionResubmissionStrategy,
                     bootstrapInjectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    transformationCache,
+                    transformationMetrics,
+                    deduplicationStrategy,
                     installationListener,
                     ignoredTypeMatcher,
                     transformation);
@@ -8745,7 +11638,7 @@ public interface AgentBuilder {
         /**
          * {@inheritDoc}
          */
-        public AgentBuilder with(InitializationStrategy initializationStrategy) {
+        public AgentBuilder with(FallbackStrategy fallbackStrategy) {
             return new Default(byteBuddy,
                     listener,
                     circularityLock,
@@ -8758,12 +11651,16 @@ public interface AgentBuilder {
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
                     redefinitionListener,
+                    redefinitionExecutor,
                     redefinitionResubmissionStrategy,
                     bootstrapInjectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    transformationCache,
+                    transformationMetrics,
+                    deduplicationStrategy,
                     installationListener,
                     ignoredTypeMatcher,
                     transformation);
@@ -8772,7 +11669,7 @@ public interface AgentBuilder {
         /**
          * {@inheritDoc}
          */
-        public AgentBuilder with(LambdaInstrumentationStrategy lambdaInstrumentationStrategy) {
+        public AgentBuilder with(ClassFileBufferStrategy classFileBufferStrategy) {
             return new Default(byteBuddy,
                     listener,
                     circularityLock,
@@ -8785,12 +11682,16 @@ public interface AgentBuilder {
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
                     redefinitionListener,
+                    redefinitionExecutor,
                     redefinitionResubmissionStrategy,
                     bootstrapInjectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    transformationCache,
+                    transformationMetrics,
+                    deduplicationStrategy,
                     installationListener,
                     ignoredTypeMatcher,
                     transformation);
@@ -8799,7 +11700,7 @@ public interface AgentBuilder {
         /**
          * {@inheritDoc}
          */
-        public AgentBuilder with(DescriptionStrategy descriptionStrategy) {
+        public AgentBuilder with(TransformationCache transformationCache) {
             return new Default(byteBuddy,
                     listener,
                     circularityLock,
@@ -8812,12 +11713,16 @@ public interface AgentBuilder {
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
                     redefinitionListener,
+                    redefinitionExecutor,
                     redefinitionResubmissionStrategy,
                     bootstrapInjectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    transformationCache,
+                    transformationMetrics,
+                    deduplicationStrategy,
                     installationListener,
                     ignoredTypeMatcher,
                     transformation);
@@ -8826,7 +11731,7 @@ public interface AgentBuilder {
         /**
          * {@inheritDoc}
          */
-        public AgentBuilder with(FallbackStrategy fallbackStrategy) {
+        public AgentBuilder with(TransformationMetrics transformationMetrics) {
             return new Default(byteBuddy,
                     listener,
                     circularityLock,
@@ -8839,12 +11744,16 @@ public interface AgentBuilder {
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
                     redefinitionListener,
+                    redefinitionExecutor,
                     redefinitionResubmissionStrategy,
                     bootstrapInjectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    transformationCache,
+                    transformationMetrics,
+                    deduplicationStrategy,
                     installationListener,
                     ignoredTypeMatcher,
                     transformation);
@@ -8853,7 +11762,7 @@ public interface AgentBuilder {
         /**
          * {@inheritDoc}
          */
-        public AgentBuilder with(ClassFileBufferStrategy classFileBufferStrategy) {
+        public AgentBuilder with(DeduplicationStrategy deduplicationStrategy) {
             return new Default(byteBuddy,
                     listener,
                     circularityLock,
@@ -8866,12 +11775,16 @@ public interface AgentBuilder {
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
                     redefinitionListener,
+                    redefinitionExecutor,
                     redefinitionResubmissionStrategy,
                     bootstrapInjectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    transformationCache,
+                    transformationMetrics,
+                    deduplicationStrategy,
                     installationListener,
                     ignoredTypeMatcher,
                     transformation);
@@ -8893,12 +11806,16 @@ public interface AgentBuilder {
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
                     redefinitionListener,
+                    redefinitionExecutor,
                     redefinitionResubmissionStrategy,
                     bootstrapInjectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    transformationCache,
+                    transformationMetrics,
+                    deduplicationStrategy,
                     new InstallationListener.Compound(this.installationListener, installationListener),
                     ignoredTypeMatcher,
                     transformation);
@@ -8920,12 +11837,16 @@ public interface AgentBuilder {
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
                     redefinitionListener,
+                    redefinitionExecutor,
                     redefinitionResubmissionStrategy,
                     new BootstrapInjectionStrategy.Enabled(folder, instrumentation),
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    transformationCache,
+                    transformationMetrics,
+                    deduplicationStrategy,
                     installationListener,
                     ignoredTypeMatcher,
                     transformation);
@@ -8947,12 +11868,16 @@ public interface AgentBuilder {
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
                     redefinitionListener,
+                    redefinitionExecutor,
                     redefinitionResubmissionStrategy,
                     BootstrapInjectionStrategy.Unsafe.INSTANCE,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    transformationCache,
+                    transformationMetrics,
+                    deduplicationStrategy,
                     installationListener,
                     ignoredTypeMatcher,
                     transformation);
@@ -8974,12 +11899,16 @@ public interface AgentBuilder {
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
                     redefinitionListener,
+                    redefinitionExecutor,
                     redefinitionResubmissionStrategy,
                     BootstrapInjectionStrategy.Disabled.INSTANCE,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    transformationCache,
+                    transformationMetrics,
+                    deduplicationStrategy,
                     installationListener,
                     ignoredTypeMatcher,
                     transformation);
@@ -9003,12 +11932,16 @@ public interface AgentBuilder {
                     redefinitionDiscoveryStrategy,
                     redefinitionBatchAllocator,
                     redefinitionListener,
+                    redefinitionExecutor,
                     redefinitionResubmissionStrategy,
                     bootstrapInjectionStrategy,
                     lambdaInstrumentationStrategy,
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    transformationCache,
+                    transformationMetrics,
+                    deduplicationStrategy,
                     installationListener,
                     ignoredTypeMatcher,
                     transformation);
@@ -9124,7 +12057,7 @@ public interface AgentBuilder {
          * {@inheritDoc}
          */
         public ResettableClassFileTransformer makeRaw() {
-            return makeRaw(listener, InstallationListener.NoOp.INSTANCE);
+            return makeRaw(listener, InstallationListener.NoOp.INSTANCE, transformation);
         }
 
         /**
@@ -9132,9 +12065,10 @@ public interface AgentBuilder {
          *
          * @param listener             The listener to supply.
          * @param installationListener The installation listener to notify.
+         * @param transformation       The transformation to apply.
          * @return The resettable class file transformer to use.
          */
-        private ResettableClassFileTransformer makeRaw(Listener listener, InstallationListener installationListener) {
+        private ResettableClassFileTransformer makeRaw(Listener listener, InstallationListener installationListener, Transformation transformation) {
             return ExecutingTransformer.FACTORY.make(byteBuddy,
                     listener,
                     poolStrategy,
@@ -9147,6 +12081,9 @@ public interface AgentBuilder {
                     descriptionStrategy,
                     fallbackStrategy,
                     classFileBufferStrategy,
+                    transformationCache,
+                    transformationMetrics,
+                    deduplicationStrategy,
                     installationListener,
                     ignoredTypeMatcher,
                     transformation,
@@ -9157,6 +12094,10 @@ public interface AgentBuilder {
          * {@inheritDoc}
          */
         public ResettableClassFileTransformer installOn(Instrumentation instrumentation) {
+            if (redefinitionResubmissionStrategy instanceof RedefinitionStrategy.ResubmissionStrategy.Deferring
+                    && (typeStrategy == TypeStrategy.Default.REBASE || typeStrategy == TypeStrategy.Default.REDEFINE)) {
+                throw new IllegalStateException("Cannot defer transformations with a type strategy that changes the class format: " + typeStrategy);
+            }
             if (!circularityLock.acquire()) {
                 throw new IllegalStateException("Could not acquire the circularity lock upon installation.");
             }
@@ -9170,7 +12111,9 @@ public interface AgentBuilder {
                         redefinitionStrategy,
                         redefinitionBatchAllocator,
                         redefinitionListener);
-                ResettableClassFileTransformer classFileTransformer = makeRaw(installation.getListener(), installation.getInstallationListener());
+                ResettableClassFileTransformer classFileTransformer = makeRaw(installation.getListener(),
+                        installation.getInstallationListener(),
+                        installation.decorate(transformation));
                 installation.getInstallationListener().onBeforeInstall(instrumentation, classFileTransformer);
                 try {
                     DISPATCHER.addTransformer(instrumentation, classFileTransformer, redefinitionStrategy.isRetransforming());
@@ -9187,6 +12130,7 @@ public interface AgentBuilder {
                                 redefinitionDiscoveryStrategy,
                                 redefinitionBatchAllocator,
                                 redefinitionListener,
+                                redefinitionExecutor,
                                 lambdaInstrumentationStrategy,
                                 descriptionStrategy,
                                 fallbackStrategy,
@@ -9625,6 +12569,16 @@ public interface AgentBuilder {
                                ProtectionDomain protectionDomain,
                                TypePool typePool);
 
+            /**
+             * Determines if a type is excluded from this transformation by its name and class file alone, without describing the type.
+             * A type must only be excluded if this transformation cannot possibly match it.
+             *
+             * @param typeName             The binary name of the type.
+             * @param binaryRepresentation The class file of the type.
+             * @return {@code true} if this transformation cannot match the supplied type.
+             */
+            boolean isExcluded(String typeName, byte[] binaryRepresentation);
+
             /**
              * A resolution to a transformation.
              */
@@ -9663,6 +12617,7 @@ public interface AgentBuilder {
                  * @param methodNameTransformer      The method name transformer to be used.
                  * @param bootstrapInjectionStrategy The bootstrap injection strategy to be used.
                  * @param accessControlContext       The access control context to be used.
+                 * @param deduplicationStrategy      The deduplication strategy to be used.
                  * @param listener                   The listener to be invoked to inform about an applied or non-applied transformation.
                  * @return The class file of the transformed class or {@code null} if no transformation is attempted.
                  */
@@ -9673,6 +12628,7 @@ public interface AgentBuilder {
                              NativeMethodStrategy methodNameTransformer,
                              BootstrapInjectionStrategy bootstrapInjectionStrategy,
                              AccessControlContext accessControlContext,
+                             DeduplicationStrategy deduplicationStrategy,
                              Listener listener);
 
                 /**
@@ -9806,11 +12762,93 @@ public interface AgentBuilder {
                                         NativeMethodStrategy methodNameTransformer,
                                         BootstrapInjectionStrategy bootstrapInjectionStrategy,
                                         AccessControlContext accessControlContext,
+                                        DeduplicationStrategy deduplicationStrategy,
                                         Listener listener) {
                         listener.onIgnored(typeDescription, classLoader, module, loaded);
                         return NO_TRANSFORMATION;
                     }
                 }
+
+                /**
+                 * A resolution that is indexed by the transformations of an agent that it applies.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                class Indexed implements Resolution {
+
+                    /**
+                     * The indexed resolution.
+                     */
+                    private final Resolution resolution;
+
+                    /**
+                     * The indices of the applied transformations within the agent's transformations.
+                     */
+                    private final BitSet transformations;
+
+                    /**
+                     * Creates a new indexed resolution.
+                     *
+                     * @param resolution      The indexed resolution.
+                     * @param transformations The indices of the applied transformations within the agent's transformations.
+                     */
+                    protected Indexed(Resolution resolution, BitSet transformations) {
+                        this.resolution = resolution;
+                        this.transformations = transformations;
+                    }
+
+                    /**
+                     * Returns a description of the applied transformations that is stable for the same configuration of an agent.
+                     *
+                     * @return A description of the applied transformations.
+                     */
+                    protected String getTransformations() {
+                        return transformations.toString();
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Sort getSort() {
+                        return resolution.getSort();
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Resolution asDecoratorOf(Resolution resolution) {
+                        return this.resolution.asDecoratorOf(resolution);
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public Resolution prepend(Decoratable resolution) {
+                        return this.resolution.prepend(resolution);
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public byte[] apply(InitializationStrategy initializationStrategy,
+                                        ClassFileLocator classFileLocator,
+                                        TypeStrategy typeStrategy,
+                                        ByteBuddy byteBuddy,
+                                        NativeMethodStrategy methodNameTransformer,
+                                        BootstrapInjectionStrategy bootstrapInjectionStrategy,
+                                        AccessControlContext accessControlContext,
+                                        DeduplicationStrategy deduplicationStrategy,
+                                        Listener listener) {
+                        return resolution.apply(initializationStrategy,
+                                classFileLocator,
+                                typeStrategy,
+                                byteBuddy,
+                                methodNameTransformer,
+                                bootstrapInjectionStrategy,
+                                accessControlContext,
+                                deduplicationStrategy,
+                                listener);
+                    }
+                }
             }
 
             /**
@@ -9846,6 +12884,13 @@ public interface AgentBuilder {
                                           TypePool typePool) {
                     return new Resolution.Unresolved(typeDescription, classLoader, module, loaded);
                 }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public boolean isExcluded(String typeName, byte[] binaryRepresentation) {
+                    return true;
+                }
             }
 
             /**
@@ -9908,6 +12953,13 @@ public interface AgentBuilder {
                             : new Transformation.Resolution.Unresolved(typeDescription, classLoader, module, loaded);
                 }
 
+                /**
+                 * {@inheritDoc}
+                 */
+                public boolean isExcluded(String typeName, byte[] binaryRepresentation) {
+                    return false;
+                }
+
                 /**
                  * A resolution that performs a type transformation.
                  */
@@ -10031,7 +13083,16 @@ public interface AgentBuilder {
                                         NativeMethodStrategy methodNameTransformer,
                                         BootstrapInjectionStrategy bootstrapInjectionStrategy,
                                         AccessControlContext accessControlContext,
+                                        DeduplicationStrategy deduplicationStrategy,
                                         Listener listener) {
+                        DeduplicationStrategy.Dispatcher deduplication = loaded
+                                ? DeduplicationStrategy.Dispatcher.NoOp.INSTANCE
+                                : deduplicationStrategy.dispatcher(typeDescription, classLoader, transformer, classFileLocator);
+                        byte[] binaryRepresentation = deduplication.resolve();
+                        if (binaryRepresentation != DeduplicationStrategy.Dispatcher.NOT_DEDUPLICATED) {
+                            return binaryRepresentation;
+                        }
+                        listener = deduplication.register(listener);
                         InitializationStrategy.Dispatcher dispatcher = initializationStrategy.dispatcher();
                         DynamicType.Unloaded<?> dynamicType = dispatcher.apply(transformer.transform(typeStrategy.builder(typeDescription,
                                 byteBuddy,
@@ -10083,102 +13144,453 @@ public interface AgentBuilder {
                             this.protectionDomain = protectionDomain;
                         }
 
-                        /**
-                         * {@inheritDoc}
-                         */
-                        public ClassInjector resolve() {
-                            return classLoader == null
-                                    ? bootstrapInjectionStrategy.make(protectionDomain)
-                                    : new ClassInjector.UsingReflection(classLoader, protectionDomain);
+                        /**
+                         * {@inheritDoc}
+                         */
+                        public ClassInjector resolve() {
+                            return classLoader == null
+                                    ? bootstrapInjectionStrategy.make(protectionDomain)
+                                    : new ClassInjector.UsingReflection(classLoader, protectionDomain);
+                        }
+                    }
+                }
+            }
+
+            /**
+             * A compound transformation that applied several transformation in the given order and applies the first active transformation.
+             */
+            @HashCodeAndEqualsPlugin.Enhance
+            class Compound implements Transformation {
+
+                /**
+                 * The list of transformations to apply in their application order.
+                 */
+                private final List<Transformation> transformations;
+
+                /**
+                 * An index of the represented transformations by the names of the types they can possibly match.
+                 */
+                @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+                private final Index index;
+
+                /**
+                 * Creates a new compound transformation.
+                 *
+                 * @param transformation An array of transformations to apply in their application order.
+                 */
+                protected Compound(Transformation... transformation) {
+                    this(Arrays.asList(transformation));
+                }
+
+                /**
+                 * Creates a new compound transformation.
+                 *
+                 * @param transformations A list of transformations to apply in their application order.
+                 */
+                protected Compound(List<? extends Transformation> transformations) {
+                    this.transformations = new ArrayList<Transformation>();
+                    for (Transformation transformation : transformations) {
+                        if (transformation instanceof Compound) {
+                            this.transformations.addAll(((Compound) transformation).transformations);
+                        } else if (!(transformation instanceof Ignored)) {
+                            this.transformations.add(transformation);
+                        }
+                    }
+                    index = Index.of(this.transformations);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public boolean matches(TypeDescription typeDescription,
+                                       ClassLoader classLoader,
+                                       JavaModule module,
+                                       Class<?> classBeingRedefined,
+                                       ProtectionDomain protectionDomain) {
+                    BitSet candidates = index.candidates(typeDescription.getActualName());
+                    for (int candidate = candidates.nextSetBit(0); candidate >= 0; candidate = candidates.nextSetBit(candidate + 1)) {
+                        if (transformations.get(candidate).matches(typeDescription, classLoader, module, classBeingRedefined, protectionDomain)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Resolution resolve(TypeDescription typeDescription,
+                                          ClassLoader classLoader,
+                                          JavaModule module,
+                                          Class<?> classBeingRedefined,
+                                          boolean loaded,
+                                          ProtectionDomain protectionDomain,
+                                          TypePool typePool) {
+                    Resolution current = new Resolution.Unresolved(typeDescription, classLoader, module, classBeingRedefined != null);
+                    BitSet candidates = index.candidates(typeDescription.getActualName()), applied = new BitSet();
+                    for (int candidate = candidates.nextSetBit(0); candidate >= 0; candidate = candidates.nextSetBit(candidate + 1)) {
+                        Resolution resolution = transformations.get(candidate).resolve(typeDescription,
+                                classLoader,
+                                module,
+                                classBeingRedefined,
+                                loaded,
+                                protectionDomain,
+                                typePool);
+                        switch (resolution.getSort()) {
+                            case TERMINAL:
+                                applied.set(candidate);
+                                return new Resolution.Indexed(current.asDecoratorOf(resolution), applied);
+                            case DECORATOR:
+                                applied.set(candidate);
+                                current = current.asDecoratorOf(resolution);
+                                break;
+                            case UNDEFINED:
+                                break;
+                            default:
+                                throw new IllegalStateException("Unexpected resolution type: " + resolution.getSort());
+                        }
+                    }
+                    return applied.isEmpty()
+                            ? current
+                            : new Resolution.Indexed(current, applied);
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public boolean isExcluded(String typeName, byte[] binaryRepresentation) {
+                    return index.isExcluded(typeName, binaryRepresentation);
+                }
+
+                /**
+                 * An index of transformations by the names of the types they can possibly match. The index is derived from the
+                 * name constraints that are implied by the type matchers of {@link Simple} transformations. Any transformation
+                 * without such a constraint is a candidate for any type. Additionally, the index retains the constant pool entries
+                 * that are required by the type matchers of such transformations, what allows for excluding a type by scanning its
+                 * class file's constant pool before the type is described.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                protected static class Index {
+
+                    /**
+                     * The magic number that introduces any class file.
+                     */
+                    private static final int MAGIC = 0xCAFEBABE;
+
+                    /**
+                     * The tag of a UTF-8 constant pool entry.
+                     */
+                    private static final int UTF8 = 1;
+
+                    /**
+                     * The sizes of constant pool entries of a fixed length, including their tag, indexed by their tag or {@code 0}
+                     * if an entry's tag is unknown or if the entry is not of a fixed length.
+                     */
+                    private static final int[] SIZES = new int[]{0, 0, 0, 5, 5, 9, 9, 3, 3, 5, 5, 5, 5, 0, 0, 4, 3, 5, 5, 3, 3};
+
+                    /**
+                     * The tag of a long constant pool entry.
+                     */
+                    private static final int LONG = 5;
+
+                    /**
+                     * The tag of a double constant pool entry.
+                     */
+                    private static final int DOUBLE = 6;
+
+                    /**
+                     * The number of indexed transformations.
+                     */
+                    private final int size;
+
+                    /**
+                     * The indices of all transformations that are candidates for any type.
+                     */
+                    private final BitSet unconstrained;
+
+                    /**
+                     * A mapping of exact type names to the indices of the transformations that can match types of this name.
+                     */
+                    private final Map<String, BitSet> names;
+
+                    /**
+                     * A mapping of type name prefixes to the indices of the transformations that can match types with such a prefix.
+                     */
+                    private final Map<String, BitSet> prefixes;
+
+                    /**
+                     * The distinct lengths of all indexed prefixes in ascending order.
+                     */
+                    private final int[] prefixLengths;
+
+                    /**
+                     * The indices of all transformations that do not require any constant pool entry.
+                     */
+                    private final BitSet unrestricted;
+
+                    /**
+                     * The modified UTF-8 encodings of all constant pool entries that are required by any transformation.
+                     */
+                    private final byte[][] entries;
+
+                    /**
+                     * The indices of the transformations that can match a type if its constant pool contains the entry of the same array index.
+                     */
+                    private final BitSet[] restrictions;
+
+                    /**
+                     * Creates a new index.
+                     *
+                     * @param size          The number of indexed transformations.
+                     * @param unconstrained The indices of all transformations that are candidates for any type.
+                     * @param names         A mapping of exact type names to the indices of the transformations that can match types of this name.
+                     * @param prefixes      A mapping of type name prefixes to the indices of the transformations that can match types with such a prefix.
+                     * @param prefixLengths The distinct lengths of all indexed prefixes in ascending order.
+                     * @param unrestricted  The indices of all transformations that do not require any constant pool entry.
+                     * @param entries       The modified UTF-8 encodings of all constant pool entries that are required by any transformation.
+                     * @param restrictions  The indices of the transformations that can match a type if its constant pool contains the entry of the same array index.
+                     */
+                    protected Index(int size,
+                                    BitSet unconstrained,
+                                    Map<String, BitSet> names,
+                                    Map<String, BitSet> prefixes,
+                                    int[] prefixLengths,
+                                    BitSet unrestricted,
+                                    byte[][] entries,
+                                    BitSet[] restrictions) {
+                        this.size = size;
+                        this.unconstrained = unconstrained;
+                        this.names = names;
+                        this.prefixes = prefixes;
+                        this.prefixLengths = prefixLengths;
+                        this.unrestricted = unrestricted;
+                        this.entries = entries;
+                        this.restrictions = restrictions;
+                    }
+
+                    /**
+                     * Creates an index of the supplied transformations.
+                     *
+                     * @param transformations The transformations to index in their application order.
+                     * @return An index of the supplied transformations.
+                     */
+                    protected static Index of(List<? extends Transformation> transformations) {
+                        BitSet unconstrained = new BitSet(transformations.size()), unrestricted = new BitSet(transformations.size());
+                        Map<String, BitSet> names = new HashMap<String, BitSet>(), prefixes = new HashMap<String, BitSet>(), restrictions = new LinkedHashMap<String, BitSet>();
+                        SortedSet<Integer> prefixLengths = new TreeSet<Integer>();
+                        for (int index = 0; index < transformations.size(); index++) {
+                            Transformation transformation = transformations.get(index);
+                            ConstantPoolConstraint constantPoolConstraint = transformation instanceof Simple
+                                    ? constantPoolConstraint(((Simple) transformation).rawMatcher)
+                                    : ConstantPoolConstraint.UNCONSTRAINED;
+                            if (constantPoolConstraint.isConstrained()) {
+                                for (String entry : constantPoolConstraint.getEntries()) {
+                                    register(restrictions, entry, index);
+                                }
+                            } else {
+                                unrestricted.set(index);
+                            }
+                            NameConstraint constraint = transformation instanceof Simple
+                                    ? constraint(((Simple) transformation).rawMatcher)
+                                    : NameConstraint.UNCONSTRAINED;
+                            if (constraint.isConstrained()) {
+                                for (String name : constraint.getNames()) {
+                                    register(names, name, index);
+                                }
+                                for (String prefix : constraint.getPrefixes()) {
+                                    register(prefixes, prefix, index);
+                                    prefixLengths.add(prefix.length());
+                                }
+                            } else {
+                                unconstrained.set(index);
+                            }
+                        }
+                        int[] lengths = new int[prefixLengths.size()];
+                        int index = 0;
+                        for (Integer prefixLength : prefixLengths) {
+                            lengths[index++] = prefixLength;
+                        }
+                        byte[][] entries = new byte[restrictions.size()][];
+                        BitSet[] indices = new BitSet[restrictions.size()];
+                        index = 0;
+                        for (Map.Entry<String, BitSet> entry : restrictions.entrySet()) {
+                            entries[index] = encode(entry.getKey());
+                            indices[index++] = entry.getValue();
+                        }
+                        return new Index(transformations.size(), unconstrained, names, prefixes, lengths, unrestricted, entries, indices);
+                    }
+
+                    /**
+                     * Resolves the constant pool constraint that is implied by a raw matcher.
+                     *
+                     * @param rawMatcher The raw matcher to analyze.
+                     * @return The constant pool constraint that is implied by the supplied raw matcher.
+                     */
+                    private static ConstantPoolConstraint constantPoolConstraint(RawMatcher rawMatcher) {
+                        if (rawMatcher instanceof RawMatcher.ForElementMatchers) {
+                            return ConstantPoolConstraint.of(((RawMatcher.ForElementMatchers) rawMatcher).typeMatcher);
+                        } else if (rawMatcher instanceof RawMatcher.Conjunction) {
+                            return constantPoolConstraint(((RawMatcher.Conjunction) rawMatcher).left).and(constantPoolConstraint(((RawMatcher.Conjunction) rawMatcher).right));
+                        } else if (rawMatcher instanceof RawMatcher.Disjunction) {
+                            return constantPoolConstraint(((RawMatcher.Disjunction) rawMatcher).left).or(constantPoolConstraint(((RawMatcher.Disjunction) rawMatcher).right));
+                        } else {
+                            return ConstantPoolConstraint.UNCONSTRAINED;
                         }
                     }
-                }
-            }
 
-            /**
-             * A compound transformation that applied several transformation in the given order and applies the first active transformation.
-             */
-            @HashCodeAndEqualsPlugin.Enhance
-            class Compound implements Transformation {
+                    /**
+                     * Encodes a value in the modified UTF-8 format that is used for constant pool entries.
+                     *
+                     * @param value The value to encode.
+                     * @return The modified UTF-8 encoding of the supplied value.
+                     */
+                    private static byte[] encode(String value) {
+                        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(value.length());
+                        for (int index = 0; index < value.length(); index++) {
+                            char character = value.charAt(index);
+                            if (character != 0 && character < 0x80) {
+                                outputStream.write(character);
+                            } else if (character < 0x800) {
+                                outputStream.write(0xC0 | (character >> 6));
+                                outputStream.write(0x80 | (character & 0x3F));
+                            } else {
+                                outputStream.write(0xE0 | (character >> 12));
+                                outputStream.write(0x80 | ((character >> 6) & 0x3F));
+                                outputStream.write(0x80 | (character & 0x3F));
+                            }
+                        }
+                        return outputStream.toByteArray();
+                    }
 
-                /**
-                 * The list of transformations to apply in their application order.
-                 */
-                private final List<Transformation> transformations;
+                    /**
+                     * Resolves the name constraint that is implied by a raw matcher.
+                     *
+                     * @param rawMatcher The raw matcher to analyze.
+                     * @return The name constraint that is implied by the supplied raw matcher.
+                     */
+                    private static NameConstraint constraint(RawMatcher rawMatcher) {
+                        if (rawMatcher instanceof RawMatcher.ForElementMatchers) {
+                            return NameConstraint.of(((RawMatcher.ForElementMatchers) rawMatcher).typeMatcher);
+                        } else if (rawMatcher instanceof RawMatcher.Conjunction) {
+                            return constraint(((RawMatcher.Conjunction) rawMatcher).left).and(constraint(((RawMatcher.Conjunction) rawMatcher).right));
+                        } else if (rawMatcher instanceof RawMatcher.Disjunction) {
+                            return constraint(((RawMatcher.Disjunction) rawMatcher).left).or(constraint(((RawMatcher.Disjunction) rawMatcher).right));
+                        } else {
+                            return NameConstraint.UNCONSTRAINED;
+                        }
+                    }
 
-                /**
-                 * Creates a new compound transformation.
-                 *
-                 * @param transformation An array of transformations to apply in their application order.
-                 */
-                protected Compound(Transformation... transformation) {
-                    this(Arrays.asList(transformation));
-                }
+                    /**
+                     * Registers a transformation's index for a given key.
+                     *
+                     * @param indices The mapping of keys to transformation indices.
+                     * @param key     The key to register.
+                     * @param index   The index of the transformation.
+                     */
+                    private static void register(Map<String, BitSet> indices, String key, int index) {
+                        BitSet bitSet = indices.get(key);
+                        if (bitSet == null) {
+                            bitSet = new BitSet();
+                            indices.put(key, bitSet);
+                        }
+                        bitSet.set(index);
+                    }
 
-                /**
-                 * Creates a new compound transformation.
-                 *
-                 * @param transformations A list of transformations to apply in their application order.
-                 */
-                protected Compound(List<? extends Transformation> transformations) {
-                    this.transformations = new ArrayList<Transformation>();
-                    for (Transformation transformation : transformations) {
-                        if (transformation instanceof Compound) {
-                            this.transformations.addAll(((Compound) transformation).transformations);
-                        } else if (!(transformation instanceof Ignored)) {
-                            this.transformations.add(transformation);
+                    /**
+                     * Resolves the indices of all transformations that can possibly match a type of the given name.
+                     *
+                     * @param name The actual name of the type.
+                     * @return The indices of all candidate transformations where the returned set must not be retained.
+                     */
+                    protected BitSet candidates(String name) {
+                        if (unconstrained.cardinality() == size) {
+                            return unconstrained;
+                        }
+                        BitSet candidates = (BitSet) unconstrained.clone();
+                        BitSet matched = names.get(name);
+                        if (matched != null) {
+                            candidates.or(matched);
                         }
+                        for (int prefixLength : prefixLengths) {
+                            if (prefixLength > name.length()) {
+                                break;
+                            }
+                            matched = prefixes.get(name.substring(0, prefixLength));
+                            if (matched != null) {
+                                candidates.or(matched);
+                            }
+                        }
+                        return candidates;
                     }
-                }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public boolean matches(TypeDescription typeDescription,
-                                       ClassLoader classLoader,
-                                       JavaModule module,
-                                       Class<?> classBeingRedefined,
-                                       ProtectionDomain protectionDomain) {
-                    for (Transformation transformation : transformations) {
-                        if (transformation.matches(typeDescription, classLoader, module, classBeingRedefined, protectionDomain)) {
+                    /**
+                     * Determines if a type cannot be matched by any indexed transformation, considering its name and the entries of its
+                     * class file's constant pool. A class file that cannot be read is never excluded.
+                     *
+                     * @param name                 The actual name of the type.
+                     * @param binaryRepresentation The class file of the type.
+                     * @return {@code true} if no indexed transformation can possibly match the supplied type.
+                     */
+                    protected boolean isExcluded(String name, byte[] binaryRepresentation) {
+                        BitSet candidates = candidates(name);
+                        if (candidates.isEmpty()) {
                             return true;
+                        } else if (candidates.intersects(unrestricted) || binaryRepresentation == null) {
+                            return false;
+                        } else if (binaryRepresentation.length < 10 || ((binaryRepresentation[0] & 0xFF) << 24
+                                | (binaryRepresentation[1] & 0xFF) << 16
+                                | (binaryRepresentation[2] & 0xFF) << 8
+                                | binaryRepresentation[3] & 0xFF) != MAGIC) {
+                            return false;
+                        }
+                        int count = (binaryRepresentation[8] & 0xFF) << 8 | binaryRepresentation[9] & 0xFF, offset = 10;
+                        for (int index = 1; index < count; index++) {
+                            if (offset + 3 > binaryRepresentation.length) {
+                                return false;
+                            }
+                            int tag = binaryRepresentation[offset] & 0xFF;
+                            if (tag == UTF8) {
+                                int length = (binaryRepresentation[offset + 1] & 0xFF) << 8 | binaryRepresentation[offset + 2] & 0xFF;
+                                offset += 3;
+                                if (offset + length > binaryRepresentation.length) {
+                                    return false;
+                                }
+                                for (int entry = 0; entry < entries.length; entry++) {
+                                    if (entries[entry].length == length
+                                            && restrictions[entry].intersects(candidates)
+                                            && isEqual(entries[entry], binaryRepresentation, offset)) {
+                                        return false;
+                                    }
+                                }
+                                offset += length;
+                            } else if (tag < SIZES.length && SIZES[tag] > 0) {
+                                offset += SIZES[tag];
+                                if (tag == LONG || tag == DOUBLE) {
+                                    index++;
+                                }
+                            } else {
+                                return false;
+                            }
                         }
+                        return true;
                     }
-                    return false;
-                }
 
-                /**
-                 * {@inheritDoc}
-                 */
-                public Resolution resolve(TypeDescription typeDescription,
-                                          ClassLoader classLoader,
-                                          JavaModule module,
-                                          Class<?> classBeingRedefined,
-                                          boolean loaded,
-                                          ProtectionDomain protectionDomain,
-                                          TypePool typePool) {
-                    Resolution current = new Resolution.Unresolved(typeDescription, classLoader, module, classBeingRedefined != null);
-                    for (Transformation transformation : transformations) {
-                        Resolution resolution = transformation.resolve(typeDescription,
-                                classLoader,
-                                module,
-                                classBeingRedefined,
-                                loaded,
-                                protectionDomain,
-                                typePool);
-                        switch (resolution.getSort()) {
-                            case TERMINAL:
-                                return current.asDecoratorOf(resolution);
-                            case DECORATOR:
-                                current = current.asDecoratorOf(resolution);
-                                break;
-                            case UNDEFINED:
-                                break;
-                            default:
-                                throw new IllegalStateException("Unexpected resolution type: " + resolution.getSort());
+                    /**
+                     * Checks if a constant pool entry is equal to the bytes of a class file at a given offset.
+                     *
+                     * @param entry                The encoded constant pool entry.
+                     * @param binaryRepresentation The class file.
+                     * @param offset               The offset of the compared bytes within the class file.
+                     * @return {@code true} if the class file contains the supplied entry at the given offset.
+                     */
+                    private static boolean isEqual(byte[] entry, byte[] binaryRepresentation, int offset) {
+                        for (int index = 0; index < entry.length; index++) {
+                            if (entry[index] != binaryRepresentation[offset + index]) {
+                                return false;
+                            }
                         }
+                        return true;
                     }
-                    return current;
                 }
             }
         }
@@ -10254,6 +13666,21 @@ public interface AgentBuilder {
              */
             private final ClassFileBufferStrategy classFileBufferStrategy;
 
+            /**
+             * The transformation cache to use.
+             */
+            private final TransformationCache transformationCache;
+
+            /**
+             * The transformation metrics to use.
+             */
+            private final TransformationMetrics transformationMetrics;
+
+            /**
+             * The deduplication strategy to use.
+             */
+            private final DeduplicationStrategy deduplicationStrategy;
+
             /**
              * The installation listener to notify.
              */
@@ -10295,6 +13722,9 @@ public interface AgentBuilder {
              * @param fallbackStrategy              The fallback strategy to use.
              * @param installationListener          The installation listener to notify.
              * @param classFileBufferStrategy       The class file buffer strategy to use.
+             * @param transformationCache           The transformation cache to use.
+             * @param transformationMetrics         The transformation metrics to use.
+             * @param deduplicationStrategy         The deduplication strategy to use.
              * @param ignoredTypeMatcher            Identifies types that should not be instrumented.
              * @param transformation                The transformation object for handling type transformations.
              * @param circularityLock               The circularity lock to use.
@@ -10311,6 +13741,9 @@ public interface AgentBuilder {
                                         DescriptionStrategy descriptionStrategy,
                                         FallbackStrategy fallbackStrategy,
                                         ClassFileBufferStrategy classFileBufferStrategy,
+                                        TransformationCache transformationCache,
+                                        TransformationMetrics transformationMetrics,
+                                        DeduplicationStrategy deduplicationStrategy,
                                         InstallationListener installationListener,
                                         RawMatcher ignoredTypeMatcher,
                                         Transformation transformation,
@@ -10327,6 +13760,9 @@ public interface AgentBuilder {
                 this.descriptionStrategy = descriptionStrategy;
                 this.fallbackStrategy = fallbackStrategy;
                 this.classFileBufferStrategy = classFileBufferStrategy;
+                this.transformationCache = transformationCache;
+                this.transformationMetrics = transformationMetrics;
+                this.deduplicationStrategy = deduplicationStrategy;
                 this.installationListener = installationListener;
                 this.ignoredTypeMatcher = ignoredTypeMatcher;
                 this.transformation = transformation;
@@ -10414,17 +13850,23 @@ public interface AgentBuilder {
                 String typeName = internalTypeName.replace('/', '.');
                 try {
                     listener.onDiscovery(typeName, classLoader, module, classBeingRedefined != null);
+                    long started = transformationMetrics.start();
                     ClassFileLocator classFileLocator = new ClassFileLocator.Compound(classFileBufferStrategy.resolve(typeName,
                             binaryRepresentation,
                             classLoader,
                             module,
                             protectionDomain), locationStrategy.classFileLocator(classLoader, module));
                     TypePool typePool = poolStrategy.typePool(classFileLocator, classLoader);
+                    transformationMetrics.onPhase(TransformationMetrics.Phase.LOCATION, started);
+                    if (transformation.isExcluded(typeName, binaryRepresentation)) {
+                        listener.onIgnored(new ExcludedTypeDescription(typeName, typePool), classLoader, module, classBeingRedefined != null);
+                        return NO_TRANSFORMATION;
+                    }
                     try {
-                        return doTransform(module, classLoader, typeName, classBeingRedefined, classBeingRedefined != null, protectionDomain, typePool, classFileLocator);
+                        return doTransform(module, classLoader, typeName, classBeingRedefined, classBeingRedefined != null, protectionDomain, typePool, classFileLocator, binaryRepresentation);
                     } catch (Throwable throwable) {
                         if (classBeingRedefined != null && descriptionStrategy.isLoadedFirst() && fallbackStrategy.isFallback(classBeingRedefined, throwable)) {
-                            return doTransform(module, classLoader, typeName, NO_LOADED_TYPE, Listener.LOADED, protectionDomain, typePool, classFileLocator);
+                            return doTransform(module, classLoader, typeName, NO_LOADED_TYPE, Listener.LOADED, protectionDomain, typePool, classFileLocator, binaryRepresentation);
                         } else {
                             throw throwable;
                         }
@@ -10440,14 +13882,15 @@ public interface AgentBuilder {
             /**
              * Applies a transformation for a class that was captured by this {@link ClassFileTransformer}.
              *
-             * @param module              The instrumented class's Java module in its wrapped form or {@code null} if the current VM does not support modules.
-             * @param classLoader         The instrumented class's class loader.
-             * @param typeName            The binary name of the instrumented class.
-             * @param classBeingRedefined The loaded {@link Class} being redefined or {@code null} if no such class exists.
-             * @param loaded              {@code true} if the instrumented type is loaded.
-             * @param protectionDomain    The instrumented type's protection domain.
-             * @param typePool            The type pool to use.
-             * @param classFileLocator    The class file locator to use.
+             * @param module               The instrumented class's Java module in its wrapped form or {@code null} if the current VM does not support modules.
+             * @param classLoader          The instrumented class's class loader.
+             * @param typeName             The binary name of the instrumented class.
+             * @param classBeingRedefined  The loaded {@link Class} being redefined or {@code null} if no such class exists.
+             * @param loaded               {@code true} if the instrumented type is loaded.
+             * @param protectionDomain     The instrumented type's protection domain.
+             * @param typePool             The type pool to use.
+             * @param classFileLocator     The class file locator to use.
+             * @param binaryRepresentation The class file of the instrumented class in its current state.
              * @return The transformed class file or an empty byte array if this transformer does not apply an instrumentation.
              */
             private byte[] doTransform(JavaModule module,
@@ -10457,15 +13900,35 @@ public interface AgentBuilder {
                                        boolean loaded,
                                        ProtectionDomain protectionDomain,
                                        TypePool typePool,
-                                       ClassFileLocator classFileLocator) {
-                return resolve(module, classLoader, typeName, classBeingRedefined, loaded, protectionDomain, typePool).apply(initializationStrategy,
+                                       ClassFileLocator classFileLocator,
+                                       byte[] binaryRepresentation) {
+                Transformation.Resolution resolution = resolve(module, classLoader, typeName, classBeingRedefined, loaded, protectionDomain, typePool);
+                Listener listener = this.listener;
+                if (!loaded && resolution instanceof Transformation.Resolution.Indexed) {
+                    TransformationCache.Dispatcher dispatcher = transformationCache.dispatcher(typeName,
+                            binaryRepresentation,
+                            ((Transformation.Resolution.Indexed) resolution).getTransformations());
+                    byte[] transformed = dispatcher.resolve();
+                    if (transformed != TransformationCache.Dispatcher.NOT_CACHED) {
+                        return transformed;
+                    }
+                    listener = dispatcher.register(listener);
+                }
+                long started = transformationMetrics.start();
+                byte[] transformed = resolution.apply(initializationStrategy,
                         classFileLocator,
                         typeStrategy,
                         byteBuddy,
                         nativeMethodStrategy,
                         bootstrapInjectionStrategy,
                         accessControlContext,
+                        deduplicationStrategy,
                         listener);
+                if (transformed != NO_TRANSFORMATION) {
+                    transformationMetrics.onPhase(TransformationMetrics.Phase.GENERATION, started);
+                    transformationMetrics.onTransformation(transformed.length);
+                }
+                return transformed;
             }
 
 
@@ -10488,10 +13951,17 @@ public interface AgentBuilder {
                                                       boolean loaded,
                                                       ProtectionDomain protectionDomain,
                                                       TypePool typePool) {
+                long started = transformationMetrics.start();
                 TypeDescription typeDescription = descriptionStrategy.apply(typeName, classBeingRedefined, typePool, circularityLock, classLoader, module);
-                return ignoredTypeMatcher.matches(typeDescription, classLoader, module, classBeingRedefined, protectionDomain)
-                        ? new Transformation.Resolution.Unresolved(typeDescription, classLoader, module, loaded)
-                        : transformation.resolve(typeDescription, classLoader, module, classBeingRedefined, loaded, protectionDomain, typePool);
+                started = transformationMetrics.onPhase(TransformationMetrics.Phase.DESCRIPTION, started);
+                boolean ignored = ignoredTypeMatcher.matches(typeDescription, classLoader, module, classBeingRedefined, protectionDomain);
+                started = transformationMetrics.onPhase(TransformationMetrics.Phase.IGNORE_MATCHING, started);
+                if (ignored) {
+                    return new Transformation.Resolution.Unresolved(typeDescription, classLoader, module, loaded);
+                }
+                Transformation.Resolution resolution = transformation.resolve(typeDescription, classLoader, module, classBeingRedefined, loaded, protectionDomain, typePool);
+                transformationMetrics.onPhase(TransformationMetrics.Phase.RESOLUTION, started);
+                return resolution;
             }
 
             /**
@@ -10503,6 +13973,9 @@ public interface AgentBuilder {
                                               RedefinitionStrategy.BatchAllocator redefinitionBatchAllocator,
                                               RedefinitionStrategy.Listener redefinitionListener) {
                 if (instrumentation.removeTransformer(this)) {
+                    if (locationStrategy instanceof LocationStrategy.Caching) {
+                        ((LocationStrategy.Caching) locationStrategy).clear();
+                    }
                     redefinitionStrategy.apply(instrumentation,
                             Listener.NoOp.INSTANCE,
                             CircularityLock.Inactive.INSTANCE,
@@ -10545,6 +14018,9 @@ public interface AgentBuilder {
                  * @param descriptionStrategy           The description strategy for resolving type descriptions for types.
                  * @param fallbackStrategy              The fallback strategy to use.
                  * @param classFileBufferStrategy       The class file buffer strategy to use.
+                 * @param transformationCache           The transformation cache to use.
+                 * @param transformationMetrics         The transformation metrics to use.
+                 * @param deduplicationStrategy         The deduplication strategy to use.
                  * @param installationListener          The installation listener to notify.
                  * @param ignoredTypeMatcher            Identifies types that should not be instrumented.
                  * @param transformation                The transformation object for handling type transformations.
@@ -10563,6 +14039,9 @@ public interface AgentBuilder {
                                                     DescriptionStrategy descriptionStrategy,
                                                     FallbackStrategy fallbackStrategy,
                                                     ClassFileBufferStrategy classFileBufferStrategy,
+                                                    TransformationCache transformationCache,
+                                                    TransformationMetrics transformationMetrics,
+                                                    DeduplicationStrategy deduplicationStrategy,
                                                     InstallationListener installationListener,
                                                     RawMatcher ignoredTypeMatcher,
                                                     Transformation transformation,
@@ -10612,6 +14091,9 @@ public interface AgentBuilder {
                                             DescriptionStrategy.class,
                                             FallbackStrategy.class,
                                             ClassFileBufferStrategy.class,
+                                            TransformationCache.class,
+                                            TransformationMetrics.class,
+                                            DeduplicationStrategy.class,
                                             InstallationListener.class,
                                             RawMatcher.class,
                                             Transformation.class,
@@ -10660,6 +14142,9 @@ public interface AgentBuilder {
                                                                DescriptionStrategy descriptionStrategy,
                                                                FallbackStrategy fallbackStrategy,
                                                                ClassFileBufferStrategy classFileBufferStrategy,
+                                                               TransformationCache transformationCache,
+                                                               TransformationMetrics transformationMetrics,
+                                                               DeduplicationStrategy deduplicationStrategy,
                                                                InstallationListener installationListener,
                                                                RawMatcher ignoredTypeMatcher,
                                                                Transformation transformation,
@@ -10677,6 +14162,9 @@ public interface AgentBuilder {
                                     descriptionStrategy,
                                     fallbackStrategy,
                                     classFileBufferStrategy,
+                                    transformationCache,
+                                    transformationMetrics,
+                                    deduplicationStrategy,
                                     installationListener,
                                     ignoredTypeMatcher,
                                     transformation,
@@ -10716,6 +14204,9 @@ public interface AgentBuilder {
                                                                DescriptionStrategy descriptionStrategy,
                                                                FallbackStrategy fallbackStrategy,
                                                                ClassFileBufferStrategy classFileBufferStrategy,
+                                                               TransformationCache transformationCache,
+                                                               TransformationMetrics transformationMetrics,
+                                                               DeduplicationStrategy deduplicationStrategy,
                                                                InstallationListener installationListener,
                                                                RawMatcher ignoredTypeMatcher,
                                                                Transformation transformation,
@@ -10732,6 +14223,9 @@ public interface AgentBuilder {
                                 descriptionStrategy,
                                 fallbackStrategy,
                                 classFileBufferStrategy,
+                                transformationCache,
+                                transformationMetrics,
+                                deduplicationStrategy,
                                 installationListener,
                                 ignoredTypeMatcher,
                                 transformation,
@@ -10878,6 +14372,47 @@ public interface AgentBuilder {
                             binaryRepresentation);
                 }
             }
+
+            /**
+             * A description of a type that was excluded by its class file alone. Any property but the type's name is only
+             * resolved from the type pool if a listener requests it such that excluded types are not described unless required.
+             */
+            protected static class ExcludedTypeDescription extends TypeDescription.AbstractBase.OfSimpleType.WithDelegation {
+
+                /**
+                 * The binary name of the excluded type.
+                 */
+                private final String name;
+
+                /**
+                 * The type pool to resolve the excluded type from.
+                 */
+                private final TypePool typePool;
+
+                /**
+                 * Creates a new description of an excluded type.
+                 *
+                 * @param name     The binary name of the excluded type.
+                 * @param typePool The type pool to resolve the excluded type from.
+                 */
+                protected ExcludedTypeDescription(String name, TypePool typePool) {
+                    this.name = name;
+                    this.typePool = typePool;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public String getName() {
+                    return name;
+                }
+
+                @Override
+                @CachedReturnPlugin.Enhance("delegate")
+                protected TypeDescription delegate() {
+                    return typePool.describe(name).resolve();
+                }
+            }
         }
 
         /**
@@ -10978,6 +14513,27 @@ public interface AgentBuilder {
                 return materialize().with(classFileBufferStrategy);
             }
 
+            /**
+             * {@inheritDoc}
+             */
+            public AgentBuilder with(TransformationCache transformationCache) {
+                return materialize().with(transformationCache);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public AgentBuilder with(TransformationMetrics transformationMetrics) {
+                return materialize().with(transformationMetrics);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public AgentBuilder with(DeduplicationStrategy deduplicationStrategy) {
+                return materialize().with(deduplicationStrategy);
+            }
+
             /**
              * {@inheritDoc}
              */
@@ -11186,12 +14742,16 @@ public interface AgentBuilder {
                         redefinitionDiscoveryStrategy,
                         redefinitionBatchAllocator,
                         redefinitionListener,
+                        redefinitionExecutor,
                         redefinitionResubmissionStrategy,
                         bootstrapInjectionStrategy,
                         lambdaInstrumentationStrategy,
                         descriptionStrategy,
                         fallbackStrategy,
                         classFileBufferStrategy,
+                        transformationCache,
+                        transformationMetrics,
+                        deduplicationStrategy,
                         installationListener,
                         rawMatcher,
                         transformation);
@@ -11232,6 +14792,7 @@ public interface AgentBuilder {
              * @param redefinitionDiscoveryStrategy    The discovery strategy for loaded types to be redefined.
              * @param redefinitionBatchAllocator       The batch allocator for the redefinition strategy to apply.
              * @param redefinitionListener             The redefinition listener for the redefinition strategy to apply.
+             * @param redefinitionExecutor             The executor to use for preparing a batch of redefined types.
              * @param redefinitionResubmissionStrategy The resubmission strategy to apply.
              * @param bootstrapInjectionStrategy       The injection strategy for injecting classes into the bootstrap class loader.
              * @param lambdaInstrumentationStrategy    A strategy to determine of the {@code LambdaMetafactory} should be instrumented to allow for the
@@ -11239,6 +14800,9 @@ public interface AgentBuilder {
              * @param descriptionStrategy              The description strategy for resolving type descriptions for types.
              * @param fallbackStrategy                 The fallback strategy to apply.
              * @param classFileBufferStrategy          The class file buffer strategy to use.
+             * @param transformationCache              The transformation cache to use.
+             * @param transformationMetrics            The transformation metrics to use.
+             * @param deduplicationStrategy            The deduplication strategy to use.
              * @param installationListener             The installation listener to notify.
              * @param ignoredTypeMatcher               Identifies types that should not be instrumented.
              * @param transformation                   The transformation object for handling type transformations.
@@ -11255,12 +14819,16 @@ public interface AgentBuilder {
                                  RedefinitionStrategy.DiscoveryStrategy redefinitionDiscoveryStrategy,
                                  RedefinitionStrategy.BatchAllocator redefinitionBatchAllocator,
                                  RedefinitionStrategy.Listener redefinitionListener,
+                                 Executor redefinitionExecutor,
                                  RedefinitionStrategy.ResubmissionStrategy redefinitionResubmissionStrategy,
                                  BootstrapInjectionStrategy bootstrapInjectionStrategy,
                                  LambdaInstrumentationStrategy lambdaInstrumentationStrategy,
                                  DescriptionStrategy descriptionStrategy,
                                  FallbackStrategy fallbackStrategy,
                                  ClassFileBufferStrategy classFileBufferStrategy,
+                                 TransformationCache transformationCache,
+                                 TransformationMetrics transformationMetrics,
+                                 DeduplicationStrategy deduplicationStrategy,
                                  InstallationListener installationListener,
                                  RawMatcher ignoredTypeMatcher,
                                  Transformation transformation) {
@@ -11276,12 +14844,16 @@ public interface AgentBuilder {
                         redefinitionDiscoveryStrategy,
                         redefinitionBatchAllocator,
                         redefinitionListener,
+                        redefinitionExecutor,
                         redefinitionResubmissionStrategy,
                         bootstrapInjectionStrategy,
                         lambdaInstrumentationStrategy,
                         descriptionStrategy,
                         fallbackStrategy,
                         classFileBufferStrategy,
+                        transformationCache,
+                        transformationMetrics,
+                        deduplicationStrategy,
                         installationListener,
                         ignoredTypeMatcher,
                         transformation);
@@ -11306,12 +14878,16 @@ public interface AgentBuilder {
                         redefinitionDiscoveryStrategy,
                         redefinitionBatchAllocator,
                         redefinitionListener,
+                        redefinitionExecutor,
                         redefinitionResubmissionStrategy,
                         bootstrapInjectionStrategy,
                         lambdaInstrumentationStrategy,
                         descriptionStrategy,
                         fallbackStrategy,
                         classFileBufferStrategy,
+                        transformationCache,
+                        transformationMetrics,
+                        deduplicationStrategy,
                         installationListener,
                         ignoredTypeMatcher,
                         transformation);
@@ -11343,12 +14919,16 @@ public interface AgentBuilder {
                         redefinitionDiscoveryStrategy,
                         redefinitionBatchAllocator,
                         redefinitionListener,
+                        redefinitionExecutor,
                         redefinitionResubmissionStrategy,
                         bootstrapInjectionStrategy,
                         lambdaInstrumentationStrategy,
                         descriptionStrategy,
                         fallbackStrategy,
                         classFileBufferStrategy,
+                        transformationCache,
+                        transformationMetrics,
+                        deduplicationStrategy,
                         installationListener,
                         ignoredTypeMatcher,
                         transformation);
@@ -11373,12 +14953,50 @@ public interface AgentBuilder {
                         redefinitionDiscoveryStrategy,
                         redefinitionBatchAllocator,
                         new RedefinitionStrategy.Listener.Compound(this.redefinitionListener, redefinitionListener),
+                        redefinitionExecutor,
+                        redefinitionResubmissionStrategy,
+                        bootstrapInjectionStrategy,
+                        lambdaInstrumentationStrategy,
+                        descriptionStrategy,
+                        fallbackStrategy,
+                        classFileBufferStrategy,
+                        transformationCache,
+                        transformationMetrics,
+                        deduplicationStrategy,
+                        installationListener,
+                        ignoredTypeMatcher,
+                        transformation);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public RedefinitionListenable withPreparationExecutor(Executor executor) {
+                if (!redefinitionStrategy.isEnabled()) {
+                    throw new IllegalStateException("Cannot set redefinition executor when redefinition is disabled");
+                }
+                return new Redefining(byteBuddy,
+                        listener,
+                        circularityLock,
+                        poolStrategy,
+                        typeStrategy,
+                        locationStrategy,
+                        nativeMethodStrategy,
+                        initializationStrategy,
+                        redefinitionStrategy,
+                        redefinitionDiscoveryStrategy,
+                        redefinitionBatchAllocator,
+                        redefinitionListener,
+                        executor,
                         redefinitionResubmissionStrategy,
                         bootstrapInjectionStrategy,
                         lambdaInstrumentationStrategy,
                         descriptionStrategy,
                         fallbackStrategy,
                         classFileBufferStrategy,
+                        transformationCache,
+                        transformationMetrics,
+                        deduplicationStrategy,
                         installationListener,
                         ignoredTypeMatcher,
                         transformation);
@@ -11410,12 +15028,66 @@ public interface AgentBuilder {
                         redefinitionDiscoveryStrategy,
                         redefinitionBatchAllocator,
                         redefinitionListener,
+                        redefinitionExecutor,
                         new RedefinitionStrategy.ResubmissionStrategy.Enabled(resubmissionScheduler, matcher),
                         bootstrapInjectionStrategy,
                         lambdaInstrumentationStrategy,
                         descriptionStrategy,
                         fallbackStrategy,
                         classFileBufferStrategy,
+                        transformationCache,
+                        transformationMetrics,
+                        deduplicationStrategy,
+                        installationListener,
+                        ignoredTypeMatcher,
+                        transformation);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public AgentBuilder withDeferral(RedefinitionStrategy.ResubmissionScheduler resubmissionScheduler) {
+                return withDeferral(resubmissionScheduler, none());
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public AgentBuilder withDeferral(RedefinitionStrategy.ResubmissionScheduler resubmissionScheduler, ElementMatcher<? super TypeDescription> synchronousMatcher) {
+                return withDeferral(resubmissionScheduler, new RawMatcher.ForElementMatchers(synchronousMatcher));
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public AgentBuilder withDeferral(RedefinitionStrategy.ResubmissionScheduler resubmissionScheduler, RawMatcher synchronousMatcher) {
+                if (!redefinitionStrategy.isEnabled()) {
+                    throw new IllegalStateException("Cannot enable deferral when redefinition is disabled");
+                }
+                return new Redefining(byteBuddy.with(Implementation.Context.Disabled.Factory.INSTANCE),
+                        listener,
+                        circularityLock,
+                        poolStrategy,
+                        typeStrategy == TypeStrategy.Default.DECORATE
+                                ? TypeStrategy.Default.DECORATE
+                                : TypeStrategy.Default.REDEFINE_FROZEN,
+                        locationStrategy,
+                        NativeMethodStrategy.Disabled.INSTANCE,
+                        InitializationStrategy.NoOp.INSTANCE,
+                        redefinitionStrategy,
+                        redefinitionDiscoveryStrategy,
+                        redefinitionBatchAllocator,
+                        redefinitionListener,
+                        redefinitionExecutor,
+                        new RedefinitionStrategy.ResubmissionStrategy.Deferring(resubmissionScheduler, synchronousMatcher),
+                        bootstrapInjectionStrategy,
+                        lambdaInstrumentationStrategy,
+                        descriptionStrategy,
+                        fallbackStrategy,
+                        classFileBufferStrategy,
+                        transformationCache,
+                        transformationMetrics,
+                        deduplicationStrategy,
                         installationListener,
                         ignoredTypeMatcher,
                         transformation);
@@ -11472,12 +15144,16 @@ public interface AgentBuilder {
                         redefinitionDiscoveryStrategy,
                         redefinitionBatchAllocator,
                         redefinitionListener,
+                        redefinitionExecutor,
                         redefinitionResubmissionStrategy,
                         bootstrapInjectionStrategy,
                         lambdaInstrumentationStrategy,
                         descriptionStrategy,
                         fallbackStrategy,
                         classFileBufferStrategy,
+                        transformationCache,
+                        transformationMetrics,
+                        deduplicationStrategy,
                         installationListener,
                         ignoredTypeMatcher,
                         new Transformation.Compound(transformation, new Transformation.Simple(rawMatcher, transformer, decorator)));
@@ -19,12 +19,17 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.security.ProtectionDomain;
 import java.util.*;
 import java.util.jar.JarFile;
 import java.util.regex.Pattern;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -820,7 +825,7 @@ public interface ClassFileLocator extends Closeable {
             } else {
                 InputStream inputStream = jarFile.getInputStream(zipEntry);
                 try {
-                    return new Resolution.Explicit(StreamDrainer.DEFAULT.drain(inputStream));
+                    return new Resolution.Explicit(StreamDrainer.DEFAULT.drain(inputStream, zipEntry.getSize()));
                 } finally {
                     inputStream.close();
                 }
@@ -835,6 +840,283 @@ public interface ClassFileLocator extends Closeable {
         }
     }
 
+    /**
+     * <p>
+     * A class file locator that locates classes within a Java <i>jar</i> file by memory-mapping the file. The jar file's central
+     * directory is indexed once into an open-addressing hash table of class file entries. Stored class files are copied directly
+     * from the mapped file and deflated class files are inflated directly into an array of the class file's exact size.
+     * </p>
+     * <p>
+     * <b>Note</b>: This class file locator does not support jar files that require the ZIP64 format. A mapped file is released by
+     * the garbage collector and not when this locator is closed.
+     * </p>
+     */
+    class ForMappedJarFile implements ClassFileLocator {
+
+        /**
+         * The signature of a ZIP file's end of central directory record.
+         */
+        private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+
+        /**
+         * The size of the end of central directory record without its comment.
+         */
+        private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+
+        /**
+         * The maximum size of a ZIP file's comment.
+         */
+        private static final int MAXIMUM_COMMENT_SIZE = 0xFFFF;
+
+        /**
+         * The signature of a central directory file header.
+         */
+        private static final int CENTRAL_DIRECTORY_SIGNATURE = 0x02014b50;
+
+        /**
+         * The size of a central directory file header without its variable fields.
+         */
+        private static final int CENTRAL_DIRECTORY_SIZE = 46;
+
+        /**
+         * The signature of a local file header.
+         */
+        private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+
+        /**
+         * The size of a local file header without its variable fields.
+         */
+        private static final int LOCAL_HEADER_SIZE = 30;
+
+        /**
+         * The compression method of a stored entry.
+         */
+        private static final int STORED = 0;
+
+        /**
+         * The compression method of a deflated entry.
+         */
+        private static final int DEFLATED = 8;
+
+        /**
+         * Indicates that a hash table slot is not occupied.
+         */
+        private static final int EMPTY_SLOT = -1;
+
+        /**
+         * The charset of entry names.
+         */
+        private static final String CHARSET = "UTF-8";
+
+        /**
+         * The mapped jar file.
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * The hash codes of the indexed entry names in their hash table slots.
+         */
+        private final int[] hashCodes;
+
+        /**
+         * The offsets of the indexed entries' central directory file headers in their hash table slots or {@link ForMappedJarFile#EMPTY_SLOT}.
+         */
+        private final int[] offsets;
+
+        /**
+         * Creates a new class file locator for a mapped jar file.
+         *
+         * @param buffer    The mapped jar file.
+         * @param hashCodes The hash codes of the indexed entry names in their hash table slots.
+         * @param offsets   The offsets of the indexed entries' central directory file headers in their hash table slots.
+         */
+        protected ForMappedJarFile(ByteBuffer buffer, int[] hashCodes, int[] offsets) {
+            this.buffer = buffer;
+            this.hashCodes = hashCodes;
+            this.offsets = offsets;
+        }
+
+        /**
+         * Creates a new class file locator for the given jar file by mapping the file and indexing its central directory.
+         *
+         * @param file The jar file to read from.
+         * @return A class file locator for the jar file.
+         * @throws IOException If an I/O exception is thrown or if the file is not a supported jar file.
+         */
+        public static ClassFileLocator of(File file) throws IOException {
+            RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+            ByteBuffer buffer;
+            try {
+                if (randomAccessFile.length() > Integer.MAX_VALUE) {
+                    throw new IOException("Cannot map jar file that exceeds " + Integer.MAX_VALUE + " bytes: " + file);
+                }
+                buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, randomAccessFile.length()).order(ByteOrder.LITTLE_ENDIAN);
+            } finally {
+                randomAccessFile.close();
+            }
+            int endOfCentralDirectory = buffer.limit() - END_OF_CENTRAL_DIRECTORY_SIZE;
+            int minimum = Math.max(0, endOfCentralDirectory - MAXIMUM_COMMENT_SIZE);
+            while (endOfCentralDirectory >= minimum && buffer.getInt(endOfCentralDirectory) != END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+                endOfCentralDirectory--;
+            }
+            if (endOfCentralDirectory < minimum) {
+                throw new IOException("Cannot locate central directory of " + file);
+            }
+            int count = buffer.getShort(endOfCentralDirectory + 10) & 0xFFFF;
+            long centralDirectory = buffer.getInt(endOfCentralDirectory + 16) & 0xFFFFFFFFL;
+            if (count == 0xFFFF || centralDirectory == 0xFFFFFFFFL) {
+                throw new IOException("ZIP64 format is not supported: " + file);
+            }
+            int capacity = Integer.highestOneBit(Math.max(count, 1) * 2 - 1) << 1;
+            int[] hashCodes = new int[capacity], offsets = new int[capacity];
+            Arrays.fill(offsets, EMPTY_SLOT);
+            int offset = (int) centralDirectory;
+            for (int index = 0; index < count; index++) {
+                if (buffer.getInt(offset) != CENTRAL_DIRECTORY_SIGNATURE) {
+                    throw new IOException("Malformed central directory of " + file);
+                }
+                int nameLength = buffer.getShort(offset + 28) & 0xFFFF;
+                if (isClassFile(buffer, offset + CENTRAL_DIRECTORY_SIZE, nameLength)) {
+                    int hashCode = hashCode(buffer, offset + CENTRAL_DIRECTORY_SIZE, nameLength), slot = hashCode & (capacity - 1);
+                    while (offsets[slot] != EMPTY_SLOT) {
+                        slot = (slot + 1) & (capacity - 1);
+                    }
+                    hashCodes[slot] = hashCode;
+                    offsets[slot] = offset;
+                }
+                offset += CENTRAL_DIRECTORY_SIZE
+                        + nameLength
+                        + (buffer.getShort(offset + 30) & 0xFFFF)
+                        + (buffer.getShort(offset + 32) & 0xFFFF);
+            }
+            return new ForMappedJarFile(buffer, hashCodes, offsets);
+        }
+
+        /**
+         * Determines if an entry name represents a class file.
+         *
+         * @param buffer The buffer containing the entry name.
+         * @param offset The offset of the entry name.
+         * @param length The length of the entry name.
+         * @return {@code true} if the entry name represents a class file.
+         */
+        private static boolean isClassFile(ByteBuffer buffer, int offset, int length) {
+            if (length < CLASS_FILE_EXTENSION.length()) {
+                return false;
+            }
+            for (int index = 0; index < CLASS_FILE_EXTENSION.length(); index++) {
+                if (buffer.get(offset + length - CLASS_FILE_EXTENSION.length() + index) != CLASS_FILE_EXTENSION.charAt(index)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Computes the hash code of an entry name.
+         *
+         * @param buffer The buffer containing the entry name.
+         * @param offset The offset of the entry name.
+         * @param length The length of the entry name.
+         * @return The hash code of the entry name.
+         */
+        private static int hashCode(ByteBuffer buffer, int offset, int length) {
+            int hashCode = 1;
+            for (int index = 0; index < length; index++) {
+                hashCode = 31 * hashCode + buffer.get(offset + index);
+            }
+            return hashCode ^ (hashCode >>> 16);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Resolution locate(String name) throws IOException {
+            byte[] binaryName = (name.replace('.', '/') + CLASS_FILE_EXTENSION).getBytes(CHARSET);
+            ByteBuffer buffer = ByteBuffer.wrap(binaryName);
+            int hashCode = hashCode(buffer, 0, binaryName.length), slot = hashCode & (offsets.length - 1);
+            while (offsets[slot] != EMPTY_SLOT) {
+                if (hashCodes[slot] == hashCode && matches(offsets[slot], binaryName)) {
+                    return new Resolution.Explicit(read(offsets[slot]));
+                }
+                slot = (slot + 1) & (offsets.length - 1);
+            }
+            return new Resolution.Illegal(name);
+        }
+
+        /**
+         * Determines if the name of the entry of a central directory file header matches the given name.
+         *
+         * @param offset     The offset of the central directory file header.
+         * @param binaryName The binary name to compare the entry name to.
+         * @return {@code true} if the entry name matches the given name.
+         */
+        private boolean matches(int offset, byte[] binaryName) {
+            if ((buffer.getShort(offset + 28) & 0xFFFF) != binaryName.length) {
+                return false;
+            }
+            for (int index = 0; index < binaryName.length; index++) {
+                if (buffer.get(offset + CENTRAL_DIRECTORY_SIZE + index) != binaryName[index]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Reads the content of the entry that is represented by a central directory file header.
+         *
+         * @param offset The offset of the central directory file header.
+         * @return The content of the represented entry.
+         * @throws IOException If the entry cannot be read.
+         */
+        private byte[] read(int offset) throws IOException {
+            int method = buffer.getShort(offset + 10) & 0xFFFF;
+            int compressedSize = buffer.getInt(offset + 20), size = buffer.getInt(offset + 24), localHeader = buffer.getInt(offset + 42);
+            if (buffer.getInt(localHeader) != LOCAL_HEADER_SIGNATURE) {
+                throw new IOException("Malformed local file header at " + localHeader);
+            }
+            ByteBuffer data = buffer.duplicate();
+            data.position(localHeader
+                    + LOCAL_HEADER_SIZE
+                    + (buffer.getShort(localHeader + 26) & 0xFFFF)
+                    + (buffer.getShort(localHeader + 28) & 0xFFFF));
+            byte[] binaryRepresentation = new byte[size];
+            if (method == STORED) {
+                data.get(binaryRepresentation);
+            } else if (method == DEFLATED) {
+                byte[] compressed = new byte[compressedSize];
+                data.get(compressed);
+                Inflater inflater = new Inflater(true);
+                try {
+                    inflater.setInput(compressed);
+                    int length = 0;
+                    while (length < size) {
+                        int inflated = inflater.inflate(binaryRepresentation, length, size - length);
+                        if (inflated == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                            throw new IOException("Unexpected end of deflated entry at " + localHeader);
+                        }
+                        length += inflated;
+                    }
+                } catch (DataFormatException exception) {
+                    throw new IOException("Malformed deflated entry at " + localHeader + ": " + exception.getMessage());
+                } finally {
+                    inflater.end();
+                }
+            } else {
+                throw new IOException("Unsupported compression method " + method + " of entry at " + localHeader);
+            }
+            return binaryRepresentation;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void close() {
+            /* do nothing */
+        }
+    }
+
     /**
      * A class file locator that locates classes within a Java <i>jmod</i> file. This class file locator should not be used
      * for reading modular jar files for which {@link ForJarFile} is appropriate.
@@ -1004,7 +1286,7 @@ public interface ClassFileLocator extends Closeable {
             } else {
                 InputStream inputStream = zipFile.getInputStream(zipEntry);
                 try {
-                    return new Resolution.Explicit(StreamDrainer.DEFAULT.drain(inputStream));
+                    return new Resolution.Explicit(StreamDrainer.DEFAULT.drain(inputStream, zipEntry.getSize()));
                 } finally {
                     inputStream.close();
                 }
@@ -1049,7 +1331,7 @@ public interface ClassFileLocator extends Closeable {
             if (file.exists()) {
                 InputStream inputStream = new FileInputStream(file);
                 try {
-                    return new Resolution.Explicit(StreamDrainer.DEFAULT.drain(inputStream));
+                    return new Resolution.Explicit(StreamDrainer.DEFAULT.drain(inputStream, file.length()));
                 } finally {
                     inputStream.close();
                 }
@@ -1824,6 +2106,216 @@ public interface ClassFileLocator extends Closeable {
         }
     }
 
+    /**
+     * A class file locator that caches the results of a delegate class file locator. Located class files are retained
+     * in a cache that is bounded by the accumulated size of all cached class files whereas unresolved lookups are
+     * retained by their name only, bounded by a maximum number of misses. A cache can be shared among several caching
+     * class file locators, for example to retain class files per class loader while creating new locators on demand.
+     */
+    @HashCodeAndEqualsPlugin.Enhance
+    class Caching implements ClassFileLocator {
+
+        /**
+         * The class file locator to delegate to.
+         */
+        private final ClassFileLocator classFileLocator;
+
+        /**
+         * The cache to use.
+         */
+        private final Cache cache;
+
+        /**
+         * Creates a new caching class file locator with a cache of default bounds.
+         *
+         * @param classFileLocator The class file locator to delegate to.
+         */
+        public Caching(ClassFileLocator classFileLocator) {
+            this(classFileLocator, new Cache());
+        }
+
+        /**
+         * Creates a new caching class file locator.
+         *
+         * @param classFileLocator The class file locator to delegate to.
+         * @param cache            The cache to use.
+         */
+        public Caching(ClassFileLocator classFileLocator, Cache cache) {
+            this.classFileLocator = classFileLocator;
+            this.cache = cache;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Resolution locate(String name) throws IOException {
+            Resolution resolution = cache.find(name);
+            if (resolution == null) {
+                resolution = classFileLocator.locate(name);
+                cache.register(name, resolution);
+            }
+            return resolution;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void close() throws IOException {
+            classFileLocator.close();
+        }
+
+        /**
+         * A bounded cache of class files and of unresolved lookups. Class files are evicted in their least-recently-used
+         * order once the accumulated size of all cached class files exceeds the cache's maximum weight. Similarly, the
+         * least-recently-used miss is evicted once the cache's maximum number of misses is exceeded.
+         */
+        public static class Cache {
+
+            /**
+             * The default maximum accumulated size of all cached class files in bytes.
+             */
+            public static final long DEFAULT_MAXIMUM_WEIGHT = 16L * 1024 * 1024;
+
+            /**
+             * The default maximum number of unresolved lookups that are retained.
+             */
+            public static final int DEFAULT_MAXIMUM_MISSES = 4096;
+
+            /**
+             * The maximum accumulated size of all cached class files in bytes.
+             */
+            private final long maximumWeight;
+
+            /**
+             * The maximum number of unresolved lookups that are retained.
+             */
+            private final int maximumMisses;
+
+            /**
+             * A mapping of type names to their cached binary representation in access order.
+             */
+            private final LinkedHashMap<String, byte[]> resolved;
+
+            /**
+             * A set of type names that could not be resolved in access order, represented as a map.
+             */
+            private final LinkedHashMap<String, Boolean> unresolved;
+
+            /**
+             * The accumulated size of all cached class files in bytes.
+             */
+            private long weight;
+
+            /**
+             * Creates a new cache with default bounds.
+             */
+            public Cache() {
+                this(DEFAULT_MAXIMUM_WEIGHT, DEFAULT_MAXIMUM_MISSES);
+            }
+
+            /**
+             * Creates a new cache.
+             *
+             * @param maximumWeight The maximum accumulated size of all cached class files in bytes.
+             * @param maximumMisses The maximum number of unresolved lookups that are retained.
+             */
+            public Cache(long maximumWeight, int maximumMisses) {
+                if (maximumWeight < 0) {
+                    throw new IllegalArgumentException("Maximum weight must not be negative: " + maximumWeight);
+                } else if (maximumMisses < 0) {
+                    throw new IllegalArgumentException("Maximum number of misses must not be negative: " + maximumMisses);
+                }
+                this.maximumWeight = maximumWeight;
+                this.maximumMisses = maximumMisses;
+                resolved = new LinkedHashMap<String, byte[]>(16, 0.75f, true);
+                unresolved = new LinkedHashMap<String, Boolean>(16, 0.75f, true);
+            }
+
+            /**
+             * Attempts to find a cached resolution.
+             *
+             * @param name The name of the type to find.
+             * @return The cached resolution or {@code null} if the lookup is not cached.
+             */
+            protected synchronized Resolution find(String name) {
+                byte[] binaryRepresentation = resolved.get(name);
+                if (binaryRepresentation != null) {
+                    return new Resolution.Explicit(binaryRepresentation);
+                } else if (unresolved.get(name) != null) {
+                    return new Resolution.Illegal(name);
+                } else {
+                    return null;
+                }
+            }
+
+            /**
+             * Registers a resolution with this cache.
+             *
+             * @param name       The name of the located type.
+             * @param resolution The resolution of the located type.
+             */
+            protected synchronized void register(String name, Resolution resolution) {
+                if (resolution.isResolved()) {
+                    byte[] binaryRepresentation = resolution.resolve();
+                    if (binaryRepresentation.length > maximumWeight) {
+                        return;
+                    }
+                    byte[] previous = resolved.put(name, binaryRepresentation);
+                    weight += binaryRepresentation.length - (previous == null ? 0 : previous.length);
+                    unresolved.remove(name);
+                    Iterator<byte[]> iterator = resolved.values().iterator();
+                    while (weight > maximumWeight && iterator.hasNext()) {
+                        weight -= iterator.next().length;
+                        iterator.remove();
+                    }
+                } else if (maximumMisses > 0) {
+                    unresolved.put(name, Boolean.TRUE);
+                    Iterator<Boolean> iterator = unresolved.values().iterator();
+                    while (unresolved.size() > maximumMisses && iterator.hasNext()) {
+                        iterator.next();
+                        iterator.remove();
+                    }
+                }
+            }
+
+            /**
+             * Removes all cached class files and misses from this cache.
+             */
+            public synchronized void clear() {
+                resolved.clear();
+                unresolved.clear();
+                weight = 0;
+            }
+
+            /**
+             * Returns the number of class files that are currently cached.
+             *
+             * @return The number of class files that are currently cached.
+             */
+            public synchronized int getSize() {
+                return resolved.size();
+            }
+
+            /**
+             * Returns the accumulated size of all cached class files in bytes.
+             *
+             * @return The accumulated size of all cached class files in bytes.
+             */
+            public synchronized long getWeight() {
+                return weight;
+            }
+
+            /**
+             * Returns the number of unresolved lookups that are currently cached.
+             *
+             * @return The number of unresolved lookups that are currently cached.
+             */
+            public synchronized int getMisses() {
+                return unresolved.size();
+            }
+        }
+    }
+
     /**
      * A class file locator that discriminates by a type's package.
      */
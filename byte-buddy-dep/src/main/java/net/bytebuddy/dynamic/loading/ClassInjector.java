@@ -227,6 +227,16 @@ public interface ClassInjector {
             return result;
         }
 
+        /**
+         * Locates a type for which this injector's class loader is an initiating class loader without loading the type.
+         *
+         * @param name The binary name of the type to locate.
+         * @return The loaded type or {@code null} if no such type is loaded by this injector's class loader.
+         */
+        public Class<?> findLoaded(String name) {
+            return DISPATCHER.initialize().findClass(classLoader, name);
+        }
+
         /**
          * Indicates if this class injection is available on the current VM.
          *
@@ -33,6 +33,15 @@ public class AnnotationTypeMatcher<T extends AnnotationDescription> extends Elem
         return matcher.matches(target.getAnnotationType());
     }
 
+    /**
+     * Returns the type matcher that is applied to an annotation's type.
+     *
+     * @return The type matcher that is applied to an annotation's type.
+     */
+    protected ElementMatcher<? super TypeDescription> getMatcher() {
+        return matcher;
+    }
+
     /**
      * {@inheritDoc}
      */
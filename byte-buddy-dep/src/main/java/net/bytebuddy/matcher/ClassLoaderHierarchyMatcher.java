@@ -39,6 +39,15 @@ public class ClassLoaderHierarchyMatcher<T extends ClassLoader> extends ElementM
         return matcher.matches(null);
     }
 
+    /**
+     * Returns the matcher to apply on each class loader in the hierarchy.
+     *
+     * @return The matcher to apply on each class loader in the hierarchy.
+     */
+    protected ElementMatcher<? super ClassLoader> getMatcher() {
+        return matcher;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -37,6 +37,15 @@ public class CollectionItemMatcher<T> extends ElementMatcher.Junction.AbstractBa
         return false;
     }
 
+    /**
+     * Returns the element matcher that is applied to each element of a collection.
+     *
+     * @return The element matcher that is applied to each element of a collection.
+     */
+    protected ElementMatcher<? super T> getMatcher() {
+        return matcher;
+    }
+
     /**
      * {@inheritDoc}
      */
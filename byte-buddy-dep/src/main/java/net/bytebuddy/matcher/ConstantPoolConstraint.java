@@ -0,0 +1,218 @@
+package net.bytebuddy.matcher;
+
+import net.bytebuddy.build.HashCodeAndEqualsPlugin;
+import net.bytebuddy.description.type.TypeDescription;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A necessary condition on the constant pool of a type's class file that is implied by a type matcher. If a matcher is constrained,
+ * it can only match a type if the type's class file contains at least one of the constraint's entries as a UTF-8 constant pool entry.
+ * Such a constraint can be used to reject types by their class file without describing them. Only matchers for the annotations that
+ * are declared by a type or by its declared fields and methods are analyzed as the descriptors of such annotations are always stored
+ * in the constant pool. Any other matcher, including matchers for super classes, interfaces or inherited annotations which can only
+ * be decided from a type's hierarchy, is considered to be unconstrained.
+ */
+@HashCodeAndEqualsPlugin.Enhance
+public class ConstantPoolConstraint {
+
+    /**
+     * A constraint that does not restrict a matched type's constant pool.
+     */
+    public static final ConstantPoolConstraint UNCONSTRAINED = new ConstantPoolConstraint(false, Collections.<String>emptySet());
+
+    /**
+     * {@code true} if this constraint restricts the constant pool of matched types.
+     */
+    private final boolean constrained;
+
+    /**
+     * The UTF-8 entries of which a matched type's constant pool must contain at least one.
+     */
+    private final Set<String> entries;
+
+    /**
+     * Creates a new constant pool constraint.
+     *
+     * @param constrained {@code true} if this constraint restricts the constant pool of matched types.
+     * @param entries     The UTF-8 entries of which a matched type's constant pool must contain at least one.
+     */
+    protected ConstantPoolConstraint(boolean constrained, Set<String> entries) {
+        this.constrained = constrained;
+        this.entries = entries;
+    }
+
+    /**
+     * Resolves the constant pool constraint that is implied by a type matcher.
+     *
+     * @param matcher The matcher to analyze.
+     * @return The constant pool constraint that is implied by the supplied matcher.
+     */
+    public static ConstantPoolConstraint of(ElementMatcher<?> matcher) {
+        if (matcher instanceof DeclaringMethodMatcher<?>) {
+            return ofElements(((DeclaringMethodMatcher<?>) matcher).getMatcher());
+        } else if (matcher instanceof DeclaringFieldMatcher<?>) {
+            return ofElements(((DeclaringFieldMatcher<?>) matcher).getMatcher());
+        } else if (matcher instanceof ElementMatcher.Junction.Conjunction<?>) {
+            return of(((ElementMatcher.Junction.Conjunction<?>) matcher).getLeft()).and(of(((ElementMatcher.Junction.Conjunction<?>) matcher).getRight()));
+        } else if (matcher instanceof ElementMatcher.Junction.Disjunction<?>) {
+            return of(((ElementMatcher.Junction.Disjunction<?>) matcher).getLeft()).or(of(((ElementMatcher.Junction.Disjunction<?>) matcher).getRight()));
+        } else {
+            return ofAnnotated(matcher);
+        }
+    }
+
+    /**
+     * Resolves the constant pool constraint that is implied by a matcher that is applied to a type's declared fields or methods.
+     *
+     * @param matcher The matcher to analyze.
+     * @return The constant pool constraint that is implied by the supplied matcher.
+     */
+    private static ConstantPoolConstraint ofElements(ElementMatcher<?> matcher) {
+        if (matcher instanceof CollectionItemMatcher<?>) {
+            return ofAnnotated(((CollectionItemMatcher<?>) matcher).getMatcher());
+        } else if (matcher instanceof ElementMatcher.Junction.Conjunction<?>) {
+            return ofElements(((ElementMatcher.Junction.Conjunction<?>) matcher).getLeft()).and(ofElements(((ElementMatcher.Junction.Conjunction<?>) matcher).getRight()));
+        } else if (matcher instanceof ElementMatcher.Junction.Disjunction<?>) {
+            return ofElements(((ElementMatcher.Junction.Disjunction<?>) matcher).getLeft()).or(ofElements(((ElementMatcher.Junction.Disjunction<?>) matcher).getRight()));
+        } else {
+            return UNCONSTRAINED;
+        }
+    }
+
+    /**
+     * Resolves the constant pool constraint that is implied by a matcher that is applied to an annotated element that is
+     * declared within a class file.
+     *
+     * @param matcher The matcher to analyze.
+     * @return The constant pool constraint that is implied by the supplied matcher.
+     */
+    private static ConstantPoolConstraint ofAnnotated(ElementMatcher<?> matcher) {
+        if (matcher instanceof DeclaringAnnotationMatcher<?>) {
+            return ofAnnotations(((DeclaringAnnotationMatcher<?>) matcher).getMatcher());
+        } else if (matcher instanceof ElementMatcher.Junction.Conjunction<?>) {
+            return ofAnnotated(((ElementMatcher.Junction.Conjunction<?>) matcher).getLeft()).and(ofAnnotated(((ElementMatcher.Junction.Conjunction<?>) matcher).getRight()));
+        } else if (matcher instanceof ElementMatcher.Junction.Disjunction<?>) {
+            return ofAnnotated(((ElementMatcher.Junction.Disjunction<?>) matcher).getLeft()).or(ofAnnotated(((ElementMatcher.Junction.Disjunction<?>) matcher).getRight()));
+        } else {
+            return UNCONSTRAINED;
+        }
+    }
+
+    /**
+     * Resolves the constant pool constraint that is implied by a matcher that is applied to a list of declared annotations.
+     *
+     * @param matcher The matcher to analyze.
+     * @return The constant pool constraint that is implied by the supplied matcher.
+     */
+    private static ConstantPoolConstraint ofAnnotations(ElementMatcher<?> matcher) {
+        if (matcher instanceof CollectionItemMatcher<?>) {
+            return ofAnnotation(((CollectionItemMatcher<?>) matcher).getMatcher());
+        } else if (matcher instanceof ElementMatcher.Junction.Conjunction<?>) {
+            return ofAnnotations(((ElementMatcher.Junction.Conjunction<?>) matcher).getLeft()).and(ofAnnotations(((ElementMatcher.Junction.Conjunction<?>) matcher).getRight()));
+        } else if (matcher instanceof ElementMatcher.Junction.Disjunction<?>) {
+            return ofAnnotations(((ElementMatcher.Junction.Disjunction<?>) matcher).getLeft()).or(ofAnnotations(((ElementMatcher.Junction.Disjunction<?>) matcher).getRight()));
+        } else {
+            return UNCONSTRAINED;
+        }
+    }
+
+    /**
+     * Resolves the constant pool constraint that is implied by a matcher that is applied to a single annotation.
+     *
+     * @param matcher The matcher to analyze.
+     * @return The constant pool constraint that is implied by the supplied matcher.
+     */
+    private static ConstantPoolConstraint ofAnnotation(ElementMatcher<?> matcher) {
+        if (matcher instanceof AnnotationTypeMatcher<?>) {
+            return ofAnnotationType(((AnnotationTypeMatcher<?>) matcher).getMatcher());
+        } else if (matcher instanceof ElementMatcher.Junction.Conjunction<?>) {
+            return ofAnnotation(((ElementMatcher.Junction.Conjunction<?>) matcher).getLeft()).and(ofAnnotation(((ElementMatcher.Junction.Conjunction<?>) matcher).getRight()));
+        } else if (matcher instanceof ElementMatcher.Junction.Disjunction<?>) {
+            return ofAnnotation(((ElementMatcher.Junction.Disjunction<?>) matcher).getLeft()).or(ofAnnotation(((ElementMatcher.Junction.Disjunction<?>) matcher).getRight()));
+        } else {
+            return UNCONSTRAINED;
+        }
+    }
+
+    /**
+     * Resolves the constant pool constraint that is implied by a matcher that is applied to an annotation's type.
+     *
+     * @param matcher The matcher to analyze.
+     * @return The constant pool constraint that is implied by the supplied matcher.
+     */
+    private static ConstantPoolConstraint ofAnnotationType(ElementMatcher<?> matcher) {
+        if (matcher instanceof EqualityMatcher<?> && ((EqualityMatcher<?>) matcher).getValue() instanceof TypeDescription) {
+            TypeDescription typeDescription = (TypeDescription) ((EqualityMatcher<?>) matcher).getValue();
+            return typeDescription.isArray() || typeDescription.isPrimitive()
+                    ? UNCONSTRAINED
+                    : new ConstantPoolConstraint(true, Collections.singleton(typeDescription.getDescriptor()));
+        } else if (matcher instanceof ElementMatcher.Junction.Conjunction<?>) {
+            return ofAnnotationType(((ElementMatcher.Junction.Conjunction<?>) matcher).getLeft()).and(ofAnnotationType(((ElementMatcher.Junction.Conjunction<?>) matcher).getRight()));
+        } else if (matcher instanceof ElementMatcher.Junction.Disjunction<?>) {
+            return ofAnnotationType(((ElementMatcher.Junction.Disjunction<?>) matcher).getLeft()).or(ofAnnotationType(((ElementMatcher.Junction.Disjunction<?>) matcher).getRight()));
+        } else {
+            NameConstraint constraint = NameConstraint.of(matcher);
+            if (!constraint.isConstrained() || !constraint.getPrefixes().isEmpty()) {
+                return UNCONSTRAINED;
+            }
+            Set<String> entries = new HashSet<String>();
+            for (String name : constraint.getNames()) {
+                entries.add("L" + name.replace('.', '/') + ";");
+            }
+            return new ConstantPoolConstraint(true, entries);
+        }
+    }
+
+    /**
+     * Resolves the constant pool constraint that is implied if both this constraint and the supplied constraint must be satisfied.
+     * As the resulting constraint is only a necessary condition, the more selective of both constraints is retained.
+     *
+     * @param other The other constraint.
+     * @return A constraint that is implied by both constraints.
+     */
+    public ConstantPoolConstraint and(ConstantPoolConstraint other) {
+        if (!constrained) {
+            return other;
+        } else if (!other.constrained) {
+            return this;
+        } else {
+            return entries.size() <= other.entries.size() ? this : other;
+        }
+    }
+
+    /**
+     * Resolves the constant pool constraint that is implied if this constraint or the supplied constraint must be satisfied.
+     *
+     * @param other The other constraint.
+     * @return A constraint that is implied by either constraint.
+     */
+    public ConstantPoolConstraint or(ConstantPoolConstraint other) {
+        if (!constrained || !other.constrained) {
+            return UNCONSTRAINED;
+        }
+        Set<String> entries = new HashSet<String>(this.entries);
+        entries.addAll(other.entries);
+        return new ConstantPoolConstraint(true, entries);
+    }
+
+    /**
+     * Returns {@code true} if this constraint restricts the constant pool of matched types.
+     *
+     * @return {@code true} if this constraint restricts the constant pool of matched types.
+     */
+    public boolean isConstrained() {
+        return constrained;
+    }
+
+    /**
+     * Returns the UTF-8 entries of which a matched type's constant pool must contain at least one.
+     *
+     * @return The UTF-8 entries of which a matched type's constant pool must contain at least one.
+     */
+    public Set<String> getEntries() {
+        return entries;
+    }
+}
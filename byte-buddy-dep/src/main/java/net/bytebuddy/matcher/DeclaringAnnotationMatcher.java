@@ -33,6 +33,15 @@ public class DeclaringAnnotationMatcher<T extends AnnotationSource> extends Elem
         return matcher.matches(target.getDeclaredAnnotations());
     }
 
+    /**
+     * Returns the matcher that is applied to the provided annotation list.
+     *
+     * @return The matcher that is applied to the provided annotation list.
+     */
+    protected ElementMatcher<? super AnnotationList> getMatcher() {
+        return matcher;
+    }
+
     /**
      * {@inheritDoc}
      */
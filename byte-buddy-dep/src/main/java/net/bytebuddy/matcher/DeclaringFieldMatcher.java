@@ -34,6 +34,15 @@ public class DeclaringFieldMatcher<T extends TypeDefinition> extends ElementMatc
         return matcher.matches(target.getDeclaredFields());
     }
 
+    /**
+     * Returns the matcher that is applied to the declared fields of the matched type description.
+     *
+     * @return The matcher that is applied to the declared fields of the matched type description.
+     */
+    protected ElementMatcher<? super FieldList<?>> getMatcher() {
+        return matcher;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -34,6 +34,15 @@ public class DeclaringMethodMatcher<T extends TypeDefinition> extends ElementMat
         return matcher.matches(target.getDeclaredMethods());
     }
 
+    /**
+     * Returns the matcher that is applied to the declared methods of the matched type description.
+     *
+     * @return The matcher that is applied to the declared methods of the matched type description.
+     */
+    protected ElementMatcher<? super MethodList<?>> getMatcher() {
+        return matcher;
+    }
+
     /**
      * {@inheritDoc}
      */
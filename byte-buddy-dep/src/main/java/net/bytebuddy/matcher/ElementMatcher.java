@@ -107,6 +107,24 @@ public interface ElementMatcher<T> {
                 return left.matches(target) && right.matches(target);
             }
 
+            /**
+             * Returns the first matcher to consult for a match.
+             *
+             * @return The first matcher to consult for a match.
+             */
+            protected ElementMatcher<? super W> getLeft() {
+                return left;
+            }
+
+            /**
+             * Returns the second matcher to consult for a match.
+             *
+             * @return The second matcher to consult for a match.
+             */
+            protected ElementMatcher<? super W> getRight() {
+                return right;
+            }
+
             /**
              * {@inheritDoc}
              */
@@ -147,6 +165,24 @@ public interface ElementMatcher<T> {
                 return left.matches(target) || right.matches(target);
             }
 
+            /**
+             * Returns the first matcher to consult for a match.
+             *
+             * @return The first matcher to consult for a match.
+             */
+            protected ElementMatcher<? super W> getLeft() {
+                return left;
+            }
+
+            /**
+             * Returns the second matcher to consult for a match.
+             *
+             * @return The second matcher to consult for a match.
+             */
+            protected ElementMatcher<? super W> getRight() {
+                return right;
+            }
+
             /**
              * {@inheritDoc}
              */
@@ -724,6 +724,83 @@ public final class ElementMatchers {
         return new NameMatcher<T>(new StringMatcher(regex, StringMatcher.Mode.MATCHES));
     }
 
+    /**
+     * Matches a {@link NamedElement} for its exact name being equal to any of the given names. All names are
+     * matched in a single pass over a named element's name.
+     *
+     * @param name The expected names.
+     * @param <T>  The type of the matched object.
+     * @return An element matcher for a named element's exact name being any of the given names.
+     */
+    public static <T extends NamedElement> ElementMatcher.Junction<T> namedOneOf(String... name) {
+        List<StringMatcher> matchers = new ArrayList<StringMatcher>(name.length);
+        for (String aName : name) {
+            matchers.add(new StringMatcher(aName, StringMatcher.Mode.EQUALS_FULLY));
+        }
+        return new NameMatcher<T>(new MultiStringMatcher(matchers));
+    }
+
+    /**
+     * Matches a {@link NamedElement} for its name starting with any of the given prefixes. All prefixes are
+     * matched in a single pass over a named element's name.
+     *
+     * @param prefix The expected name's prefixes.
+     * @param <T>    The type of the matched object.
+     * @return An element matcher for a named element's name starting with any of the given prefixes.
+     */
+    public static <T extends NamedElement> ElementMatcher.Junction<T> nameStartsWithOneOf(String... prefix) {
+        List<StringMatcher> matchers = new ArrayList<StringMatcher>(prefix.length);
+        for (String aPrefix : prefix) {
+            matchers.add(new StringMatcher(aPrefix, StringMatcher.Mode.STARTS_WITH));
+        }
+        return new NameMatcher<T>(new MultiStringMatcher(matchers));
+    }
+
+    /**
+     * Collapses all name matchers within a chain of disjunctions that are based on {@link StringMatcher}s into a single
+     * name matcher that is backed by a {@link MultiStringMatcher}. This way, all names of such a chain are matched in a single
+     * pass over a named element's name. The collapsed name matcher is applied before any other matcher of the chain.
+     *
+     * @param matcher The matcher to collapse.
+     * @param <T>     The type of the matched object.
+     * @return A matcher that is equivalent to the supplied matcher where all name matchers of a disjunction are collapsed.
+     */
+    public static <T extends NamedElement> ElementMatcher.Junction<T> withCollapsedNames(ElementMatcher.Junction<T> matcher) {
+        List<StringMatcher> stringMatchers = new ArrayList<StringMatcher>();
+        List<ElementMatcher<? super T>> matchers = new ArrayList<ElementMatcher<? super T>>();
+        collapse(matcher, stringMatchers, matchers);
+        if (stringMatchers.size() < 2) {
+            return matcher;
+        }
+        ElementMatcher.Junction<T> collapsed = new NameMatcher<T>(new MultiStringMatcher(stringMatchers));
+        for (ElementMatcher<? super T> aMatcher : matchers) {
+            collapsed = collapsed.or(aMatcher);
+        }
+        return collapsed;
+    }
+
+    /**
+     * Collects the string matchers of all name matchers of a chain of disjunctions and all other matchers of this chain.
+     *
+     * @param matcher        The matcher to collapse.
+     * @param stringMatchers A list to which all collapsible string matchers are added.
+     * @param matchers       A list to which all other matchers are added.
+     * @param <T>            The type of the matched object.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> void collapse(ElementMatcher<? super T> matcher, List<StringMatcher> stringMatchers, List<ElementMatcher<? super T>> matchers) {
+        if (matcher instanceof ElementMatcher.Junction.Disjunction<?>) {
+            collapse((ElementMatcher<? super T>) ((ElementMatcher.Junction.Disjunction<?>) matcher).getLeft(), stringMatchers, matchers);
+            collapse((ElementMatcher<? super T>) ((ElementMatcher.Junction.Disjunction<?>) matcher).getRight(), stringMatchers, matchers);
+        } else if (matcher instanceof NameMatcher<?> && ((NameMatcher<?>) matcher).getMatcher() instanceof StringMatcher) {
+            stringMatchers.add((StringMatcher) ((NameMatcher<?>) matcher).getMatcher());
+        } else if (matcher instanceof NameMatcher<?> && ((NameMatcher<?>) matcher).getMatcher() instanceof MultiStringMatcher) {
+            stringMatchers.addAll(((MultiStringMatcher) ((NameMatcher<?>) matcher).getMatcher()).getMatchers());
+        } else {
+            matchers.add(matcher);
+        }
+    }
+
     /**
      * Matches a {@link NamedElement.WithOptionalName} for having an explicit name.
      *
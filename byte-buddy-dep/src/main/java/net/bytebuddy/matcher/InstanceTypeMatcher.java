@@ -32,6 +32,15 @@ public class InstanceTypeMatcher<T> extends ElementMatcher.Junction.AbstractBase
         return target != null && matcher.matches(TypeDescription.ForLoadedType.of(target.getClass()));
     }
 
+    /**
+     * Returns the matcher to apply to the object's type.
+     *
+     * @return The matcher to apply to the object's type.
+     */
+    protected ElementMatcher<? super TypeDescription> getMatcher() {
+        return matcher;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,84 @@
+package net.bytebuddy.matcher;
+
+/**
+ * Describes if memoizing the results of an element matcher per matched element is applicable and beneficial. Memoization is only
+ * applicable if a matcher is composed of matchers that always yield the same result for the same element. It is only beneficial if
+ * a matcher cannot be applied in constant time, for example if it traverses a class loader's hierarchy or if it describes the type
+ * of the matched element. Only boolean, null, equality, string, name, sub type, class loader hierarchy, class loader parent, instance
+ * type, negating, conjunction and disjunction matchers are analyzed, any other matcher is considered to be inapplicable for memoization.
+ */
+public enum Memoization {
+
+    /**
+     * Indicates that a matcher might not yield the same result for the same element such that its results must not be memoized.
+     */
+    INAPPLICABLE,
+
+    /**
+     * Indicates that a matcher always yields the same result for the same element but is applied in constant time.
+     */
+    REDUNDANT,
+
+    /**
+     * Indicates that a matcher always yields the same result for the same element and that it is more expensive than a lookup.
+     */
+    BENEFICIAL;
+
+    /**
+     * Resolves the memoization of an element matcher.
+     *
+     * @param matcher The matcher to analyze.
+     * @return The memoization of the supplied matcher.
+     */
+    public static Memoization of(ElementMatcher<?> matcher) {
+        if (matcher instanceof BooleanMatcher<?>
+                || matcher instanceof NullMatcher<?>
+                || matcher instanceof EqualityMatcher<?>
+                || matcher instanceof StringMatcher
+                || matcher instanceof MultiStringMatcher
+                || matcher instanceof SubTypeMatcher<?>) {
+            return REDUNDANT;
+        } else if (matcher instanceof ClassLoaderParentMatcher<?>) {
+            return BENEFICIAL;
+        } else if (matcher instanceof ClassLoaderHierarchyMatcher<?>) {
+            return of(((ClassLoaderHierarchyMatcher<?>) matcher).getMatcher()).and(BENEFICIAL);
+        } else if (matcher instanceof InstanceTypeMatcher<?>) {
+            return of(((InstanceTypeMatcher<?>) matcher).getMatcher()).and(BENEFICIAL);
+        } else if (matcher instanceof NameMatcher<?>) {
+            return of(((NameMatcher<?>) matcher).getMatcher());
+        } else if (matcher instanceof NegatingMatcher<?>) {
+            return of(((NegatingMatcher<?>) matcher).getMatcher());
+        } else if (matcher instanceof ElementMatcher.Junction.Conjunction<?>) {
+            return of(((ElementMatcher.Junction.Conjunction<?>) matcher).getLeft()).and(of(((ElementMatcher.Junction.Conjunction<?>) matcher).getRight()));
+        } else if (matcher instanceof ElementMatcher.Junction.Disjunction<?>) {
+            return of(((ElementMatcher.Junction.Disjunction<?>) matcher).getLeft()).and(of(((ElementMatcher.Junction.Disjunction<?>) matcher).getRight()));
+        } else {
+            return INAPPLICABLE;
+        }
+    }
+
+    /**
+     * Resolves the memoization of a matcher that is composed of a matcher of this memoization and a matcher of the supplied memoization.
+     *
+     * @param other The memoization of the other matcher.
+     * @return The memoization of the composed matcher.
+     */
+    public Memoization and(Memoization other) {
+        if (this == INAPPLICABLE || other == INAPPLICABLE) {
+            return INAPPLICABLE;
+        } else if (this == BENEFICIAL || other == BENEFICIAL) {
+            return BENEFICIAL;
+        } else {
+            return REDUNDANT;
+        }
+    }
+
+    /**
+     * Returns {@code true} if a matcher of this memoization should have its results memoized.
+     *
+     * @return {@code true} if a matcher of this memoization should have its results memoized.
+     */
+    public boolean isBeneficial() {
+        return this == BENEFICIAL;
+    }
+}
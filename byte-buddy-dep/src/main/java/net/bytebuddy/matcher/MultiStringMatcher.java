@@ -0,0 +1,375 @@
+package net.bytebuddy.matcher;
+
+import net.bytebuddy.build.HashCodeAndEqualsPlugin;
+
+import java.util.*;
+
+/**
+ * An element matcher that matches a string if any of several {@link StringMatcher}s matches the string. All patterns of
+ * case-sensitive {@link StringMatcher.Mode#EQUALS_FULLY}, {@link StringMatcher.Mode#STARTS_WITH}, {@link StringMatcher.Mode#ENDS_WITH}
+ * and {@link StringMatcher.Mode#CONTAINS} matchers are compiled into a single Aho-Corasick automaton such that a string is
+ * matched against all of these patterns in a single pass, independently of the number of patterns. Any other string matcher
+ * is applied subsequently in its given order.
+ */
+@HashCodeAndEqualsPlugin.Enhance
+public class MultiStringMatcher extends ElementMatcher.Junction.AbstractBase<String> {
+
+    /**
+     * The string matchers that are represented by this matcher.
+     */
+    private final List<StringMatcher> matchers;
+
+    /**
+     * The string matchers that cannot be represented by the automaton.
+     */
+    @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+    private final List<StringMatcher> fallbacks;
+
+    /**
+     * The root node of the automaton.
+     */
+    @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+    private final Node root;
+
+    /**
+     * {@code true} if any string is matched by an empty pattern.
+     */
+    @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+    private final boolean matchesAny;
+
+    /**
+     * {@code true} if the empty string is matched by an empty pattern.
+     */
+    @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+    private final boolean matchesEmpty;
+
+    /**
+     * Creates a new multi string matcher.
+     *
+     * @param matcher The string matchers to represent.
+     */
+    public MultiStringMatcher(StringMatcher... matcher) {
+        this(Arrays.asList(matcher));
+    }
+
+    /**
+     * Creates a new multi string matcher.
+     *
+     * @param matchers The string matchers to represent.
+     */
+    public MultiStringMatcher(List<? extends StringMatcher> matchers) {
+        this.matchers = new ArrayList<StringMatcher>(matchers);
+        fallbacks = new ArrayList<StringMatcher>();
+        root = new Node();
+        boolean matchesAny = false, matchesEmpty = false;
+        for (StringMatcher matcher : matchers) {
+            Anchor anchor = Anchor.of(matcher.getMode());
+            if (anchor == null) {
+                fallbacks.add(matcher);
+            } else if (matcher.getValue().length() == 0) {
+                if (anchor == Anchor.FULLY) {
+                    matchesEmpty = true;
+                } else {
+                    matchesAny = true;
+                }
+            } else {
+                root.add(matcher.getValue(), anchor);
+            }
+        }
+        this.matchesAny = matchesAny;
+        this.matchesEmpty = matchesEmpty;
+        root.compile();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean matches(String target) {
+        if (matchesAny || matchesEmpty && target.length() == 0) {
+            return true;
+        }
+        Node node = root;
+        for (int index = 0; index < target.length(); index++) {
+            node = node.next(root, target.charAt(index));
+            for (Node.Output output = node.output; output != null; output = output.next) {
+                if (output.anchor.matches(index - output.length + 1, index, target.length())) {
+                    return true;
+                }
+            }
+        }
+        for (StringMatcher fallback : fallbacks) {
+            if (fallback.matches(target)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the string matchers that are represented by this matcher.
+     *
+     * @return The string matchers that are represented by this matcher.
+     */
+    protected List<StringMatcher> getMatchers() {
+        return matchers;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String toString() {
+        return "oneOf(" + matchers + ')';
+    }
+
+    /**
+     * Describes where a pattern must be located within a matched string.
+     */
+    protected enum Anchor {
+
+        /**
+         * A pattern that must match the entire string.
+         */
+        FULLY(true, true),
+
+        /**
+         * A pattern that must match the beginning of a string.
+         */
+        START(true, false),
+
+        /**
+         * A pattern that must match the end of a string.
+         */
+        END(false, true),
+
+        /**
+         * A pattern that can be located anywhere in a string.
+         */
+        NONE(false, false);
+
+        /**
+         * {@code true} if the pattern must match the beginning of a string.
+         */
+        private final boolean start;
+
+        /**
+         * {@code true} if the pattern must match the end of a string.
+         */
+        private final boolean end;
+
+        /**
+         * Creates a new anchor.
+         *
+         * @param start {@code true} if the pattern must match the beginning of a string.
+         * @param end   {@code true} if the pattern must match the end of a string.
+         */
+        Anchor(boolean start, boolean end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * Resolves the anchor of a string matcher's mode.
+         *
+         * @param mode The mode of a string matcher.
+         * @return The represented anchor or {@code null} if the mode cannot be represented by an automaton.
+         */
+        protected static Anchor of(StringMatcher.Mode mode) {
+            switch (mode) {
+                case EQUALS_FULLY:
+                    return FULLY;
+                case STARTS_WITH:
+                    return START;
+                case ENDS_WITH:
+                    return END;
+                case CONTAINS:
+                    return NONE;
+                default:
+                    return null;
+            }
+        }
+
+        /**
+         * Checks if a pattern occurrence satisfies this anchor.
+         *
+         * @param first  The index of the first character of the occurrence.
+         * @param last   The index of the last character of the occurrence.
+         * @param length The length of the matched string.
+         * @return {@code true} if the occurrence satisfies this anchor.
+         */
+        protected boolean matches(int first, int last, int length) {
+            return (!start || first == 0) && (!end || last == length - 1);
+        }
+    }
+
+    /**
+     * A node of an Aho-Corasick automaton.
+     */
+    protected static class Node {
+
+        /**
+         * An empty array of characters.
+         */
+        private static final char[] NO_KEYS = new char[0];
+
+        /**
+         * An empty array of nodes.
+         */
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        /**
+         * The children of this node during the construction of the automaton.
+         */
+        private Map<Character, Node> successors = new HashMap<Character, Node>();
+
+        /**
+         * The sorted characters of this node's children.
+         */
+        private char[] keys = NO_KEYS;
+
+        /**
+         * The children of this node in the order of {@link Node#keys}.
+         */
+        private Node[] children = NO_CHILDREN;
+
+        /**
+         * The node representing the longest proper suffix of this node's path that is also a path in the automaton.
+         */
+        private Node failure;
+
+        /**
+         * The patterns that end at this node, including all patterns ending at this node's failure nodes.
+         */
+        private Output output;
+
+        /**
+         * Adds a pattern to the automaton that is rooted in this node.
+         *
+         * @param pattern The pattern to add.
+         * @param anchor  The pattern's anchor.
+         */
+        protected void add(String pattern, Anchor anchor) {
+            Node node = this;
+            for (int index = 0; index < pattern.length(); index++) {
+                Node successor = node.successors.get(pattern.charAt(index));
+                if (successor == null) {
+                    successor = new Node();
+                    node.successors.put(pattern.charAt(index), successor);
+                }
+                node = successor;
+            }
+            node.output = new Output(pattern.length(), anchor, node.output);
+        }
+
+        /**
+         * Computes the failure links and outputs of the automaton that is rooted in this node and compacts its transitions.
+         */
+        protected void compile() {
+            LinkedList<Node> queue = new LinkedList<Node>();
+            failure = this;
+            queue.add(this);
+            while (!queue.isEmpty()) {
+                Node node = queue.removeFirst();
+                List<Character> characters = new ArrayList<Character>(node.successors.keySet());
+                Collections.sort(characters);
+                node.keys = new char[characters.size()];
+                node.children = new Node[characters.size()];
+                for (int index = 0; index < characters.size(); index++) {
+                    char character = characters.get(index);
+                    Node child = node.successors.get(character);
+                    if (node == this) {
+                        child.failure = this;
+                    } else {
+                        Node candidate = node.failure;
+                        while (candidate != this && !candidate.successors.containsKey(character)) {
+                            candidate = candidate.failure;
+                        }
+                        Node target = candidate.successors.get(character);
+                        child.failure = target == null ? this : target;
+                    }
+                    for (Output output = child.failure.output; output != null; output = output.next) {
+                        child.output = new Output(output.length, output.anchor, child.output);
+                    }
+                    node.keys[index] = character;
+                    node.children[index] = child;
+                    queue.add(child);
+                }
+            }
+            release();
+        }
+
+        /**
+         * Releases the construction state of all nodes that are reachable from this node.
+         */
+        private void release() {
+            LinkedList<Node> queue = new LinkedList<Node>();
+            queue.add(this);
+            while (!queue.isEmpty()) {
+                Node node = queue.removeFirst();
+                node.successors = null;
+                queue.addAll(Arrays.asList(node.children));
+            }
+        }
+
+        /**
+         * Resolves the child of this node for a given character.
+         *
+         * @param character The character to resolve.
+         * @return The child for the given character or {@code null} if no such child exists.
+         */
+        private Node child(char character) {
+            int index = Arrays.binarySearch(keys, character);
+            return index < 0 ? null : children[index];
+        }
+
+        /**
+         * Resolves the node that is reached by consuming a character from this node.
+         *
+         * @param root      The root node of the automaton.
+         * @param character The character to consume.
+         * @return The node that is reached by consuming the supplied character.
+         */
+        protected Node next(Node root, char character) {
+            Node node = this;
+            Node child = node.child(character);
+            while (child == null && node != root) {
+                node = node.failure;
+                child = node.child(character);
+            }
+            return child == null ? root : child;
+        }
+
+        /**
+         * A linked list of patterns that end at a node.
+         */
+        protected static class Output {
+
+            /**
+             * The length of the pattern.
+             */
+            private final int length;
+
+            /**
+             * The pattern's anchor.
+             */
+            private final Anchor anchor;
+
+            /**
+             * The next output or {@code null} if this is the last output.
+             */
+            private final Output next;
+
+            /**
+             * Creates a new output.
+             *
+             * @param length The length of the pattern.
+             * @param anchor The pattern's anchor.
+             * @param next   The next output or {@code null} if this is the last output.
+             */
+            protected Output(int length, Anchor anchor, Output next) {
+                this.length = length;
+                this.anchor = anchor;
+                this.next = next;
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package net.bytebuddy.matcher;
+
+import net.bytebuddy.build.HashCodeAndEqualsPlugin;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A necessary condition on the name of a named element that is implied by an element matcher. If a matcher is constrained,
+ * it can only match an element if the element's actual name is equal to one of the constraint's names or if it starts with
+ * one of the constraint's prefixes. Such a constraint can be used to select candidate matchers by an element's name without
+ * applying them. Only name, string, multi string, conjunction and disjunction matchers are analyzed, any other matcher is considered
+ * to be unconstrained.
+ */
+@HashCodeAndEqualsPlugin.Enhance
+public class NameConstraint {
+
+    /**
+     * A constraint that does not restrict a matched element's name.
+     */
+    public static final NameConstraint UNCONSTRAINED = new NameConstraint(false, Collections.<String>emptySet(), Collections.<String>emptySet());
+
+    /**
+     * {@code true} if this constraint restricts the names of matched elements.
+     */
+    private final boolean constrained;
+
+    /**
+     * The names that a matched element's name might be equal to.
+     */
+    private final Set<String> names;
+
+    /**
+     * The prefixes that a matched element's name might start with.
+     */
+    private final Set<String> prefixes;
+
+    /**
+     * Creates a new name constraint.
+     *
+     * @param constrained {@code true} if this constraint restricts the names of matched elements.
+     * @param names       The names that a matched element's name might be equal to.
+     * @param prefixes    The prefixes that a matched element's name might start with.
+     */
+    protected NameConstraint(boolean constrained, Set<String> names, Set<String> prefixes) {
+        this.constrained = constrained;
+        this.names = names;
+        this.prefixes = prefixes;
+    }
+
+    /**
+     * Resolves the name constraint that is implied by an element matcher.
+     *
+     * @param matcher The matcher to analyze.
+     * @return The name constraint that is implied by the supplied matcher.
+     */
+    public static NameConstraint of(ElementMatcher<?> matcher) {
+        if (matcher instanceof NameMatcher<?>) {
+            return ofString(((NameMatcher<?>) matcher).getMatcher());
+        } else if (matcher instanceof ElementMatcher.Junction.Conjunction<?>) {
+            return of(((ElementMatcher.Junction.Conjunction<?>) matcher).getLeft()).and(of(((ElementMatcher.Junction.Conjunction<?>) matcher).getRight()));
+        } else if (matcher instanceof ElementMatcher.Junction.Disjunction<?>) {
+            return of(((ElementMatcher.Junction.Disjunction<?>) matcher).getLeft()).or(of(((ElementMatcher.Junction.Disjunction<?>) matcher).getRight()));
+        } else {
+            return UNCONSTRAINED;
+        }
+    }
+
+    /**
+     * Resolves the name constraint that is implied by a matcher that is applied to an element's name.
+     *
+     * @param matcher The matcher to analyze.
+     * @return The name constraint that is implied by the supplied matcher.
+     */
+    private static NameConstraint ofString(ElementMatcher<?> matcher) {
+        if (matcher instanceof StringMatcher) {
+            switch (((StringMatcher) matcher).getMode()) {
+                case EQUALS_FULLY:
+                    return new NameConstraint(true, Collections.singleton(((StringMatcher) matcher).getValue()), Collections.<String>emptySet());
+                case STARTS_WITH:
+                    return new NameConstraint(true, Collections.<String>emptySet(), Collections.singleton(((StringMatcher) matcher).getValue()));
+                default:
+                    return UNCONSTRAINED;
+            }
+        } else if (matcher instanceof MultiStringMatcher) {
+            NameConstraint constraint = null;
+            for (StringMatcher stringMatcher : ((MultiStringMatcher) matcher).getMatchers()) {
+                constraint = constraint == null ? ofString(stringMatcher) : constraint.or(ofString(stringMatcher));
+            }
+            return constraint == null ? UNCONSTRAINED : constraint;
+        } else if (matcher instanceof ElementMatcher.Junction.Conjunction<?>) {
+            return ofString(((ElementMatcher.Junction.Conjunction<?>) matcher).getLeft()).and(ofString(((ElementMatcher.Junction.Conjunction<?>) matcher).getRight()));
+        } else if (matcher instanceof ElementMatcher.Junction.Disjunction<?>) {
+            return ofString(((ElementMatcher.Junction.Disjunction<?>) matcher).getLeft()).or(ofString(((ElementMatcher.Junction.Disjunction<?>) matcher).getRight()));
+        } else {
+            return UNCONSTRAINED;
+        }
+    }
+
+    /**
+     * Resolves the name constraint that is implied if both this constraint and the supplied constraint must be satisfied.
+     * As the resulting constraint is only a necessary condition, the more selective of both constraints is retained.
+     *
+     * @param other The other constraint.
+     * @return A constraint that is implied by both constraints.
+     */
+    public NameConstraint and(NameConstraint other) {
+        if (!constrained) {
+            return other;
+        } else if (!other.constrained) {
+            return this;
+        } else {
+            return prefixes.size() <= other.prefixes.size() ? this : other;
+        }
+    }
+
+    /**
+     * Resolves the name constraint that is implied if this constraint or the supplied constraint must be satisfied.
+     *
+     * @param other The other constraint.
+     * @return A constraint that is implied by either constraint.
+     */
+    public NameConstraint or(NameConstraint other) {
+        if (!constrained || !other.constrained) {
+            return UNCONSTRAINED;
+        }
+        Set<String> names = new HashSet<String>(this.names), prefixes = new HashSet<String>(this.prefixes);
+        names.addAll(other.names);
+        prefixes.addAll(other.prefixes);
+        return new NameConstraint(true, names, prefixes);
+    }
+
+    /**
+     * Returns {@code true} if this constraint restricts the names of matched elements.
+     *
+     * @return {@code true} if this constraint restricts the names of matched elements.
+     */
+    public boolean isConstrained() {
+        return constrained;
+    }
+
+    /**
+     * Returns the names that a matched element's name might be equal to.
+     *
+     * @return The names that a matched element's name might be equal to.
+     */
+    public Set<String> getNames() {
+        return names;
+    }
+
+    /**
+     * Returns the prefixes that a matched element's name might start with.
+     *
+     * @return The prefixes that a matched element's name might start with.
+     */
+    public Set<String> getPrefixes() {
+        return prefixes;
+    }
+}
@@ -39,6 +39,15 @@ public class NameMatcher<T extends NamedElement> extends ElementMatcher.Junction
         return matcher.matches(target.getActualName());
     }
 
+    /**
+     * Returns the matcher that is applied to a byte code element's source code name.
+     *
+     * @return The matcher that is applied to a byte code element's source code name.
+     */
+    protected ElementMatcher<String> getMatcher() {
+        return matcher;
+    }
+
     /**
      * {@inheritDoc}
      */
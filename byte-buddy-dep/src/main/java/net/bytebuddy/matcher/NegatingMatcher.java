@@ -31,6 +31,15 @@ public class NegatingMatcher<T> extends ElementMatcher.Junction.AbstractBase<T>
         return !matcher.matches(target);
     }
 
+    /**
+     * Returns the element matcher to be negated.
+     *
+     * @return The element matcher to be negated.
+     */
+    protected ElementMatcher<? super T> getMatcher() {
+        return matcher;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -18,19 +18,38 @@ import net.bytebuddy.description.type.PackageDescription;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.description.type.TypeList;
 import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.loading.ClassInjector;
 import net.bytebuddy.implementation.bytecode.StackSize;
 import net.bytebuddy.utility.OpenedClassReader;
 import org.objectweb.asm.*;
 import org.objectweb.asm.signature.SignatureReader;
 import org.objectweb.asm.signature.SignatureVisitor;
 
-import java.io.IOException;
+import java.io.*;
 import java.lang.annotation.Annotation;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Array;
 import java.lang.reflect.GenericSignatureFormatError;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static net.bytebuddy.matcher.ElementMatchers.*;
 
@@ -282,1114 +301,3937 @@ public interface TypePool {
                 return storage;
             }
         }
-    }
-
-    /**
-     * An empty type pool that cannot describe any type.
-     */
-    enum Empty implements TypePool {
-
-        /**
-         * The singleton instance.
-         */
-        INSTANCE;
-
-        /**
-         * {@inheritDoc}
-         */
-        public Resolution describe(String name) {
-            return new Resolution.Illegal(name);
-        }
-
-        /**
-         * {@inheritDoc}
-         */
-        public void clear() {
-            /* do nothing */
-        }
-    }
-
-    /**
-     * A base implementation of a {@link net.bytebuddy.pool.TypePool} that is managing a cache provider and
-     * that handles the description of array and primitive types.
-     */
-    @HashCodeAndEqualsPlugin.Enhance
-    abstract class AbstractBase implements TypePool {
-
-        /**
-         * A map of primitive types by their name.
-         */
-        protected static final Map<String, TypeDescription> PRIMITIVE_TYPES;
-
-        /**
-         * A map of primitive types by their descriptor.
-         */
-        protected static final Map<String, String> PRIMITIVE_DESCRIPTORS;
-
-        /**
-         * The array symbol as used by Java descriptors.
-         */
-        private static final String ARRAY_SYMBOL = "[";
-
-        /*
-         * Initializes the maps of primitive type names and descriptors.
-         */
-        static {
-            Map<String, TypeDescription> primitiveTypes = new HashMap<String, TypeDescription>();
-            Map<String, String> primitiveDescriptors = new HashMap<String, String>();
-            for (Class<?> primitiveType : new Class<?>[]{boolean.class,
-                    byte.class,
-                    short.class,
-                    char.class,
-                    int.class,
-                    long.class,
-                    float.class,
-                    double.class,
-                    void.class}) {
-                primitiveTypes.put(primitiveType.getName(), TypeDescription.ForLoadedType.of(primitiveType));
-                primitiveDescriptors.put(Type.getDescriptor(primitiveType), primitiveType.getName());
-            }
-            PRIMITIVE_TYPES = Collections.unmodifiableMap(primitiveTypes);
-            PRIMITIVE_DESCRIPTORS = Collections.unmodifiableMap(primitiveDescriptors);
-        }
-
-        /**
-         * The cache provider of this instance.
-         */
-        protected final CacheProvider cacheProvider;
-
-        /**
-         * Creates a new instance.
-         *
-         * @param cacheProvider The cache provider to be used.
-         */
-        protected AbstractBase(CacheProvider cacheProvider) {
-            this.cacheProvider = cacheProvider;
-        }
-
-        /**
-         * {@inheritDoc}
-         */
-        public Resolution describe(String name) {
-            if (name.contains("/")) {
-                throw new IllegalArgumentException(name + " contains the illegal character '/'");
-            }
-            int arity = 0;
-            while (name.startsWith(ARRAY_SYMBOL)) {
-                arity++;
-                name = name.substring(1);
-            }
-            if (arity > 0) {
-                String primitiveName = PRIMITIVE_DESCRIPTORS.get(name);
-                name = primitiveName == null
-                        ? name.substring(1, name.length() - 1)
-                        : primitiveName;
-            }
-            TypeDescription typeDescription = PRIMITIVE_TYPES.get(name);
-            Resolution resolution = typeDescription == null
-                    ? cacheProvider.find(name)
-                    : new Resolution.Simple(typeDescription);
-            if (resolution == null) {
-                resolution = doCache(name, doDescribe(name));
-            }
-            return ArrayTypeResolution.of(resolution, arity);
-        }
-
-        /**
-         * Writes the resolution to the cache. This method should be overridden if the directly
-         * resolved instance should not be added to the cache.
-         *
-         * @param name       The name of the type.
-         * @param resolution The resolution for this type.
-         * @return The actual resolution for the type of this name that is stored in the cache.
-         */
-        protected Resolution doCache(String name, Resolution resolution) {
-            return cacheProvider.register(name, resolution);
-        }
-
-        /**
-         * {@inheritDoc}
-         */
-        public void clear() {
-            cacheProvider.clear();
-        }
 
         /**
-         * Determines a resolution to a non-primitive, non-array type.
-         *
-         * @param name The name of the type to describe.
-         * @return A resolution to the type to describe.
+         * A thread-safe type cache that is bounded by a maximum weight and that evicts the least recently used resolutions
+         * once this weight is exceeded. To reduce contention, the cache is split into several segments which are locked
+         * independently of one another.
          */
-        protected abstract Resolution doDescribe(String name);
+        class Bounded implements CacheProvider {
 
-        /**
-         * Implements a hierarchical view of type pools, similarly to class loader hierarchies. For every lookup, the parent type pool
-         * is asked first if it can resolve a type. Only if the parent (and potentially its parents) are unable to resolve a type,
-         * this instance is queried for a type description.
-         */
-        @HashCodeAndEqualsPlugin.Enhance
-        public abstract static class Hierarchical extends AbstractBase {
+            /**
+             * The default number of segments of a bounded cache.
+             */
+            private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
 
             /**
-             * The parent type pool.
+             * The segments of this cache.
              */
-            private final TypePool parent;
+            private final Segment[] segments;
 
             /**
-             * Creates a hierarchical type pool.
-             *
-             * @param cacheProvider The cache provider to be used.
-             * @param parent        The parent type pool to be used.
+             * The weigher to use for estimating the weight of a resolution.
              */
-            protected Hierarchical(CacheProvider cacheProvider, TypePool parent) {
-                super(cacheProvider);
-                this.parent = parent;
-            }
+            private final Weigher weigher;
 
             /**
-             * {@inheritDoc}
+             * The amount of lookups that found a cached resolution.
              */
-            public Resolution describe(String name) {
-                Resolution resolution = parent.describe(name);
-                return resolution.isResolved()
-                        ? resolution
-                        : super.describe(name);
-            }
+            private final AtomicLong hitCount;
 
             /**
-             * {@inheritDoc}
+             * The amount of lookups that did not find a cached resolution.
              */
-            public void clear() {
-                try {
-                    parent.clear();
-                } finally {
-                    super.clear();
-                }
-            }
-        }
+            private final AtomicLong missCount;
 
-        /**
-         * A resolution for a type that, if resolved, represents an array type.
-         */
-        @HashCodeAndEqualsPlugin.Enhance
-        protected static class ArrayTypeResolution implements Resolution {
+            /**
+             * The amount of resolutions that were evicted from this cache.
+             */
+            private final AtomicLong evictionCount;
 
             /**
-             * The underlying resolution that is represented by this instance.
+             * Creates a new bounded cache that retains a maximum amount of resolutions.
+             *
+             * @param maximumSize The maximum amount of resolutions to retain.
              */
-            private final Resolution resolution;
+            public Bounded(long maximumSize) {
+                this(maximumSize, Weigher.ForEntryCount.INSTANCE);
+            }
 
             /**
-             * The arity of the represented array.
+             * Creates a new bounded cache.
+             *
+             * @param maximumWeight The maximum weight of all resolutions that are retained.
+             * @param weigher       The weigher to use for estimating the weight of a resolution.
              */
-            private final int arity;
+            public Bounded(long maximumWeight, Weigher weigher) {
+                this(maximumWeight, weigher, DEFAULT_CONCURRENCY_LEVEL);
+            }
 
             /**
-             * Creates a wrapper for another resolution that, if resolved, represents an array type.
+             * Creates a new bounded cache.
              *
-             * @param resolution The underlying resolution that is represented by this instance.
-             * @param arity      The arity of the represented array.
+             * @param maximumWeight    The maximum weight of all resolutions that are retained.
+             * @param weigher          The weigher to use for estimating the weight of a resolution.
+             * @param concurrencyLevel The amount of independently locked segments of this cache.
              */
-            protected ArrayTypeResolution(Resolution resolution, int arity) {
-                this.resolution = resolution;
-                this.arity = arity;
+            public Bounded(long maximumWeight, Weigher weigher, int concurrencyLevel) {
+                if (maximumWeight < 1) {
+                    throw new IllegalArgumentException("Maximum weight must be positive: " + maximumWeight);
+                } else if (concurrencyLevel < 1) {
+                    throw new IllegalArgumentException("Concurrency level must be positive: " + concurrencyLevel);
+                }
+                int segmentCount = (int) Math.min(concurrencyLevel, maximumWeight);
+                segments = new Segment[segmentCount];
+                for (int index = 0; index < segmentCount; index++) {
+                    segments[index] = new Segment(maximumWeight / segmentCount + (index < maximumWeight % segmentCount ? 1 : 0));
+                }
+                this.weigher = weigher;
+                hitCount = new AtomicLong();
+                missCount = new AtomicLong();
+                evictionCount = new AtomicLong();
             }
 
             /**
-             * Creates a wrapper for another resolution that, if resolved, represents an array type. The wrapper
-             * is only created if the arity is not zero. If the arity is zero, the given resolution is simply
-             * returned instead.
+             * Returns the segment that is responsible for the given name.
              *
-             * @param resolution The underlying resolution that is represented by this instance.
-             * @param arity      The arity of the represented array.
-             * @return A wrapper for another resolution that, if resolved, represents an array type or the
-             * given resolution if the given arity is zero.
+             * @param name The name of the type.
+             * @return The segment that is responsible for the given name.
              */
-            protected static Resolution of(Resolution resolution, int arity) {
-                return arity == 0
-                        ? resolution
-                        : new ArrayTypeResolution(resolution, arity);
+            private Segment segmentFor(String name) {
+                int hashCode = name.hashCode();
+                hashCode ^= (hashCode >>> 16);
+                return segments[(hashCode & Integer.MAX_VALUE) % segments.length];
             }
 
             /**
              * {@inheritDoc}
              */
-            public boolean isResolved() {
-                return resolution.isResolved();
+            public Resolution find(String name) {
+                Resolution resolution = segmentFor(name).find(name);
+                if (resolution == null) {
+                    missCount.incrementAndGet();
+                } else {
+                    hitCount.incrementAndGet();
+                }
+                return resolution;
             }
 
             /**
              * {@inheritDoc}
              */
-            public TypeDescription resolve() {
-                return TypeDescription.ArrayProjection.of(resolution.resolve(), arity);
+            public Resolution register(String name, Resolution resolution) {
+                return segmentFor(name).register(name, resolution, weigher.weigh(name, resolution), evictionCount);
             }
-        }
-
-        /**
-         * Represents a nested annotation value.
-         */
-        protected static class RawAnnotationValue extends AnnotationValue.AbstractBase<AnnotationDescription, Annotation> {
 
             /**
-             * The type pool to use for looking up types.
+             * {@inheritDoc}
              */
-            private final TypePool typePool;
+            public void clear() {
+                for (Segment segment : segments) {
+                    segment.clear();
+                }
+            }
 
             /**
-             * The annotation token that represents the nested invocation.
+             * Returns the amount of resolutions that are currently cached.
+             *
+             * @return The amount of resolutions that are currently cached.
              */
-            private final Default.LazyTypeDescription.AnnotationToken annotationToken;
+            public int getSize() {
+                int size = 0;
+                for (Segment segment : segments) {
+                    size += segment.getSize();
+                }
+                return size;
+            }
 
             /**
-             * Creates a new annotation value for a nested annotation.
+             * Returns the estimated weight of all resolutions that are currently cached.
              *
-             * @param typePool        The type pool to use for looking up types.
-             * @param annotationToken The token that represents the annotation.
+             * @return The estimated weight of all resolutions that are currently cached.
              */
-            public RawAnnotationValue(TypePool typePool, Default.LazyTypeDescription.AnnotationToken annotationToken) {
-                this.typePool = typePool;
-                this.annotationToken = annotationToken;
+            public long getWeight() {
+                long weight = 0;
+                for (Segment segment : segments) {
+                    weight += segment.getWeight();
+                }
+                return weight;
             }
 
             /**
-             * {@inheritDoc}
+             * Returns the amount of lookups that found a cached resolution.
+             *
+             * @return The amount of lookups that found a cached resolution.
              */
-            public AnnotationDescription resolve() {
-                return annotationToken.toAnnotationDescription(typePool).resolve();
+            public long getHitCount() {
+                return hitCount.get();
             }
 
             /**
-             * {@inheritDoc}
+             * Returns the amount of lookups that did not find a cached resolution.
+             *
+             * @return The amount of lookups that did not find a cached resolution.
              */
-            @SuppressWarnings("unchecked")
-            public Loaded<Annotation> load(ClassLoader classLoader) throws ClassNotFoundException {
-                Class<?> type = Class.forName(annotationToken.getBinaryName(), false, classLoader);
-                if (type.isAnnotation()) {
-                    return new ForAnnotationDescription.Loaded<Annotation>(AnnotationDescription.AnnotationInvocationHandler.of(classLoader,
-                            (Class<? extends Annotation>) type,
-                            annotationToken.getValues()));
-                } else {
-                    return new ForAnnotationDescription.IncompatibleRuntimeType(type);
-                }
+            public long getMissCount() {
+                return missCount.get();
             }
 
-            @Override
-            public int hashCode() {
-                return resolve().hashCode();
+            /**
+             * Returns the amount of resolutions that were evicted from this cache.
+             *
+             * @return The amount of resolutions that were evicted from this cache.
+             */
+            public long getEvictionCount() {
+                return evictionCount.get();
             }
 
-            @Override
-            public boolean equals(Object other) {
-                return this == other || other instanceof AnnotationValue<?, ?> && resolve().equals(((AnnotationValue<?, ?>) other).resolve());
+            /**
+             * A weigher estimates the weight of a resolution, for example its approximate footprint in bytes.
+             */
+            public interface Weigher {
+
+                /**
+                 * Estimates the weight of a resolution.
+                 *
+                 * @param name       The name of the resolved type.
+                 * @param resolution The resolution to weigh.
+                 * @return The weight of the resolution which must not be negative.
+                 */
+                long weigh(String name, Resolution resolution);
+
+                /**
+                 * A weigher that assigns a weight of one to every resolution such that a cache's weight is equal to its size.
+                 */
+                enum ForEntryCount implements Weigher {
+
+                    /**
+                     * The singleton instance.
+                     */
+                    INSTANCE;
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public long weigh(String name, Resolution resolution) {
+                        return 1;
+                    }
+                }
             }
 
-            @Override
-            public String toString() {
-                return resolve().toString();
+            /**
+             * A segment of a bounded cache that retains its resolutions in access order.
+             */
+            protected static class Segment {
+
+                /**
+                 * The maximum weight of this segment.
+                 */
+                private final long maximumWeight;
+
+                /**
+                 * The entries of this segment in their access order where the least recently used entry is the first entry.
+                 */
+                private final LinkedHashMap<String, Entry> entries;
+
+                /**
+                 * The current weight of this segment.
+                 */
+                private long weight;
+
+                /**
+                 * Creates a new segment.
+                 *
+                 * @param maximumWeight The maximum weight of this segment.
+                 */
+                protected Segment(long maximumWeight) {
+                    this.maximumWeight = maximumWeight;
+                    entries = new LinkedHashMap<String, Entry>(16, 0.75f, true);
+                }
+
+                /**
+                 * Attempts to find a resolution in this segment.
+                 *
+                 * @param name The name of the type to describe.
+                 * @return A resolution of the type or {@code null} if no such resolution is cached.
+                 */
+                protected synchronized Resolution find(String name) {
+                    Entry entry = entries.get(name);
+                    return entry == null
+                            ? UNRESOLVED
+                            : entry.resolution;
+                }
+
+                /**
+                 * Registers a resolution in this segment and evicts the least recently used resolutions if the maximum weight is exceeded.
+                 *
+                 * @param name          The name of the type that is to be registered.
+                 * @param resolution    The resolution to register.
+                 * @param weight        The weight of the resolution to register.
+                 * @param evictionCount A counter for the amount of evicted resolutions.
+                 * @return The resolution that is registered in this segment which might be the given resolution or a previously registered resolution.
+                 */
+                protected synchronized Resolution register(String name, Resolution resolution, long weight, AtomicLong evictionCount) {
+                    Entry cached = entries.get(name);
+                    if (cached != null) {
+                        return cached.resolution;
+                    }
+                    entries.put(name, new Entry(resolution, weight));
+                    this.weight += weight;
+                    Iterator<Entry> iterator = entries.values().iterator();
+                    while (this.weight > maximumWeight && iterator.hasNext()) {
+                        this.weight -= iterator.next().weight;
+                        iterator.remove();
+                        evictionCount.incrementAndGet();
+                    }
+                    return resolution;
+                }
+
+                /**
+                 * Clears this segment.
+                 */
+                protected synchronized void clear() {
+                    entries.clear();
+                    weight = 0;
+                }
+
+                /**
+                 * Returns the amount of resolutions in this segment.
+                 *
+                 * @return The amount of resolutions in this segment.
+                 */
+                protected synchronized int getSize() {
+                    return entries.size();
+                }
+
+                /**
+                 * Returns the current weight of this segment.
+                 *
+                 * @return The current weight of this segment.
+                 */
+                protected synchronized long getWeight() {
+                    return weight;
+                }
+            }
+
+            /**
+             * An entry of a segment.
+             */
+            protected static class Entry {
+
+                /**
+                 * The cached resolution.
+                 */
+                private final Resolution resolution;
+
+                /**
+                 * The weight of the cached resolution.
+                 */
+                private final long weight;
+
+                /**
+                 * Creates a new entry.
+                 *
+                 * @param resolution The cached resolution.
+                 * @param weight     The weight of the cached resolution.
+                 */
+                protected Entry(Resolution resolution, long weight) {
+                    this.resolution = resolution;
+                    this.weight = weight;
+                }
             }
         }
 
         /**
-         * Represents an enumeration value of an annotation.
+         * A thread-safe type cache that references its resolutions softly or weakly such that cached resolutions can be reclaimed
+         * by the garbage collector when memory becomes sparse. Reclaimed entries are removed from the cache upon any access.
          */
-        protected static class RawEnumerationValue extends AnnotationValue.AbstractBase<EnumerationDescription, Enum<?>> {
+        class Referencing extends ReferenceQueue<Resolution> implements CacheProvider {
 
             /**
-             * The type pool to use for looking up types.
+             * The reference type to use for cached resolutions.
              */
-            private final TypePool typePool;
+            private final Sort sort;
 
             /**
-             * The descriptor of the enumeration type.
+             * A map containing references to all cached resolutions by their names.
              */
-            private final String descriptor;
+            private final ConcurrentMap<String, Reference<Resolution>> storage;
 
             /**
-             * The name of the enumeration.
+             * Creates a new referencing cache that references its resolutions softly.
              */
-            private final String value;
+            public Referencing() {
+                this(Sort.SOFT);
+            }
 
             /**
-             * Creates a new enumeration value representation.
+             * Creates a new referencing cache.
              *
-             * @param typePool   The type pool to use for looking up types.
-             * @param descriptor The descriptor of the enumeration type.
-             * @param value      The name of the enumeration.
+             * @param sort The reference type to use for cached resolutions.
              */
-            public RawEnumerationValue(TypePool typePool, String descriptor, String value) {
-                this.typePool = typePool;
-                this.descriptor = descriptor;
-                this.value = value;
+            public Referencing(Sort sort) {
+                this.sort = sort;
+                storage = new ConcurrentHashMap<String, Reference<Resolution>>();
             }
 
             /**
              * {@inheritDoc}
              */
-            public EnumerationDescription resolve() {
-                return new LazyEnumerationDescription();
+            public Resolution find(String name) {
+                try {
+                    Reference<Resolution> reference = storage.get(name);
+                    return reference == null
+                            ? UNRESOLVED
+                            : reference.get();
+                } finally {
+                    expungeStaleEntries();
+                }
             }
 
             /**
              * {@inheritDoc}
              */
-            @SuppressWarnings("unchecked")
-            public Loaded<Enum<?>> load(ClassLoader classLoader) throws ClassNotFoundException {
-                Class<?> type = Class.forName(descriptor.substring(1, descriptor.length() - 1).replace('/', '.'), false, classLoader);
+            public Resolution register(String name, Resolution resolution) {
                 try {
-                    return type.isEnum()
-                            ? new ForEnumerationDescription.Loaded(Enum.valueOf((Class) type, value))
-                            : new ForEnumerationDescription.IncompatibleRuntimeType(type);
-                } catch (IllegalArgumentException ignored) {
-                    return new ForEnumerationDescription.UnknownRuntimeEnumeration((Class) type, value);
+                    Reference<Resolution> reference = sort.wrap(name, resolution, this);
+                    Reference<Resolution> previous;
+                    while ((previous = storage.putIfAbsent(name, reference)) != null) {
+                        Resolution cached = previous.get();
+                        if (cached != null) {
+                            return cached;
+                        } else if (storage.replace(name, previous, reference)) {
+                            break;
+                        }
+                    }
+                    return resolution;
+                } finally {
+                    expungeStaleEntries();
                 }
             }
 
-            @Override
-            public int hashCode() {
-                return resolve().hashCode();
+            /**
+             * {@inheritDoc}
+             */
+            public void clear() {
+                storage.clear();
+                expungeStaleEntries();
             }
 
-            @Override
-            public boolean equals(Object other) {
-                return this == other || other instanceof AnnotationValue<?, ?> && resolve().equals(((AnnotationValue<?, ?>) other).resolve());
+            /**
+             * Removes the entries of all resolutions that were reclaimed by the garbage collector.
+             */
+            public void expungeStaleEntries() {
+                Reference<? extends Resolution> reference;
+                while ((reference = poll()) != null) {
+                    storage.remove(((NamedReference) reference).getName(), reference);
+                }
             }
 
-            @Override
-            public String toString() {
-                return resolve().toString();
+            /**
+             * Returns the amount of entries of this cache which might include entries of resolutions that were already reclaimed.
+             *
+             * @return The amount of entries of this cache.
+             */
+            public int getSize() {
+                return storage.size();
             }
 
             /**
-             * An enumeration description where any type references are only resolved on demand.
+             * Determines the reference type that is used for cached resolutions.
              */
-            protected class LazyEnumerationDescription extends EnumerationDescription.AbstractBase {
+            public enum Sort {
 
                 /**
-                 * {@inheritDoc}
+                 * Wraps cached resolutions in {@link WeakReference}s.
                  */
-                public String getValue() {
-                    return value;
-                }
+                WEAK {
+                    @Override
+                    protected Reference<Resolution> wrap(String name, Resolution resolution, ReferenceQueue<? super Resolution> referenceQueue) {
+                        return new NamedReference.OfWeakResolution(name, resolution, referenceQueue);
+                    }
+                },
 
                 /**
-                 * {@inheritDoc}
+                 * Wraps cached resolutions in {@link SoftReference}s.
                  */
-                public TypeDescription getEnumerationType() {
-                    return typePool.describe(descriptor.substring(1, descriptor.length() - 1).replace('/', '.')).resolve();
+                SOFT {
+                    @Override
+                    protected Reference<Resolution> wrap(String name, Resolution resolution, ReferenceQueue<? super Resolution> referenceQueue) {
+                        return new NamedReference.OfSoftResolution(name, resolution, referenceQueue);
+                    }
+                };
+
+                /**
+                 * Wraps a resolution as a {@link Reference}.
+                 *
+                 * @param name           The name of the resolved type.
+                 * @param resolution     The resolution to wrap.
+                 * @param referenceQueue The reference queue to register the reference with.
+                 * @return The reference that represents the resolution.
+                 */
+                protected abstract Reference<Resolution> wrap(String name, Resolution resolution, ReferenceQueue<? super Resolution> referenceQueue);
+            }
+
+            /**
+             * A reference to a resolution that retains the name of the resolved type for removing its entry once it is reclaimed.
+             */
+            protected interface NamedReference {
+
+                /**
+                 * Returns the name of the referenced type.
+                 *
+                 * @return The name of the referenced type.
+                 */
+                String getName();
+
+                /**
+                 * A weak reference to a resolution.
+                 */
+                class OfWeakResolution extends WeakReference<Resolution> implements NamedReference {
+
+                    /**
+                     * The name of the referenced type.
+                     */
+                    private final String name;
+
+                    /**
+                     * Creates a weak reference to a resolution.
+                     *
+                     * @param name           The name of the referenced type.
+                     * @param resolution     The referenced resolution.
+                     * @param referenceQueue The reference queue to register this reference with.
+                     */
+                    protected OfWeakResolution(String name, Resolution resolution, ReferenceQueue<? super Resolution> referenceQueue) {
+                        super(resolution, referenceQueue);
+                        this.name = name;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public String getName() {
+                        return name;
+                    }
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * A soft reference to a resolution.
                  */
-                public <T extends Enum<T>> T load(Class<T> type) {
-                    return Enum.valueOf(type, value);
+                class OfSoftResolution extends SoftReference<Resolution> implements NamedReference {
+
+                    /**
+                     * The name of the referenced type.
+                     */
+                    private final String name;
+
+                    /**
+                     * Creates a soft reference to a resolution.
+                     *
+                     * @param name           The name of the referenced type.
+                     * @param resolution     The referenced resolution.
+                     * @param referenceQueue The reference queue to register this reference with.
+                     */
+                    protected OfSoftResolution(String name, Resolution resolution, ReferenceQueue<? super Resolution> referenceQueue) {
+                        super(resolution, referenceQueue);
+                        this.name = name;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public String getName() {
+                        return name;
+                    }
                 }
             }
         }
 
         /**
-         * Represents a type value of an annotation.
+         * A cache provider that coordinates the concurrent description of types that are not yet cached. If several threads
+         * attempt to describe the same type, only the first thread parses its class file while all other threads await this
+         * thread's resolution instead of parsing the class file themselves. Resolutions are stored by a delegate cache provider.
+         * Only type pools that parse class files, such as {@link TypePool.Default}, coordinate their descriptions via this provider.
          */
-        protected static class RawTypeValue extends AnnotationValue.AbstractBase<TypeDescription, Class<?>> {
+        class Coordinating implements CacheProvider {
 
             /**
-             * A convenience reference indicating that a loaded type should not be initialized.
+             * The cache provider that stores resolutions.
              */
-            private static final boolean NO_INITIALIZATION = false;
+            private final CacheProvider cacheProvider;
 
             /**
-             * The type pool to use for looking up types.
+             * A map of all descriptions that are currently in flight by the names of the described types.
              */
-            private final TypePool typePool;
+            private final ConcurrentMap<String, InFlight> descriptions;
 
             /**
-             * The binary name of the type.
+             * Creates a new coordinating cache provider that stores its resolutions in a simple cache.
              */
-            private final String name;
+            public Coordinating() {
+                this(new Simple());
+            }
 
             /**
-             * Represents a type value of an annotation.
+             * Creates a new coordinating cache provider.
              *
-             * @param typePool The type pool to use for looking up types.
-             * @param type     A type representation of the type that is referenced by the annotation..
+             * @param cacheProvider The cache provider that stores resolutions.
              */
-            protected RawTypeValue(TypePool typePool, Type type) {
-                this.typePool = typePool;
-                name = type.getSort() == Type.ARRAY
-                        ? type.getInternalName().replace('/', '.')
-                        : type.getClassName();
+            public Coordinating(CacheProvider cacheProvider) {
+                this.cacheProvider = cacheProvider;
+                descriptions = new ConcurrentHashMap<String, InFlight>();
             }
 
             /**
              * {@inheritDoc}
              */
-            public TypeDescription resolve() {
-                return typePool.describe(name).resolve();
+            public Resolution find(String name) {
+                return cacheProvider.find(name);
             }
 
             /**
              * {@inheritDoc}
              */
-            public AnnotationValue.Loaded<Class<?>> load(ClassLoader classLoader) throws ClassNotFoundException {
-                return new Loaded(Class.forName(name, NO_INITIALIZATION, classLoader));
+            public Resolution register(String name, Resolution resolution) {
+                return cacheProvider.register(name, resolution);
             }
 
-            @Override
-            public int hashCode() {
-                return resolve().hashCode();
+            /**
+             * {@inheritDoc}
+             */
+            public void clear() {
+                cacheProvider.clear();
             }
 
-            @Override
-            public boolean equals(Object other) {
-                return this == other || other instanceof AnnotationValue<?, ?> && resolve().equals(((AnnotationValue<?, ?>) other).resolve());
+            /**
+             * Describes a type unless another thread is already describing a type of the same name. In this case, the current
+             * thread awaits the other thread's resolution. If the other thread fails to describe the type, its exception is
+             * rethrown. If the current thread is already describing a type of the same name, it describes the type again.
+             * A resolution is registered with the delegate cache provider before the description is no longer in flight.
+             *
+             * @param name        The name of the type to describe.
+             * @param description The description of the type.
+             * @return The resolution of the type.
+             */
+            public Resolution describe(String name, Callable<Resolution> description) {
+                InFlight inFlight = new InFlight(new Registering(cacheProvider, name, description)), previous = descriptions.putIfAbsent(name, inFlight);
+                if (previous == null) {
+                    try {
+                        inFlight.run();
+                    } finally {
+                        descriptions.remove(name, inFlight);
+                    }
+                    return inFlight.resolve();
+                } else if (previous.isOwnedByCurrentThread()) {
+                    inFlight.run();
+                    return inFlight.resolve();
+                } else {
+                    return previous.resolve();
+                }
             }
 
-            @Override
-            public String toString() {
-                return RenderingDispatcher.CURRENT.toSourceString(resolve());
+            /**
+             * Returns the amount of descriptions that are currently in flight.
+             *
+             * @return The amount of descriptions that are currently in flight.
+             */
+            public int getInFlight() {
+                return descriptions.size();
             }
 
             /**
-             * Represents a loaded annotation property that represents a type.
+             * A description of a type that registers its resolution with a cache provider unless a resolution is already registered.
              */
-            protected static class Loaded extends AnnotationValue.Loaded.AbstractBase<Class<?>> {
+            protected static class Registering implements Callable<Resolution> {
 
                 /**
-                 * The type that is represented by an annotation property.
+                 * The cache provider that stores resolutions.
                  */
-                private final Class<?> type;
+                private final CacheProvider cacheProvider;
 
                 /**
-                 * Creates a new representation for an annotation property referencing a type.
+                 * The name of the described type.
+                 */
+                private final String name;
+
+                /**
+                 * The description of the type.
+                 */
+                private final Callable<Resolution> description;
+
+                /**
+                 * Creates a new registering description.
                  *
-                 * @param type The type that is represented by an annotation property.
+                 * @param cacheProvider The cache provider that stores resolutions.
+                 * @param name          The name of the described type.
+                 * @param description   The description of the type.
                  */
-                public Loaded(Class<?> type) {
-                    this.type = type;
+                protected Registering(CacheProvider cacheProvider, String name, Callable<Resolution> description) {
+                    this.cacheProvider = cacheProvider;
+                    this.name = name;
+                    this.description = description;
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public State getState() {
-                    return State.RESOLVED;
+                public Resolution call() throws Exception {
+                    Resolution resolution = cacheProvider.find(name);
+                    return resolution == null
+                            ? cacheProvider.register(name, description.call())
+                            : resolution;
                 }
+            }
+
+            /**
+             * A description of a type that is currently in flight.
+             */
+            protected static class InFlight extends FutureTask<Resolution> {
 
                 /**
-                 * {@inheritDoc}
+                 * The thread that created this description.
                  */
-                public Class<?> resolve() {
-                    return type;
-                }
+                private final Thread thread;
 
                 /**
-                 * {@inheritDoc}
+                 * Creates a new description that is in flight.
+                 *
+                 * @param description The description of the type.
                  */
-                public boolean represents(Object value) {
-                    return type.equals(value);
+                protected InFlight(Callable<Resolution> description) {
+                    super(description);
+                    thread = Thread.currentThread();
                 }
 
-                @Override
-                public int hashCode() {
-                    return type.hashCode();
+                /**
+                 * Returns {@code true} if this description was created by the current thread.
+                 *
+                 * @return {@code true} if this description was created by the current thread.
+                 */
+                protected boolean isOwnedByCurrentThread() {
+                    return thread == Thread.currentThread();
                 }
 
-                @Override
-                public boolean equals(Object other) {
-                    if (this == other) {
-                        return true;
-                    } else if (!(other instanceof AnnotationValue.Loaded<?>)) {
-                        return false;
+                /**
+                 * Awaits and returns the resolution of this description. Interrupting the current thread does not abort the
+                 * wait but the interrupt is restored once the resolution is available.
+                 *
+                 * @return The resolution of this description.
+                 */
+                protected Resolution resolve() {
+                    boolean interrupted = false;
+                    try {
+                        while (true) {
+                            try {
+                                return get();
+                            } catch (InterruptedException ignored) {
+                                interrupted = true;
+                            }
+                        }
+                    } catch (ExecutionException exception) {
+                        Throwable cause = exception.getCause();
+                        if (cause instanceof RuntimeException) {
+                            throw (RuntimeException) cause;
+                        } else if (cause instanceof Error) {
+                            throw (Error) cause;
+                        } else {
+                            throw new IllegalStateException("Failed to describe type", cause);
+                        }
+                    } finally {
+                        if (interrupted) {
+                            Thread.currentThread().interrupt();
+                        }
                     }
-                    AnnotationValue.Loaded<?> annotationValue = (AnnotationValue.Loaded<?>) other;
-                    return annotationValue.getState().isResolved() && type.equals(annotationValue.resolve());
-                }
-
-                @Override
-                public String toString() {
-                    return RenderingDispatcher.CURRENT.toSourceString(TypeDescription.ForLoadedType.of(type));
                 }
             }
         }
+    }
+
+    /**
+     * An empty type pool that cannot describe any type.
+     */
+    enum Empty implements TypePool {
 
         /**
-         * Represents an array that is referenced by an annotation which does not contain primitive values or {@link String}s.
+         * The singleton instance.
          */
-        protected static class RawDescriptionArray extends AnnotationValue.AbstractBase<Object[], Object[]> {
+        INSTANCE;
 
-            /**
-             * The type pool to use for looking up types.
-             */
-            private final TypePool typePool;
+        /**
+         * {@inheritDoc}
+         */
+        public Resolution describe(String name) {
+            return new Resolution.Illegal(name);
+        }
 
-            /**
-             * A reference to the component type.
-             */
-            private final ComponentTypeReference componentTypeReference;
+        /**
+         * {@inheritDoc}
+         */
+        public void clear() {
+            /* do nothing */
+        }
+    }
 
-            /**
-             * A list of all values of this array value in their order.
-             */
-            private List<AnnotationValue<?, ?>> values;
+    /**
+     * A type pool that only describes types of the {@code java.*} packages by locating their class files via the platform class
+     * loader. As these packages can only be defined by the boot or the platform class loader, such types are identical for any
+     * class loader such that a single instance can serve as a process-wide parent of other type pools. This way, these types are
+     * parsed only once instead of once per type pool. Any other type is not resolved by this pool. Note that types that are
+     * retransformed are still described by their original class files.
+     */
+    @HashCodeAndEqualsPlugin.Enhance
+    class Platform implements TypePool {
 
-            /**
-             * Creates a new array value representation of a complex array.
-             *
-             * @param typePool               The type pool to use for looking up types.
-             * @param componentTypeReference A lazy reference to the component type of this array.
-             * @param values                 A list of all values of this annotation.
-             */
-            public RawDescriptionArray(TypePool typePool,
-                                       ComponentTypeReference componentTypeReference,
-                                       List<AnnotationValue<?, ?>> values) {
-                this.typePool = typePool;
-                this.values = values;
-                this.componentTypeReference = componentTypeReference;
-            }
+        /**
+         * The prefix of the names of types of the {@code java.*} packages.
+         */
+        private static final String JAVA_PACKAGE = "java.";
 
-            /**
-             * {@inheritDoc}
-             */
-            public Object[] resolve() {
-                TypeDescription componentTypeDescription = typePool.describe(componentTypeReference.lookup()).resolve();
-                Class<?> componentType;
-                if (componentTypeDescription.represents(Class.class)) {
-                    componentType = TypeDescription.class;
-                } else if (componentTypeDescription.isAssignableTo(Enum.class)) { // Enums can implement annotation interfaces, check this first.
-                    componentType = EnumerationDescription.class;
-                } else if (componentTypeDescription.isAssignableTo(Annotation.class)) {
-                    componentType = AnnotationDescription.class;
-                } else if (componentTypeDescription.represents(String.class)) {
-                    componentType = String.class;
-                } else {
-                    throw new IllegalStateException("Unexpected complex array component type " + componentTypeDescription);
-                }
-                Object[] array = (Object[]) Array.newInstance(componentType, values.size());
-                int index = 0;
-                for (AnnotationValue<?, ?> annotationValue : values) {
-                    Array.set(array, index++, annotationValue.resolve());
-                }
-                return array;
-            }
+        /**
+         * The default maximum amount of resolutions that a shared platform type pool retains.
+         */
+        private static final long DEFAULT_MAXIMUM_SIZE = 4096;
 
-            /**
-             * {@inheritDoc}
-             */
-            public AnnotationValue.Loaded<Object[]> load(ClassLoader classLoader) throws ClassNotFoundException {
-                List<AnnotationValue.Loaded<?>> loadedValues = new ArrayList<AnnotationValue.Loaded<?>>(values.size());
-                for (AnnotationValue<?, ?> value : values) {
-                    loadedValues.add(value.load(classLoader));
-                }
-                return new Loaded(Class.forName(componentTypeReference.lookup(), false, classLoader), loadedValues);
+        /**
+         * The shared platform type pools by the ordinal of their reader mode.
+         */
+        private static final Platform[] SHARED;
+
+        /*
+         * Creates the shared platform type pools which only parse types once they are requested.
+         */
+        static {
+            Default.ReaderMode[] readerMode = Default.ReaderMode.values();
+            SHARED = new Platform[readerMode.length];
+            for (int index = 0; index < readerMode.length; index++) {
+                SHARED[index] = new Platform(new Default(new CacheProvider.Bounded(DEFAULT_MAXIMUM_SIZE),
+                        ClassFileLocator.ForClassLoader.ofPlatformLoader(),
+                        readerMode[index]), true);
             }
+        }
 
-            @Override
-            public int hashCode() {
-                return Arrays.hashCode(resolve());
+        /**
+         * The type pool to describe types of the {@code java.*} packages with.
+         */
+        private final TypePool typePool;
+
+        /**
+         * {@code true} if this pool is shared such that clearing it, for example by a child pool, does not clear the described types.
+         */
+        private final boolean shared;
+
+        /**
+         * Creates a new platform type pool.
+         *
+         * @param typePool The type pool to describe types of the {@code java.*} packages with.
+         */
+        public Platform(TypePool typePool) {
+            this(typePool, false);
+        }
+
+        /**
+         * Creates a new platform type pool.
+         *
+         * @param typePool The type pool to describe types of the {@code java.*} packages with.
+         * @param shared   {@code true} if this pool is shared such that clearing it, for example by a child pool, does not clear the described types.
+         */
+        protected Platform(TypePool typePool, boolean shared) {
+            this.typePool = typePool;
+            this.shared = shared;
+        }
+
+        /**
+         * Returns a process-wide platform type pool that retains a bounded amount of resolutions. Clearing this pool, what is also
+         * done when clearing any type pool that uses it as its parent, does not have an effect. The shared resolutions can only be
+         * invalidated by {@link Platform#clearShared()}.
+         *
+         * @param readerMode The reader mode to apply when parsing a class file.
+         * @return A process-wide platform type pool for the supplied reader mode.
+         */
+        public static TypePool shared(Default.ReaderMode readerMode) {
+            return SHARED[readerMode.ordinal()];
+        }
+
+        /**
+         * Invalidates the resolutions of all process-wide platform type pools.
+         */
+        public static void clearShared() {
+            for (Platform platform : SHARED) {
+                platform.typePool.clear();
             }
+        }
 
-            @Override
-            public boolean equals(Object other) {
-                if (this == other) {
-                    return true;
-                } else if (!(other instanceof AnnotationValue<?, ?>)) {
-                    return false;
-                }
-                Object value = ((AnnotationValue<?, ?>) other).resolve();
-                return value instanceof Object[] && Arrays.equals(resolve(), (Object[]) value);
+        /**
+         * {@inheritDoc}
+         */
+        public Resolution describe(String name) {
+            return name.startsWith(JAVA_PACKAGE)
+                    ? typePool.describe(name)
+                    : new Resolution.Illegal(name);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void clear() {
+            if (!shared) {
+                typePool.clear();
             }
+        }
+    }
 
-            @Override
-            public String toString() {
-                return RenderingDispatcher.CURRENT.toSourceString(values);
+    /**
+     * A base implementation of a {@link net.bytebuddy.pool.TypePool} that is managing a cache provider and
+     * that handles the description of array and primitive types.
+     */
+    @HashCodeAndEqualsPlugin.Enhance
+    abstract class AbstractBase implements TypePool {
+
+        /**
+         * A map of primitive types by their name.
+         */
+        protected static final Map<String, TypeDescription> PRIMITIVE_TYPES;
+
+        /**
+         * A map of primitive types by their descriptor.
+         */
+        protected static final Map<String, String> PRIMITIVE_DESCRIPTORS;
+
+        /**
+         * The array symbol as used by Java descriptors.
+         */
+        private static final String ARRAY_SYMBOL = "[";
+
+        /*
+         * Initializes the maps of primitive type names and descriptors.
+         */
+        static {
+            Map<String, TypeDescription> primitiveTypes = new HashMap<String, TypeDescription>();
+            Map<String, String> primitiveDescriptors = new HashMap<String, String>();
+            for (Class<?> primitiveType : new Class<?>[]{boolean.class,
+                    byte.class,
+                    short.class,
+                    char.class,
+                    int.class,
+                    long.class,
+                    float.class,
+                    double.class,
+                    void.class}) {
+                primitiveTypes.put(primitiveType.getName(), TypeDescription.ForLoadedType.of(primitiveType));
+                primitiveDescriptors.put(Type.getDescriptor(primitiveType), primitiveType.getName());
             }
+            PRIMITIVE_TYPES = Collections.unmodifiableMap(primitiveTypes);
+            PRIMITIVE_DESCRIPTORS = Collections.unmodifiableMap(primitiveDescriptors);
+        }
 
-            /**
-             * A lazy representation of the component type of an array.
-             */
-            public interface ComponentTypeReference {
+        /**
+         * The cache provider of this instance.
+         */
+        protected final CacheProvider cacheProvider;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param cacheProvider The cache provider to be used.
+         */
+        protected AbstractBase(CacheProvider cacheProvider) {
+            this.cacheProvider = cacheProvider;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Resolution describe(String name) {
+            if (name.contains("/")) {
+                throw new IllegalArgumentException(name + " contains the illegal character '/'");
+            }
+            int arity = 0;
+            while (name.startsWith(ARRAY_SYMBOL)) {
+                arity++;
+                name = name.substring(1);
+            }
+            if (arity > 0) {
+                String primitiveName = PRIMITIVE_DESCRIPTORS.get(name);
+                name = primitiveName == null
+                        ? name.substring(1, name.length() - 1)
+                        : primitiveName;
+            }
+            TypeDescription typeDescription = PRIMITIVE_TYPES.get(name);
+            Resolution resolution = typeDescription == null
+                    ? cacheProvider.find(name)
+                    : new Resolution.Simple(typeDescription);
+            if (resolution == null) {
+                resolution = doCache(name, doDescribe(name));
+            }
+            return ArrayTypeResolution.of(resolution, arity);
+        }
+
+        /**
+         * Writes the resolution to the cache. This method should be overridden if the directly
+         * resolved instance should not be added to the cache.
+         *
+         * @param name       The name of the type.
+         * @param resolution The resolution for this type.
+         * @return The actual resolution for the type of this name that is stored in the cache.
+         */
+        protected Resolution doCache(String name, Resolution resolution) {
+            return cacheProvider.register(name, resolution);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void clear() {
+            cacheProvider.clear();
+        }
+
+        /**
+         * Determines a resolution to a non-primitive, non-array type.
+         *
+         * @param name The name of the type to describe.
+         * @return A resolution to the type to describe.
+         */
+        protected abstract Resolution doDescribe(String name);
+
+        /**
+         * Implements a hierarchical view of type pools, similarly to class loader hierarchies. For every lookup, the parent type pool
+         * is asked first if it can resolve a type. Only if the parent (and potentially its parents) are unable to resolve a type,
+         * this instance is queried for a type description.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        public abstract static class Hierarchical extends AbstractBase {
+
+            /**
+             * The parent type pool.
+             */
+            private final TypePool parent;
+
+            /**
+             * Creates a hierarchical type pool.
+             *
+             * @param cacheProvider The cache provider to be used.
+             * @param parent        The parent type pool to be used.
+             */
+            protected Hierarchical(CacheProvider cacheProvider, TypePool parent) {
+                super(cacheProvider);
+                this.parent = parent;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Resolution describe(String name) {
+                Resolution resolution = parent.describe(name);
+                return resolution.isResolved()
+                        ? resolution
+                        : super.describe(name);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public void clear() {
+                try {
+                    parent.clear();
+                } finally {
+                    super.clear();
+                }
+            }
+        }
+
+        /**
+         * A resolution for a type that, if resolved, represents an array type.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        protected static class ArrayTypeResolution implements Resolution {
+
+            /**
+             * The underlying resolution that is represented by this instance.
+             */
+            private final Resolution resolution;
+
+            /**
+             * The arity of the represented array.
+             */
+            private final int arity;
+
+            /**
+             * Creates a wrapper for another resolution that, if resolved, represents an array type.
+             *
+             * @param resolution The underlying resolution that is represented by this instance.
+             * @param arity      The arity of the represented array.
+             */
+            protected ArrayTypeResolution(Resolution resolution, int arity) {
+                this.resolution = resolution;
+                this.arity = arity;
+            }
+
+            /**
+             * Creates a wrapper for another resolution that, if resolved, represents an array type. The wrapper
+             * is only created if the arity is not zero. If the arity is zero, the given resolution is simply
+             * returned instead.
+             *
+             * @param resolution The underlying resolution that is represented by this instance.
+             * @param arity      The arity of the represented array.
+             * @return A wrapper for another resolution that, if resolved, represents an array type or the
+             * given resolution if the given arity is zero.
+             */
+            protected static Resolution of(Resolution resolution, int arity) {
+                return arity == 0
+                        ? resolution
+                        : new ArrayTypeResolution(resolution, arity);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public boolean isResolved() {
+                return resolution.isResolved();
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public TypeDescription resolve() {
+                return TypeDescription.ArrayProjection.of(resolution.resolve(), arity);
+            }
+        }
+
+        /**
+         * Represents a nested annotation value.
+         */
+        protected static class RawAnnotationValue extends AnnotationValue.AbstractBase<AnnotationDescription, Annotation> {
+
+            /**
+             * The type pool to use for looking up types.
+             */
+            private final TypePool typePool;
+
+            /**
+             * The annotation token that represents the nested invocation.
+             */
+            private final Default.LazyTypeDescription.AnnotationToken annotationToken;
+
+            /**
+             * Creates a new annotation value for a nested annotation.
+             *
+             * @param typePool        The type pool to use for looking up types.
+             * @param annotationToken The token that represents the annotation.
+             */
+            public RawAnnotationValue(TypePool typePool, Default.LazyTypeDescription.AnnotationToken annotationToken) {
+                this.typePool = typePool;
+                this.annotationToken = annotationToken;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public AnnotationDescription resolve() {
+                return annotationToken.toAnnotationDescription(typePool).resolve();
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @SuppressWarnings("unchecked")
+            public Loaded<Annotation> load(ClassLoader classLoader) throws ClassNotFoundException {
+                Class<?> type = Class.forName(annotationToken.getBinaryName(), false, classLoader);
+                if (type.isAnnotation()) {
+                    return new ForAnnotationDescription.Loaded<Annotation>(AnnotationDescription.AnnotationInvocationHandler.of(classLoader,
+                            (Class<? extends Annotation>) type,
+                            annotationToken.getValues()));
+                } else {
+                    return new ForAnnotationDescription.IncompatibleRuntimeType(type);
+                }
+            }
+
+            @Override
+            public int hashCode() {
+                return resolve().hashCode();
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || other instanceof AnnotationValue<?, ?> && resolve().equals(((AnnotationValue<?, ?>) other).resolve());
+            }
+
+            @Override
+            public String toString() {
+                return resolve().toString();
+            }
+        }
+
+        /**
+         * Represents an enumeration value of an annotation.
+         */
+        protected static class RawEnumerationValue extends AnnotationValue.AbstractBase<EnumerationDescription, Enum<?>> {
+
+            /**
+             * The type pool to use for looking up types.
+             */
+            private final TypePool typePool;
+
+            /**
+             * The descriptor of the enumeration type.
+             */
+            private final String descriptor;
+
+            /**
+             * The name of the enumeration.
+             */
+            private final String value;
+
+            /**
+             * Creates a new enumeration value representation.
+             *
+             * @param typePool   The type pool to use for looking up types.
+             * @param descriptor The descriptor of the enumeration type.
+             * @param value      The name of the enumeration.
+             */
+            public RawEnumerationValue(TypePool typePool, String descriptor, String value) {
+                this.typePool = typePool;
+                this.descriptor = descriptor;
+                this.value = value;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public EnumerationDescription resolve() {
+                return new LazyEnumerationDescription();
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @SuppressWarnings("unchecked")
+            public Loaded<Enum<?>> load(ClassLoader classLoader) throws ClassNotFoundException {
+                Class<?> type = Class.forName(descriptor.substring(1, descriptor.length() - 1).replace('/', '.'), false, classLoader);
+                try {
+                    return type.isEnum()
+                            ? new ForEnumerationDescription.Loaded(Enum.valueOf((Class) type, value))
+                            : new ForEnumerationDescription.IncompatibleRuntimeType(type);
+                } catch (IllegalArgumentException ignored) {
+                    return new ForEnumerationDescription.UnknownRuntimeEnumeration((Class) type, value);
+                }
+            }
+
+            @Override
+            public int hashCode() {
+                return resolve().hashCode();
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || other instanceof AnnotationValue<?, ?> && resolve().equals(((AnnotationValue<?, ?>) other).resolve());
+            }
+
+            @Override
+            public String toString() {
+                return resolve().toString();
+            }
+
+            /**
+             * An enumeration description where any type references are only resolved on demand.
+             */
+            protected class LazyEnumerationDescription extends EnumerationDescription.AbstractBase {
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public String getValue() {
+                    return value;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public TypeDescription getEnumerationType() {
+                    return typePool.describe(descriptor.substring(1, descriptor.length() - 1).replace('/', '.')).resolve();
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public <T extends Enum<T>> T load(Class<T> type) {
+                    return Enum.valueOf(type, value);
+                }
+            }
+        }
+
+        /**
+         * Represents a type value of an annotation.
+         */
+        protected static class RawTypeValue extends AnnotationValue.AbstractBase<TypeDescription, Class<?>> {
+
+            /**
+             * A convenience reference indicating that a loaded type should not be initialized.
+             */
+            private static final boolean NO_INITIALIZATION = false;
+
+            /**
+             * The type pool to use for looking up types.
+             */
+            private final TypePool typePool;
+
+            /**
+             * The binary name of the type.
+             */
+            private final String name;
+
+            /**
+             * Represents a type value of an annotation.
+             *
+             * @param typePool The type pool to use for looking up types.
+             * @param type     A type representation of the type that is referenced by the annotation..
+             */
+            protected RawTypeValue(TypePool typePool, Type type) {
+                this(typePool, type.getSort() == Type.ARRAY
+                        ? type.getInternalName().replace('/', '.')
+                        : type.getClassName());
+            }
+
+            /**
+             * Represents a type value of an annotation.
+             *
+             * @param typePool The type pool to use for looking up types.
+             * @param name     The binary name of the type.
+             */
+            protected RawTypeValue(TypePool typePool, String name) {
+                this.typePool = typePool;
+                this.name = name;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public TypeDescription resolve() {
+                return typePool.describe(name).resolve();
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public AnnotationValue.Loaded<Class<?>> load(ClassLoader classLoader) throws ClassNotFoundException {
+                return new Loaded(Class.forName(name, NO_INITIALIZATION, classLoader));
+            }
+
+            @Override
+            public int hashCode() {
+                return resolve().hashCode();
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || other instanceof AnnotationValue<?, ?> && resolve().equals(((AnnotationValue<?, ?>) other).resolve());
+            }
+
+            @Override
+            public String toString() {
+                return RenderingDispatcher.CURRENT.toSourceString(resolve());
+            }
+
+            /**
+             * Represents a loaded annotation property that represents a type.
+             */
+            protected static class Loaded extends AnnotationValue.Loaded.AbstractBase<Class<?>> {
+
+                /**
+                 * The type that is represented by an annotation property.
+                 */
+                private final Class<?> type;
+
+                /**
+                 * Creates a new representation for an annotation property referencing a type.
+                 *
+                 * @param type The type that is represented by an annotation property.
+                 */
+                public Loaded(Class<?> type) {
+                    this.type = type;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public State getState() {
+                    return State.RESOLVED;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Class<?> resolve() {
+                    return type;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public boolean represents(Object value) {
+                    return type.equals(value);
+                }
+
+                @Override
+                public int hashCode() {
+                    return type.hashCode();
+                }
+
+                @Override
+                public boolean equals(Object other) {
+                    if (this == other) {
+                        return true;
+                    } else if (!(other instanceof AnnotationValue.Loaded<?>)) {
+                        return false;
+                    }
+                    AnnotationValue.Loaded<?> annotationValue = (AnnotationValue.Loaded<?>) other;
+                    return annotationValue.getState().isResolved() && type.equals(annotationValue.resolve());
+                }
+
+                @Override
+                public String toString() {
+                    return RenderingDispatcher.CURRENT.toSourceString(TypeDescription.ForLoadedType.of(type));
+                }
+            }
+        }
+
+        /**
+         * Represents an array that is referenced by an annotation which does not contain primitive values or {@link String}s.
+         */
+        protected static class RawDescriptionArray extends AnnotationValue.AbstractBase<Object[], Object[]> {
+
+            /**
+             * The type pool to use for looking up types.
+             */
+            private final TypePool typePool;
+
+            /**
+             * A reference to the component type.
+             */
+            private final ComponentTypeReference componentTypeReference;
+
+            /**
+             * A list of all values of this array value in their order.
+             */
+            private List<AnnotationValue<?, ?>> values;
+
+            /**
+             * Creates a new array value representation of a complex array.
+             *
+             * @param typePool               The type pool to use for looking up types.
+             * @param componentTypeReference A lazy reference to the component type of this array.
+             * @param values                 A list of all values of this annotation.
+             */
+            public RawDescriptionArray(TypePool typePool,
+                                       ComponentTypeReference componentTypeReference,
+                                       List<AnnotationValue<?, ?>> values) {
+                this.typePool = typePool;
+                this.values = values;
+                this.componentTypeReference = componentTypeReference;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Object[] resolve() {
+                TypeDescription componentTypeDescription = typePool.describe(componentTypeReference.lookup()).resolve();
+                Class<?> componentType;
+                if (componentTypeDescription.represents(Class.class)) {
+                    componentType = TypeDescription.class;
+                } else if (componentTypeDescription.isAssignableTo(Enum.class)) { // Enums can implement annotation interfaces, check this first.
+                    componentType = EnumerationDescription.class;
+                } else if (componentTypeDescription.isAssignableTo(Annotation.class)) {
+                    componentType = AnnotationDescription.class;
+                } else if (componentTypeDescription.represents(String.class)) {
+                    componentType = String.class;
+                } else {
+                    throw new IllegalStateException("Unexpected complex array component type " + componentTypeDescription);
+                }
+                Object[] array = (Object[]) Array.newInstance(componentType, values.size());
+                int index = 0;
+                for (AnnotationValue<?, ?> annotationValue : values) {
+                    Array.set(array, index++, annotationValue.resolve());
+                }
+                return array;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public AnnotationValue.Loaded<Object[]> load(ClassLoader classLoader) throws ClassNotFoundException {
+                List<AnnotationValue.Loaded<?>> loadedValues = new ArrayList<AnnotationValue.Loaded<?>>(values.size());
+                for (AnnotationValue<?, ?> value : values) {
+                    loadedValues.add(value.load(classLoader));
+                }
+                return new Loaded(Class.forName(componentTypeReference.lookup(), false, classLoader), loadedValues);
+            }
+
+            @Override
+            public int hashCode() {
+                return Arrays.hashCode(resolve());
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                if (this == other) {
+                    return true;
+                } else if (!(other instanceof AnnotationValue<?, ?>)) {
+                    return false;
+                }
+                Object value = ((AnnotationValue<?, ?>) other).resolve();
+                return value instanceof Object[] && Arrays.equals(resolve(), (Object[]) value);
+            }
+
+            @Override
+            public String toString() {
+                return RenderingDispatcher.CURRENT.toSourceString(values);
+            }
+
+            /**
+             * A lazy representation of the component type of an array.
+             */
+            public interface ComponentTypeReference {
+
+                /**
+                 * Lazily returns the binary name of the array component type of an annotation value.
+                 *
+                 * @return The binary name of the component type.
+                 */
+                String lookup();
+            }
+
+            /**
+             * Represents a loaded annotation property representing a complex array.
+             */
+            protected static class Loaded extends AnnotationValue.Loaded.AbstractBase<Object[]> {
+
+                /**
+                 * The array's loaded component type.
+                 */
+                private final Class<?> componentType;
+
+                /**
+                 * A list of loaded values of the represented complex array.
+                 */
+                private final List<AnnotationValue.Loaded<?>> values;
+
+                /**
+                 * Creates a new representation of an annotation property representing an array of
+                 * non-trivial values.
+                 *
+                 * @param componentType The array's loaded component type.
+                 * @param values        A list of loaded values of the represented complex array.
+                 */
+                public Loaded(Class<?> componentType, List<AnnotationValue.Loaded<?>> values) {
+                    this.componentType = componentType;
+                    this.values = values;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public State getState() {
+                    for (AnnotationValue.Loaded<?> value : values) {
+                        if (!value.getState().isResolved()) {
+                            return State.UNRESOLVED;
+                        }
+                    }
+                    return State.RESOLVED;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public Object[] resolve() {
+                    Object[] array = (Object[]) Array.newInstance(componentType, values.size());
+                    int index = 0;
+                    for (AnnotationValue.Loaded<?> annotationValue : values) {
+                        Array.set(array, index++, annotationValue.resolve());
+                    }
+                    return array;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public boolean represents(Object value) {
+                    if (!(value instanceof Object[])) return false;
+                    if (value.getClass().getComponentType() != componentType) return false;
+                    Object[] array = (Object[]) value;
+                    if (values.size() != array.length) return false;
+                    Iterator<AnnotationValue.Loaded<?>> iterator = values.iterator();
+                    for (Object aValue : array) {
+                        AnnotationValue.Loaded<?> self = iterator.next();
+                        if (!self.getState().isResolved() || !self.represents(aValue)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }
+
+                @Override
+                public int hashCode() {
+                    int result = 1;
+                    for (AnnotationValue.Loaded<?> value : values) {
+                        result = 31 * result + value.hashCode();
+                    }
+                    return result;
+                }
+
+                @Override
+                public boolean equals(Object other) {
+                    if (this == other) {
+                        return true;
+                    } else if (!(other instanceof AnnotationValue.Loaded<?>)) {
+                        return false;
+                    }
+                    AnnotationValue.Loaded<?> annotationValue = (AnnotationValue.Loaded<?>) other;
+                    if (!annotationValue.getState().isResolved()) {
+                        return false;
+                    }
+                    Object value = annotationValue.resolve();
+                    if (!(value instanceof Object[])) {
+                        return false;
+                    }
+                    Object[] arrayValue = (Object[]) value;
+                    if (values.size() != arrayValue.length) {
+                        return false;
+                    }
+                    Iterator<AnnotationValue.Loaded<?>> iterator = values.iterator();
+                    for (Object aValue : arrayValue) {
+                        AnnotationValue.Loaded<?> self = iterator.next();
+                        if (!self.resolve().equals(aValue)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }
+
+                @Override
+                public String toString() {
+                    return RenderingDispatcher.CURRENT.toSourceString(values);
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * A default implementation of a {@link net.bytebuddy.pool.TypePool} that models binary data in the Java byte code format
+     * into a {@link TypeDescription}. The data lookup is delegated to a {@link net.bytebuddy.dynamic.ClassFileLocator}.
+     * </p>
+     * <p>
+     * {@link Resolution}s that are produced by this type pool are either fully resolved or not resolved at all.
+     * </p>
+     */
+    @HashCodeAndEqualsPlugin.Enhance
+    class Default extends AbstractBase.Hierarchical {
+
+        /**
+         * Indicates that a visited method should be ignored.
+         */
+        private static final MethodVisitor IGNORE_METHOD = null;
+
+        /**
+         * Indicates that a visited field should be ignored.
+         */
+        private static final FieldVisitor IGNORE_FIELD = null;
+
+        /**
+         * The locator to query for finding binary data of a type.
+         */
+        protected final ClassFileLocator classFileLocator;
+
+        /**
+         * The reader mode to apply by this default type pool.
+         */
+        protected final ReaderMode readerMode;
+
+        /**
+         * The symbol table to canonicalize extracted names and descriptors with.
+         */
+        protected final SymbolTable symbolTable;
+
+        /**
+         * Creates a new default type pool without a parent pool.
+         *
+         * @param cacheProvider    The cache provider to be used.
+         * @param classFileLocator The class file locator to be used.
+         * @param readerMode       The reader mode to apply by this default type pool.
+         */
+        public Default(CacheProvider cacheProvider, ClassFileLocator classFileLocator, ReaderMode readerMode) {
+            this(cacheProvider, classFileLocator, readerMode, Empty.INSTANCE);
+        }
+
+        /**
+         * Creates a new default type pool.
+         *
+         * @param cacheProvider    The cache provider to be used.
+         * @param classFileLocator The class file locator to be used.
+         * @param readerMode       The reader mode to apply by this default type pool.
+         * @param parentPool       The parent type pool.
+         */
+        public Default(CacheProvider cacheProvider, ClassFileLocator classFileLocator, ReaderMode readerMode, TypePool parentPool) {
+            this(cacheProvider, classFileLocator, readerMode, parentPool, SymbolTable.NoOp.INSTANCE);
+        }
+
+        /**
+         * Creates a new default type pool.
+         *
+         * @param cacheProvider    The cache provider to be used.
+         * @param classFileLocator The class file locator to be used.
+         * @param readerMode       The reader mode to apply by this default type pool.
+         * @param parentPool       The parent type pool.
+         * @param symbolTable      The symbol table to canonicalize extracted names and descriptors with.
+         */
+        public Default(CacheProvider cacheProvider, ClassFileLocator classFileLocator, ReaderMode readerMode, TypePool parentPool, SymbolTable symbolTable) {
+            super(cacheProvider, parentPool);
+            this.classFileLocator = classFileLocator;
+            this.readerMode = readerMode;
+            this.symbolTable = symbolTable;
+        }
+
+        /**
+         * Creates a default {@link net.bytebuddy.pool.TypePool} that looks up data by querying the system class
+         * loader. The returned instance is configured to use a fast reading mode and a simple cache.
+         *
+         * @return A type pool that reads its data from the system class loader.
+         */
+        public static TypePool ofSystemLoader() {
+            return of(ClassFileLocator.ForClassLoader.ofSystemLoader());
+        }
+
+        /**
+         * Creates a default {@link net.bytebuddy.pool.TypePool} that looks up data by querying the plaform class
+         * loader. The returned instance is configured to use a fast reading mode and a simple cache. If the current
+         * VM is of version 8 or older, the extension class loader is represented instead.
+         *
+         * @return A type pool that reads its data from the platform class path.
+         */
+        public static TypePool ofPlatformLoader() {
+            return of(ClassFileLocator.ForClassLoader.ofPlatformLoader());
+        }
+
+        /**
+         * Creates a default {@link net.bytebuddy.pool.TypePool} that looks up data by querying the boot class
+         * loader. The returned instance is configured to use a fast reading mode and a simple cache.
+         *
+         * @return A type pool that reads its data from the boot class loader.
+         */
+        public static TypePool ofBootLoader() {
+            return of(ClassFileLocator.ForClassLoader.ofBootLoader());
+        }
+
+        /**
+         * Returns a type pool for the provided class loader.
+         *
+         * @param classLoader The class loader for which this class pool is representing types.
+         * @return An appropriate type pool.
+         */
+        public static TypePool of(ClassLoader classLoader) {
+            return of(ClassFileLocator.ForClassLoader.of(classLoader));
+        }
+
+        /**
+         * Creates a default {@link net.bytebuddy.pool.TypePool} that looks up data by querying the supplied class
+         * file locator. The returned instance is configured to use a fast reading mode and a simple cache.
+         *
+         * @param classFileLocator The class file locator to use.
+         * @return A type pool that reads its data from the system class path.
+         */
+        public static TypePool of(ClassFileLocator classFileLocator) {
+            return new Default(new CacheProvider.Simple(), classFileLocator, ReaderMode.FAST);
+        }
+
+        @Override
+        protected Resolution doDescribe(String name) {
+            return cacheProvider instanceof CacheProvider.Coordinating
+                    ? ((CacheProvider.Coordinating) cacheProvider).describe(name, new Description(name))
+                    : doParse(name);
+        }
+
+        /**
+         * Locates and parses the class file of a type.
+         *
+         * @param name The name of the type to describe.
+         * @return The resolution of the type.
+         */
+        protected Resolution doParse(String name) {
+            try {
+                ClassFileLocator.Resolution resolution = classFileLocator.locate(name);
+                return resolution.isResolved()
+                        ? new Resolution.Simple(parse(resolution.resolve()))
+                        : new Resolution.Illegal(name);
+            } catch (IOException exception) {
+                throw new IllegalStateException("Error while reading class file", exception);
+            }
+        }
+
+        /**
+         * Parses a binary representation and transforms it into a type description.
+         *
+         * @param binaryRepresentation The binary data to be parsed.
+         * @return A type description of the binary data.
+         */
+        protected TypeDescription parse(byte[] binaryRepresentation) {
+            ClassReader classReader = OpenedClassReader.of(binaryRepresentation);
+            TypeExtractor typeExtractor = readerMode.isHeaderOnly()
+                    ? new TypeExtractor(new DeferredMemberExtraction(binaryRepresentation))
+                    : new TypeExtractor();
+            classReader.accept(typeExtractor, readerMode.getFlags());
+            return typeExtractor.toTypeDescription();
+        }
+
+        /**
+         * A deferred extraction of a type's members that parses the type's retained class file including its fields and methods.
+         */
+        @HashCodeAndEqualsPlugin.Enhance(includeSyntheticFields = true)
+        protected class DeferredMemberExtraction implements LazyTypeDescription.MemberExtraction {
+
+            /**
+             * The binary representation of the type's class file.
+             */
+            private final byte[] binaryRepresentation;
+
+            /**
+             * Creates a new deferred member extraction.
+             *
+             * @param binaryRepresentation The binary representation of the type's class file.
+             */
+            @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "The array is not modified by class contract.")
+            protected DeferredMemberExtraction(byte[] binaryRepresentation) {
+                this.binaryRepresentation = binaryRepresentation;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public LazyTypeDescription extract() {
+                ClassReader classReader = OpenedClassReader.of(binaryRepresentation);
+                TypeExtractor typeExtractor = new TypeExtractor();
+                classReader.accept(typeExtractor, readerMode.getFlags());
+                return (LazyTypeDescription) typeExtractor.toTypeDescription();
+            }
+        }
+
+        /**
+         * A description of a type that locates and parses the type's class file.
+         */
+        @HashCodeAndEqualsPlugin.Enhance(includeSyntheticFields = true)
+        protected class Description implements Callable<Resolution> {
+
+            /**
+             * The name of the type to describe.
+             */
+            private final String name;
+
+            /**
+             * Creates a new description.
+             *
+             * @param name The name of the type to describe.
+             */
+            protected Description(String name) {
+                this.name = name;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            public Resolution call() {
+                return doParse(name);
+            }
+        }
+
+        /**
+         * Determines the granularity of the class file parsing that is conducted by a {@link net.bytebuddy.pool.TypePool.Default}.
+         */
+        public enum ReaderMode {
+
+            /**
+             * The extended reader mode parses the code segment of each method in order to detect parameter names
+             * that are only stored in a method's debugging information but are not explicitly included.
+             */
+            EXTENDED(ClassReader.SKIP_FRAMES),
+
+            /**
+             * The fast reader mode skips the code segment of each method and cannot detect parameter names that are
+             * only contained within the debugging information. This mode still detects explicitly included method
+             * parameter names.
+             */
+            FAST(ClassReader.SKIP_CODE),
+
+            /**
+             * The header reader mode only parses a class file's header, its annotations and its declared types when a type is
+             * described. The class file is retained and its fields and methods are only parsed, as by the fast reader mode, once
+             * they are first requested. This mode avoids the extraction of members of types that are never inspected at member
+             * level at the cost of retaining each class file until then.
+             */
+            HEADER(ClassReader.SKIP_CODE);
+
+            /**
+             * The flags to provide to a {@link ClassReader} for parsing a file.
+             */
+            private final int flags;
+
+            /**
+             * Creates a new reader mode constant.
+             *
+             * @param flags The flags to provide to a {@link ClassReader} for parsing a file.
+             */
+            ReaderMode(int flags) {
+                this.flags = flags;
+            }
+
+            /**
+             * Returns the flags to provide to a {@link ClassReader} for parsing a file.
+             *
+             * @return The flags to provide to a {@link ClassReader} for parsing a file.
+             */
+            protected int getFlags() {
+                return flags;
+            }
+
+            /**
+             * Determines if this reader mode represents extended reading.
+             *
+             * @return {@code true} if this reader mode represents extended reading.
+             */
+            public boolean isExtended() {
+                return this == EXTENDED;
+            }
+
+            /**
+             * Determines if this reader mode defers the parsing of a type's fields and methods.
+             *
+             * @return {@code true} if this reader mode defers the parsing of a type's fields and methods.
+             */
+            public boolean isHeaderOnly() {
+                return this == HEADER;
+            }
+        }
+
+        /**
+         * A symbol table that canonicalizes the names and descriptors that a {@link TypePool.Default} extracts from class files such
+         * that equal strings of different class files are represented by a single instance. Canonical strings are also compared by
+         * identity before comparing their characters when type descriptions or their members are compared. Canonicalization adds
+         * a lookup for every extracted string and is therefore only applied if a symbol table is specified explicitly.
+         */
+        public interface SymbolTable {
+
+            /**
+             * Returns a canonical representation of a symbol.
+             *
+             * @param symbol The symbol to canonicalize or {@code null}.
+             * @return The canonical representation of the symbol which is equal to the supplied symbol or {@code null} if the supplied symbol is {@code null}.
+             */
+            String intern(String symbol);
+
+            /**
+             * A non-operational symbol table that returns every symbol as it is.
+             */
+            enum NoOp implements SymbolTable {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public String intern(String symbol) {
+                    return symbol;
+                }
+            }
+
+            /**
+             * A thread-safe symbol table that references its canonical symbols weakly such that a symbol can be reclaimed once it is
+             * no longer referenced by any type description. Reclaimed entries are removed from the table upon any access.
+             */
+            class Interning extends ReferenceQueue<String> implements SymbolTable {
+
+                /**
+                 * A symbol table that can be shared by all type pools of an application.
+                 */
+                public static final SymbolTable SHARED = new Interning();
+
+                /**
+                 * A map containing all canonical symbols.
+                 */
+                private final ConcurrentMap<Object, StorageKey> symbols;
+
+                /**
+                 * Creates a new interning symbol table.
+                 */
+                public Interning() {
+                    symbols = new ConcurrentHashMap<Object, StorageKey>();
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public String intern(String symbol) {
+                    if (symbol == null) {
+                        return null;
+                    }
+                    try {
+                        StorageKey storageKey = symbols.get(new LookupKey(symbol));
+                        String interned = storageKey == null
+                                ? null
+                                : storageKey.get();
+                        if (interned == null) {
+                            storageKey = new StorageKey(symbol, this);
+                            StorageKey previous = symbols.putIfAbsent(storageKey, storageKey);
+                            interned = previous == null
+                                    ? null
+                                    : previous.get();
+                        }
+                        return interned == null
+                                ? symbol
+                                : interned;
+                    } finally {
+                        expungeStaleEntries();
+                    }
+                }
+
+                /**
+                 * Removes the entries of all symbols that were reclaimed by the garbage collector.
+                 */
+                public void expungeStaleEntries() {
+                    Reference<? extends String> reference;
+                    while ((reference = poll()) != null) {
+                        symbols.remove(reference);
+                    }
+                }
+
+                /**
+                 * Returns the amount of entries of this symbol table which might include entries of symbols that were already reclaimed.
+                 *
+                 * @return The amount of entries of this symbol table.
+                 */
+                public int getSize() {
+                    return symbols.size();
+                }
+
+                /**
+                 * A key for looking up a canonical symbol.
+                 */
+                protected static class LookupKey {
+
+                    /**
+                     * The symbol to look up.
+                     */
+                    private final String symbol;
+
+                    /**
+                     * Creates a new lookup key.
+                     *
+                     * @param symbol The symbol to look up.
+                     */
+                    protected LookupKey(String symbol) {
+                        this.symbol = symbol;
+                    }
+
+                    @Override
+                    public int hashCode() {
+                        return symbol.hashCode();
+                    }
+
+                    @Override
+                    @SuppressFBWarnings(value = "EQ_CHECK_FOR_OPERAND_NOT_COMPATIBLE_WITH_THIS", justification = "Cross-comparison is intended")
+                    public boolean equals(Object other) {
+                        if (this == other) {
+                            return true;
+                        } else if (other instanceof LookupKey) {
+                            return symbol.equals(((LookupKey) other).symbol);
+                        } else if (other instanceof StorageKey) {
+                            StorageKey storageKey = (StorageKey) other;
+                            return symbol.hashCode() == storageKey.hashCode && symbol.equals(storageKey.get());
+                        } else {
+                            return false;
+                        }
+                    }
+                }
+
+                /**
+                 * A key for storing a canonical symbol that references the symbol weakly.
+                 */
+                protected static class StorageKey extends WeakReference<String> {
+
+                    /**
+                     * The hash code of the referenced symbol.
+                     */
+                    private final int hashCode;
+
+                    /**
+                     * Creates a new storage key.
+                     *
+                     * @param symbol         The referenced symbol.
+                     * @param referenceQueue The reference queue to notify upon a garbage collection.
+                     */
+                    protected StorageKey(String symbol, ReferenceQueue<? super String> referenceQueue) {
+                        super(symbol, referenceQueue);
+                        hashCode = symbol.hashCode();
+                    }
+
+                    @Override
+                    public int hashCode() {
+                        return hashCode;
+                    }
+
+                    @Override
+                    @SuppressFBWarnings(value = "EQ_CHECK_FOR_OPERAND_NOT_COMPATIBLE_WITH_THIS", justification = "Cross-comparison is intended")
+                    public boolean equals(Object other) {
+                        if (this == other) {
+                            return true;
+                        } else if (other instanceof LookupKey) {
+                            LookupKey lookupKey = (LookupKey) other;
+                            return hashCode == lookupKey.symbol.hashCode() && lookupKey.symbol.equals(get());
+                        } else if (other instanceof StorageKey) {
+                            StorageKey storageKey = (StorageKey) other;
+                            String symbol = get();
+                            return hashCode == storageKey.hashCode && symbol != null && symbol.equals(storageKey.get());
+                        } else {
+                            return false;
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * <p>
+         * A variant of {@link TypePool.Default} that resolves type descriptions lazily. A lazy resolution respects this type
+         * pool's {@link CacheProvider} but requeries this cache pool for every access of a property of a {@link TypeDescription}.
+         * </p>
+         * <p>
+         * {@link Resolution}s of this type pool are only fully resolved if a property that is not the type's name is required.
+         * </p>
+         */
+        public static class WithLazyResolution extends Default {
+
+            /**
+             * Creates a new default type pool with lazy resolution and without a parent pool.
+             *
+             * @param cacheProvider    The cache provider to be used.
+             * @param classFileLocator The class file locator to be used.
+             * @param readerMode       The reader mode to apply by this default type pool.
+             */
+            public WithLazyResolution(CacheProvider cacheProvider, ClassFileLocator classFileLocator, ReaderMode readerMode) {
+                this(cacheProvider, classFileLocator, readerMode, Empty.INSTANCE);
+            }
+
+            /**
+             * Creates a new default type pool with lazy resolution.
+             *
+             * @param cacheProvider    The cache provider to be used.
+             * @param classFileLocator The class file locator to be used.
+             * @param readerMode       The reader mode to apply by this default type pool.
+             * @param parentPool       The parent type pool.
+             */
+            public WithLazyResolution(CacheProvider cacheProvider, ClassFileLocator classFileLocator, ReaderMode readerMode, TypePool parentPool) {
+                super(cacheProvider, classFileLocator, readerMode, parentPool);
+            }
+
+            /**
+             * Creates a default {@link net.bytebuddy.pool.TypePool} with lazy resolution that looks up data by querying the system class
+             * loader. The returned instance is configured to use a fast reading mode and a simple cache.
+             *
+             * @return A type pool that reads its data from the system class loader.
+             */
+            public static TypePool ofSystemLoader() {
+                return of(ClassFileLocator.ForClassLoader.ofSystemLoader());
+            }
+
+            /**
+             * Creates a default {@link net.bytebuddy.pool.TypePool} with lazy resolution that looks up data by querying the platform class
+             * loader. The returned instance is configured to use a fast reading mode and a simple cache. If the current VM is Java 8 or older,
+             * the type pool represents the extension class loader.
+             *
+             * @return A type pool that reads its data from the boot class loader.
+             */
+            public static TypePool ofPlatformLoader() {
+                return of(ClassFileLocator.ForClassLoader.ofPlatformLoader());
+            }
+
+            /**
+             * Creates a default {@link net.bytebuddy.pool.TypePool} with lazy resolution that looks up data by querying the boot class
+             * loader. The returned instance is configured to use a fast reading mode and a simple cache.
+             *
+             * @return A type pool that reads its data from the boot class loader.
+             */
+            public static TypePool ofBootLoader() {
+                return of(ClassFileLocator.ForClassLoader.ofBootLoader());
+            }
+
+            /**
+             * Returns a default {@link TypePool} with lazy resolution for the provided class loader.
+             *
+             * @param classLoader The class loader for which this class pool is representing types.
+             * @return An appropriate type pool.
+             */
+            public static TypePool of(ClassLoader classLoader) {
+                return of(ClassFileLocator.ForClassLoader.of(classLoader));
+            }
+
+            /**
+             * Creates a default {@link net.bytebuddy.pool.TypePool} with lazy resolution that looks up data by querying the supplied class
+             * file locator. The returned instance is configured to use a fast reading mode and a simple cache.
+             *
+             * @param classFileLocator The class file locator to use.
+             * @return A type pool that reads its data from the system class path.
+             */
+            public static TypePool of(ClassFileLocator classFileLocator) {
+                return new WithLazyResolution(new CacheProvider.Simple(), classFileLocator, ReaderMode.FAST);
+            }
+
+            @Override
+            protected Resolution doDescribe(String name) {
+                return new LazyResolution(name);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            protected Resolution doCache(String name, Resolution resolution) {
+                return resolution;
+            }
+
+            /**
+             * Non-lazily resolves a type name.
+             *
+             * @param name The name of the type to resolve.
+             * @return The resolution for the type of this name.
+             */
+            protected Resolution doResolve(String name) {
+                Resolution resolution = cacheProvider.find(name);
+                if (resolution == null) {
+                    resolution = cacheProvider.register(name, WithLazyResolution.super.doDescribe(name));
+                }
+                return resolution;
+            }
+
+            /**
+             * A lazy resolution of a type that the enclosing type pool attempts to resolve.
+             */
+            @HashCodeAndEqualsPlugin.Enhance(includeSyntheticFields = true)
+            protected class LazyResolution implements Resolution {
+
+                /**
+                 * The type's name.
+                 */
+                private final String name;
+
+                /**
+                 * Creates a new lazy resolution.
+                 *
+                 * @param name The type's name.
+                 */
+                protected LazyResolution(String name) {
+                    this.name = name;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public boolean isResolved() {
+                    return doResolve(name).isResolved();
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public TypeDescription resolve() {
+                    return new LazyTypeDescription(name);
+                }
+            }
+
+            /**
+             * A lazy type description that resolves any property that is not the name only when requested.
+             */
+            protected class LazyTypeDescription extends TypeDescription.AbstractBase.OfSimpleType.WithDelegation {
+
+                /**
+                 * The type's name.
+                 */
+                private final String name;
+
+                /**
+                 * Creates a new lazy type description.
+                 *
+                 * @param name The type's name.
+                 */
+                protected LazyTypeDescription(String name) {
+                    this.name = name;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                public String getName() {
+                    return name;
+                }
+
+                @Override
+                @CachedReturnPlugin.Enhance("delegate")
+                protected TypeDescription delegate() {
+                    return doResolve(name).resolve();
+                }
+            }
+        }
+
+        /**
+         * <p>
+         * A variant of {@link TypePool.Default} that consults a {@link PersistentIndex} before parsing a class file. If the index
+         * contains a description of a class file with an identical digest, the type description is restored from the index's tokens
+         * without parsing the class file. Otherwise, the class file is parsed and the resulting description is registered with the
+         * index such that it can be persisted by calling {@link PersistentIndex#persist()}.
+         * </p>
+         * <p>
+         * <b>Note</b>: If a {@link PersistentIndex.MetadataResolver} can resolve the metadata of a class file, for example its location,
+         * size and modification time, an entry with identical metadata is used without locating the class file. Otherwise, the class file
+         * is still located for computing its digest and only its parsing is avoided.
+         * </p>
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        public static class WithPersistentIndex extends Default {
+
+            /**
+             * The persistent index to consult.
+             */
+            private final PersistentIndex persistentIndex;
+
+            /**
+             * The metadata resolver to use for avoiding the location of indexed class files.
+             */
+            private final PersistentIndex.MetadataResolver metadataResolver;
+
+            /**
+             * Creates a new default type pool with a persistent index and without a parent pool.
+             *
+             * @param cacheProvider    The cache provider to be used.
+             * @param classFileLocator The class file locator to be used.
+             * @param readerMode       The reader mode to apply by this default type pool.
+             * @param persistentIndex  The persistent index to consult.
+             */
+            public WithPersistentIndex(CacheProvider cacheProvider, ClassFileLocator classFileLocator, ReaderMode readerMode, PersistentIndex persistentIndex) {
+                this(cacheProvider, classFileLocator, readerMode, Empty.INSTANCE, persistentIndex);
+            }
+
+            /**
+             * Creates a new default type pool with a persistent index.
+             *
+             * @param cacheProvider    The cache provider to be used.
+             * @param classFileLocator The class file locator to be used.
+             * @param readerMode       The reader mode to apply by this default type pool.
+             * @param parentPool       The parent type pool.
+             * @param persistentIndex  The persistent index to consult.
+             */
+            public WithPersistentIndex(CacheProvider cacheProvider,
+                                       ClassFileLocator classFileLocator,
+                                       ReaderMode readerMode,
+                                       TypePool parentPool,
+                                       PersistentIndex persistentIndex) {
+                this(cacheProvider, classFileLocator, readerMode, parentPool, persistentIndex, PersistentIndex.MetadataResolver.NoOp.INSTANCE);
+            }
+
+            /**
+             * Creates a new default type pool with a persistent index.
+             *
+             * @param cacheProvider    The cache provider to be used.
+             * @param classFileLocator The class file locator to be used.
+             * @param readerMode       The reader mode to apply by this default type pool.
+             * @param parentPool       The parent type pool.
+             * @param persistentIndex  The persistent index to consult.
+             * @param metadataResolver The metadata resolver to use for avoiding the location of indexed class files.
+             */
+            public WithPersistentIndex(CacheProvider cacheProvider,
+                                       ClassFileLocator classFileLocator,
+                                       ReaderMode readerMode,
+                                       TypePool parentPool,
+                                       PersistentIndex persistentIndex,
+                                       PersistentIndex.MetadataResolver metadataResolver) {
+                super(cacheProvider, classFileLocator, readerMode, parentPool);
+                this.persistentIndex = persistentIndex;
+                this.metadataResolver = metadataResolver;
+            }
+
+            @Override
+            protected Resolution doParse(String name) {
+                try {
+                    String metadata = metadataResolver.resolve(name);
+                    if (metadata != null) {
+                        metadata = readerMode.name() + ":" + metadata;
+                        TypeDescription typeDescription = persistentIndex.find(this, name, metadata);
+                        if (typeDescription != null) {
+                            return new Resolution.Simple(typeDescription);
+                        }
+                    }
+                    ClassFileLocator.Resolution resolution = classFileLocator.locate(name);
+                    if (!resolution.isResolved()) {
+                        return new Resolution.Illegal(name);
+                    }
+                    byte[] binaryRepresentation = resolution.resolve();
+                    byte[] digest = PersistentIndex.digest(readerMode, binaryRepresentation);
+                    TypeDescription typeDescription = persistentIndex.find(this, name, digest);
+                    if (typeDescription == null) {
+                        typeDescription = parse(binaryRepresentation);
+                        persistentIndex.register(name, metadata, digest, (LazyTypeDescription) typeDescription);
+                    } else if (metadata != null && typeDescription instanceof LazyTypeDescription) {
+                        persistentIndex.register(name, metadata, digest, (LazyTypeDescription) typeDescription);
+                    }
+                    return new Resolution.Simple(typeDescription);
+                } catch (IOException exception) {
+                    throw new IllegalStateException("Error while reading class file", exception);
+                }
+            }
+        }
+
+        /**
+         * <p>
+         * A persistent index of the tokens that a {@link TypePool.Default} extracts from a class file. The index is stored in an
+         * append-only file that is memory-mapped when the index is created. Entries are keyed by a type's name and the digest of its
+         * class file such that an entry is only used if the class file is unchanged. Additionally, an entry can record the metadata
+         * of its class file such that it can be used without computing the digest if the metadata is unchanged. The tokens of an entry
+         * are only read when the entry is requested.
+         * </p>
+         * <p>
+         * Entries that are registered with an index are only written to its file when {@link PersistentIndex#persist()} is invoked.
+         * Until then, a bounded number of registrations is retained in their serialized form. If an existing file is of an incompatible
+         * format or contains an incomplete entry, a new generation of the file is written upon persistence, named by the index file's
+         * name and the generation's number, such as <i>index.1</i>. A file is therefore never truncated or replaced while this or any other
+         * process might still map it. Previous generations are deleted where possible or otherwise when the virtual machine exits.
+         * </p>
+         */
+        public static class PersistentIndex {
+
+            /**
+             * The default maximum number of registrations that are retained until the index is persisted.
+             */
+            public static final int DEFAULT_MAXIMUM_REGISTRATIONS = 4096;
+
+            /**
+             * A value that indicates that a type is not contained in the index.
+             */
+            private static final TypeDescription UNINDEXED = null;
+
+            /**
+             * The magic number that introduces an index file.
+             */
+            private static final int MAGIC = 0xB7DEC0DE;
+
+            /**
+             * The version of the index file format.
+             */
+            private static final int VERSION = 2;
+
+            /**
+             * The digest algorithm that is used for computing the digest of class files.
+             */
+            private static final String DIGEST_ALGORITHM = "SHA-1";
+
+            /**
+             * The charset to use for encoding type names.
+             */
+            private static final String CHARSET = "UTF-8";
+
+            /**
+             * The file of this index.
+             */
+            private final File file;
+
+            /**
+             * The maximum number of registrations that are retained until the index is persisted.
+             */
+            private final int maximumRegistrations;
+
+            /**
+             * A mapping of type names to their persisted entries.
+             */
+            private final ConcurrentMap<String, Entry> entries;
+
+            /**
+             * A mapping of type names to the entries of type descriptions that were registered but not yet persisted.
+             */
+            private final ConcurrentMap<String, Entry> registrations;
+
+            /**
+             * The generation of the index file that currently backs this index.
+             */
+            private int generation;
+
+            /**
+             * The length of the current generation's valid content.
+             */
+            private long length;
+
+            /**
+             * Creates a new persistent index.
+             *
+             * @param file                 The file of this index.
+             * @param maximumRegistrations The maximum number of registrations that are retained until the index is persisted.
+             * @param entries              A mapping of type names to their persisted entries.
+             * @param generation           The generation of the index file that currently backs this index.
+             * @param length               The length of the current generation's valid content.
+             */
+            protected PersistentIndex(File file, int maximumRegistrations, ConcurrentMap<String, Entry> entries, int generation, long length) {
+                this.file = file;
+                this.maximumRegistrations = maximumRegistrations;
+                this.entries = entries;
+                this.generation = generation;
+                this.length = length;
+                registrations = new ConcurrentHashMap<String, Entry>();
+            }
+
+            /**
+             * Creates a persistent index for the given file. If the file does not exist, an empty index is returned that creates the file
+             * upon persistence.
+             *
+             * @param file The file of the index.
+             * @return A persistent index that is backed by the given file.
+             * @throws IOException If the file cannot be read.
+             */
+            public static PersistentIndex of(File file) throws IOException {
+                return of(file, DEFAULT_MAXIMUM_REGISTRATIONS);
+            }
+
+            /**
+             * Creates a persistent index for the given file. If the file does not exist, an empty index is returned that creates the file
+             * upon persistence.
+             *
+             * @param file                 The file of the index.
+             * @param maximumRegistrations The maximum number of registrations that are retained until the index is persisted. Any
+             *                             further registration is discarded.
+             * @return A persistent index that is backed by the given file.
+             * @throws IOException If the file cannot be read.
+             */
+            public static PersistentIndex of(File file, int maximumRegistrations) throws IOException {
+                if (maximumRegistrations < 0) {
+                    throw new IllegalArgumentException("Maximum number of registrations cannot be negative: " + maximumRegistrations);
+                }
+                ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+                int generation = generation(file);
+                return new PersistentIndex(file, maximumRegistrations, entries, generation, read(generation(file, generation), entries));
+            }
+
+            /**
+             * Resolves the latest existing generation of an index file.
+             *
+             * @param file The file of the index.
+             * @return The latest existing generation of the index file or {@code 0} if no generation exists.
+             */
+            private static int generation(File file) {
+                String[] names = file.getAbsoluteFile().getParentFile().list();
+                int generation = 0;
+                if (names != null) {
+                    String prefix = file.getName() + ".";
+                    for (String name : names) {
+                        if (name.length() > prefix.length() && name.startsWith(prefix)) {
+                            try {
+                                generation = Math.max(generation, Integer.parseInt(name.substring(prefix.length())));
+                            } catch (NumberFormatException ignored) {
+                                /* not a generation of the index file */
+                            }
+                        }
+                    }
+                }
+                return generation;
+            }
+
+            /**
+             * Resolves the file of a given generation of an index file.
+             *
+             * @param file       The file of the index.
+             * @param generation The generation to resolve.
+             * @return The file of the given generation.
+             */
+            private static File generation(File file, int generation) {
+                return generation == 0
+                        ? file
+                        : new File(file.getAbsoluteFile().getParentFile(), file.getName() + "." + generation);
+            }
+
+            /**
+             * Reads the entries of an index file by memory-mapping it.
+             *
+             * @param file    The file to read.
+             * @param entries The map to which the read entries are added.
+             * @return The length of the file's valid content or {@code 0} if the file does not exist or is of an incompatible format.
+             * @throws IOException If the file cannot be read.
+             */
+            private static long read(File file, Map<String, Entry> entries) throws IOException {
+                long length = 0;
+                if (file.isFile()) {
+                    RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+                    try {
+                        ByteBuffer buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, randomAccessFile.length());
+                        if (buffer.remaining() >= 8 && buffer.getInt() == MAGIC && buffer.getInt() == VERSION) {
+                            length = buffer.position();
+                            try {
+                                while (buffer.hasRemaining()) {
+                                    byte[] name = new byte[buffer.getInt()];
+                                    buffer.get(name);
+                                    int metadataLength = buffer.getInt();
+                                    byte[] metadata = metadataLength == -1
+                                            ? null
+                                            : new byte[metadataLength];
+                                    if (metadata != null) {
+                                        buffer.get(metadata);
+                                    }
+                                    byte[] digest = new byte[buffer.getInt()];
+                                    buffer.get(digest);
+                                    int size = buffer.getInt();
+                                    if (size < 0 || size > buffer.remaining()) {
+                                        break;
+                                    }
+                                    ByteBuffer record = buffer.slice();
+                                    record.limit(size);
+                                    buffer.position(buffer.position() + size);
+                                    entries.put(new String(name, CHARSET), new Entry(metadata == null
+                                            ? null
+                                            : new String(metadata, CHARSET), digest, record));
+                                    length = buffer.position();
+                                }
+                            } catch (BufferUnderflowException ignored) {
+                                /* trailing entry was not written completely */
+                            } catch (NegativeArraySizeException ignored) {
+                                /* trailing entry was not written completely */
+                            }
+                        }
+                    } finally {
+                        randomAccessFile.close();
+                    }
+                }
+                return length;
+            }
+
+            /**
+             * Computes the digest of a class file for a given reader mode.
+             *
+             * @param readerMode           The reader mode that is used for parsing the class file.
+             * @param binaryRepresentation The class file's binary representation.
+             * @return The digest of the class file.
+             */
+            protected static byte[] digest(ReaderMode readerMode, byte[] binaryRepresentation) {
+                try {
+                    MessageDigest messageDigest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+                    messageDigest.update((byte) readerMode.ordinal());
+                    return messageDigest.digest(binaryRepresentation);
+                } catch (NoSuchAlgorithmException exception) {
+                    throw new IllegalStateException("Cannot compute digest using " + DIGEST_ALGORITHM, exception);
+                }
+            }
+
+            /**
+             * Attempts to restore a type description from this index.
+             *
+             * @param typePool The type pool to which the restored type description is bound.
+             * @param name     The name of the type.
+             * @param digest   The digest of the type's current class file.
+             * @return The restored type description or {@code null} if no entry for a class file with the given digest is indexed.
+             */
+            protected TypeDescription find(TypePool typePool, String name, byte[] digest) {
+                Entry entry = entries.get(name);
+                if (entry == null || !Arrays.equals(entry.digest, digest)) {
+                    return UNINDEXED;
+                }
+                try {
+                    return new TokenReader(typePool, entry.toInputStream()).readType();
+                } catch (IOException ignored) {
+                    entries.remove(name, entry);
+                    return UNINDEXED;
+                }
+            }
+
+            /**
+             * Attempts to restore a type description from this index by the metadata of its class file.
+             *
+             * @param typePool The type pool to which the restored type description is bound.
+             * @param name     The name of the type.
+             * @param metadata The metadata of the type's current class file.
+             * @return The restored type description or {@code null} if no entry for a class file with the given metadata is indexed.
+             */
+            protected TypeDescription find(TypePool typePool, String name, String metadata) {
+                Entry entry = entries.get(name);
+                if (entry == null || !metadata.equals(entry.metadata)) {
+                    return UNINDEXED;
+                }
+                try {
+                    return new TokenReader(typePool, entry.toInputStream()).readType();
+                } catch (IOException ignored) {
+                    entries.remove(name, entry);
+                    return UNINDEXED;
+                }
+            }
+
+            /**
+             * Registers a parsed type description with this index. The type description's tokens are serialized immediately such that
+             * the registration does not retain the type description or its type pool. If the maximum number of registrations is reached,
+             * the registration is discarded.
+             *
+             * @param name            The name of the type.
+             * @param metadata        The metadata of the type's class file or {@code null} if the metadata is unknown.
+             * @param digest          The digest of the type's class file.
+             * @param typeDescription The type description that was parsed from the class file.
+             */
+            protected void register(String name, String metadata, byte[] digest, LazyTypeDescription typeDescription) {
+                if (registrations.size() >= maximumRegistrations && !registrations.containsKey(name)) {
+                    return;
+                }
+                ByteArrayOutputStream record = new ByteArrayOutputStream();
+                try {
+                    new TokenWriter(new DataOutputStream(record)).writeType(typeDescription);
+                } catch (IOException exception) {
+                    throw new IllegalStateException("Cannot serialize tokens of " + name, exception);
+                }
+                registrations.put(name, new Entry(metadata, digest, ByteBuffer.wrap(record.toByteArray())));
+            }
+
+            /**
+             * Appends all registered type descriptions to the file of this index. If another index has written to the file or has written
+             * a newer generation of the file in the meantime, the entries of the latest generation are adopted before appending.
+             *
+             * @throws IOException If the file cannot be written.
+             */
+            public synchronized void persist() throws IOException {
+                if (registrations.isEmpty()) {
+                    return;
+                }
+                Map<String, Entry> persisted = new HashMap<String, Entry>();
+                for (Map.Entry<String, Entry> entry : registrations.entrySet()) {
+                    registrations.remove(entry.getKey(), entry.getValue());
+                    persisted.put(entry.getKey(), entry.getValue());
+                }
+                int latest = generation(file);
+                File current = generation(file, latest);
+                if (latest != generation || current.length() != length) {
+                    Map<String, Entry> entries = new HashMap<String, Entry>();
+                    length = read(current, entries);
+                    generation = latest;
+                    this.entries.putAll(entries);
+                }
+                if (length > 0 && current.length() == length) {
+                    RandomAccessFile randomAccessFile = new RandomAccessFile(current, "rw");
+                    try {
+                        randomAccessFile.seek(length);
+                        randomAccessFile.write(toByteArray(persisted, false));
+                        length = randomAccessFile.length();
+                    } finally {
+                        randomAccessFile.close();
+                    }
+                    entries.putAll(persisted);
+                } else {
+                    Map<String, Entry> entries = new HashMap<String, Entry>(this.entries);
+                    entries.putAll(persisted);
+                    File temporary = File.createTempFile(file.getName(), ".tmp", file.getAbsoluteFile().getParentFile());
+                    try {
+                        OutputStream outputStream = new FileOutputStream(temporary);
+                        try {
+                            outputStream.write(toByteArray(entries, true));
+                        } finally {
+                            outputStream.close();
+                        }
+                        int next = generation;
+                        while (generation(file, next).exists()) {
+                            next++;
+                        }
+                        if (!temporary.renameTo(generation(file, next))) {
+                            throw new IOException("Cannot rename " + temporary + " to " + generation(file, next));
+                        }
+                        generation = next;
+                    } finally {
+                        if (temporary.exists() && !temporary.delete()) {
+                            temporary.deleteOnExit();
+                        }
+                    }
+                    length = generation(file, generation).length();
+                    this.entries.putAll(persisted);
+                    for (int previous = 0; previous < generation; previous++) {
+                        File outdated = generation(file, previous);
+                        if (outdated.exists() && !outdated.delete()) {
+                            outdated.deleteOnExit();
+                        }
+                    }
+                }
+            }
+
+            /**
+             * Serializes the supplied entries.
+             *
+             * @param entries A mapping of type names to the entries to serialize.
+             * @param header  {@code true} if the file header should be written before the entries.
+             * @return The serialized entries.
+             * @throws IOException If an I/O exception occurs.
+             */
+            private static byte[] toByteArray(Map<String, Entry> entries, boolean header) throws IOException {
+                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                DataOutputStream dataOutputStream = new DataOutputStream(outputStream);
+                if (header) {
+                    dataOutputStream.writeInt(MAGIC);
+                    dataOutputStream.writeInt(VERSION);
+                }
+                for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                    byte[] name = entry.getKey().getBytes(CHARSET);
+                    dataOutputStream.writeInt(name.length);
+                    dataOutputStream.write(name);
+                    if (entry.getValue().metadata == null) {
+                        dataOutputStream.writeInt(-1);
+                    } else {
+                        byte[] metadata = entry.getValue().metadata.getBytes(CHARSET);
+                        dataOutputStream.writeInt(metadata.length);
+                        dataOutputStream.write(metadata);
+                    }
+                    dataOutputStream.writeInt(entry.getValue().digest.length);
+                    dataOutputStream.write(entry.getValue().digest);
+                    ByteBuffer buffer = entry.getValue().record.duplicate();
+                    byte[] record = new byte[buffer.remaining()];
+                    buffer.get(record);
+                    dataOutputStream.writeInt(record.length);
+                    dataOutputStream.write(record);
+                }
+                dataOutputStream.flush();
+                return outputStream.toByteArray();
+            }
+
+            /**
+             * Returns the file of this index.
+             *
+             * @return The file of this index.
+             */
+            public File getFile() {
+                return file;
+            }
+
+            /**
+             * Returns the amount of types that are persisted in this index.
+             *
+             * @return The amount of types that are persisted in this index.
+             */
+            public int getSize() {
+                return entries.size();
+            }
+
+            /**
+             * A resolver for the metadata of a class file, for example its location, size and modification time. Metadata must be
+             * resolvable without reading the class file and must change if the class file changes.
+             */
+            public interface MetadataResolver {
+
+                /**
+                 * Resolves the metadata of a type's class file.
+                 *
+                 * @param name The name of the type.
+                 * @return The metadata of the type's class file or {@code null} if the metadata cannot be resolved.
+                 */
+                String resolve(String name);
+
+                /**
+                 * A metadata resolver that does not resolve any metadata such that the digest of a class file is always computed.
+                 */
+                enum NoOp implements MetadataResolver {
+
+                    /**
+                     * The singleton instance.
+                     */
+                    INSTANCE;
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public String resolve(String name) {
+                        return null;
+                    }
+                }
+
+                /**
+                 * A metadata resolver that resolves the location of a class file as a resource of a class loader. Only class files
+                 * that are stored as files or within jar files of the file system are considered where the metadata is composed of
+                 * the file's path, size and modification time and, for jar files, the name of the jar file's entry.
+                 */
+                @HashCodeAndEqualsPlugin.Enhance
+                class ForClassLoader implements MetadataResolver {
+
+                    /**
+                     * The class loader to query for class file resources.
+                     */
+                    private final ClassLoader classLoader;
+
+                    /**
+                     * Creates a new metadata resolver for a class loader.
+                     *
+                     * @param classLoader The class loader to query for class file resources.
+                     */
+                    public ForClassLoader(ClassLoader classLoader) {
+                        this.classLoader = classLoader;
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    public String resolve(String name) {
+                        if (classLoader == null) {
+                            return null;
+                        }
+                        URL url = classLoader.getResource(name.replace('.', '/') + ClassFileLocator.CLASS_FILE_EXTENSION);
+                        if (url == null) {
+                            return null;
+                        } else if (url.getProtocol().equals("file")) {
+                            return toMetadata(url);
+                        } else if (url.getProtocol().equals("jar")) {
+                            try {
+                                JarURLConnection connection = (JarURLConnection) url.openConnection();
+                                String metadata = connection.getJarFileURL().getProtocol().equals("file")
+                                        ? toMetadata(connection.getJarFileURL())
+                                        : null;
+                                return metadata == null
+                                        ? null
+                                        : metadata + "!" + connection.getEntryName();
+                            } catch (IOException ignored) {
+                                return null;
+                            }
+                        } else {
+                            return null;
+                        }
+                    }
+
+                    /**
+                     * Resolves the metadata of a file that is represented by a URL of the file protocol.
+                     *
+                     * @param url The URL of the file.
+                     * @return The metadata of the file or {@code null} if the file does not exist.
+                     */
+                    private static String toMetadata(URL url) {
+                        File file;
+                        try {
+                            file = new File(url.toURI());
+                        } catch (URISyntaxException ignored) {
+                            return null;
+                        } catch (IllegalArgumentException ignored) {
+                            return null;
+                        }
+                        long lastModified = file.lastModified();
+                        return lastModified == 0L
+                                ? null
+                                : file.getPath() + ":" + file.length() + ":" + lastModified;
+                    }
+                }
+            }
+
+            /**
+             * An entry of a persistent index.
+             */
+            protected static class Entry {
+
+                /**
+                 * The metadata of the indexed class file or {@code null} if the metadata is unknown.
+                 */
+                private final String metadata;
+
+                /**
+                 * The digest of the indexed class file.
+                 */
+                private final byte[] digest;
+
+                /**
+                 * A buffer containing the serialized tokens of the indexed type.
+                 */
+                private final ByteBuffer record;
+
+                /**
+                 * Creates a new entry.
+                 *
+                 * @param metadata The metadata of the indexed class file or {@code null} if the metadata is unknown.
+                 * @param digest   The digest of the indexed class file.
+                 * @param record   A buffer containing the serialized tokens of the indexed type.
+                 */
+                protected Entry(String metadata, byte[] digest, ByteBuffer record) {
+                    this.metadata = metadata;
+                    this.digest = digest;
+                    this.record = record;
+                }
+
+                /**
+                 * Returns an input stream for reading the serialized tokens of the indexed type.
+                 *
+                 * @return An input stream for reading the serialized tokens of the indexed type.
+                 */
+                protected DataInputStream toInputStream() {
+                    ByteBuffer record = this.record.duplicate();
+                    byte[] binaryRepresentation = new byte[record.remaining()];
+                    record.get(binaryRepresentation);
+                    return new DataInputStream(new ByteArrayInputStream(binaryRepresentation));
+                }
+            }
+
+            /**
+             * A writer for serializing the tokens of a {@link LazyTypeDescription}.
+             */
+            protected static class TokenWriter {
+
+                /**
+                 * The output stream to write to.
+                 */
+                private final DataOutputStream outputStream;
+
+                /**
+                 * Creates a new token writer.
+                 *
+                 * @param outputStream The output stream to write to.
+                 */
+                protected TokenWriter(DataOutputStream outputStream) {
+                    this.outputStream = outputStream;
+                }
+
+                /**
+                 * Writes the tokens of a type description.
+                 *
+                 * @param typeDescription The type description to write.
+                 * @throws IOException If an I/O exception occurs.
+                 */
+                protected void writeType(LazyTypeDescription typeDescription) throws IOException {
+                    outputStream.writeInt(typeDescription.actualModifiers);
+                    outputStream.writeInt(typeDescription.modifiers);
+                    outputStream.writeUTF(typeDescription.name);
+                    writeNullable(typeDescription.superClassDescriptor == null
+                            ? null
+                            : Type.getType(typeDescription.superClassDescriptor).getInternalName());
+                    outputStream.writeInt(typeDescription.interfaceTypeDescriptors.size());
+                    for (String interfaceTypeDescriptor : typeDescription.interfaceTypeDescriptors) {
+                        outputStream.writeUTF(Type.getType(interfaceTypeDescriptor).getInternalName());
+                    }
+                    writeNullable(typeDescription.genericSignature);
+                    writeTypeContainment(typeDescription.typeContainment);
+                    writeNullable(typeDescription.declaringTypeName);
+                    writeStrings(typeDescription.declaredTypes);
+                    outputStream.writeBoolean(typeDescription.anonymousType);
+                    writeNullable(typeDescription.nestHost);
+                    writeStrings(typeDescription.nestMembers);
+                    writeIndexedTypeAnnotations(typeDescription.superTypeAnnotationTokens);
+                    writeIndexedTypeAnnotations(typeDescription.typeVariableAnnotationTokens);
+                    writeDoubleIndexedTypeAnnotations(typeDescription.typeVariableBoundsAnnotationTokens);
+                    writeAnnotations(typeDescription.annotationTokens);
+                    typeDescription.extractMembers();
+                    outputStream.writeInt(typeDescription.fieldTokens.size());
+                    for (LazyTypeDescription.FieldToken fieldToken : typeDescription.fieldTokens) {
+                        outputStream.writeUTF(fieldToken.name);
+                        outputStream.writeInt(fieldToken.modifiers);
+                        outputStream.writeUTF(fieldToken.descriptor);
+                        writeNullable(fieldToken.genericSignature);
+                        writeTypeAnnotations(fieldToken.typeAnnotationTokens);
+                        writeAnnotations(fieldToken.annotationTokens);
+                    }
+                    outputStream.writeInt(typeDescription.methodTokens.size());
+                    for (LazyTypeDescription.MethodToken methodToken : typeDescription.methodTokens) {
+                        outputStream.writeUTF(methodToken.name);
+                        outputStream.writeInt(methodToken.modifiers);
+                        outputStream.writeUTF(methodToken.descriptor);
+                        writeNullable(methodToken.genericSignature);
+                        if (methodToken.exceptionName == null) {
+                            outputStream.writeInt(-1);
+                        } else {
+                            outputStream.writeInt(methodToken.exceptionName.length);
+                            for (String exceptionName : methodToken.exceptionName) {
+                                outputStream.writeUTF(exceptionName);
+                            }
+                        }
+                        writeIndexedTypeAnnotations(methodToken.typeVariableAnnotationTokens);
+                        writeDoubleIndexedTypeAnnotations(methodToken.typeVariableBoundAnnotationTokens);
+                        writeTypeAnnotations(methodToken.returnTypeAnnotationTokens);
+                        writeIndexedTypeAnnotations(methodToken.parameterTypeAnnotationTokens);
+                        writeIndexedTypeAnnotations(methodToken.exceptionTypeAnnotationTokens);
+                        writeTypeAnnotations(methodToken.receiverTypeAnnotationTokens);
+                        writeAnnotations(methodToken.annotationTokens);
+                        outputStream.writeInt(methodToken.parameterAnnotationTokens.size());
+                        for (Map.Entry<Integer, List<LazyTypeDescription.AnnotationToken>> entry : methodToken.parameterAnnotationTokens.entrySet()) {
+                            outputStream.writeInt(entry.getKey());
+                            writeAnnotations(entry.getValue());
+                        }
+                        outputStream.writeInt(methodToken.parameterTokens.size());
+                        for (LazyTypeDescription.MethodToken.ParameterToken parameterToken : methodToken.parameterTokens) {
+                            writeNullable(parameterToken.getName());
+                            outputStream.writeBoolean(parameterToken.getModifiers() != null);
+                            if (parameterToken.getModifiers() != null) {
+                                outputStream.writeInt(parameterToken.getModifiers());
+                            }
+                        }
+                        outputStream.writeBoolean(methodToken.defaultValue != null);
+                        if (methodToken.defaultValue != null) {
+                            writeValue(methodToken.defaultValue);
+                        }
+                    }
+                }
+
+                /**
+                 * Writes a string that might be {@code null}.
+                 *
+                 * @param value The string to write or {@code null}.
+                 * @throws IOException If an I/O exception occurs.
+                 */
+                private void writeNullable(String value) throws IOException {
+                    outputStream.writeBoolean(value != null);
+                    if (value != null) {
+                        outputStream.writeUTF(value);
+                    }
+                }
+
+                /**
+                 * Writes a list of strings.
+                 *
+                 * @param values The strings to write.
+                 * @throws IOException If an I/O exception occurs.
+                 */
+                private void writeStrings(List<String> values) throws IOException {
+                    outputStream.writeInt(values.size());
+                    for (String value : values) {
+                        outputStream.writeUTF(value);
+                    }
+                }
+
+                /**
+                 * Writes a type containment.
+                 *
+                 * @param typeContainment The type containment to write.
+                 * @throws IOException If an I/O exception occurs.
+                 */
+                private void writeTypeContainment(LazyTypeDescription.TypeContainment typeContainment) throws IOException {
+                    if (typeContainment instanceof LazyTypeDescription.TypeContainment.WithinType) {
+                        outputStream.writeByte(1);
+                        outputStream.writeUTF(((LazyTypeDescription.TypeContainment.WithinType) typeContainment).name);
+                        outputStream.writeBoolean(((LazyTypeDescription.TypeContainment.WithinType) typeContainment).localType);
+                    } else if (typeContainment instanceof LazyTypeDescription.TypeContainment.WithinMethod) {
+                        outputStream.writeByte(2);
+                        outputStream.writeUTF(((LazyTypeDescription.TypeContainment.WithinMethod) typeContainment).name);
+                        outputStream.writeUTF(((LazyTypeDescription.TypeContainment.WithinMethod) typeContainment).methodName);
+                        outputStream.writeUTF(((LazyTypeDescription.TypeContainment.WithinMethod) typeContainment).methodDescriptor);
+                    } else {
+                        outputStream.writeByte(0);
+                    }
+                }
+
+                /**
+                 * Writes a list of annotation tokens.
+                 *
+                 * @param annotationTokens The annotation tokens to write.
+                 * @throws IOException If an I/O exception occurs.
+                 */
+                private void writeAnnotations(List<LazyTypeDescription.AnnotationToken> annotationTokens) throws IOException {
+                    outputStream.writeInt(annotationTokens.size());
+                    for (LazyTypeDescription.AnnotationToken annotationToken : annotationTokens) {
+                        writeAnnotation(annotationToken);
+                    }
+                }
+
+                /**
+                 * Writes an annotation token.
+                 *
+                 * @param annotationToken The annotation token to write.
+                 * @throws IOException If an I/O exception occurs.
+                 */
+                private void writeAnnotation(LazyTypeDescription.AnnotationToken annotationToken) throws IOException {
+                    outputStream.writeUTF(annotationToken.descriptor);
+                    outputStream.writeInt(annotationToken.values.size());
+                    for (Map.Entry<String, AnnotationValue<?, ?>> entry : annotationToken.values.entrySet()) {
+                        outputStream.writeUTF(entry.getKey());
+                        writeValue(entry.getValue());
+                    }
+                }
+
+                /**
+                 * Writes a mapping of type paths to type annotation tokens.
+                 *
+                 * @param annotationTokens The type annotation tokens to write.
+                 * @throws IOException If an I/O exception occurs.
+                 */
+                private void writeTypeAnnotations(Map<String, List<LazyTypeDescription.AnnotationToken>> annotationTokens) throws IOException {
+                    outputStream.writeInt(annotationTokens.size());
+                    for (Map.Entry<String, List<LazyTypeDescription.AnnotationToken>> entry : annotationTokens.entrySet()) {
+                        outputStream.writeUTF(entry.getKey());
+                        writeAnnotations(entry.getValue());
+                    }
+                }
+
+                /**
+                 * Writes an indexed mapping of type paths to type annotation tokens.
+                 *
+                 * @param annotationTokens The type annotation tokens to write.
+                 * @throws IOException If an I/O exception occurs.
+                 */
+                private void writeIndexedTypeAnnotations(Map<Integer, Map<String, List<LazyTypeDescription.AnnotationToken>>> annotationTokens) throws IOException {
+                    outputStream.writeInt(annotationTokens.size());
+                    for (Map.Entry<Integer, Map<String, List<LazyTypeDescription.AnnotationToken>>> entry : annotationTokens.entrySet()) {
+                        outputStream.writeInt(entry.getKey());
+                        writeTypeAnnotations(entry.getValue());
+                    }
+                }
+
+                /**
+                 * Writes a double-indexed mapping of type paths to type annotation tokens.
+                 *
+                 * @param annotationTokens The type annotation tokens to write.
+                 * @throws IOException If an I/O exception occurs.
+                 */
+                private void writeDoubleIndexedTypeAnnotations(Map<Integer, Map<Integer, Map<String, List<LazyTypeDescription.AnnotationToken>>>> annotationTokens) throws IOException {
+                    outputStream.writeInt(annotationTokens.size());
+                    for (Map.Entry<Integer, Map<Integer, Map<String, List<LazyTypeDescription.AnnotationToken>>>> entry : annotationTokens.entrySet()) {
+                        outputStream.writeInt(entry.getKey());
+                        writeIndexedTypeAnnotations(entry.getValue());
+                    }
+                }
+
+                /**
+                 * Writes an annotation value.
+                 *
+                 * @param annotationValue The annotation value to write.
+                 * @throws IOException If an I/O exception occurs.
+                 */
+                private void writeValue(AnnotationValue<?, ?> annotationValue) throws IOException {
+                    if (annotationValue instanceof RawTypeValue) {
+                        outputStream.writeByte(ValueSort.TYPE);
+                        outputStream.writeUTF(((RawTypeValue) annotationValue).name);
+                    } else if (annotationValue instanceof RawEnumerationValue) {
+                        outputStream.writeByte(ValueSort.ENUMERATION);
+                        outputStream.writeUTF(((RawEnumerationValue) annotationValue).descriptor);
+                        outputStream.writeUTF(((RawEnumerationValue) annotationValue).value);
+                    } else if (annotationValue instanceof RawAnnotationValue) {
+                        outputStream.writeByte(ValueSort.ANNOTATION);
+                        writeAnnotation(((RawAnnotationValue) annotationValue).annotationToken);
+                    } else if (annotationValue instanceof RawDescriptionArray) {
+                        RawDescriptionArray.ComponentTypeReference componentTypeReference = ((RawDescriptionArray) annotationValue).componentTypeReference;
+                        if (componentTypeReference instanceof ComponentTypeLocator.ForArrayType) {
+                            outputStream.writeByte(ValueSort.ARRAY);
+                            outputStream.writeUTF(((ComponentTypeLocator.ForArrayType) componentTypeReference).componentType);
+                        } else if (componentTypeReference instanceof ComponentTypeLocator.ForAnnotationProperty.Bound) {
+                            outputStream.writeByte(ValueSort.ARRAY_OF_PROPERTY);
+                            outputStream.writeUTF(((ComponentTypeLocator.ForAnnotationProperty.Bound) componentTypeReference).getAnnotationName());
+                            outputStream.writeUTF(((ComponentTypeLocator.ForAnnotationProperty.Bound) componentTypeReference).name);
+                        } else {
+                            throw new IllegalStateException("Cannot persist component type reference: " + componentTypeReference);
+                        }
+                        outputStream.writeInt(((RawDescriptionArray) annotationValue).values.size());
+                        for (AnnotationValue<?, ?> value : ((RawDescriptionArray) annotationValue).values) {
+                            writeValue(value);
+                        }
+                    } else if (annotationValue instanceof AnnotationValue.ForConstant) {
+                        writeConstant(annotationValue.resolve());
+                    } else {
+                        throw new IllegalStateException("Cannot persist annotation value: " + annotationValue);
+                    }
+                }
+
+                /**
+                 * Writes a constant annotation value.
+                 *
+                 * @param value The constant value to write.
+                 * @throws IOException If an I/O exception occurs.
+                 */
+                private void writeConstant(Object value) throws IOException {
+                    if (value instanceof Boolean) {
+                        outputStream.writeByte(ValueSort.BOOLEAN);
+                        outputStream.writeBoolean((Boolean) value);
+                    } else if (value instanceof Byte) {
+                        outputStream.writeByte(ValueSort.BYTE);
+                        outputStream.writeByte((Byte) value);
+                    } else if (value instanceof Short) {
+                        outputStream.writeByte(ValueSort.SHORT);
+                        outputStream.writeShort((Short) value);
+                    } else if (value instanceof Character) {
+                        outputStream.writeByte(ValueSort.CHARACTER);
+                        outputStream.writeChar((Character) value);
+                    } else if (value instanceof Integer) {
+                        outputStream.writeByte(ValueSort.INTEGER);
+                        outputStream.writeInt((Integer) value);
+                    } else if (value instanceof Long) {
+                        outputStream.writeByte(ValueSort.LONG);
+                        outputStream.writeLong((Long) value);
+                    } else if (value instanceof Float) {
+                        outputStream.writeByte(ValueSort.FLOAT);
+                        outputStream.writeFloat((Float) value);
+                    } else if (value instanceof Double) {
+                        outputStream.writeByte(ValueSort.DOUBLE);
+                        outputStream.writeDouble((Double) value);
+                    } else if (value instanceof String) {
+                        outputStream.writeByte(ValueSort.STRING);
+                        outputStream.writeUTF((String) value);
+                    } else if (value instanceof boolean[]) {
+                        outputStream.writeByte(ValueSort.BOOLEAN_ARRAY);
+                        outputStream.writeInt(((boolean[]) value).length);
+                        for (boolean element : (boolean[]) value) {
+                            outputStream.writeBoolean(element);
+                        }
+                    } else if (value instanceof byte[]) {
+                        outputStream.writeByte(ValueSort.BYTE_ARRAY);
+                        outputStream.writeInt(((byte[]) value).length);
+                        outputStream.write((byte[]) value);
+                    } else if (value instanceof short[]) {
+                        outputStream.writeByte(ValueSort.SHORT_ARRAY);
+                        outputStream.writeInt(((short[]) value).length);
+                        for (short element : (short[]) value) {
+                            outputStream.writeShort(element);
+                        }
+                    } else if (value instanceof char[]) {
+                        outputStream.writeByte(ValueSort.CHARACTER_ARRAY);
+                        outputStream.writeInt(((char[]) value).length);
+                        for (char element : (char[]) value) {
+                            outputStream.writeChar(element);
+                        }
+                    } else if (value instanceof int[]) {
+                        outputStream.writeByte(ValueSort.INTEGER_ARRAY);
+                        outputStream.writeInt(((int[]) value).length);
+                        for (int element : (int[]) value) {
+                            outputStream.writeInt(element);
+                        }
+                    } else if (value instanceof long[]) {
+                        outputStream.writeByte(ValueSort.LONG_ARRAY);
+                        outputStream.writeInt(((long[]) value).length);
+                        for (long element : (long[]) value) {
+                            outputStream.writeLong(element);
+                        }
+                    } else if (value instanceof float[]) {
+                        outputStream.writeByte(ValueSort.FLOAT_ARRAY);
+                        outputStream.writeInt(((float[]) value).length);
+                        for (float element : (float[]) value) {
+                            outputStream.writeFloat(element);
+                        }
+                    } else if (value instanceof double[]) {
+                        outputStream.writeByte(ValueSort.DOUBLE_ARRAY);
+                        outputStream.writeInt(((double[]) value).length);
+                        for (double element : (double[]) value) {
+                            outputStream.writeDouble(element);
+                        }
+                    } else if (value instanceof String[]) {
+                        outputStream.writeByte(ValueSort.STRING_ARRAY);
+                        outputStream.writeInt(((String[]) value).length);
+                        for (String element : (String[]) value) {
+                            outputStream.writeUTF(element);
+                        }
+                    } else {
+                        throw new IllegalStateException("Cannot persist constant annotation value: " + value);
+                    }
+                }
+            }
+
+            /**
+             * A reader for restoring a {@link LazyTypeDescription} from its serialized tokens.
+             */
+            protected static class TokenReader {
+
+                /**
+                 * The type pool to which restored type descriptions are bound.
+                 */
+                private final TypePool typePool;
+
+                /**
+                 * The input stream to read from.
+                 */
+                private final DataInputStream inputStream;
+
+                /**
+                 * Creates a new token reader.
+                 *
+                 * @param typePool    The type pool to which restored type descriptions are bound.
+                 * @param inputStream The input stream to read from.
+                 */
+                protected TokenReader(TypePool typePool, DataInputStream inputStream) {
+                    this.typePool = typePool;
+                    this.inputStream = inputStream;
+                }
+
+                /**
+                 * Reads the tokens of a type description.
+                 *
+                 * @return The restored type description.
+                 * @throws IOException If an I/O exception occurs.
+                 */
+                protected TypeDescription readType() throws IOException {
+                    int actualModifiers = inputStream.readInt(), modifiers = inputStream.readInt();
+                    String name = inputStream.readUTF(), superClassInternalName = readNullable();
+                    String[] interfaceInternalName = new String[inputStream.readInt()];
+                    for (int index = 0; index < interfaceInternalName.length; index++) {
+                        interfaceInternalName[index] = inputStream.readUTF();
+                    }
+                    String genericSignature = readNullable();
+                    LazyTypeDescription.TypeContainment typeContainment = readTypeContainment();
+                    String declaringTypeName = readNullable();
+                    List<String> declaredTypes = readStrings();
+                    boolean anonymousType = inputStream.readBoolean();
+                    String nestHost = readNullable();
+                    List<String> nestMembers = readStrings();
+                    Map<Integer, Map<String, List<LazyTypeDescription.AnnotationToken>>> superTypeAnnotationTokens = readIndexedTypeAnnotations();
+                    Map<Integer, Map<String, List<LazyTypeDescription.AnnotationToken>>> typeVariableAnnotationTokens = readIndexedTypeAnnotations();
+                    Map<Integer, Map<Integer, Map<String, List<LazyTypeDescription.AnnotationToken>>>> typeVariableBoundsAnnotationTokens = readDoubleIndexedTypeAnnotations();
+                    List<LazyTypeDescription.AnnotationToken> annotationTokens = readAnnotations();
+                    int fieldCount = inputStream.readInt();
+                    List<LazyTypeDescription.FieldToken> fieldTokens = new ArrayList<LazyTypeDescription.FieldToken>(fieldCount);
+                    for (int index = 0; index < fieldCount; index++) {
+                        fieldTokens.add(new LazyTypeDescription.FieldToken(inputStream.readUTF(),
+                                inputStream.readInt(),
+                                inputStream.readUTF(),
+                                readNullable(),
+                                readTypeAnnotations(),
+                                readAnnotations()));
+                    }
+                    int methodCount = inputStream.readInt();
+                    List<LazyTypeDescription.MethodToken> methodTokens = new ArrayList<LazyTypeDescription.MethodToken>(methodCount);
+                    for (int index = 0; index < methodCount; index++) {
+                        String methodName = inputStream.readUTF();
+                        int methodModifiers = inputStream.readInt();
+                        String descriptor = inputStream.readUTF(), methodGenericSignature = readNullable();
+                        int exceptionCount = inputStream.readInt();
+                        String[] exceptionName = exceptionCount == -1
+                                ? null
+                                : new String[exceptionCount];
+                        for (int exceptionIndex = 0; exceptionIndex < exceptionCount; exceptionIndex++) {
+                            exceptionName[exceptionIndex] = inputStream.readUTF();
+                        }
+                        Map<Integer, Map<String, List<LazyTypeDescription.AnnotationToken>>> methodTypeVariableAnnotationTokens = readIndexedTypeAnnotations();
+                        Map<Integer, Map<Integer, Map<String, List<LazyTypeDescription.AnnotationToken>>>> typeVariableBoundAnnotationTokens = readDoubleIndexedTypeAnnotations();
+                        Map<String, List<LazyTypeDescription.AnnotationToken>> returnTypeAnnotationTokens = readTypeAnnotations();
+                        Map<Integer, Map<String, List<LazyTypeDescription.AnnotationToken>>> parameterTypeAnnotationTokens = readIndexedTypeAnnotations();
+                        Map<Integer, Map<String, List<LazyTypeDescription.AnnotationToken>>> exceptionTypeAnnotationTokens = readIndexedTypeAnnotations();
+                        Map<String, List<LazyTypeDescription.AnnotationToken>> receiverTypeAnnotationTokens = readTypeAnnotations();
+                        List<LazyTypeDescription.AnnotationToken> methodAnnotationTokens = readAnnotations();
+                        int parameterAnnotationCount = inputStream.readInt();
+                        Map<Integer, List<LazyTypeDescription.AnnotationToken>> parameterAnnotationTokens = new HashMap<Integer, List<LazyTypeDescription.AnnotationToken>>();
+                        for (int parameterIndex = 0; parameterIndex < parameterAnnotationCount; parameterIndex++) {
+                            parameterAnnotationTokens.put(inputStream.readInt(), readAnnotations());
+                        }
+                        int parameterCount = inputStream.readInt();
+                        List<LazyTypeDescription.MethodToken.ParameterToken> parameterTokens = new ArrayList<LazyTypeDescription.MethodToken.ParameterToken>(parameterCount);
+                        for (int parameterIndex = 0; parameterIndex < parameterCount; parameterIndex++) {
+                            parameterTokens.add(new LazyTypeDescription.MethodToken.ParameterToken(readNullable(), inputStream.readBoolean()
+                                    ? Integer.valueOf(inputStream.readInt())
+                                    : LazyTypeDescription.MethodToken.ParameterToken.NO_MODIFIERS));
+                        }
+                        methodTokens.add(new LazyTypeDescription.MethodToken(methodName,
+                                methodModifiers,
+                                descriptor,
+                                methodGenericSignature,
+                                exceptionName,
+                                methodTypeVariableAnnotationTokens,
+                                typeVariableBoundAnnotationTokens,
+                                returnTypeAnnotationTokens,
+                                parameterTypeAnnotationTokens,
+                                exceptionTypeAnnotationTokens,
+                                receiverTypeAnnotationTokens,
+                                methodAnnotationTokens,
+                                parameterAnnotationTokens,
+                                parameterTokens,
+                                inputStream.readBoolean()
+                                        ? readValue()
+                                        : null));
+                    }
+                    return new LazyTypeDescription(typePool,
+                            SymbolTable.NoOp.INSTANCE,
+                            actualModifiers,
+                            modifiers,
+                            name,
+                            superClassInternalName,
+                            interfaceInternalName,
+                            genericSignature,
+                            typeContainment,
+                            declaringTypeName,
+                            declaredTypes,
+                            anonymousType,
+                            nestHost,
+                            nestMembers,
+                            superTypeAnnotationTokens,
+                            typeVariableAnnotationTokens,
+                            typeVariableBoundsAnnotationTokens,
+                            annotationTokens,
+                            fieldTokens,
+                            methodTokens,
+                            null);
+                }
 
                 /**
-                 * Lazily returns the binary name of the array component type of an annotation value.
+                 * Reads a string that might be {@code null}.
                  *
-                 * @return The binary name of the component type.
+                 * @return The string that was read or {@code null}.
+                 * @throws IOException If an I/O exception occurs.
                  */
-                String lookup();
-            }
-
-            /**
-             * Represents a loaded annotation property representing a complex array.
-             */
-            protected static class Loaded extends AnnotationValue.Loaded.AbstractBase<Object[]> {
+                private String readNullable() throws IOException {
+                    return inputStream.readBoolean()
+                            ? inputStream.readUTF()
+                            : null;
+                }
 
                 /**
-                 * The array's loaded component type.
+                 * Reads a list of strings.
+                 *
+                 * @return The strings that were read.
+                 * @throws IOException If an I/O exception occurs.
                  */
-                private final Class<?> componentType;
+                private List<String> readStrings() throws IOException {
+                    int size = inputStream.readInt();
+                    List<String> values = new ArrayList<String>(size);
+                    for (int index = 0; index < size; index++) {
+                        values.add(inputStream.readUTF());
+                    }
+                    return values;
+                }
 
                 /**
-                 * A list of loaded values of the represented complex array.
-                 */
-                private final List<AnnotationValue.Loaded<?>> values;
+                 * Reads a type containment.
+                 *
+                 * @return The type containment that was read.
+                 * @throws IOException If an I/O exception occurs.
+                 */
+                private LazyTypeDescription.TypeContainment readTypeContainment() throws IOException {
+                    switch (inputStream.readByte()) {
+                        case 0:
+                            return LazyTypeDescription.TypeContainment.SelfContained.INSTANCE;
+                        case 1:
+                            return new LazyTypeDescription.TypeContainment.WithinType(inputStream.readUTF(), inputStream.readBoolean());
+                        case 2:
+                            return new LazyTypeDescription.TypeContainment.WithinMethod(inputStream.readUTF(), inputStream.readUTF(), inputStream.readUTF());
+                        default:
+                            throw new IOException("Unexpected type containment in index");
+                    }
+                }
 
                 /**
-                 * Creates a new representation of an annotation property representing an array of
-                 * non-trivial values.
+                 * Reads a list of annotation tokens.
                  *
-                 * @param componentType The array's loaded component type.
-                 * @param values        A list of loaded values of the represented complex array.
+                 * @return The annotation tokens that were read.
+                 * @throws IOException If an I/O exception occurs.
                  */
-                public Loaded(Class<?> componentType, List<AnnotationValue.Loaded<?>> values) {
-                    this.componentType = componentType;
-                    this.values = values;
+                private List<LazyTypeDescription.AnnotationToken> readAnnotations() throws IOException {
+                    int size = inputStream.readInt();
+                    List<LazyTypeDescription.AnnotationToken> annotationTokens = new ArrayList<LazyTypeDescription.AnnotationToken>(size);
+                    for (int index = 0; index < size; index++) {
+                        annotationTokens.add(readAnnotation());
+                    }
+                    return annotationTokens;
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * Reads an annotation token.
+                 *
+                 * @return The annotation token that was read.
+                 * @throws IOException If an I/O exception occurs.
                  */
-                public State getState() {
-                    for (AnnotationValue.Loaded<?> value : values) {
-                        if (!value.getState().isResolved()) {
-                            return State.UNRESOLVED;
-                        }
+                private LazyTypeDescription.AnnotationToken readAnnotation() throws IOException {
+                    String descriptor = inputStream.readUTF();
+                    int size = inputStream.readInt();
+                    Map<String, AnnotationValue<?, ?>> values = new HashMap<String, AnnotationValue<?, ?>>();
+                    for (int index = 0; index < size; index++) {
+                        values.put(inputStream.readUTF(), readValue());
                     }
-                    return State.RESOLVED;
+                    return new LazyTypeDescription.AnnotationToken(descriptor, values);
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * Reads a mapping of type paths to type annotation tokens.
+                 *
+                 * @return The type annotation tokens that were read.
+                 * @throws IOException If an I/O exception occurs.
                  */
-                public Object[] resolve() {
-                    Object[] array = (Object[]) Array.newInstance(componentType, values.size());
-                    int index = 0;
-                    for (AnnotationValue.Loaded<?> annotationValue : values) {
-                        Array.set(array, index++, annotationValue.resolve());
+                private Map<String, List<LazyTypeDescription.AnnotationToken>> readTypeAnnotations() throws IOException {
+                    int size = inputStream.readInt();
+                    Map<String, List<LazyTypeDescription.AnnotationToken>> annotationTokens = new HashMap<String, List<LazyTypeDescription.AnnotationToken>>();
+                    for (int index = 0; index < size; index++) {
+                        annotationTokens.put(inputStream.readUTF(), readAnnotations());
                     }
-                    return array;
+                    return annotationTokens;
                 }
 
                 /**
-                 * {@inheritDoc}
+                 * Reads an indexed mapping of type paths to type annotation tokens.
+                 *
+                 * @return The type annotation tokens that were read.
+                 * @throws IOException If an I/O exception occurs.
                  */
-                public boolean represents(Object value) {
-                    if (!(value instanceof Object[])) return false;
-                    if (value.getClass().getComponentType() != componentType) return false;
-                    Object[] array = (Object[]) value;
-                    if (values.size() != array.length) return false;
-                    Iterator<AnnotationValue.Loaded<?>> iterator = values.iterator();
-                    for (Object aValue : array) {
-                        AnnotationValue.Loaded<?> self = iterator.next();
-                        if (!self.getState().isResolved() || !self.represents(aValue)) {
-                            return false;
-                        }
+                private Map<Integer, Map<String, List<LazyTypeDescription.AnnotationToken>>> readIndexedTypeAnnotations() throws IOException {
+                    int size = inputStream.readInt();
+                    Map<Integer, Map<String, List<LazyTypeDescription.AnnotationToken>>> annotationTokens = new HashMap<Integer, Map<String, List<LazyTypeDescription.AnnotationToken>>>();
+                    for (int index = 0; index < size; index++) {
+                        annotationTokens.put(inputStream.readInt(), readTypeAnnotations());
                     }
-                    return true;
+                    return annotationTokens;
                 }
 
-                @Override
-                public int hashCode() {
-                    int result = 1;
-                    for (AnnotationValue.Loaded<?> value : values) {
-                        result = 31 * result + value.hashCode();
+                /**
+                 * Reads a double-indexed mapping of type paths to type annotation tokens.
+                 *
+                 * @return The type annotation tokens that were read.
+                 * @throws IOException If an I/O exception occurs.
+                 */
+                private Map<Integer, Map<Integer, Map<String, List<LazyTypeDescription.AnnotationToken>>>> readDoubleIndexedTypeAnnotations() throws IOException {
+                    int size = inputStream.readInt();
+                    Map<Integer, Map<Integer, Map<String, List<LazyTypeDescription.AnnotationToken>>>> annotationTokens
+                            = new HashMap<Integer, Map<Integer, Map<String, List<LazyTypeDescription.AnnotationToken>>>>();
+                    for (int index = 0; index < size; index++) {
+                        annotationTokens.put(inputStream.readInt(), readIndexedTypeAnnotations());
                     }
-                    return result;
+                    return annotationTokens;
                 }
 
-                @Override
-                public boolean equals(Object other) {
-                    if (this == other) {
-                        return true;
-                    } else if (!(other instanceof AnnotationValue.Loaded<?>)) {
-                        return false;
-                    }
-                    AnnotationValue.Loaded<?> annotationValue = (AnnotationValue.Loaded<?>) other;
-                    if (!annotationValue.getState().isResolved()) {
-                        return false;
-                    }
-                    Object value = annotationValue.resolve();
-                    if (!(value instanceof Object[])) {
-                        return false;
-                    }
-                    Object[] arrayValue = (Object[]) value;
-                    if (values.size() != arrayValue.length) {
-                        return false;
-                    }
-                    Iterator<AnnotationValue.Loaded<?>> iterator = values.iterator();
-                    for (Object aValue : arrayValue) {
-                        AnnotationValue.Loaded<?> self = iterator.next();
-                        if (!self.resolve().equals(aValue)) {
-                            return false;
-                        }
+                /**
+                 * Reads an annotation value.
+                 *
+                 * @return The annotation value that was read.
+                 * @throws IOException If an I/O exception occurs.
+                 */
+                private AnnotationValue<?, ?> readValue() throws IOException {
+                    byte sort = inputStream.readByte();
+                    switch (sort) {
+                        case ValueSort.TYPE:
+                            return new RawTypeValue(typePool, inputStream.readUTF());
+                        case ValueSort.ENUMERATION:
+                            return new RawEnumerationValue(typePool, inputStream.readUTF(), inputStream.readUTF());
+                        case ValueSort.ANNOTATION:
+                            return new RawAnnotationValue(typePool, readAnnotation());
+                        case ValueSort.ARRAY:
+                        case ValueSort.ARRAY_OF_PROPERTY:
+                            RawDescriptionArray.ComponentTypeReference componentTypeReference = sort == ValueSort.ARRAY
+                                    ? new ComponentTypeLocator.ForArrayType("()[" + Type.getObjectType(inputStream.readUTF().replace('.', '/')).getDescriptor())
+                                    : new ComponentTypeLocator.ForAnnotationProperty(typePool, Type.getObjectType(inputStream.readUTF().replace('.', '/')).getDescriptor()).bind(inputStream.readUTF());
+                            int size = inputStream.readInt();
+                            List<AnnotationValue<?, ?>> values = new ArrayList<AnnotationValue<?, ?>>(size);
+                            for (int index = 0; index < size; index++) {
+                                values.add(readValue());
+                            }
+                            return new RawDescriptionArray(typePool, componentTypeReference, values);
+                        default:
+                            return AnnotationValue.ForConstant.of(readConstant(sort));
                     }
-                    return true;
                 }
 
-                @Override
-                public String toString() {
-                    return RenderingDispatcher.CURRENT.toSourceString(values);
+                /**
+                 * Reads a constant annotation value.
+                 *
+                 * @param sort The sort of the constant.
+                 * @return The constant value that was read.
+                 * @throws IOException If an I/O exception occurs.
+                 */
+                private Object readConstant(byte sort) throws IOException {
+                    switch (sort) {
+                        case ValueSort.BOOLEAN:
+                            return inputStream.readBoolean();
+                        case ValueSort.BYTE:
+                            return inputStream.readByte();
+                        case ValueSort.SHORT:
+                            return inputStream.readShort();
+                        case ValueSort.CHARACTER:
+                            return inputStream.readChar();
+                        case ValueSort.INTEGER:
+                            return inputStream.readInt();
+                        case ValueSort.LONG:
+                            return inputStream.readLong();
+                        case ValueSort.FLOAT:
+                            return inputStream.readFloat();
+                        case ValueSort.DOUBLE:
+                            return inputStream.readDouble();
+                        case ValueSort.STRING:
+                            return inputStream.readUTF();
+                        case ValueSort.BOOLEAN_ARRAY: {
+                            boolean[] value = new boolean[inputStream.readInt()];
+                            for (int index = 0; index < value.length; index++) {
+                                value[index] = inputStream.readBoolean();
+                            }
+                            return value;
+                        }
+                        case ValueSort.BYTE_ARRAY: {
+                            byte[] value = new byte[inputStream.readInt()];
+                            inputStream.readFully(value);
+                            return value;
+                        }
+                        case ValueSort.SHORT_ARRAY: {
+                            short[] value = new short[inputStream.readInt()];
+                            for (int index = 0; index < value.length; index++) {
+                                value[index] = inputStream.readShort();
+                            }
+                            return value;
+                        }
+                        case ValueSort.CHARACTER_ARRAY: {
+                            char[] value = new char[inputStream.readInt()];
+                            for (int index = 0; index < value.length; index++) {
+                                value[index] = inputStream.readChar();
+                            }
+                            return value;
+                        }
+                        case ValueSort.INTEGER_ARRAY: {
+                            int[] value = new int[inputStream.readInt()];
+                            for (int index = 0; index < value.length; index++) {
+                                value[index] = inputStream.readInt();
+                            }
+                            return value;
+                        }
+                        case ValueSort.LONG_ARRAY: {
+                            long[] value = new long[inputStream.readInt()];
+                            for (int index = 0; index < value.length; index++) {
+                                value[index] = inputStream.readLong();
+                            }
+                            return value;
+                        }
+                        case ValueSort.FLOAT_ARRAY: {
+                            float[] value = new float[inputStream.readInt()];
+                            for (int index = 0; index < value.length; index++) {
+                                value[index] = inputStream.readFloat();
+                            }
+                            return value;
+                        }
+                        case ValueSort.DOUBLE_ARRAY: {
+                            double[] value = new double[inputStream.readInt()];
+                            for (int index = 0; index < value.length; index++) {
+                                value[index] = inputStream.readDouble();
+                            }
+                            return value;
+                        }
+                        case ValueSort.STRING_ARRAY: {
+                            String[] value = new String[inputStream.readInt()];
+                            for (int index = 0; index < value.length; index++) {
+                                value[index] = inputStream.readUTF();
+                            }
+                            return value;
+                        }
+                        default:
+                            throw new IOException("Unexpected annotation value in index: " + sort);
+                    }
                 }
             }
-        }
-    }
 
-    /**
-     * <p>
-     * A default implementation of a {@link net.bytebuddy.pool.TypePool} that models binary data in the Java byte code format
-     * into a {@link TypeDescription}. The data lookup is delegated to a {@link net.bytebuddy.dynamic.ClassFileLocator}.
-     * </p>
-     * <p>
-     * {@link Resolution}s that are produced by this type pool are either fully resolved or not resolved at all.
-     * </p>
-     */
-    @HashCodeAndEqualsPlugin.Enhance
-    class Default extends AbstractBase.Hierarchical {
+            /**
+             * Constants that identify the sort of a serialized annotation value.
+             */
+            protected static class ValueSort {
 
-        /**
-         * Indicates that a visited method should be ignored.
-         */
-        private static final MethodVisitor IGNORE_METHOD = null;
+                /**
+                 * A type value.
+                 */
+                protected static final byte TYPE = 0;
 
-        /**
-         * The locator to query for finding binary data of a type.
-         */
-        protected final ClassFileLocator classFileLocator;
+                /**
+                 * An enumeration value.
+                 */
+                protected static final byte ENUMERATION = 1;
 
-        /**
-         * The reader mode to apply by this default type pool.
-         */
-        protected final ReaderMode readerMode;
+                /**
+                 * A nested annotation value.
+                 */
+                protected static final byte ANNOTATION = 2;
 
-        /**
-         * Creates a new default type pool without a parent pool.
-         *
-         * @param cacheProvider    The cache provider to be used.
-         * @param classFileLocator The class file locator to be used.
-         * @param readerMode       The reader mode to apply by this default type pool.
-         */
-        public Default(CacheProvider cacheProvider, ClassFileLocator classFileLocator, ReaderMode readerMode) {
-            this(cacheProvider, classFileLocator, readerMode, Empty.INSTANCE);
-        }
+                /**
+                 * An array of a component type that is known from a method descriptor.
+                 */
+                protected static final byte ARRAY = 3;
 
-        /**
-         * Creates a new default type pool.
-         *
-         * @param cacheProvider    The cache provider to be used.
-         * @param classFileLocator The class file locator to be used.
-         * @param readerMode       The reader mode to apply by this default type pool.
-         * @param parentPool       The parent type pool.
-         */
-        public Default(CacheProvider cacheProvider, ClassFileLocator classFileLocator, ReaderMode readerMode, TypePool parentPool) {
-            super(cacheProvider, parentPool);
-            this.classFileLocator = classFileLocator;
-            this.readerMode = readerMode;
-        }
+                /**
+                 * An array of a component type that is determined by an annotation property.
+                 */
+                protected static final byte ARRAY_OF_PROPERTY = 4;
 
-        /**
-         * Creates a default {@link net.bytebuddy.pool.TypePool} that looks up data by querying the system class
-         * loader. The returned instance is configured to use a fast reading mode and a simple cache.
-         *
-         * @return A type pool that reads its data from the system class loader.
-         */
-        public static TypePool ofSystemLoader() {
-            return of(ClassFileLocator.ForClassLoader.ofSystemLoader());
-        }
+                /**
+                 * A {@code boolean} constant.
+                 */
+                protected static final byte BOOLEAN = 5;
 
-        /**
-         * Creates a default {@link net.bytebuddy.pool.TypePool} that looks up data by querying the plaform class
-         * loader. The returned instance is configured to use a fast reading mode and a simple cache. If the current
-         * VM is of version 8 or older, the extension class loader is represented instead.
-         *
-         * @return A type pool that reads its data from the platform class path.
-         */
-        public static TypePool ofPlatformLoader() {
-            return of(ClassFileLocator.ForClassLoader.ofPlatformLoader());
-        }
+                /**
+                 * A {@code byte} constant.
+                 */
+                protected static final byte BYTE = 6;
 
-        /**
-         * Creates a default {@link net.bytebuddy.pool.TypePool} that looks up data by querying the boot class
-         * loader. The returned instance is configured to use a fast reading mode and a simple cache.
-         *
-         * @return A type pool that reads its data from the boot class loader.
-         */
-        public static TypePool ofBootLoader() {
-            return of(ClassFileLocator.ForClassLoader.ofBootLoader());
-        }
+                /**
+                 * A {@code short} constant.
+                 */
+                protected static final byte SHORT = 7;
 
-        /**
-         * Returns a type pool for the provided class loader.
-         *
-         * @param classLoader The class loader for which this class pool is representing types.
-         * @return An appropriate type pool.
-         */
-        public static TypePool of(ClassLoader classLoader) {
-            return of(ClassFileLocator.ForClassLoader.of(classLoader));
-        }
+                /**
+                 * A {@code char} constant.
+                 */
+                protected static final byte CHARACTER = 8;
 
-        /**
-         * Creates a default {@link net.bytebuddy.pool.TypePool} that looks up data by querying the supplied class
-         * file locator. The returned instance is configured to use a fast reading mode and a simple cache.
-         *
-         * @param classFileLocator The class file locator to use.
-         * @return A type pool that reads its data from the system class path.
-         */
-        public static TypePool of(ClassFileLocator classFileLocator) {
-            return new Default(new CacheProvider.Simple(), classFileLocator, ReaderMode.FAST);
-        }
+                /**
+                 * An {@code int} constant.
+                 */
+                protected static final byte INTEGER = 9;
+
+                /**
+                 * A {@code long} constant.
+                 */
+                protected static final byte LONG = 10;
+
+                /**
+                 * A {@code float} constant.
+                 */
+                protected static final byte FLOAT = 11;
+
+                /**
+                 * A {@code double} constant.
+                 */
+                protected static final byte DOUBLE = 12;
+
+                /**
+                 * A {@link String} constant.
+                 */
+                protected static final byte STRING = 13;
 
-        @Override
-        protected Resolution doDescribe(String name) {
-            try {
-                ClassFileLocator.Resolution resolution = classFileLocator.locate(name);
-                return resolution.isResolved()
-                        ? new Resolution.Simple(parse(resolution.resolve()))
-                        : new Resolution.Illegal(name);
-            } catch (IOException exception) {
-                throw new IllegalStateException("Error while reading class file", exception);
-            }
-        }
+                /**
+                 * A {@code boolean[]} constant.
+                 */
+                protected static final byte BOOLEAN_ARRAY = 14;
 
-        /**
-         * Parses a binary representation and transforms it into a type description.
-         *
-         * @param binaryRepresentation The binary data to be parsed.
-         * @return A type description of the binary data.
-         */
-        private TypeDescription parse(byte[] binaryRepresentation) {
-            ClassReader classReader = OpenedClassReader.of(binaryRepresentation);
-            TypeExtractor typeExtractor = new TypeExtractor();
-            classReader.accept(typeExtractor, readerMode.getFlags());
-            return typeExtractor.toTypeDescription();
-        }
+                /**
+                 * A {@code byte[]} constant.
+                 */
+                protected static final byte BYTE_ARRAY = 15;
 
-        /**
-         * Determines the granularity of the class file parsing that is conducted by a {@link net.bytebuddy.pool.TypePool.Default}.
-         */
-        public enum ReaderMode {
+                /**
+                 * A {@code short[]} constant.
+                 */
+                protected static final byte SHORT_ARRAY = 16;
 
-            /**
-             * The extended reader mode parses the code segment of each method in order to detect parameter names
-             * that are only stored in a method's debugging information but are not explicitly included.
-             */
-            EXTENDED(ClassReader.SKIP_FRAMES),
+                /**
+                 * A {@code char[]} constant.
+                 */
+                protected static final byte CHARACTER_ARRAY = 17;
 
-            /**
-             * The fast reader mode skips the code segment of each method and cannot detect parameter names that are
-             * only contained within the debugging information. This mode still detects explicitly included method
-             * parameter names.
-             */
-            FAST(ClassReader.SKIP_CODE);
+                /**
+                 * An {@code int[]} constant.
+                 */
+                protected static final byte INTEGER_ARRAY = 18;
 
-            /**
-             * The flags to provide to a {@link ClassReader} for parsing a file.
-             */
-            private final int flags;
+                /**
+                 * A {@code long[]} constant.
+                 */
+                protected static final byte LONG_ARRAY = 19;
 
-            /**
-             * Creates a new reader mode constant.
-             *
-             * @param flags The flags to provide to a {@link ClassReader} for parsing a file.
-             */
-            ReaderMode(int flags) {
-                this.flags = flags;
-            }
+                /**
+                 * A {@code float[]} constant.
+                 */
+                protected static final byte FLOAT_ARRAY = 20;
 
-            /**
-             * Returns the flags to provide to a {@link ClassReader} for parsing a file.
-             *
-             * @return The flags to provide to a {@link ClassReader} for parsing a file.
-             */
-            protected int getFlags() {
-                return flags;
-            }
+                /**
+                 * A {@code double[]} constant.
+                 */
+                protected static final byte DOUBLE_ARRAY = 21;
 
-            /**
-             * Determines if this reader mode represents extended reading.
-             *
-             * @return {@code true} if this reader mode represents extended reading.
-             */
-            public boolean isExtended() {
-                return this == EXTENDED;
+                /**
+                 * A {@link String}{@code []} constant.
+                 */
+                protected static final byte STRING_ARRAY = 22;
+
+                /**
+                 * A non-instantiable type.
+                 */
+                private ValueSort() {
+                    throw new UnsupportedOperationException("This class is a utility class and not supposed to be instantiated");
+                }
             }
         }
 
         /**
          * <p>
-         * A variant of {@link TypePool.Default} that resolves type descriptions lazily. A lazy resolution respects this type
-         * pool's {@link CacheProvider} but requeries this cache pool for every access of a property of a {@link TypeDescription}.
+         * A variant of {@link TypePool.Default} that prefetches the super class, the interfaces and the annotation types of any
+         * parsed type on an {@link Executor}. This way, a subsequent traversal of a type's hierarchy finds these types in the
+         * cache instead of locating and parsing them one by one.
          * </p>
          * <p>
-         * {@link Resolution}s of this type pool are only fully resolved if a property that is not the type's name is required.
+         * <b>Note</b>: Prefetching is only meaningful in combination with a {@link CacheProvider} that retains resolutions. Types
+         * that are already cached or that are currently prefetched are not submitted again.
          * </p>
          */
-        public static class WithLazyResolution extends Default {
+        @HashCodeAndEqualsPlugin.Enhance
+        public static class WithPrefetching extends Default {
 
             /**
-             * Creates a new default type pool with lazy resolution and without a parent pool.
+             * The executor to use for prefetching types.
+             */
+            private final Executor executor;
+
+            /**
+             * The names of the types that are currently prefetched.
+             */
+            @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+            private final ConcurrentMap<String, Boolean> prefetching;
+
+            /**
+             * Creates a new default type pool with prefetching and without a parent pool.
              *
              * @param cacheProvider    The cache provider to be used.
              * @param classFileLocator The class file locator to be used.
              * @param readerMode       The reader mode to apply by this default type pool.
+             * @param executor         The executor to use for prefetching types.
              */
-            public WithLazyResolution(CacheProvider cacheProvider, ClassFileLocator classFileLocator, ReaderMode readerMode) {
-                this(cacheProvider, classFileLocator, readerMode, Empty.INSTANCE);
+            public WithPrefetching(CacheProvider cacheProvider, ClassFileLocator classFileLocator, ReaderMode readerMode, Executor executor) {
+                this(cacheProvider, classFileLocator, readerMode, Empty.INSTANCE, executor);
             }
 
             /**
-             * Creates a new default type pool with lazy resolution.
+             * Creates a new default type pool with prefetching.
              *
              * @param cacheProvider    The cache provider to be used.
              * @param classFileLocator The class file locator to be used.
              * @param readerMode       The reader mode to apply by this default type pool.
              * @param parentPool       The parent type pool.
+             * @param executor         The executor to use for prefetching types.
              */
-            public WithLazyResolution(CacheProvider cacheProvider, ClassFileLocator classFileLocator, ReaderMode readerMode, TypePool parentPool) {
+            public WithPrefetching(CacheProvider cacheProvider,
+                                   ClassFileLocator classFileLocator,
+                                   ReaderMode readerMode,
+                                   TypePool parentPool,
+                                   Executor executor) {
                 super(cacheProvider, classFileLocator, readerMode, parentPool);
-            }
-
-            /**
-             * Creates a default {@link net.bytebuddy.pool.TypePool} with lazy resolution that looks up data by querying the system class
-             * loader. The returned instance is configured to use a fast reading mode and a simple cache.
-             *
-             * @return A type pool that reads its data from the system class loader.
-             */
-            public static TypePool ofSystemLoader() {
-                return of(ClassFileLocator.ForClassLoader.ofSystemLoader());
-            }
-
-            /**
-             * Creates a default {@link net.bytebuddy.pool.TypePool} with lazy resolution that looks up data by querying the platform class
-             * loader. The returned instance is configured to use a fast reading mode and a simple cache. If the current VM is Java 8 or older,
-             * the type pool represents the extension class loader.
-             *
-             * @return A type pool that reads its data from the boot class loader.
-             */
-            public static TypePool ofPlatformLoader() {
-                return of(ClassFileLocator.ForClassLoader.ofPlatformLoader());
-            }
-
-            /**
-             * Creates a default {@link net.bytebuddy.pool.TypePool} with lazy resolution that looks up data by querying the boot class
-             * loader. The returned instance is configured to use a fast reading mode and a simple cache.
-             *
-             * @return A type pool that reads its data from the boot class loader.
-             */
-            public static TypePool ofBootLoader() {
-                return of(ClassFileLocator.ForClassLoader.ofBootLoader());
-            }
-
-            /**
-             * Returns a default {@link TypePool} with lazy resolution for the provided class loader.
-             *
-             * @param classLoader The class loader for which this class pool is representing types.
-             * @return An appropriate type pool.
-             */
-            public static TypePool of(ClassLoader classLoader) {
-                return of(ClassFileLocator.ForClassLoader.of(classLoader));
-            }
-
-            /**
-             * Creates a default {@link net.bytebuddy.pool.TypePool} with lazy resolution that looks up data by querying the supplied class
-             * file locator. The returned instance is configured to use a fast reading mode and a simple cache.
-             *
-             * @param classFileLocator The class file locator to use.
-             * @return A type pool that reads its data from the system class path.
-             */
-            public static TypePool of(ClassFileLocator classFileLocator) {
-                return new WithLazyResolution(new CacheProvider.Simple(), classFileLocator, ReaderMode.FAST);
+                this.executor = executor;
+                prefetching = new ConcurrentHashMap<String, Boolean>();
             }
 
             @Override
             protected Resolution doDescribe(String name) {
-                return new LazyResolution(name);
-            }
-
-            /**
-             * {@inheritDoc}
-             */
-            protected Resolution doCache(String name, Resolution resolution) {
+                Resolution resolution = super.doDescribe(name);
+                if (resolution.isResolved()) {
+                    TypeDescription typeDescription = resolution.resolve();
+                    if (typeDescription instanceof LazyTypeDescription) {
+                        LazyTypeDescription lazyTypeDescription = (LazyTypeDescription) typeDescription;
+                        if (lazyTypeDescription.superClassDescriptor != null) {
+                            prefetch(Type.getType(lazyTypeDescription.superClassDescriptor).getClassName());
+                        }
+                        for (String interfaceTypeDescriptor : lazyTypeDescription.interfaceTypeDescriptors) {
+                            prefetch(Type.getType(interfaceTypeDescriptor).getClassName());
+                        }
+                        for (LazyTypeDescription.AnnotationToken annotationToken : lazyTypeDescription.annotationTokens) {
+                            prefetch(annotationToken.getBinaryName());
+                        }
+                    }
+                }
                 return resolution;
             }
 
             /**
-             * Non-lazily resolves a type name.
+             * Submits a type for prefetching if it is neither cached nor already prefetched.
              *
-             * @param name The name of the type to resolve.
-             * @return The resolution for the type of this name.
+             * @param name The name of the type to prefetch.
              */
-            protected Resolution doResolve(String name) {
-                Resolution resolution = cacheProvider.find(name);
-                if (resolution == null) {
-                    resolution = cacheProvider.register(name, WithLazyResolution.super.doDescribe(name));
+            protected void prefetch(String name) {
+                if (cacheProvider.find(name) == null && prefetching.putIfAbsent(name, Boolean.TRUE) == null) {
+                    try {
+                        executor.execute(new Prefetch(name));
+                    } catch (RejectedExecutionException ignored) {
+                        prefetching.remove(name);
+                    }
                 }
-                return resolution;
             }
 
             /**
-             * A lazy resolution of a type that the enclosing type pool attempts to resolve.
+             * A task that describes a type in order to add it to the enclosing type pool's cache.
              */
             @HashCodeAndEqualsPlugin.Enhance(includeSyntheticFields = true)
-            protected class LazyResolution implements Resolution {
-
-                /**
-                 * The type's name.
-                 */
-                private final String name;
-
-                /**
-                 * Creates a new lazy resolution.
-                 *
-                 * @param name The type's name.
-                 */
-                protected LazyResolution(String name) {
-                    this.name = name;
-                }
-
-                /**
-                 * {@inheritDoc}
-                 */
-                public boolean isResolved() {
-                    return doResolve(name).isResolved();
-                }
-
-                /**
-                 * {@inheritDoc}
-                 */
-                public TypeDescription resolve() {
-                    return new LazyTypeDescription(name);
-                }
-            }
-
-            /**
-             * A lazy type description that resolves any property that is not the name only when requested.
-             */
-            protected class LazyTypeDescription extends TypeDescription.AbstractBase.OfSimpleType.WithDelegation {
+            protected class Prefetch implements Runnable {
 
                 /**
-                 * The type's name.
+                 * The name of the type to prefetch.
                  */
                 private final String name;
 
                 /**
-                 * Creates a new lazy type description.
+                 * Creates a new prefetch task.
                  *
-                 * @param name The type's name.
+                 * @param name The name of the type to prefetch.
                  */
-                protected LazyTypeDescription(String name) {
+                protected Prefetch(String name) {
                     this.name = name;
                 }
 
                 /**
                  * {@inheritDoc}
                  */
-                public String getName() {
-                    return name;
-                }
-
-                @Override
-                @CachedReturnPlugin.Enhance("delegate")
-                protected TypeDescription delegate() {
-                    return doResolve(name).resolve();
+                public void run() {
+                    try {
+                        describe(name);
+                    } catch (RuntimeException ignored) {
+                        /* the type is described again and the error is raised when it is requested */
+                    } finally {
+                        prefetching.remove(name);
+                    }
                 }
             }
         }
@@ -1833,6 +4675,15 @@ public interface TypePool {
                         this.name = name;
                     }
 
+                    /**
+                     * Returns the name of the annotation that declares the represented property.
+                     *
+                     * @return The name of the annotation that declares the represented property.
+                     */
+                    protected String getAnnotationName() {
+                        return annotationName;
+                    }
+
                     /**
                      * {@inheritDoc}
                      */
@@ -2884,17 +5735,23 @@ public interface TypePool {
             /**
              * A list of field tokens describing the field's of this type.
              */
-            private final List<FieldToken> fieldTokens;
+            private List<FieldToken> fieldTokens;
 
             /**
              * A list of method tokens describing the method's of this type.
              */
-            private final List<MethodToken> methodTokens;
+            private List<MethodToken> methodTokens;
+
+            /**
+             * The deferred extraction of this type's field and method tokens or {@code null} if these tokens are already extracted.
+             */
+            private volatile MemberExtraction memberExtraction;
 
             /**
              * Creates a new lazy type description.
              *
              * @param typePool                           The type pool to be used for looking up linked types.
+             * @param symbolTable                        The symbol table to canonicalize this type's names and descriptors with.
              * @param actualModifiers                    The actual modifiers of this type.
              * @param modifiers                          The modifiers of this type.
              * @param name                               The binary name of this type.
@@ -2914,8 +5771,11 @@ public interface TypePool {
              * @param annotationTokens                   A list of tokens that represent the annotations of this type.
              * @param fieldTokens                        A list of field tokens describing the field's of this type.
              * @param methodTokens                       A list of method tokens describing the method's of this type.
+             * @param memberExtraction                   The deferred extraction of this type's field and method tokens or {@code null}
+             *                                           if the supplied field and method tokens are complete.
              */
             protected LazyTypeDescription(TypePool typePool,
+                                          SymbolTable symbolTable,
                                           int actualModifiers,
                                           int modifiers,
                                           String name,
@@ -2933,45 +5793,107 @@ public interface TypePool {
                                           Map<Integer, Map<Integer, Map<String, List<AnnotationToken>>>> typeVariableBoundsAnnotationTokens,
                                           List<AnnotationToken> annotationTokens,
                                           List<FieldToken> fieldTokens,
-                                          List<MethodToken> methodTokens) {
+                                          List<MethodToken> methodTokens,
+                                          MemberExtraction memberExtraction) {
                 this.typePool = typePool;
                 this.actualModifiers = actualModifiers & ~Opcodes.ACC_SUPER;
                 this.modifiers = modifiers & ~(Opcodes.ACC_SUPER | Opcodes.ACC_DEPRECATED);
-                this.name = Type.getObjectType(name).getClassName();
+                this.name = symbolTable.intern(Type.getObjectType(name).getClassName());
                 this.superClassDescriptor = superClassInternalName == null
                         ? NO_TYPE
-                        : Type.getObjectType(superClassInternalName).getDescriptor();
+                        : symbolTable.intern(Type.getObjectType(superClassInternalName).getDescriptor());
                 this.genericSignature = genericSignature;
-                signatureResolution = RAW_TYPES
-                        ? GenericTypeToken.Resolution.Raw.INSTANCE
-                        : GenericTypeExtractor.ForSignature.OfType.extract(genericSignature);
+                signatureResolution = GenericTypeToken.Resolution.ForType.Lazy.of(genericSignature);
                 if (interfaceInternalName == null) {
                     interfaceTypeDescriptors = Collections.emptyList();
                 } else {
                     interfaceTypeDescriptors = new ArrayList<String>(interfaceInternalName.length);
                     for (String internalName : interfaceInternalName) {
-                        interfaceTypeDescriptors.add(Type.getObjectType(internalName).getDescriptor());
+                        interfaceTypeDescriptors.add(symbolTable.intern(Type.getObjectType(internalName).getDescriptor()));
+                    }
+                }
+                this.typeContainment = typeContainment;
+                declaringTypeName = declaringTypeInternalName == null
+                        ? NO_TYPE
+                        : symbolTable.intern(declaringTypeInternalName.replace('/', '.'));
+                this.declaredTypes = compact(declaredTypes);
+                this.anonymousType = anonymousType;
+                nestHost = nestHostInternalName == null
+                        ? NO_TYPE
+                        : symbolTable.intern(Type.getObjectType(nestHostInternalName).getClassName());
+                nestMembers = new ArrayList<String>(nestMemberInternalNames.size());
+                for (String nestMemberInternalName : nestMemberInternalNames) {
+                    nestMembers.add(symbolTable.intern(Type.getObjectType(nestMemberInternalName).getClassName()));
+                }
+                this.superTypeAnnotationTokens = compact(superTypeAnnotationTokens);
+                this.typeVariableAnnotationTokens = compact(typeVariableAnnotationTokens);
+                this.typeVariableBoundsAnnotationTokens = compact(typeVariableBoundsAnnotationTokens);
+                this.annotationTokens = compact(annotationTokens);
+                this.fieldTokens = compact(fieldTokens);
+                this.methodTokens = compact(methodTokens);
+                this.memberExtraction = memberExtraction;
+            }
+
+            /**
+             * Returns a compact representation of a list that is retained by a type description. An empty list is replaced by a
+             * shared empty list, a list of a single element by a singleton list and any other array list is trimmed to its size.
+             * The supplied list must not be modified after it was compacted.
+             *
+             * @param list The list to compact.
+             * @param <T>  The type of the list's elements.
+             * @return A compact representation of the supplied list.
+             */
+            protected static <T> List<T> compact(List<T> list) {
+                switch (list.size()) {
+                    case 0:
+                        return Collections.emptyList();
+                    case 1:
+                        return Collections.singletonList(list.get(0));
+                    default:
+                        if (list instanceof ArrayList<?>) {
+                            ((ArrayList<T>) list).trimToSize();
+                        }
+                        return list;
+                }
+            }
+
+            /**
+             * Returns a compact representation of a map that is retained by a type description. An empty map is replaced by a
+             * shared empty map and a map of a single entry by a singleton map. The supplied map must not be modified after it
+             * was compacted.
+             *
+             * @param map The map to compact.
+             * @param <K> The type of the map's keys.
+             * @param <V> The type of the map's values.
+             * @return A compact representation of the supplied map.
+             */
+            protected static <K, V> Map<K, V> compact(Map<K, V> map) {
+                switch (map.size()) {
+                    case 0:
+                        return Collections.emptyMap();
+                    case 1:
+                        Map.Entry<K, V> entry = map.entrySet().iterator().next();
+                        return Collections.singletonMap(entry.getKey(), entry.getValue());
+                    default:
+                        return map;
+                }
+            }
+
+            /**
+             * Extracts this type's field and method tokens if their extraction was deferred.
+             */
+            private void extractMembers() {
+                if (memberExtraction != null) {
+                    synchronized (this) {
+                        MemberExtraction memberExtraction = this.memberExtraction;
+                        if (memberExtraction != null) {
+                            LazyTypeDescription typeDescription = memberExtraction.extract();
+                            fieldTokens = typeDescription.fieldTokens;
+                            methodTokens = typeDescription.methodTokens;
+                            this.memberExtraction = null;
+                        }
                     }
                 }
-                this.typeContainment = typeContainment;
-                declaringTypeName = declaringTypeInternalName == null
-                        ? NO_TYPE
-                        : declaringTypeInternalName.replace('/', '.');
-                this.declaredTypes = declaredTypes;
-                this.anonymousType = anonymousType;
-                nestHost = nestHostInternalName == null
-                        ? NO_TYPE
-                        : Type.getObjectType(nestHostInternalName).getClassName();
-                nestMembers = new ArrayList<String>(nestMemberInternalNames.size());
-                for (String nestMemberInternalName : nestMemberInternalNames) {
-                    nestMembers.add(Type.getObjectType(nestMemberInternalName).getClassName());
-                }
-                this.superTypeAnnotationTokens = superTypeAnnotationTokens;
-                this.typeVariableAnnotationTokens = typeVariableAnnotationTokens;
-                this.typeVariableBoundsAnnotationTokens = typeVariableBoundsAnnotationTokens;
-                this.annotationTokens = annotationTokens;
-                this.fieldTokens = fieldTokens;
-                this.methodTokens = methodTokens;
             }
 
             /**
@@ -3029,6 +5951,7 @@ public interface TypePool {
              * {@inheritDoc}
              */
             public FieldList<FieldDescription.InDefinedShape> getDeclaredFields() {
+                extractMembers();
                 return new FieldTokenList();
             }
 
@@ -3036,6 +5959,7 @@ public interface TypePool {
              * {@inheritDoc}
              */
             public MethodList<MethodDescription.InDefinedShape> getDeclaredMethods() {
+                extractMembers();
                 return new MethodTokenList();
             }
 
@@ -3159,6 +6083,19 @@ public interface TypePool {
                 }
             }
 
+            /**
+             * A deferred extraction of a type's field and method tokens from the type's class file.
+             */
+            protected interface MemberExtraction {
+
+                /**
+                 * Parses the type's class file including its fields and methods.
+                 *
+                 * @return A type description of the type's class file that contains all field and method tokens.
+                 */
+                LazyTypeDescription extract();
+            }
+
             /**
              * A declaration context encapsulates information about whether a type was declared within another type
              * or within a method of another type.
@@ -4204,6 +7141,288 @@ public interface TypePool {
                                 return new TokenizedGenericType.TypeVariableList(typePool, typeVariableTokens, typeVariableSource, annotationTokens, boundAnnotationTokens);
                             }
                         }
+
+                        /**
+                         * A resolution of the generic types of a {@link TypeDescription} that retains the generic signature and only
+                         * tokenizes it when a generic type is first resolved.
+                         */
+                        @HashCodeAndEqualsPlugin.Enhance
+                        class Lazy implements ForType {
+
+                            /**
+                             * The generic signature to tokenize.
+                             */
+                            private final String genericSignature;
+
+                            /**
+                             * The tokenized resolution of the generic signature or {@code null} if it was not yet tokenized.
+                             */
+                            @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+                            private volatile ForType resolution;
+
+                            /**
+                             * Creates a new lazy resolution of a {@link TypeDescription}'s generic signature.
+                             *
+                             * @param genericSignature The generic signature to tokenize.
+                             */
+                            protected Lazy(String genericSignature) {
+                                this.genericSignature = genericSignature;
+                            }
+
+                            /**
+                             * Resolves a generic signature of a {@link TypeDescription}, unless it should use non-generic types or
+                             * if it does not declare a generic signature.
+                             *
+                             * @param genericSignature The generic signature or {@code null} if no such signature is declared.
+                             * @return A resolution of the supplied signature.
+                             */
+                            protected static ForType of(String genericSignature) {
+                                if (RAW_TYPES || genericSignature == null) {
+                                    return Raw.INSTANCE;
+                                } else {
+                                    return new Lazy(genericSignature);
+                                }
+                            }
+
+                            /**
+                             * Returns the tokenized resolution of the generic signature.
+                             *
+                             * @return The tokenized resolution of the generic signature.
+                             */
+                            private ForType resolve() {
+                                ForType resolution = this.resolution;
+                                if (resolution == null) {
+                                    resolution = GenericTypeExtractor.ForSignature.OfType.extract(genericSignature);
+                                    this.resolution = resolution;
+                                }
+                                return resolution;
+                            }
+
+                            /**
+                             * {@inheritDoc}
+                             */
+                            public Generic resolveSuperClass(String superClassDescriptor,
+                                                             TypePool typePool,
+                                                             Map<String, List<AnnotationToken>> annotationTokens,
+                                                             TypeDescription definingType) {
+                                ForType resolution = this.resolution;
+                                return resolution == null
+                                        ? new LazySuperClass(this, superClassDescriptor, typePool, annotationTokens, definingType)
+                                        : resolution.resolveSuperClass(superClassDescriptor, typePool, annotationTokens, definingType);
+                            }
+
+                            /**
+                             * {@inheritDoc}
+                             */
+                            public TypeList.Generic resolveInterfaceTypes(List<String> interfaceTypeDescriptors,
+                                                                          TypePool typePool,
+                                                                          Map<Integer, Map<String, List<AnnotationToken>>> annotationTokens,
+                                                                          TypeDescription definingType) {
+                                ForType resolution = this.resolution;
+                                return resolution == null
+                                        ? new LazyInterfaceTypeList(this, interfaceTypeDescriptors, typePool, annotationTokens, definingType)
+                                        : resolution.resolveInterfaceTypes(interfaceTypeDescriptors, typePool, annotationTokens, definingType);
+                            }
+
+                            /**
+                             * {@inheritDoc}
+                             */
+                            public TypeList.Generic resolveTypeVariables(TypePool typePool,
+                                                                         TypeVariableSource typeVariableSource,
+                                                                         Map<Integer, Map<String, List<AnnotationToken>>> annotationTokens,
+                                                                         Map<Integer, Map<Integer, Map<String, List<AnnotationToken>>>> boundAnnotationTokens) {
+                                return resolve().resolveTypeVariables(typePool, typeVariableSource, annotationTokens, boundAnnotationTokens);
+                            }
+
+                            /**
+                             * A super class of a type with a generic signature that resolves its erasure from the super class's descriptor
+                             * and only tokenizes the generic signature when the generic type is resolved.
+                             */
+                            protected static class LazySuperClass extends Generic.LazyProjection.WithEagerNavigation {
+
+                                /**
+                                 * The lazy resolution of the defining type's generic signature.
+                                 */
+                                private final Lazy resolution;
+
+                                /**
+                                 * The descriptor of the super class's erasure.
+                                 */
+                                private final String superClassDescriptor;
+
+                                /**
+                                 * The type pool to use for locating referenced types.
+                                 */
+                                private final TypePool typePool;
+
+                                /**
+                                 * The super class's type annotation tokens.
+                                 */
+                                private final Map<String, List<AnnotationToken>> annotationTokens;
+
+                                /**
+                                 * The type that defines the super class.
+                                 */
+                                private final TypeDescription definingType;
+
+                                /**
+                                 * Creates a new lazy super class.
+                                 *
+                                 * @param resolution           The lazy resolution of the defining type's generic signature.
+                                 * @param superClassDescriptor The descriptor of the super class's erasure.
+                                 * @param typePool             The type pool to use for locating referenced types.
+                                 * @param annotationTokens     The super class's type annotation tokens.
+                                 * @param definingType         The type that defines the super class.
+                                 */
+                                protected LazySuperClass(Lazy resolution,
+                                                         String superClassDescriptor,
+                                                         TypePool typePool,
+                                                         Map<String, List<AnnotationToken>> annotationTokens,
+                                                         TypeDescription definingType) {
+                                    this.resolution = resolution;
+                                    this.superClassDescriptor = superClassDescriptor;
+                                    this.typePool = typePool;
+                                    this.annotationTokens = annotationTokens;
+                                    this.definingType = definingType;
+                                }
+
+                                @Override
+                                @CachedReturnPlugin.Enhance("resolved")
+                                protected Generic resolve() {
+                                    return resolution.resolve().resolveSuperClass(superClassDescriptor, typePool, annotationTokens, definingType);
+                                }
+
+                                /**
+                                 * {@inheritDoc}
+                                 */
+                                @CachedReturnPlugin.Enhance("erasure")
+                                public TypeDescription asErasure() {
+                                    return TokenizedGenericType.toErasure(typePool, superClassDescriptor);
+                                }
+
+                                /**
+                                 * {@inheritDoc}
+                                 */
+                                public AnnotationList getDeclaredAnnotations() {
+                                    return resolve().getDeclaredAnnotations();
+                                }
+                            }
+
+                            /**
+                             * A list of interface types of a type with a generic signature that resolves the erasures of its elements from
+                             * the interface types' descriptors and only tokenizes the generic signature when a generic type is resolved.
+                             */
+                            protected static class LazyInterfaceTypeList extends TypeList.Generic.AbstractBase {
+
+                                /**
+                                 * The lazy resolution of the defining type's generic signature.
+                                 */
+                                private final Lazy resolution;
+
+                                /**
+                                 * The descriptors of the interface types' erasures.
+                                 */
+                                private final List<String> interfaceTypeDescriptors;
+
+                                /**
+                                 * The type pool to use for locating referenced types.
+                                 */
+                                private final TypePool typePool;
+
+                                /**
+                                 * A mapping of the interface types' type annotation tokens by their indices.
+                                 */
+                                private final Map<Integer, Map<String, List<AnnotationToken>>> annotationTokens;
+
+                                /**
+                                 * The type that defines the interface types.
+                                 */
+                                private final TypeDescription definingType;
+
+                                /**
+                                 * Creates a new lazy list of interface types.
+                                 *
+                                 * @param resolution               The lazy resolution of the defining type's generic signature.
+                                 * @param interfaceTypeDescriptors The descriptors of the interface types' erasures.
+                                 * @param typePool                 The type pool to use for locating referenced types.
+                                 * @param annotationTokens         A mapping of the interface types' type annotation tokens by their indices.
+                                 * @param definingType             The type that defines the interface types.
+                                 */
+                                protected LazyInterfaceTypeList(Lazy resolution,
+                                                                List<String> interfaceTypeDescriptors,
+                                                                TypePool typePool,
+                                                                Map<Integer, Map<String, List<AnnotationToken>>> annotationTokens,
+                                                                TypeDescription definingType) {
+                                    this.resolution = resolution;
+                                    this.interfaceTypeDescriptors = interfaceTypeDescriptors;
+                                    this.typePool = typePool;
+                                    this.annotationTokens = annotationTokens;
+                                    this.definingType = definingType;
+                                }
+
+                                /**
+                                 * {@inheritDoc}
+                                 */
+                                public Generic get(int index) {
+                                    return new LazyInterfaceType(index);
+                                }
+
+                                /**
+                                 * {@inheritDoc}
+                                 */
+                                public int size() {
+                                    return interfaceTypeDescriptors.size();
+                                }
+
+                                /**
+                                 * {@inheritDoc}
+                                 */
+                                public TypeList asErasures() {
+                                    return new LazyTypeList(typePool, interfaceTypeDescriptors);
+                                }
+
+                                /**
+                                 * An interface type that resolves its erasure from the interface type's descriptor.
+                                 */
+                                protected class LazyInterfaceType extends Generic.LazyProjection.WithEagerNavigation {
+
+                                    /**
+                                     * The index of the interface type.
+                                     */
+                                    private final int index;
+
+                                    /**
+                                     * Creates a new lazy interface type.
+                                     *
+                                     * @param index The index of the interface type.
+                                     */
+                                    protected LazyInterfaceType(int index) {
+                                        this.index = index;
+                                    }
+
+                                    @Override
+                                    @CachedReturnPlugin.Enhance("resolved")
+                                    protected Generic resolve() {
+                                        return resolution.resolve().resolveInterfaceTypes(interfaceTypeDescriptors, typePool, annotationTokens, definingType).get(index);
+                                    }
+
+                                    /**
+                                     * {@inheritDoc}
+                                     */
+                                    @CachedReturnPlugin.Enhance("erasure")
+                                    public TypeDescription asErasure() {
+                                        return TokenizedGenericType.toErasure(typePool, interfaceTypeDescriptors.get(index));
+                                    }
+
+                                    /**
+                                     * {@inheritDoc}
+                                     */
+                                    public AnnotationList getDeclaredAnnotations() {
+                                        return resolve().getDeclaredAnnotations();
+                                    }
+                                }
+                            }
+                        }
                     }
 
                     /**
@@ -4272,29 +7491,129 @@ public interface TypePool {
                             /**
                              * A token describing the represented method's exception types.
                              */
-                            private final List<GenericTypeToken> exceptionTypeTokens;
+                            private final List<GenericTypeToken> exceptionTypeTokens;
+
+                            /**
+                             * A token describing the represented method's type variables.
+                             */
+                            private final List<OfFormalTypeVariable> typeVariableTokens;
+
+                            /**
+                             * Creates a new tokenized resolution of a {@link MethodDescription}'s generic signatures.
+                             *
+                             * @param returnTypeToken     A token describing the represented method's return type.
+                             * @param parameterTypeTokens A token describing the represented method's parameter types.
+                             * @param exceptionTypeTokens A token describing the represented method's exception types.
+                             * @param typeVariableTokens  A token describing the represented method's type variables.
+                             */
+                            protected Tokenized(GenericTypeToken returnTypeToken,
+                                                List<GenericTypeToken> parameterTypeTokens,
+                                                List<GenericTypeToken> exceptionTypeTokens,
+                                                List<OfFormalTypeVariable> typeVariableTokens) {
+                                this.returnTypeToken = returnTypeToken;
+                                this.parameterTypeTokens = parameterTypeTokens;
+                                this.exceptionTypeTokens = exceptionTypeTokens;
+                                this.typeVariableTokens = typeVariableTokens;
+                            }
+
+                            /**
+                             * {@inheritDoc}
+                             */
+                            public Generic resolveReturnType(String returnTypeDescriptor,
+                                                             TypePool typePool,
+                                                             Map<String, List<AnnotationToken>> annotationTokens,
+                                                             MethodDescription.InDefinedShape definingMethod) {
+                                return TokenizedGenericType.of(typePool, returnTypeToken, returnTypeDescriptor, annotationTokens, definingMethod);
+                            }
+
+                            /**
+                             * {@inheritDoc}
+                             */
+                            public TypeList.Generic resolveParameterTypes(List<String> parameterTypeDescriptors,
+                                                                          TypePool typePool,
+                                                                          Map<Integer, Map<String, List<AnnotationToken>>> annotationTokens,
+                                                                          MethodDescription.InDefinedShape definingMethod) {
+                                return new TokenizedGenericType.TokenList(typePool, parameterTypeTokens, annotationTokens, parameterTypeDescriptors, definingMethod);
+                            }
+
+                            /**
+                             * {@inheritDoc}
+                             */
+                            public TypeList.Generic resolveExceptionTypes(List<String> exceptionTypeDescriptors,
+                                                                          TypePool typePool,
+                                                                          Map<Integer, Map<String, List<AnnotationToken>>> annotationTokens,
+                                                                          MethodDescription.InDefinedShape definingMethod) {
+                                // Generic signatures of methods are optional.
+                                return exceptionTypeTokens.isEmpty()
+                                        ? Raw.INSTANCE.resolveExceptionTypes(exceptionTypeDescriptors, typePool, annotationTokens, definingMethod)
+                                        : new TokenizedGenericType.TokenList(typePool, exceptionTypeTokens, annotationTokens, exceptionTypeDescriptors, definingMethod);
+                            }
+
+                            /**
+                             * {@inheritDoc}
+                             */
+                            public TypeList.Generic resolveTypeVariables(TypePool typePool,
+                                                                         TypeVariableSource typeVariableSource,
+                                                                         Map<Integer, Map<String, List<AnnotationToken>>> annotationTokens,
+                                                                         Map<Integer, Map<Integer, Map<String, List<AnnotationToken>>>> boundAnnotationTokens) {
+                                return new TokenizedGenericType.TypeVariableList(typePool, typeVariableTokens, typeVariableSource, annotationTokens, boundAnnotationTokens);
+                            }
+                        }
+
+                        /**
+                         * A resolution of the generic types of a {@link MethodDescription} that retains the generic signature and only
+                         * tokenizes it when a generic type is first resolved.
+                         */
+                        @HashCodeAndEqualsPlugin.Enhance
+                        class Lazy implements ForMethod {
+
+                            /**
+                             * The generic signature to tokenize.
+                             */
+                            private final String genericSignature;
+
+                            /**
+                             * The tokenized resolution of the generic signature or {@code null} if it was not yet tokenized.
+                             */
+                            @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+                            private volatile ForMethod resolution;
+
+                            /**
+                             * Creates a new lazy resolution of a {@link MethodDescription}'s generic signature.
+                             *
+                             * @param genericSignature The generic signature to tokenize.
+                             */
+                            protected Lazy(String genericSignature) {
+                                this.genericSignature = genericSignature;
+                            }
 
                             /**
-                             * A token describing the represented method's type variables.
+                             * Resolves a generic signature of a {@link MethodDescription}, unless it should use non-generic types or
+                             * if it does not declare a generic signature.
+                             *
+                             * @param genericSignature The generic signature or {@code null} if no such signature is declared.
+                             * @return A resolution of the supplied signature.
                              */
-                            private final List<OfFormalTypeVariable> typeVariableTokens;
+                            protected static ForMethod of(String genericSignature) {
+                                if (RAW_TYPES || genericSignature == null) {
+                                    return Raw.INSTANCE;
+                                } else {
+                                    return new Lazy(genericSignature);
+                                }
+                            }
 
                             /**
-                             * Creates a new tokenized resolution of a {@link MethodDescription}'s generic signatures.
+                             * Returns the tokenized resolution of the generic signature.
                              *
-                             * @param returnTypeToken     A token describing the represented method's return type.
-                             * @param parameterTypeTokens A token describing the represented method's parameter types.
-                             * @param exceptionTypeTokens A token describing the represented method's exception types.
-                             * @param typeVariableTokens  A token describing the represented method's type variables.
+                             * @return The tokenized resolution of the generic signature.
                              */
-                            protected Tokenized(GenericTypeToken returnTypeToken,
-                                                List<GenericTypeToken> parameterTypeTokens,
-                                                List<GenericTypeToken> exceptionTypeTokens,
-                                                List<OfFormalTypeVariable> typeVariableTokens) {
-                                this.returnTypeToken = returnTypeToken;
-                                this.parameterTypeTokens = parameterTypeTokens;
-                                this.exceptionTypeTokens = exceptionTypeTokens;
-                                this.typeVariableTokens = typeVariableTokens;
+                            private ForMethod resolve() {
+                                ForMethod resolution = this.resolution;
+                                if (resolution == null) {
+                                    resolution = GenericTypeExtractor.ForSignature.OfMethod.extract(genericSignature);
+                                    this.resolution = resolution;
+                                }
+                                return resolution;
                             }
 
                             /**
@@ -4304,7 +7623,10 @@ public interface TypePool {
                                                              TypePool typePool,
                                                              Map<String, List<AnnotationToken>> annotationTokens,
                                                              MethodDescription.InDefinedShape definingMethod) {
-                                return TokenizedGenericType.of(typePool, returnTypeToken, returnTypeDescriptor, annotationTokens, definingMethod);
+                                ForMethod resolution = this.resolution;
+                                return resolution == null
+                                        ? new LazyReturnType(this, returnTypeDescriptor, typePool, annotationTokens, definingMethod)
+                                        : resolution.resolveReturnType(returnTypeDescriptor, typePool, annotationTokens, definingMethod);
                             }
 
                             /**
@@ -4314,7 +7636,10 @@ public interface TypePool {
                                                                           TypePool typePool,
                                                                           Map<Integer, Map<String, List<AnnotationToken>>> annotationTokens,
                                                                           MethodDescription.InDefinedShape definingMethod) {
-                                return new TokenizedGenericType.TokenList(typePool, parameterTypeTokens, annotationTokens, parameterTypeDescriptors, definingMethod);
+                                ForMethod resolution = this.resolution;
+                                return resolution == null
+                                        ? new LazyParameterTypeList(this, parameterTypeDescriptors, typePool, annotationTokens, definingMethod)
+                                        : resolution.resolveParameterTypes(parameterTypeDescriptors, typePool, annotationTokens, definingMethod);
                             }
 
                             /**
@@ -4324,10 +7649,7 @@ public interface TypePool {
                                                                           TypePool typePool,
                                                                           Map<Integer, Map<String, List<AnnotationToken>>> annotationTokens,
                                                                           MethodDescription.InDefinedShape definingMethod) {
-                                // Generic signatures of methods are optional.
-                                return exceptionTypeTokens.isEmpty()
-                                        ? Raw.INSTANCE.resolveExceptionTypes(exceptionTypeDescriptors, typePool, annotationTokens, definingMethod)
-                                        : new TokenizedGenericType.TokenList(typePool, exceptionTypeTokens, annotationTokens, exceptionTypeDescriptors, definingMethod);
+                                return resolve().resolveExceptionTypes(exceptionTypeDescriptors, typePool, annotationTokens, definingMethod);
                             }
 
                             /**
@@ -4337,7 +7659,196 @@ public interface TypePool {
                                                                          TypeVariableSource typeVariableSource,
                                                                          Map<Integer, Map<String, List<AnnotationToken>>> annotationTokens,
                                                                          Map<Integer, Map<Integer, Map<String, List<AnnotationToken>>>> boundAnnotationTokens) {
-                                return new TokenizedGenericType.TypeVariableList(typePool, typeVariableTokens, typeVariableSource, annotationTokens, boundAnnotationTokens);
+                                return resolve().resolveTypeVariables(typePool, typeVariableSource, annotationTokens, boundAnnotationTokens);
+                            }
+
+                            /**
+                             * A return type of a method with a generic signature that resolves its erasure from the return type's descriptor
+                             * and only tokenizes the generic signature when the generic type is resolved.
+                             */
+                            protected static class LazyReturnType extends Generic.LazyProjection.WithEagerNavigation {
+
+                                /**
+                                 * The lazy resolution of the defining method's generic signature.
+                                 */
+                                private final Lazy resolution;
+
+                                /**
+                                 * The descriptor of the return type's erasure.
+                                 */
+                                private final String returnTypeDescriptor;
+
+                                /**
+                                 * The type pool to use for locating referenced types.
+                                 */
+                                private final TypePool typePool;
+
+                                /**
+                                 * The return type's type annotation tokens.
+                                 */
+                                private final Map<String, List<AnnotationToken>> annotationTokens;
+
+                                /**
+                                 * The method that defines the return type.
+                                 */
+                                private final MethodDescription.InDefinedShape definingMethod;
+
+                                /**
+                                 * Creates a new lazy return type.
+                                 *
+                                 * @param resolution           The lazy resolution of the defining method's generic signature.
+                                 * @param returnTypeDescriptor The descriptor of the return type's erasure.
+                                 * @param typePool             The type pool to use for locating referenced types.
+                                 * @param annotationTokens     The return type's type annotation tokens.
+                                 * @param definingMethod       The method that defines the return type.
+                                 */
+                                protected LazyReturnType(Lazy resolution,
+                                                         String returnTypeDescriptor,
+                                                         TypePool typePool,
+                                                         Map<String, List<AnnotationToken>> annotationTokens,
+                                                         MethodDescription.InDefinedShape definingMethod) {
+                                    this.resolution = resolution;
+                                    this.returnTypeDescriptor = returnTypeDescriptor;
+                                    this.typePool = typePool;
+                                    this.annotationTokens = annotationTokens;
+                                    this.definingMethod = definingMethod;
+                                }
+
+                                @Override
+                                @CachedReturnPlugin.Enhance("resolved")
+                                protected Generic resolve() {
+                                    return resolution.resolve().resolveReturnType(returnTypeDescriptor, typePool, annotationTokens, definingMethod);
+                                }
+
+                                /**
+                                 * {@inheritDoc}
+                                 */
+                                @CachedReturnPlugin.Enhance("erasure")
+                                public TypeDescription asErasure() {
+                                    return TokenizedGenericType.toErasure(typePool, returnTypeDescriptor);
+                                }
+
+                                /**
+                                 * {@inheritDoc}
+                                 */
+                                public AnnotationList getDeclaredAnnotations() {
+                                    return resolve().getDeclaredAnnotations();
+                                }
+                            }
+
+                            /**
+                             * A list of parameter types of a method with a generic signature that resolves the erasures of its elements from
+                             * the parameter types' descriptors and only tokenizes the generic signature when a generic type is resolved.
+                             */
+                            protected static class LazyParameterTypeList extends TypeList.Generic.AbstractBase {
+
+                                /**
+                                 * The lazy resolution of the defining method's generic signature.
+                                 */
+                                private final Lazy resolution;
+
+                                /**
+                                 * The descriptors of the parameter types' erasures.
+                                 */
+                                private final List<String> parameterTypeDescriptors;
+
+                                /**
+                                 * The type pool to use for locating referenced types.
+                                 */
+                                private final TypePool typePool;
+
+                                /**
+                                 * A mapping of the parameter types' type annotation tokens by their indices.
+                                 */
+                                private final Map<Integer, Map<String, List<AnnotationToken>>> annotationTokens;
+
+                                /**
+                                 * The method that defines the parameter types.
+                                 */
+                                private final MethodDescription.InDefinedShape definingMethod;
+
+                                /**
+                                 * Creates a new lazy list of parameter types.
+                                 *
+                                 * @param resolution               The lazy resolution of the defining method's generic signature.
+                                 * @param parameterTypeDescriptors The descriptors of the parameter types' erasures.
+                                 * @param typePool                 The type pool to use for locating referenced types.
+                                 * @param annotationTokens         A mapping of the parameter types' type annotation tokens by their indices.
+                                 * @param definingMethod           The method that defines the parameter types.
+                                 */
+                                protected LazyParameterTypeList(Lazy resolution,
+                                                                List<String> parameterTypeDescriptors,
+                                                                TypePool typePool,
+                                                                Map<Integer, Map<String, List<AnnotationToken>>> annotationTokens,
+                                                                MethodDescription.InDefinedShape definingMethod) {
+                                    this.resolution = resolution;
+                                    this.parameterTypeDescriptors = parameterTypeDescriptors;
+                                    this.typePool = typePool;
+                                    this.annotationTokens = annotationTokens;
+                                    this.definingMethod = definingMethod;
+                                }
+
+                                /**
+                                 * {@inheritDoc}
+                                 */
+                                public Generic get(int index) {
+                                    return new LazyParameterType(index);
+                                }
+
+                                /**
+                                 * {@inheritDoc}
+                                 */
+                                public int size() {
+                                    return parameterTypeDescriptors.size();
+                                }
+
+                                /**
+                                 * {@inheritDoc}
+                                 */
+                                public TypeList asErasures() {
+                                    return new LazyTypeList(typePool, parameterTypeDescriptors);
+                                }
+
+                                /**
+                                 * A parameter type that resolves its erasure from the parameter type's descriptor.
+                                 */
+                                protected class LazyParameterType extends Generic.LazyProjection.WithEagerNavigation {
+
+                                    /**
+                                     * The index of the parameter type.
+                                     */
+                                    private final int index;
+
+                                    /**
+                                     * Creates a new lazy parameter type.
+                                     *
+                                     * @param index The index of the parameter type.
+                                     */
+                                    protected LazyParameterType(int index) {
+                                        this.index = index;
+                                    }
+
+                                    @Override
+                                    @CachedReturnPlugin.Enhance("resolved")
+                                    protected Generic resolve() {
+                                        return resolution.resolve().resolveParameterTypes(parameterTypeDescriptors, typePool, annotationTokens, definingMethod).get(index);
+                                    }
+
+                                    /**
+                                     * {@inheritDoc}
+                                     */
+                                    @CachedReturnPlugin.Enhance("erasure")
+                                    public TypeDescription asErasure() {
+                                        return TokenizedGenericType.toErasure(typePool, parameterTypeDescriptors.get(index));
+                                    }
+
+                                    /**
+                                     * {@inheritDoc}
+                                     */
+                                    public AnnotationList getDeclaredAnnotations() {
+                                        return resolve().getDeclaredAnnotations();
+                                    }
+                                }
                             }
                         }
                     }
@@ -4391,6 +7902,73 @@ public interface TypePool {
                                 return TokenizedGenericType.of(typePool, fieldTypeToken, fieldTypeDescriptor, annotationTokens, definingField.getDeclaringType());
                             }
                         }
+
+                        /**
+                         * A resolution of the generic types of a {@link FieldDescription} that retains the generic signature and only
+                         * tokenizes it when a generic type is first resolved.
+                         */
+                        @HashCodeAndEqualsPlugin.Enhance
+                        class Lazy implements ForField {
+
+                            /**
+                             * The generic signature to tokenize.
+                             */
+                            private final String genericSignature;
+
+                            /**
+                             * The tokenized resolution of the generic signature or {@code null} if it was not yet tokenized.
+                             */
+                            @HashCodeAndEqualsPlugin.ValueHandling(HashCodeAndEqualsPlugin.ValueHandling.Sort.IGNORE)
+                            private volatile ForField resolution;
+
+                            /**
+                             * Creates a new lazy resolution of a {@link FieldDescription}'s generic signature.
+                             *
+                             * @param genericSignature The generic signature to tokenize.
+                             */
+                            protected Lazy(String genericSignature) {
+                                this.genericSignature = genericSignature;
+                            }
+
+                            /**
+                             * Resolves a generic signature of a {@link FieldDescription}, unless it should use non-generic types or
+                             * if it does not declare a generic signature.
+                             *
+                             * @param genericSignature The generic signature or {@code null} if no such signature is declared.
+                             * @return A resolution of the supplied signature.
+                             */
+                            protected static ForField of(String genericSignature) {
+                                if (RAW_TYPES || genericSignature == null) {
+                                    return Raw.INSTANCE;
+                                } else {
+                                    return new Lazy(genericSignature);
+                                }
+                            }
+
+                            /**
+                             * Returns the tokenized resolution of the generic signature.
+                             *
+                             * @return The tokenized resolution of the generic signature.
+                             */
+                            private ForField resolve() {
+                                ForField resolution = this.resolution;
+                                if (resolution == null) {
+                                    resolution = GenericTypeExtractor.ForSignature.OfField.extract(genericSignature);
+                                    this.resolution = resolution;
+                                }
+                                return resolution;
+                            }
+
+                            /**
+                             * {@inheritDoc}
+                             */
+                            public Generic resolveFieldType(String fieldTypeDescriptor,
+                                                            TypePool typePool,
+                                                            Map<String, List<AnnotationToken>> annotationTokens,
+                                                            FieldDescription.InDefinedShape definingField) {
+                                return resolve().resolveFieldType(fieldTypeDescriptor, typePool, annotationTokens, definingField);
+                            }
+                        }
                     }
                 }
 
@@ -5621,7 +9199,7 @@ public interface TypePool {
                  */
                 protected AnnotationToken(String descriptor, Map<String, AnnotationValue<?, ?>> values) {
                     this.descriptor = descriptor;
-                    this.values = values;
+                    this.values = compact(values);
                 }
 
                 /**
@@ -5808,11 +9386,9 @@ public interface TypePool {
                     this.name = name;
                     this.descriptor = descriptor;
                     this.genericSignature = genericSignature;
-                    signatureResolution = RAW_TYPES
-                            ? GenericTypeToken.Resolution.Raw.INSTANCE
-                            : GenericTypeExtractor.ForSignature.OfField.extract(genericSignature);
-                    this.typeAnnotationTokens = typeAnnotationTokens;
-                    this.annotationTokens = annotationTokens;
+                    signatureResolution = GenericTypeToken.Resolution.ForField.Lazy.of(genericSignature);
+                    this.typeAnnotationTokens = compact(typeAnnotationTokens);
+                    this.annotationTokens = compact(annotationTokens);
                 }
 
                 /**
@@ -5959,19 +9535,17 @@ public interface TypePool {
                     this.name = name;
                     this.descriptor = descriptor;
                     this.genericSignature = genericSignature;
-                    signatureResolution = RAW_TYPES
-                            ? GenericTypeToken.Resolution.Raw.INSTANCE
-                            : GenericTypeExtractor.ForSignature.OfMethod.extract(genericSignature);
+                    signatureResolution = GenericTypeToken.Resolution.ForMethod.Lazy.of(genericSignature);
                     this.exceptionName = exceptionName;
-                    this.typeVariableAnnotationTokens = typeVariableAnnotationTokens;
-                    this.typeVariableBoundAnnotationTokens = typeVariableBoundAnnotationTokens;
-                    this.returnTypeAnnotationTokens = returnTypeAnnotationTokens;
-                    this.parameterTypeAnnotationTokens = parameterTypeAnnotationTokens;
-                    this.exceptionTypeAnnotationTokens = exceptionTypeAnnotationTokens;
-                    this.receiverTypeAnnotationTokens = receiverTypeAnnotationTokens;
-                    this.annotationTokens = annotationTokens;
-                    this.parameterAnnotationTokens = parameterAnnotationTokens;
-                    this.parameterTokens = parameterTokens;
+                    this.typeVariableAnnotationTokens = compact(typeVariableAnnotationTokens);
+                    this.typeVariableBoundAnnotationTokens = compact(typeVariableBoundAnnotationTokens);
+                    this.returnTypeAnnotationTokens = compact(returnTypeAnnotationTokens);
+                    this.parameterTypeAnnotationTokens = compact(parameterTypeAnnotationTokens);
+                    this.exceptionTypeAnnotationTokens = compact(exceptionTypeAnnotationTokens);
+                    this.receiverTypeAnnotationTokens = compact(receiverTypeAnnotationTokens);
+                    this.annotationTokens = compact(annotationTokens);
+                    this.parameterAnnotationTokens = compact(parameterAnnotationTokens);
+                    this.parameterTokens = compact(parameterTokens);
                     this.defaultValue = defaultValue;
                 }
 
@@ -7583,10 +11157,26 @@ public interface TypePool {
             private final List<String> declaredTypes;
 
             /**
-             * Creates a new type extractor.
+             * The deferred extraction of the parsed type's fields and methods or {@code null} if they are extracted by this extractor.
+             */
+            private final LazyTypeDescription.MemberExtraction memberExtraction;
+
+            /**
+             * Creates a new type extractor that extracts the parsed type's fields and methods.
              */
             protected TypeExtractor() {
+                this(null);
+            }
+
+            /**
+             * Creates a new type extractor.
+             *
+             * @param memberExtraction The deferred extraction of the parsed type's fields and methods or {@code null} if they
+             *                         are to be extracted by this extractor.
+             */
+            protected TypeExtractor(LazyTypeDescription.MemberExtraction memberExtraction) {
                 super(OpenedClassReader.ASM_API);
+                this.memberExtraction = memberExtraction;
                 superTypeAnnotationTokens = new HashMap<Integer, Map<String, List<LazyTypeDescription.AnnotationToken>>>();
                 typeVariableAnnotationTokens = new HashMap<Integer, Map<String, List<LazyTypeDescription.AnnotationToken>>>();
                 typeVariableBoundsAnnotationTokens = new HashMap<Integer, Map<Integer, Map<String, List<LazyTypeDescription.AnnotationToken>>>>();
@@ -7638,7 +11228,7 @@ public interface TypePool {
                     }
                     this.modifiers = modifiers & REAL_MODIFIER_MASK;
                 } else if (outerName != null && innerName != null && outerName.equals(this.internalName)) {
-                    declaredTypes.add("L" + internalName + ";");
+                    declaredTypes.add(symbolTable.intern("L" + internalName + ";"));
                 }
             }
 
@@ -7679,14 +11269,16 @@ public interface TypePool {
 
             @Override
             public FieldVisitor visitField(int modifiers, String internalName, String descriptor, String genericSignature, Object defaultValue) {
-                return new FieldExtractor(modifiers & REAL_MODIFIER_MASK, internalName, descriptor, genericSignature);
+                return memberExtraction == null
+                        ? new FieldExtractor(modifiers & REAL_MODIFIER_MASK, symbolTable.intern(internalName), symbolTable.intern(descriptor), symbolTable.intern(genericSignature))
+                        : IGNORE_FIELD;
             }
 
             @Override
             public MethodVisitor visitMethod(int modifiers, String internalName, String descriptor, String genericSignature, String[] exceptionName) {
-                return internalName.equals(MethodDescription.TYPE_INITIALIZER_INTERNAL_NAME)
+                return memberExtraction != null || internalName.equals(MethodDescription.TYPE_INITIALIZER_INTERNAL_NAME)
                         ? IGNORE_METHOD
-                        : new MethodExtractor(modifiers & REAL_MODIFIER_MASK, internalName, descriptor, genericSignature, exceptionName);
+                        : new MethodExtractor(modifiers & REAL_MODIFIER_MASK, symbolTable.intern(internalName), symbolTable.intern(descriptor), symbolTable.intern(genericSignature), exceptionName);
             }
 
             @Override
@@ -7707,6 +11299,7 @@ public interface TypePool {
              */
             protected TypeDescription toTypeDescription() {
                 return new LazyTypeDescription(Default.this,
+                        symbolTable,
                         actualModifiers,
                         modifiers,
                         internalName,
@@ -7724,7 +11317,8 @@ public interface TypePool {
                         typeVariableBoundsAnnotationTokens,
                         annotationTokens,
                         fieldTokens,
-                        methodTokens);
+                        methodTokens,
+                        memberExtraction);
             }
 
             /**
@@ -7751,7 +11345,7 @@ public interface TypePool {
                  * @param componentTypeLocator The component type locator to use.
                  */
                 protected AnnotationExtractor(String descriptor, List<LazyTypeDescription.AnnotationToken> annotationTokens, ComponentTypeLocator componentTypeLocator) {
-                    this(new AnnotationRegistrant.ForByteCodeElement(descriptor, annotationTokens), componentTypeLocator);
+                    this(new AnnotationRegistrant.ForByteCodeElement(symbolTable.intern(descriptor), annotationTokens), componentTypeLocator);
                 }
 
                 /**
@@ -7766,7 +11360,7 @@ public interface TypePool {
                                               int index,
                                               Map<Integer, List<LazyTypeDescription.AnnotationToken>> annotationTokens,
                                               ComponentTypeLocator componentTypeLocator) {
-                    this(new AnnotationRegistrant.ForByteCodeElement.WithIndex(descriptor, index, annotationTokens), componentTypeLocator);
+                    this(new AnnotationRegistrant.ForByteCodeElement.WithIndex(symbolTable.intern(descriptor), index, annotationTokens), componentTypeLocator);
                 }
 
                 /**
@@ -7794,7 +11388,7 @@ public interface TypePool {
                  * {@inheritDoc}
                  */
                 public void visitEnum(String name, String descriptor, String value) {
-                    annotationRegistrant.register(name, new RawEnumerationValue(Default.this, descriptor, value));
+                    annotationRegistrant.register(name, new RawEnumerationValue(Default.this, symbolTable.intern(descriptor), symbolTable.intern(value)));
                 }
 
                 /**
@@ -8217,13 +11811,13 @@ public interface TypePool {
                 @Override
                 public void visitLocalVariable(String name, String descriptor, String signature, Label start, Label end, int index) {
                     if (readerMode.isExtended() && start == firstLabel) {
-                        legacyParameterBag.register(index, name);
+                        legacyParameterBag.register(index, symbolTable.intern(name));
                     }
                 }
 
                 @Override
                 public void visitParameter(String name, int modifiers) {
-                    parameterTokens.add(new LazyTypeDescription.MethodToken.ParameterToken(name, modifiers));
+                    parameterTokens.add(new LazyTypeDescription.MethodToken.ParameterToken(symbolTable.intern(name), modifiers));
                 }
 
                 @Override
@@ -8472,6 +12066,145 @@ public interface TypePool {
         }
     }
 
+    /**
+     * <p>
+     * A type pool that describes types that are already loaded by representing them as
+     * {@link net.bytebuddy.description.type.TypeDescription.ForLoadedType}s. This type pool never loads a type but only answers
+     * for types of which a {@link Class} representation was supplied such that parsing their class files can be avoided. Typically,
+     * this type pool is used as the parent of a {@link Default} type pool such that only types that are not yet loaded are parsed,
+     * including the super types of a parsed type which are resolved by the parsing type pool. Rather than supplying loaded types
+     * explicitly, a type pool can look up loaded types of a class loader and its parents on demand by {@link ForLoadedTypes#of(ClassLoader)}.
+     * </p>
+     * <p>
+     * <b>Important</b>: Describing the hierarchy of a loaded type does not trigger class loading as all super types of a loaded type
+     * are loaded themselves. Resolving the members of a loaded type is however carried out via the Java reflection API which loads
+     * all types of their signatures. Furthermore, a type pool of explicitly supplied types retains these types and should therefore
+     * not outlive their class loaders.
+     * </p>
+     */
+    @HashCodeAndEqualsPlugin.Enhance
+    class ForLoadedTypes extends AbstractBase.Hierarchical {
+
+        /**
+         * A mapping from type names to the loaded types of that name.
+         */
+        private final Map<String, Class<?>> types;
+
+        /**
+         * Creates a type pool for loaded types.
+         *
+         * @param cacheProvider The cache provider to use.
+         * @param parent        The parent type pool.
+         * @param types         A mapping from type names to the loaded types of that name.
+         */
+        public ForLoadedTypes(CacheProvider cacheProvider, TypePool parent, Map<String, Class<?>> types) {
+            super(cacheProvider, parent);
+            this.types = types;
+        }
+
+        /**
+         * Returns a type pool that describes the supplied loaded types.
+         *
+         * @param types The loaded types to describe.
+         * @return A type pool that describes the supplied loaded types.
+         */
+        public static TypePool of(Collection<? extends Class<?>> types) {
+            return of(types, Empty.INSTANCE);
+        }
+
+        /**
+         * Returns a type pool that describes the supplied loaded types and that queries the supplied parent type pool first.
+         *
+         * @param types  The loaded types to describe.
+         * @param parent The parent type pool to use.
+         * @return A type pool that describes the supplied loaded types.
+         */
+        public static TypePool of(Collection<? extends Class<?>> types, TypePool parent) {
+            Map<String, Class<?>> loadedTypes = new HashMap<String, Class<?>>();
+            for (Class<?> type : types) {
+                if (!type.isArray() && !type.isPrimitive()) {
+                    loadedTypes.put(type.getName(), type);
+                }
+            }
+            return new ForLoadedTypes(CacheProvider.NoOp.INSTANCE, parent, loadedTypes);
+        }
+
+        /**
+         * Returns a type pool that describes types that are loaded by the supplied class loader or any of its parents at the time
+         * a type is described. Loaded types are looked up on demand via {@link ClassInjector.UsingReflection#findLoaded(String)}
+         * such that no type is ever loaded by the returned type pool. Types of the bootstrap loader are not represented. If reflective
+         * access to a class loader is not available on the current VM, the returned type pool does not represent any type.
+         *
+         * @param classLoader The class loader for which to describe loaded types where {@code null} represents the bootstrap loader.
+         * @return A type pool that describes the types that are loaded by the supplied class loader.
+         */
+        public static TypePool of(ClassLoader classLoader) {
+            return of(classLoader, Empty.INSTANCE);
+        }
+
+        /**
+         * Returns a type pool that describes types that are loaded by the supplied class loader or any of its parents at the time
+         * a type is described and that queries the supplied parent type pool first. Loaded types are looked up on demand via
+         * {@link ClassInjector.UsingReflection#findLoaded(String)} such that no type is ever loaded by the returned type pool. Types
+         * of the bootstrap loader are not represented. If reflective access to a class loader is not available on the current VM,
+         * the parent type pool is returned.
+         *
+         * @param classLoader The class loader for which to describe loaded types where {@code null} represents the bootstrap loader.
+         * @param parent      The parent type pool to use.
+         * @return A type pool that describes the types that are loaded by the supplied class loader.
+         */
+        public static TypePool of(ClassLoader classLoader, TypePool parent) {
+            return classLoader == null || !ClassInjector.UsingReflection.isAvailable()
+                    ? parent
+                    : new OfClassLoader(parent, classLoader);
+        }
+
+        @Override
+        protected Resolution doDescribe(String name) {
+            Class<?> type = types.get(name);
+            return type == null
+                    ? new Resolution.Illegal(name)
+                    : new Resolution.Simple(TypeDescription.ForLoadedType.of(type));
+        }
+
+        /**
+         * A type pool that looks up the types that are loaded by a class loader or any of its parents on demand. This type pool only
+         * references its class loader and never loads a type.
+         */
+        @HashCodeAndEqualsPlugin.Enhance
+        protected static class OfClassLoader extends AbstractBase.Hierarchical {
+
+            /**
+             * The class loader for which to describe loaded types.
+             */
+            private final ClassLoader classLoader;
+
+            /**
+             * Creates a type pool that looks up loaded types on demand.
+             *
+             * @param parent      The parent type pool.
+             * @param classLoader The class loader for which to describe loaded types.
+             */
+            protected OfClassLoader(TypePool parent, ClassLoader classLoader) {
+                super(CacheProvider.NoOp.INSTANCE, parent);
+                this.classLoader = classLoader;
+            }
+
+            @Override
+            protected Resolution doDescribe(String name) {
+                ClassLoader classLoader = this.classLoader;
+                do {
+                    Class<?> type = new ClassInjector.UsingReflection(classLoader).findLoaded(name);
+                    if (type != null) {
+                        return new Resolution.Simple(TypeDescription.ForLoadedType.of(type));
+                    }
+                    classLoader = classLoader.getParent();
+                } while (classLoader != null);
+                return new Resolution.Illegal(name);
+            }
+        }
+    }
+
     /**
      * A type pool that supplies explicitly known type descriptions.
      */
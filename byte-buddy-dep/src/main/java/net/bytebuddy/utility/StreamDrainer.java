@@ -4,8 +4,6 @@ import net.bytebuddy.build.HashCodeAndEqualsPlugin;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * A utility for draining the contents of an {@link java.io.InputStream} into a {@code byte} array.
@@ -23,6 +21,21 @@ public class StreamDrainer {
      */
     public static final StreamDrainer DEFAULT = new StreamDrainer();
 
+    /**
+     * The maximum size of a buffer that is retained for reuse by a thread.
+     */
+    private static final int MAXIMUM_SCRATCH_SIZE = 1 << 16;
+
+    /**
+     * The maximum expected size for which a byte array is allocated eagerly.
+     */
+    private static final int MAXIMUM_EXPECTED_SIZE = 1 << 24;
+
+    /**
+     * A reusable buffer per thread for draining streams of unknown size.
+     */
+    private static final ThreadLocal<byte[]> SCRATCH = new ThreadLocal<byte[]>();
+
     /**
      * A convenience constant referring to the value representing the end of a stream.
      */
@@ -55,32 +68,86 @@ public class StreamDrainer {
     }
 
     /**
-     * Drains an input stream into a byte array. The given input stream is not closed.
+     * Drains an input stream into a byte array. The given input stream is not closed. The stream's
+     * {@link InputStream#available()} bytes are used as a hint for the size of the drained content.
      *
      * @param inputStream The input stream to drain.
      * @return A byte array containing the content of the input stream.
      * @throws IOException If the stream reading causes an error.
      */
     public byte[] drain(InputStream inputStream) throws IOException {
-        List<byte[]> previousBytes = new ArrayList<byte[]>();
-        byte[] currentArray = new byte[bufferSize];
-        int currentIndex = 0;
-        int currentRead;
-        do {
-            currentRead = inputStream.read(currentArray, currentIndex, bufferSize - currentIndex);
-            currentIndex += currentRead > 0 ? currentRead : 0;
-            if (currentIndex == bufferSize) {
-                previousBytes.add(currentArray);
-                currentArray = new byte[bufferSize];
-                currentIndex = 0;
+        return drain(inputStream, inputStream.available());
+    }
+
+    /**
+     * Drains an input stream into a byte array. The given input stream is not closed. If the expected size is accurate, the content
+     * is read directly into a byte array of this size. Otherwise, the content is read into a reusable buffer of the current thread
+     * that is copied into an array of the content's exact size.
+     *
+     * @param inputStream  The input stream to drain.
+     * @param expectedSize The expected size of the stream's content or a non-positive value if the size is unknown.
+     * @return A byte array containing the content of the input stream.
+     * @throws IOException If the stream reading causes an error.
+     */
+    public byte[] drain(InputStream inputStream, long expectedSize) throws IOException {
+        boolean exact = expectedSize > 0 && expectedSize <= MAXIMUM_EXPECTED_SIZE;
+        byte[] buffer = exact
+                ? new byte[(int) expectedSize]
+                : scratch();
+        int length = 0, read;
+        while (true) {
+            if (length == buffer.length) {
+                if (exact) {
+                    int next = inputStream.read();
+                    if (next == END_OF_STREAM) {
+                        return buffer;
+                    }
+                    buffer = grow(buffer, length);
+                    buffer[length++] = (byte) next;
+                    exact = false;
+                } else {
+                    buffer = grow(buffer, length);
+                }
+            }
+            read = inputStream.read(buffer, length, buffer.length - length);
+            if (read == END_OF_STREAM) {
+                break;
             }
-        } while (currentRead != END_OF_STREAM);
-        byte[] result = new byte[previousBytes.size() * bufferSize + currentIndex];
-        int arrayIndex = 0;
-        for (byte[] previousByte : previousBytes) {
-            System.arraycopy(previousByte, FROM_BEGINNING, result, arrayIndex++ * bufferSize, bufferSize);
+            length += read;
         }
-        System.arraycopy(currentArray, FROM_BEGINNING, result, arrayIndex * bufferSize, currentIndex);
+        if (!exact && buffer.length <= MAXIMUM_SCRATCH_SIZE) {
+            SCRATCH.set(buffer);
+        }
+        byte[] result = new byte[length];
+        System.arraycopy(buffer, FROM_BEGINNING, result, FROM_BEGINNING, length);
         return result;
     }
+
+    /**
+     * Removes the current thread's reusable buffer for the duration of a drainage such that a nested drainage does not
+     * share the buffer. If no buffer of at least this drainer's buffer size is available, a new buffer is created.
+     *
+     * @return A buffer to drain a stream into.
+     */
+    private byte[] scratch() {
+        byte[] scratch = SCRATCH.get();
+        if (scratch == null || scratch.length < bufferSize) {
+            return new byte[Math.max(bufferSize, 1)];
+        }
+        SCRATCH.set(null);
+        return scratch;
+    }
+
+    /**
+     * Doubles the size of a buffer.
+     *
+     * @param buffer The buffer to grow.
+     * @param length The length of the buffer's content.
+     * @return A buffer of at least twice the size containing the given buffer's content.
+     */
+    private byte[] grow(byte[] buffer, int length) {
+        byte[] grown = new byte[Math.max(buffer.length * 2, Math.max(bufferSize, 1))];
+        System.arraycopy(buffer, FROM_BEGINNING, grown, FROM_BEGINNING, length);
+        return grown;
+    }
 }
@@ -3,6 +3,7 @@ package net.bytebuddy.agent.builder;
 import org.junit.Test;
 
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
@@ -45,4 +46,62 @@ public class AgentBuilderCircularityLockTest {
         assertThat(circularityLock.acquire(), is(true));
         circularityLock.release();
     }
+
+    @Test
+    public void testBoundedLock() throws Exception {
+        AgentBuilder.CircularityLock.Bounded circularityLock = new AgentBuilder.CircularityLock.Bounded();
+        assertThat(circularityLock.acquire(), is(true));
+        assertThat(circularityLock.isLocked(), is(true));
+        assertThat(circularityLock.acquire(), is(false));
+        circularityLock.release();
+        assertThat(circularityLock.isLocked(), is(false));
+        assertThat(circularityLock.acquire(), is(true));
+        circularityLock.release();
+    }
+
+    @Test
+    public void testBoundedLockOverflow() throws Exception {
+        final AgentBuilder.CircularityLock.Bounded circularityLock = new AgentBuilder.CircularityLock.Bounded(1);
+        assertThat(circularityLock.acquire(), is(true));
+        final AtomicBoolean acquired = new AtomicBoolean(), reacquired = new AtomicBoolean(true), locked = new AtomicBoolean();
+        Thread thread = new Thread(new Runnable() {
+            public void run() {
+                acquired.set(circularityLock.acquire());
+                reacquired.set(circularityLock.acquire());
+                circularityLock.release();
+                locked.set(circularityLock.isLocked());
+            }
+        });
+        thread.start();
+        thread.join();
+        assertThat(acquired.get(), is(true));
+        assertThat(reacquired.get(), is(false));
+        assertThat(locked.get(), is(false));
+        assertThat(circularityLock.isLocked(), is(true));
+        circularityLock.release();
+        assertThat(circularityLock.acquire(), is(true));
+        circularityLock.release();
+    }
+
+    @Test
+    public void testBoundedLockConcurrent() throws Exception {
+        final AgentBuilder.CircularityLock circularityLock = new AgentBuilder.CircularityLock.Bounded(2);
+        assertThat(circularityLock.acquire(), is(true));
+        final AtomicBoolean acquired = new AtomicBoolean();
+        Thread thread = new Thread(new Runnable() {
+            public void run() {
+                acquired.set(circularityLock.acquire());
+                circularityLock.release();
+            }
+        });
+        thread.start();
+        thread.join();
+        assertThat(acquired.get(), is(true));
+        circularityLock.release();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBoundedLockIllegalSlots() throws Exception {
+        new AgentBuilder.CircularityLock.Bounded(0);
+    }
 }
@@ -0,0 +1,166 @@
+package net.bytebuddy.agent.builder;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.matcher.ElementMatchers;
+import net.bytebuddy.utility.JavaModule;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class AgentBuilderDeduplicationStrategyTest {
+
+    private static final String FOO = "foo.Foo", BAR = "foo.Bar";
+
+    private DynamicType.Unloaded<?> superClass, dynamicType;
+
+    private AgentBuilder.Transformer transformer;
+
+    @Before
+    public void setUp() throws Exception {
+        superClass = new ByteBuddy().subclass(Object.class).name(BAR).make();
+        dynamicType = new ByteBuddy().subclass(superClass.getTypeDescription()).name(FOO).make();
+        transformer = mock(AgentBuilder.Transformer.class);
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        AgentBuilder.Listener listener = mock(AgentBuilder.Listener.class);
+        AgentBuilder.DeduplicationStrategy.Dispatcher dispatcher = AgentBuilder.DeduplicationStrategy.Disabled.INSTANCE.dispatcher(dynamicType.getTypeDescription(),
+                null,
+                transformer,
+                ClassFileLocator.NoOp.INSTANCE);
+        assertThat(dispatcher.resolve(), nullValue(byte[].class));
+        assertThat(dispatcher.register(listener), sameInstance(listener));
+    }
+
+    @Test
+    public void testDigestReusesEquivalentTransformation() throws Exception {
+        AgentBuilder.DeduplicationStrategy.ForDigest deduplicationStrategy = new AgentBuilder.DeduplicationStrategy.ForDigest();
+        AgentBuilder.DeduplicationStrategy.Dispatcher dispatcher = deduplicationStrategy.dispatcher(dynamicType.getTypeDescription(),
+                null,
+                transformer,
+                locator(superClass.getBytes()));
+        assertThat(dispatcher.resolve(), nullValue(byte[].class));
+        AgentBuilder.Listener listener = mock(AgentBuilder.Listener.class);
+        dispatcher.register(listener).onTransformation(dynamicType.getTypeDescription(), null, JavaModule.UNSUPPORTED, false, dynamicType);
+        verify(listener).onTransformation(dynamicType.getTypeDescription(), null, JavaModule.UNSUPPORTED, false, dynamicType);
+        verifyNoMoreInteractions(listener);
+        assertThat(deduplicationStrategy.getSize(), is(1));
+        assertThat(deduplicationStrategy.dispatcher(dynamicType.getTypeDescription(),
+                null,
+                transformer,
+                locator(superClass.getBytes())).resolve(), is(dynamicType.getBytes()));
+        assertThat(deduplicationStrategy.dispatcher(dynamicType.getTypeDescription(),
+                null,
+                mock(AgentBuilder.Transformer.class),
+                locator(superClass.getBytes())).resolve(), nullValue(byte[].class));
+    }
+
+    @Test
+    public void testDigestDistinguishesHierarchy() throws Exception {
+        AgentBuilder.DeduplicationStrategy.ForDigest deduplicationStrategy = new AgentBuilder.DeduplicationStrategy.ForDigest();
+        deduplicationStrategy.dispatcher(dynamicType.getTypeDescription(), null, transformer, locator(superClass.getBytes()))
+                .register(mock(AgentBuilder.Listener.class))
+                .onTransformation(dynamicType.getTypeDescription(), null, JavaModule.UNSUPPORTED, false, dynamicType);
+        assertThat(deduplicationStrategy.dispatcher(dynamicType.getTypeDescription(),
+                null,
+                transformer,
+                locator(new ByteBuddy().subclass(Object.class).name(BAR).defineField(FOO, Object.class).make().getBytes())).resolve(), nullValue(byte[].class));
+    }
+
+    @Test
+    public void testDigestNotLocatable() throws Exception {
+        assertThat(new AgentBuilder.DeduplicationStrategy.ForDigest().dispatcher(dynamicType.getTypeDescription(),
+                null,
+                transformer,
+                ClassFileLocator.Simple.of(FOO, dynamicType.getBytes())), instanceOf(AgentBuilder.DeduplicationStrategy.Dispatcher.NoOp.class));
+    }
+
+    @Test
+    public void testDigestIgnoresAuxiliaryTypes() throws Exception {
+        AgentBuilder.DeduplicationStrategy.ForDigest deduplicationStrategy = new AgentBuilder.DeduplicationStrategy.ForDigest();
+        DynamicType auxiliaryType = mock(DynamicType.class);
+        when(auxiliaryType.getAuxiliaryTypes()).thenReturn(Collections.<TypeDescription, byte[]>singletonMap(mock(TypeDescription.class), new byte[0]));
+        deduplicationStrategy.dispatcher(dynamicType.getTypeDescription(), null, transformer, locator(superClass.getBytes()))
+                .register(mock(AgentBuilder.Listener.class))
+                .onTransformation(dynamicType.getTypeDescription(), null, JavaModule.UNSUPPORTED, false, auxiliaryType);
+        assertThat(deduplicationStrategy.getSize(), is(0));
+    }
+
+    @Test
+    public void testDigestIsBounded() throws Exception {
+        AgentBuilder.DeduplicationStrategy.ForDigest deduplicationStrategy = new AgentBuilder.DeduplicationStrategy.ForDigest(1);
+        deduplicationStrategy.dispatcher(dynamicType.getTypeDescription(), null, transformer, locator(superClass.getBytes()))
+                .register(mock(AgentBuilder.Listener.class))
+                .onTransformation(dynamicType.getTypeDescription(), null, JavaModule.UNSUPPORTED, false, dynamicType);
+        AgentBuilder.Transformer other = mock(AgentBuilder.Transformer.class);
+        deduplicationStrategy.dispatcher(dynamicType.getTypeDescription(), null, other, locator(superClass.getBytes()))
+                .register(mock(AgentBuilder.Listener.class))
+                .onTransformation(dynamicType.getTypeDescription(), null, JavaModule.UNSUPPORTED, false, dynamicType);
+        assertThat(deduplicationStrategy.getSize(), is(1));
+        assertThat(deduplicationStrategy.dispatcher(dynamicType.getTypeDescription(),
+                null,
+                transformer,
+                locator(superClass.getBytes())).resolve(), nullValue(byte[].class));
+        assertThat(deduplicationStrategy.dispatcher(dynamicType.getTypeDescription(),
+                null,
+                other,
+                locator(superClass.getBytes())).resolve(), is(dynamicType.getBytes()));
+    }
+
+    @Test
+    public void testDigestOfHierarchyIsRetainedPerClassLoader() throws Exception {
+        AgentBuilder.DeduplicationStrategy.ForDigest deduplicationStrategy = new AgentBuilder.DeduplicationStrategy.ForDigest();
+        deduplicationStrategy.dispatcher(dynamicType.getTypeDescription(), null, transformer, locator(superClass.getBytes()))
+                .register(mock(AgentBuilder.Listener.class))
+                .onTransformation(dynamicType.getTypeDescription(), null, JavaModule.UNSUPPORTED, false, dynamicType);
+        ClassFileLocator classFileLocator = spy(locator(superClass.getBytes()));
+        assertThat(deduplicationStrategy.dispatcher(dynamicType.getTypeDescription(),
+                null,
+                transformer,
+                classFileLocator).resolve(), is(dynamicType.getBytes()));
+        verify(classFileLocator).locate(FOO);
+        verify(classFileLocator, never()).locate(BAR);
+    }
+
+    @Test
+    public void testDeduplicationIsSkippedForLoadedTypes() throws Exception {
+        AgentBuilder.DeduplicationStrategy deduplicationStrategy = mock(AgentBuilder.DeduplicationStrategy.class);
+        new AgentBuilder.Default()
+                .with(deduplicationStrategy)
+                .with(AgentBuilder.RedefinitionStrategy.RETRANSFORMATION)
+                .type(ElementMatchers.is(Sample.class))
+                .transform(new AgentBuilder.Transformer.ForAdvice())
+                .makeRaw()
+                .transform(Sample.class.getClassLoader(),
+                        Sample.class.getName().replace('.', '/'),
+                        Sample.class,
+                        Sample.class.getProtectionDomain(),
+                        ClassFileLocator.ForClassLoader.read(Sample.class));
+        verifyNoMoreInteractions(deduplicationStrategy);
+    }
+
+    private ClassFileLocator locator(byte[] superClass) {
+        Map<String, byte[]> classFiles = new HashMap<String, byte[]>();
+        classFiles.put(FOO, dynamicType.getBytes());
+        classFiles.put(BAR, superClass);
+        return new ClassFileLocator.Simple(classFiles);
+    }
+
+    public static class Sample {
+        /* empty */
+    }
+}
@@ -10,6 +10,7 @@ import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
 import net.bytebuddy.dynamic.scaffold.TypeValidation;
 import net.bytebuddy.implementation.FixedValue;
 import net.bytebuddy.matcher.ElementMatchers;
+import net.bytebuddy.pool.TypePool;
 import net.bytebuddy.test.packaging.SimpleType;
 import net.bytebuddy.test.utility.AgentAttachmentRule;
 import net.bytebuddy.test.utility.IntegrationRule;
@@ -21,6 +22,11 @@ import org.junit.rules.MethodRule;
 
 import java.lang.instrument.ClassFileTransformer;
 import java.lang.instrument.Instrumentation;
+import java.security.ProtectionDomain;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
@@ -89,6 +95,105 @@ public class AgentBuilderDefaultApplicationResubmissionTest {
         }
     }
 
+    @Test
+    @AgentAttachmentRule.Enforce(retransformsClasses = true)
+    @IntegrationRule.Enforce
+    public void testDeferral() throws Exception {
+        final ScheduledExecutorService scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+        try {
+            assertThat(ByteBuddyAgent.install(), instanceOf(Instrumentation.class));
+            ClassFileTransformer classFileTransformer = new AgentBuilder.Default(new ByteBuddy().with(TypeValidation.DISABLED))
+                    .ignore(none())
+                    .disableClassFormatChanges()
+                    .with(AgentBuilder.RedefinitionStrategy.RETRANSFORMATION)
+                    .withDeferral(new AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.WithFixedDelay(scheduledExecutorService, TIMEOUT, TimeUnit.SECONDS))
+                    .type(ElementMatchers.is(SimpleType.class), ElementMatchers.is(classLoader)).transform(new SampleTransformer())
+                    .installOnByteBuddyAgent();
+            try {
+                Class<?> type = classLoader.loadClass(SimpleType.class.getName());
+                assertThat(type.getDeclaredMethod(FOO).invoke(type.getDeclaredConstructor().newInstance()), is((Object) FOO));
+                Thread.sleep(TimeUnit.SECONDS.toMillis(TIMEOUT * 3));
+                assertThat(type.getDeclaredMethod(FOO).invoke(type.getDeclaredConstructor().newInstance()), is((Object) BAR));
+            } finally {
+                ByteBuddyAgent.getInstrumentation().removeTransformer(classFileTransformer);
+            }
+        } finally {
+            scheduledExecutorService.shutdown();
+        }
+    }
+
+    @Test
+    @AgentAttachmentRule.Enforce(retransformsClasses = true)
+    @IntegrationRule.Enforce
+    public void testDeferralSynchronous() throws Exception {
+        ScheduledExecutorService scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+        try {
+            assertThat(ByteBuddyAgent.install(), instanceOf(Instrumentation.class));
+            ClassFileTransformer classFileTransformer = new AgentBuilder.Default(new ByteBuddy().with(TypeValidation.DISABLED))
+                    .ignore(none())
+                    .disableClassFormatChanges()
+                    .with(AgentBuilder.RedefinitionStrategy.RETRANSFORMATION)
+                    .withDeferral(new AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.WithFixedDelay(scheduledExecutorService, TIMEOUT, TimeUnit.HOURS),
+                            named(SimpleType.class.getName()))
+                    .type(ElementMatchers.is(SimpleType.class), ElementMatchers.is(classLoader)).transform(new SampleTransformer())
+                    .installOnByteBuddyAgent();
+            try {
+                Class<?> type = classLoader.loadClass(SimpleType.class.getName());
+                assertThat(type.getDeclaredMethod(FOO).invoke(type.getDeclaredConstructor().newInstance()), is((Object) BAR));
+            } finally {
+                ByteBuddyAgent.getInstrumentation().removeTransformer(classFileTransformer);
+            }
+        } finally {
+            scheduledExecutorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testDeferralRegistersOnlyMatchedTypes() throws Exception {
+        AgentBuilder.Default.Transformation transformation = mock(AgentBuilder.Default.Transformation.class);
+        TypeDescription typeDescription = mock(TypeDescription.class), otherTypeDescription = mock(TypeDescription.class);
+        when(typeDescription.getName()).thenReturn(FOO);
+        when(otherTypeDescription.getName()).thenReturn(BAR);
+        when(transformation.matches(typeDescription, classLoader, JavaModule.UNSUPPORTED, null, null)).thenReturn(true);
+        ConcurrentMap<AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled.StorageKey, Set<String>> types =
+                new ConcurrentHashMap<AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled.StorageKey, Set<String>>();
+        AgentBuilder.Default.Transformation deferringTransformation = new AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Deferring.DeferringTransformation(transformation,
+                AgentBuilder.RawMatcher.Trivial.NON_MATCHING,
+                types);
+        assertThat(deferringTransformation.resolve(otherTypeDescription, classLoader, JavaModule.UNSUPPORTED, null, false, null, mock(TypePool.class)).getSort(),
+                is(AgentBuilder.Default.Transformation.Resolution.Sort.UNDEFINED));
+        assertThat(types.isEmpty(), is(true));
+        assertThat(deferringTransformation.resolve(typeDescription, classLoader, JavaModule.UNSUPPORTED, null, false, null, mock(TypePool.class)).getSort(),
+                is(AgentBuilder.Default.Transformation.Resolution.Sort.UNDEFINED));
+        assertThat(types.size(), is(1));
+        assertThat(types.values().iterator().next(), is(Collections.singleton(FOO)));
+        verify(transformation, never()).resolve(any(TypeDescription.class),
+                any(ClassLoader.class),
+                any(JavaModule.class),
+                any(Class.class),
+                anyBoolean(),
+                any(ProtectionDomain.class),
+                any(TypePool.class));
+    }
+
+    @Test
+    public void testDeferralImpliesDisabledClassFormatChanges() throws Exception {
+        AgentBuilder.Default agentBuilder = (AgentBuilder.Default) new AgentBuilder.Default()
+                .with(AgentBuilder.RedefinitionStrategy.RETRANSFORMATION)
+                .withDeferral(mock(AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.class));
+        assertThat(agentBuilder.typeStrategy, is((AgentBuilder.TypeStrategy) AgentBuilder.TypeStrategy.Default.REDEFINE_FROZEN));
+        assertThat(agentBuilder.nativeMethodStrategy, is((AgentBuilder.Default.NativeMethodStrategy) AgentBuilder.Default.NativeMethodStrategy.Disabled.INSTANCE));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testDeferralWithClassFormatChangesIsRejected() throws Exception {
+        new AgentBuilder.Default()
+                .with(AgentBuilder.RedefinitionStrategy.RETRANSFORMATION)
+                .withDeferral(mock(AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.class))
+                .with(AgentBuilder.TypeStrategy.Default.REBASE)
+                .installOn(mock(Instrumentation.class));
+    }
+
     @Test
     public void testResubmissionCancelationNonOperational() throws Exception {
         AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.Cancelable.NoOp.INSTANCE.cancel();
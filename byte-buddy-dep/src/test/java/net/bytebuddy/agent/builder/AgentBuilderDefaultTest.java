@@ -36,6 +36,9 @@ import java.lang.instrument.Instrumentation;
 import java.lang.instrument.UnmodifiableClassException;
 import java.security.ProtectionDomain;
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static net.bytebuddy.matcher.ElementMatchers.none;
 import static net.bytebuddy.test.utility.FieldByFieldComparison.hasPrototype;
@@ -1069,6 +1072,38 @@ public class AgentBuilderDefaultTest {
         verifyNoMoreInteractions(installationListener);
     }
 
+    @Test
+    public void testSuccessfulWithRedefinitionMatchedPreparationExecutor() throws Exception {
+        when(typeMatcher.matches(TypeDescription.ForLoadedType.of(REDEFINED), REDEFINED.getClassLoader(), JavaModule.ofType(REDEFINED), REDEFINED, REDEFINED.getProtectionDomain()))
+                .thenReturn(true);
+        when(instrumentation.isModifiableClass(REDEFINED)).thenReturn(true);
+        when(instrumentation.isRedefineClassesSupported()).thenReturn(true);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            ResettableClassFileTransformer classFileTransformer = new AgentBuilder.Default(byteBuddy)
+                    .with(initializationStrategy)
+                    .with(AgentBuilder.RedefinitionStrategy.REDEFINITION)
+                    .withPreparationExecutor(executorService)
+                    .with(poolStrategy)
+                    .with(typeStrategy)
+                    .with(installationListener)
+                    .with(listener)
+                    .disableNativeMethodPrefix()
+                    .ignore(none())
+                    .type(typeMatcher).transform(transformer)
+                    .installOn(instrumentation);
+            verifyZeroInteractions(listener);
+            verify(instrumentation).addTransformer(classFileTransformer, false);
+            verify(instrumentation).getAllLoadedClasses();
+            verify(instrumentation).isModifiableClass(REDEFINED);
+            verify(instrumentation).redefineClasses(any(ClassDefinition.class));
+            verify(instrumentation).isRedefineClassesSupported();
+            verifyNoMoreInteractions(instrumentation);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
     @Test
     public void testSuccessfulWithRedefinitionMatchedFallback() throws Exception {
         when(typeMatcher.matches(TypeDescription.ForLoadedType.of(REDEFINED), REDEFINED.getClassLoader(), JavaModule.ofType(REDEFINED), REDEFINED, REDEFINED.getProtectionDomain()))
@@ -1752,6 +1787,27 @@ public class AgentBuilderDefaultTest {
         verifyNoMoreInteractions(installationListener);
     }
 
+    @Test
+    public void testExcludedIsIgnoredWithoutDescription() throws Exception {
+        ResettableClassFileTransformer classFileTransformer = new AgentBuilder.Default(byteBuddy)
+                .with(initializationStrategy)
+                .with(poolStrategy)
+                .with(typeStrategy)
+                .with(installationListener)
+                .with(listener)
+                .disableNativeMethodPrefix()
+                .type(ElementMatchers.named(FOO)).transform(transformer)
+                .installOn(instrumentation);
+        assertThat(transform(classFileTransformer, JavaModule.ofType(REDEFINED), REDEFINED.getClassLoader(), REDEFINED.getName(), REDEFINED, REDEFINED.getProtectionDomain(), QUX),
+                nullValue(byte[].class));
+        verify(listener).onDiscovery(REDEFINED.getName(), REDEFINED.getClassLoader(), JavaModule.ofType(REDEFINED), true);
+        verify(listener).onIgnored(TypeDescription.ForLoadedType.of(REDEFINED), REDEFINED.getClassLoader(), JavaModule.ofType(REDEFINED), true);
+        verify(listener).onComplete(REDEFINED.getName(), REDEFINED.getClassLoader(), JavaModule.ofType(REDEFINED), true);
+        verifyNoMoreInteractions(listener);
+        verify(typePool, never()).describe(REDEFINED.getName());
+        verifyZeroInteractions(transformer);
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testEmptyPrefixThrowsException() throws Exception {
         new AgentBuilder.Default(byteBuddy).enableNativeMethodPrefix("");
@@ -2008,6 +2064,9 @@ public class AgentBuilderDefaultTest {
                 AgentBuilder.DescriptionStrategy.Default.HYBRID,
                 mock(AgentBuilder.FallbackStrategy.class),
                 mock(AgentBuilder.ClassFileBufferStrategy.class),
+                AgentBuilder.TransformationCache.NoOp.INSTANCE,
+                AgentBuilder.TransformationMetrics.NoOp.INSTANCE,
+                AgentBuilder.DeduplicationStrategy.Disabled.INSTANCE,
                 mock(AgentBuilder.InstallationListener.class),
                 mock(AgentBuilder.RawMatcher.class),
                 mock(AgentBuilder.Default.Transformation.class),
@@ -2041,6 +2100,9 @@ public class AgentBuilderDefaultTest {
                 AgentBuilder.DescriptionStrategy.Default.HYBRID,
                 mock(AgentBuilder.FallbackStrategy.class),
                 mock(AgentBuilder.ClassFileBufferStrategy.class),
+                AgentBuilder.TransformationCache.NoOp.INSTANCE,
+                AgentBuilder.TransformationMetrics.NoOp.INSTANCE,
+                AgentBuilder.DeduplicationStrategy.Disabled.INSTANCE,
                 mock(AgentBuilder.InstallationListener.class),
                 mock(AgentBuilder.RawMatcher.class),
                 mock(AgentBuilder.Default.Transformation.class),
@@ -2080,6 +2142,9 @@ public class AgentBuilderDefaultTest {
                 AgentBuilder.DescriptionStrategy.Default.HYBRID,
                 mock(AgentBuilder.FallbackStrategy.class),
                 mock(AgentBuilder.ClassFileBufferStrategy.class),
+                AgentBuilder.TransformationCache.NoOp.INSTANCE,
+                AgentBuilder.TransformationMetrics.NoOp.INSTANCE,
+                AgentBuilder.DeduplicationStrategy.Disabled.INSTANCE,
                 mock(AgentBuilder.InstallationListener.class),
                 mock(AgentBuilder.RawMatcher.class),
                 mock(AgentBuilder.Default.Transformation.class),
@@ -2179,6 +2244,13 @@ public class AgentBuilderDefaultTest {
                 .withResubmission(mock(AgentBuilder.RedefinitionStrategy.ResubmissionScheduler.class));
     }
 
+    @Test(expected = IllegalStateException.class)
+    public void testRetransformationDisabledNotEnabledPreparationExecutor() throws Exception {
+        new AgentBuilder.Default()
+                .with(AgentBuilder.RedefinitionStrategy.DISABLED)
+                .withPreparationExecutor(mock(Executor.class));
+    }
+
     public static class Foo {
         /* empty */
     }
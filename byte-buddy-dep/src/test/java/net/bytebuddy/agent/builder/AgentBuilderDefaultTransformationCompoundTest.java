@@ -0,0 +1,137 @@
+package net.bytebuddy.agent.builder;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.pool.TypePool;
+import net.bytebuddy.test.utility.MockitoRule;
+import net.bytebuddy.utility.JavaModule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import java.lang.reflect.Modifier;
+import java.security.ProtectionDomain;
+
+import static net.bytebuddy.matcher.ElementMatchers.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class AgentBuilderDefaultTransformationCompoundTest {
+
+    private static final String FOO = "foo.Foo", BAR = "bar.Bar";
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private TypeDescription typeDescription;
+
+    @Mock
+    private ClassLoader classLoader;
+
+    @Mock
+    private JavaModule module;
+
+    @Mock
+    private ProtectionDomain protectionDomain;
+
+    @Mock
+    private TypePool typePool;
+
+    @Mock
+    private AgentBuilder.Transformer transformer;
+
+    @Mock
+    private AgentBuilder.RawMatcher rawMatcher;
+
+    @Before
+    public void setUp() throws Exception {
+        when(typeDescription.getActualName()).thenReturn(FOO);
+        when(typeDescription.getName()).thenReturn(FOO);
+    }
+
+    @Test
+    public void testIndexedMatch() throws Exception {
+        AgentBuilder.Default.Transformation transformation = new AgentBuilder.Default.Transformation.Compound(
+                new AgentBuilder.Default.Transformation.Simple(new AgentBuilder.RawMatcher.ForElementMatchers(named(BAR)), transformer, false),
+                new AgentBuilder.Default.Transformation.Simple(new AgentBuilder.RawMatcher.ForElementMatchers(nameStartsWith("foo.")), transformer, false));
+        assertThat(transformation.matches(typeDescription, classLoader, module, null, protectionDomain), is(true));
+        assertThat(transformation.resolve(typeDescription, classLoader, module, null, false, protectionDomain, typePool).getSort(),
+                is(AgentBuilder.Default.Transformation.Resolution.Sort.TERMINAL));
+    }
+
+    @Test
+    public void testIndexedNoMatch() throws Exception {
+        AgentBuilder.Default.Transformation transformation = new AgentBuilder.Default.Transformation.Compound(
+                new AgentBuilder.Default.Transformation.Simple(new AgentBuilder.RawMatcher.ForElementMatchers(named(BAR)), transformer, false),
+                new AgentBuilder.Default.Transformation.Simple(new AgentBuilder.RawMatcher.ForElementMatchers(nameStartsWith("foo.Foo.")), transformer, false));
+        assertThat(transformation.matches(typeDescription, classLoader, module, null, protectionDomain), is(false));
+        assertThat(transformation.resolve(typeDescription, classLoader, module, null, false, protectionDomain, typePool).getSort(),
+                is(AgentBuilder.Default.Transformation.Resolution.Sort.UNDEFINED));
+    }
+
+    @Test
+    public void testUnconstrainedIsAlwaysConsulted() throws Exception {
+        AgentBuilder.Default.Transformation transformation = new AgentBuilder.Default.Transformation.Compound(
+                new AgentBuilder.Default.Transformation.Simple(new AgentBuilder.RawMatcher.ForElementMatchers(named(BAR)), transformer, false),
+                new AgentBuilder.Default.Transformation.Simple(rawMatcher, transformer, false));
+        transformation.matches(typeDescription, classLoader, module, null, protectionDomain);
+        verify(rawMatcher).matches(typeDescription, classLoader, module, null, protectionDomain);
+    }
+
+    @Test
+    public void testDecoratorOrderIsRetained() throws Exception {
+        when(rawMatcher.matches(typeDescription, classLoader, module, null, protectionDomain)).thenReturn(true);
+        AgentBuilder.Default.Transformation transformation = new AgentBuilder.Default.Transformation.Compound(
+                new AgentBuilder.Default.Transformation.Simple(new AgentBuilder.RawMatcher.ForElementMatchers(named(FOO)), transformer, true),
+                new AgentBuilder.Default.Transformation.Simple(rawMatcher, transformer, false));
+        assertThat(transformation.resolve(typeDescription, classLoader, module, null, false, protectionDomain, typePool).getSort(),
+                is(AgentBuilder.Default.Transformation.Resolution.Sort.TERMINAL));
+    }
+
+    @Test
+    public void testExcludedByName() throws Exception {
+        AgentBuilder.Default.Transformation transformation = new AgentBuilder.Default.Transformation.Compound(
+                new AgentBuilder.Default.Transformation.Simple(new AgentBuilder.RawMatcher.ForElementMatchers(named(BAR)), transformer, false));
+        assertThat(transformation.isExcluded(FOO, new byte[0]), is(true));
+        assertThat(transformation.isExcluded(BAR, new byte[0]), is(false));
+    }
+
+    @Test
+    public void testExcludedByConstantPool() throws Exception {
+        AgentBuilder.Default.Transformation transformation = new AgentBuilder.Default.Transformation.Compound(
+                new AgentBuilder.Default.Transformation.Simple(new AgentBuilder.RawMatcher.ForElementMatchers(isAnnotatedWith(Deprecated.class)), transformer, false));
+        assertThat(transformation.isExcluded(FOO, new ByteBuddy()
+                .subclass(Object.class)
+                .name(FOO)
+                .defineField(BAR, long.class, Modifier.STATIC | Modifier.FINAL)
+                .value(42L)
+                .make()
+                .getBytes()), is(true));
+        assertThat(transformation.isExcluded(FOO, new ByteBuddy()
+                .subclass(Object.class)
+                .name(FOO)
+                .annotateType(AnnotationDescription.Builder.ofType(Deprecated.class).build())
+                .make()
+                .getBytes()), is(false));
+    }
+
+    @Test
+    public void testNotExcludedIfUnreadable() throws Exception {
+        AgentBuilder.Default.Transformation transformation = new AgentBuilder.Default.Transformation.Compound(
+                new AgentBuilder.Default.Transformation.Simple(new AgentBuilder.RawMatcher.ForElementMatchers(isAnnotatedWith(Deprecated.class)), transformer, false));
+        assertThat(transformation.isExcluded(FOO, new byte[]{1, 2, 3}), is(false));
+    }
+
+    @Test
+    public void testNotExcludedIfUnrestricted() throws Exception {
+        AgentBuilder.Default.Transformation transformation = new AgentBuilder.Default.Transformation.Compound(
+                new AgentBuilder.Default.Transformation.Simple(new AgentBuilder.RawMatcher.ForElementMatchers(isAnnotatedWith(Deprecated.class)), transformer, false),
+                new AgentBuilder.Default.Transformation.Simple(rawMatcher, transformer, false));
+        assertThat(transformation.isExcluded(FOO, new ByteBuddy().subclass(Object.class).name(FOO).make().getBytes()), is(false));
+    }
+}
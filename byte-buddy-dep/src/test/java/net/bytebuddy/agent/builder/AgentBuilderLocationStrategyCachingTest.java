@@ -0,0 +1,68 @@
+package net.bytebuddy.agent.builder;
+
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.test.utility.MockitoRule;
+import net.bytebuddy.utility.JavaModule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class AgentBuilderLocationStrategyCachingTest {
+
+    private static final String FOO = "foo";
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private ClassLoader classLoader;
+
+    @Mock
+    private JavaModule module;
+
+    @Mock
+    private AgentBuilder.LocationStrategy locationStrategy;
+
+    @Mock
+    private ClassFileLocator classFileLocator;
+
+    @Before
+    public void setUp() throws Exception {
+        when(locationStrategy.classFileLocator(classLoader, module)).thenReturn(classFileLocator);
+        when(classFileLocator.locate(FOO)).thenReturn(new ClassFileLocator.Resolution.Explicit(new byte[]{1, 2, 3}));
+    }
+
+    @Test
+    public void testCacheIsSharedPerClassLoader() throws Exception {
+        AgentBuilder.LocationStrategy.Caching caching = new AgentBuilder.LocationStrategy.Caching(locationStrategy);
+        assertThat(caching.classFileLocator(classLoader, module).locate(FOO).resolve(), is(new byte[]{1, 2, 3}));
+        assertThat(caching.classFileLocator(classLoader, module).locate(FOO).resolve(), is(new byte[]{1, 2, 3}));
+        verify(classFileLocator).locate(FOO);
+        assertThat(caching.getSize(), is(1));
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        AgentBuilder.LocationStrategy.Caching caching = new AgentBuilder.LocationStrategy.Caching(locationStrategy);
+        caching.classFileLocator(classLoader, module).locate(FOO);
+        caching.clear();
+        assertThat(caching.getSize(), is(0));
+        caching.classFileLocator(classLoader, module).locate(FOO);
+        verify(classFileLocator, times(2)).locate(FOO);
+    }
+
+    @Test
+    public void testBootstrapLoader() throws Exception {
+        when(locationStrategy.classFileLocator(null, module)).thenReturn(classFileLocator);
+        AgentBuilder.LocationStrategy.Caching caching = new AgentBuilder.LocationStrategy.Caching(locationStrategy);
+        caching.classFileLocator(null, module).locate(FOO);
+        caching.classFileLocator(null, module).locate(FOO);
+        verify(classFileLocator).locate(FOO);
+    }
+}
@@ -9,8 +9,11 @@ import org.junit.Test;
 import org.junit.rules.TestRule;
 import org.mockito.Mock;
 
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.security.ProtectionDomain;
 
+import static net.bytebuddy.matcher.ElementMatchers.isChildOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.*;
@@ -136,4 +139,19 @@ public class AgentBuilderRawMatcherForElementMatchersTest {
         verify(typeMatcher).matches(typeDescription);
         verifyNoMoreInteractions(typeMatcher);
     }
+
+    @Test
+    public void testMemoizedClassLoaderMatcher() throws Exception {
+        when(moduleMatcher.matches(module)).thenReturn(true);
+        when(typeMatcher.matches(typeDescription)).thenReturn(true);
+        AgentBuilder.RawMatcher rawMatcher = new AgentBuilder.RawMatcher.ForElementMatchers(typeMatcher,
+                isChildOf(ClassLoader.getSystemClassLoader()),
+                moduleMatcher);
+        ClassLoader classLoader = new URLClassLoader(new URL[0], ClassLoader.getSystemClassLoader());
+        for (int index = 0; index < 2; index++) {
+            assertThat(rawMatcher.matches(typeDescription, classLoader, module, Object.class, protectionDomain), is(true));
+            assertThat(rawMatcher.matches(typeDescription, null, module, Object.class, protectionDomain), is(false));
+        }
+        verify(typeMatcher, times(2)).matches(typeDescription);
+    }
 }
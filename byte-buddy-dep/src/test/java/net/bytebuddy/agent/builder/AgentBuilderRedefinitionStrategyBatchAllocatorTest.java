@@ -3,10 +3,12 @@ package net.bytebuddy.agent.builder;
 import net.bytebuddy.matcher.ElementMatchers;
 import org.junit.Test;
 
+import java.lang.management.GarbageCollectorMXBean;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static net.bytebuddy.test.utility.FieldByFieldComparison.hasPrototype;
 import static org.hamcrest.CoreMatchers.is;
@@ -332,4 +334,99 @@ public class AgentBuilderRedefinitionStrategyBatchAllocatorTest {
     public void testPartitioningIllegalArgument() throws Exception {
         AgentBuilder.RedefinitionStrategy.BatchAllocator.Partitioning.of(0);
     }
+
+    @Test
+    public void testLatencyTargetInitialSize() throws Exception {
+        AgentBuilder.RedefinitionStrategy.BatchAllocator.ForLatencyTarget batchAllocator = new AgentBuilder.RedefinitionStrategy.BatchAllocator.ForLatencyTarget(TimeUnit.MILLISECONDS.toNanos(20),
+                2,
+                10,
+                Collections.<GarbageCollectorMXBean>emptyList());
+        Iterator<? extends List<Class<?>>> iterator = batchAllocator.batch(Arrays.<Class<?>>asList(Object.class, Void.class, String.class)).iterator();
+        assertThat(iterator.hasNext(), is(true));
+        assertThat(iterator.next(), is(Arrays.<Class<?>>asList(Object.class, Void.class)));
+        assertThat(iterator.hasNext(), is(true));
+        assertThat(iterator.next(), is(Collections.<Class<?>>singletonList(String.class)));
+        assertThat(iterator.hasNext(), is(false));
+    }
+
+    @Test
+    public void testLatencyTargetAdjustment() throws Exception {
+        AgentBuilder.RedefinitionStrategy.BatchAllocator.ForLatencyTarget batchAllocator = new AgentBuilder.RedefinitionStrategy.BatchAllocator.ForLatencyTarget(TimeUnit.MILLISECONDS.toNanos(20),
+                1,
+                100,
+                Collections.<GarbageCollectorMXBean>emptyList());
+        assertThat(batchAllocator.getSize(), is(1));
+        batchAllocator.adjust(1, TimeUnit.MILLISECONDS.toNanos(1), false);
+        assertThat(batchAllocator.getSize(), is(2));
+        batchAllocator.adjust(2, TimeUnit.MILLISECONDS.toNanos(2), false);
+        assertThat(batchAllocator.getSize(), is(4));
+        batchAllocator.adjust(4, TimeUnit.MILLISECONDS.toNanos(4), false);
+        assertThat(batchAllocator.getSize(), is(8));
+        batchAllocator.adjust(8, TimeUnit.MILLISECONDS.toNanos(8), false);
+        assertThat(batchAllocator.getSize(), is(16));
+        batchAllocator.adjust(16, TimeUnit.MILLISECONDS.toNanos(16), false);
+        assertThat(batchAllocator.getSize(), is(20));
+        batchAllocator.adjust(20, TimeUnit.MILLISECONDS.toNanos(80), false);
+        assertThat(batchAllocator.getSize(), is(8));
+    }
+
+    @Test
+    public void testLatencyTargetMaximum() throws Exception {
+        AgentBuilder.RedefinitionStrategy.BatchAllocator.ForLatencyTarget batchAllocator = new AgentBuilder.RedefinitionStrategy.BatchAllocator.ForLatencyTarget(TimeUnit.MILLISECONDS.toNanos(20),
+                1,
+                3,
+                Collections.<GarbageCollectorMXBean>emptyList());
+        batchAllocator.adjust(1, 1L, false);
+        batchAllocator.adjust(2, 1L, false);
+        assertThat(batchAllocator.getSize(), is(3));
+    }
+
+    @Test
+    public void testLatencyTargetGarbageCollection() throws Exception {
+        AgentBuilder.RedefinitionStrategy.BatchAllocator.ForLatencyTarget batchAllocator = new AgentBuilder.RedefinitionStrategy.BatchAllocator.ForLatencyTarget(TimeUnit.MILLISECONDS.toNanos(20),
+                1,
+                100,
+                Collections.<GarbageCollectorMXBean>emptyList());
+        batchAllocator.adjust(1, 1L, false);
+        batchAllocator.adjust(2, 1L, false);
+        assertThat(batchAllocator.getSize(), is(4));
+        batchAllocator.adjust(4, 1L, true);
+        assertThat(batchAllocator.getSize(), is(2));
+        batchAllocator.adjust(2, 1L, true);
+        batchAllocator.adjust(1, 1L, true);
+        assertThat(batchAllocator.getSize(), is(1));
+    }
+
+    @Test
+    public void testLatencyTargetListener() throws Exception {
+        AgentBuilder.RedefinitionStrategy.BatchAllocator.ForLatencyTarget batchAllocator = new AgentBuilder.RedefinitionStrategy.BatchAllocator.ForLatencyTarget(TimeUnit.MINUTES.toNanos(1),
+                1,
+                100,
+                Collections.<GarbageCollectorMXBean>emptyList());
+        List<Class<?>> types = Arrays.<Class<?>>asList(Object.class, Void.class, String.class, Integer.class);
+        Iterator<? extends List<Class<?>>> iterator = batchAllocator.batch(types).iterator();
+        List<Class<?>> batch = iterator.next();
+        assertThat(batch, is(Collections.<Class<?>>singletonList(Object.class)));
+        batchAllocator.getListener().onBatch(0, batch, types);
+        assertThat(batchAllocator.getListener().onError(0, batch, new Throwable(), types).iterator().hasNext(), is(false));
+        assertThat(iterator.next(), is(Arrays.<Class<?>>asList(Void.class, String.class)));
+        assertThat(iterator.next(), is(Collections.<Class<?>>singletonList(Integer.class)));
+        assertThat(iterator.hasNext(), is(false));
+        batchAllocator.getListener().onComplete(2, types, Collections.<List<Class<?>>, Throwable>emptyMap());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLatencyTargetNonPositiveTarget() throws Exception {
+        AgentBuilder.RedefinitionStrategy.BatchAllocator.ForLatencyTarget.of(0, TimeUnit.MILLISECONDS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLatencyTargetNonPositiveMinimum() throws Exception {
+        AgentBuilder.RedefinitionStrategy.BatchAllocator.ForLatencyTarget.of(1, TimeUnit.MILLISECONDS, 0, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLatencyTargetMinimumExceedsMaximum() throws Exception {
+        AgentBuilder.RedefinitionStrategy.BatchAllocator.ForLatencyTarget.of(1, TimeUnit.MILLISECONDS, 2, 1);
+    }
 }
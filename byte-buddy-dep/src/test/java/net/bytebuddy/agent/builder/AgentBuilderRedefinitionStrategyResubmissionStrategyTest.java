@@ -18,11 +18,14 @@ import org.mockito.stubbing.Answer;
 
 import java.lang.instrument.ClassDefinition;
 import java.lang.instrument.Instrumentation;
+import java.lang.ref.ReferenceQueue;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -801,10 +804,10 @@ public class AgentBuilderRedefinitionStrategyResubmissionStrategyTest {
         AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled.StorageKey key = new AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled.StorageKey(ClassLoadingStrategy.BOOTSTRAP_LOADER);
         assertThat(key.isBootstrapLoader(), is(true));
         assertThat(key.hashCode(), is(0));
-        assertThat(key.get(), nullValue(ClassLoader.class));
+        assertThat(key.get(), nullValue(Object.class));
         AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled.StorageKey other = new AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled.StorageKey(new URLClassLoader(new URL[0]));
         System.gc();
-        assertThat(other.get(), nullValue(ClassLoader.class));
+        assertThat(other.get(), nullValue(Object.class));
         assertThat(key, not(is(other)));
         assertThat(key, is(new AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled.StorageKey(ClassLoadingStrategy.BOOTSTRAP_LOADER)));
         assertThat(key, is((Object) new AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled.LookupKey(ClassLoadingStrategy.BOOTSTRAP_LOADER)));
@@ -820,10 +823,10 @@ public class AgentBuilderRedefinitionStrategyResubmissionStrategyTest {
         assertThat(key.isBootstrapLoader(), is(false));
         assertThat(key, is(new AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled.StorageKey(classLoader)));
         assertThat(key.hashCode(), is(classLoader.hashCode()));
-        assertThat(key.get(), is(classLoader));
+        assertThat(key.get(), is((Object) classLoader));
         classLoader = null; // Make GC eligible.
         System.gc();
-        assertThat(key.get(), nullValue(ClassLoader.class));
+        assertThat(key.get(), nullValue(Object.class));
         assertThat(key, not(is(new AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled.StorageKey(ClassLoadingStrategy.BOOTSTRAP_LOADER))));
         assertThat(key, not(is((Object) new AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled.LookupKey(new URLClassLoader(new URL[0])))));
         assertThat(key, is(key));
@@ -831,6 +834,22 @@ public class AgentBuilderRedefinitionStrategyResubmissionStrategyTest {
         assertThat(key.isBootstrapLoader(), is(false));
     }
 
+    @Test
+    public void testStorageKeyExpunction() throws Exception {
+        ReferenceQueue<Object> referenceQueue = new ReferenceQueue<Object>();
+        Map<AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled.StorageKey, Boolean> map = new HashMap<AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled.StorageKey, Boolean>();
+        ClassLoader classLoader = new URLClassLoader(new URL[0]);
+        AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled.StorageKey key = new AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled.StorageKey(classLoader, referenceQueue);
+        map.put(key, true);
+        map.put(new AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled.StorageKey(ClassLoadingStrategy.BOOTSTRAP_LOADER, referenceQueue), false);
+        AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled.StorageKey.expunge(map, referenceQueue);
+        assertThat(map.size(), is(2));
+        assertThat(key.enqueue(), is(true));
+        AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled.StorageKey.expunge(map, referenceQueue);
+        assertThat(map.size(), is(1));
+        assertThat(map.get(new AgentBuilder.RedefinitionStrategy.ResubmissionStrategy.Enabled.LookupKey(ClassLoadingStrategy.BOOTSTRAP_LOADER)), is(false));
+    }
+
     @Test
     public void testSchedulerNoOp() throws Exception {
         Runnable runnable = mock(Runnable.class);
@@ -0,0 +1,327 @@
+package net.bytebuddy.agent.builder;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.implementation.FixedValue;
+import net.bytebuddy.matcher.ElementMatchers;
+import net.bytebuddy.utility.JavaModule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.objectweb.asm.Type;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.lang.instrument.ClassFileTransformer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.none;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class AgentBuilderTransformationCacheTest {
+
+    private static final String FOO = "foo.Bar", BAR = "bar.Qux", QUX = "qux";
+
+    private static final byte[] BINARY_REPRESENTATION = new byte[]{1, 2, 3};
+
+    private static final int DIGEST_LENGTH = 32;
+
+    private File file;
+
+    private DynamicType.Unloaded<?> dynamicType;
+
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("foo", "bar");
+        dynamicType = new ByteBuddy().subclass(Object.class).name(FOO).make();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        assertThat(file.delete(), is(true));
+    }
+
+    @Test
+    public void testNoOp() throws Exception {
+        AgentBuilder.Listener listener = mock(AgentBuilder.Listener.class);
+        AgentBuilder.TransformationCache.Dispatcher dispatcher = AgentBuilder.TransformationCache.NoOp.INSTANCE.dispatcher(FOO, BINARY_REPRESENTATION, QUX);
+        assertThat(dispatcher.resolve(), nullValue(byte[].class));
+        assertThat(dispatcher.register(listener), sameInstance(listener));
+    }
+
+    @Test
+    public void testMappedFileRegistrationAndLookup() throws Exception {
+        AgentBuilder.TransformationCache.ForMappedFile transformationCache = AgentBuilder.TransformationCache.ForMappedFile.of(file, FOO);
+        try {
+            assertThat(transformationCache.dispatcher(FOO, BINARY_REPRESENTATION, QUX).resolve(), nullValue(byte[].class));
+            AgentBuilder.Listener listener = mock(AgentBuilder.Listener.class);
+            transformationCache.dispatcher(FOO, BINARY_REPRESENTATION, QUX).register(listener).onTransformation(dynamicType.getTypeDescription(),
+                    null,
+                    JavaModule.UNSUPPORTED,
+                    false,
+                    dynamicType);
+            verify(listener).onTransformation(dynamicType.getTypeDescription(), null, JavaModule.UNSUPPORTED, false, dynamicType);
+            verifyNoMoreInteractions(listener);
+            assertThat(transformationCache.getSize(), is(1));
+            assertThat(transformationCache.dispatcher(FOO, BINARY_REPRESENTATION, QUX).resolve(), is(dynamicType.getBytes()));
+            assertThat(transformationCache.dispatcher(BAR, BINARY_REPRESENTATION, QUX).resolve(), nullValue(byte[].class));
+            assertThat(transformationCache.dispatcher(FOO, new byte[]{4, 5, 6}, QUX).resolve(), nullValue(byte[].class));
+            assertThat(transformationCache.dispatcher(FOO, BINARY_REPRESENTATION, BAR).resolve(), nullValue(byte[].class));
+        } finally {
+            transformationCache.close();
+        }
+    }
+
+    @Test
+    public void testMappedFilePersistence() throws Exception {
+        AgentBuilder.TransformationCache.ForMappedFile transformationCache = AgentBuilder.TransformationCache.ForMappedFile.of(file, FOO);
+        try {
+            transformationCache.dispatcher(FOO, BINARY_REPRESENTATION, QUX).register(mock(AgentBuilder.Listener.class)).onTransformation(dynamicType.getTypeDescription(),
+                    null,
+                    JavaModule.UNSUPPORTED,
+                    false,
+                    dynamicType);
+        } finally {
+            transformationCache.close();
+        }
+        transformationCache = AgentBuilder.TransformationCache.ForMappedFile.of(file, FOO);
+        try {
+            assertThat(transformationCache.getSize(), is(1));
+            assertThat(transformationCache.dispatcher(FOO, BINARY_REPRESENTATION, QUX).resolve(), is(dynamicType.getBytes()));
+        } finally {
+            transformationCache.close();
+        }
+    }
+
+    @Test
+    public void testMappedFileFingerprintMismatch() throws Exception {
+        AgentBuilder.TransformationCache.ForMappedFile transformationCache = AgentBuilder.TransformationCache.ForMappedFile.of(file, FOO);
+        try {
+            transformationCache.dispatcher(FOO, BINARY_REPRESENTATION, QUX).register(mock(AgentBuilder.Listener.class)).onTransformation(dynamicType.getTypeDescription(),
+                    null,
+                    JavaModule.UNSUPPORTED,
+                    false,
+                    dynamicType);
+        } finally {
+            transformationCache.close();
+        }
+        transformationCache = AgentBuilder.TransformationCache.ForMappedFile.of(file, FOO);
+        try {
+            AgentBuilder.TransformationCache.ForMappedFile replacement = AgentBuilder.TransformationCache.ForMappedFile.of(file, BAR);
+            try {
+                assertThat(replacement.getSize(), is(0));
+                assertThat(replacement.dispatcher(FOO, BINARY_REPRESENTATION, QUX).resolve(), nullValue(byte[].class));
+            } finally {
+                replacement.close();
+            }
+            assertThat(transformationCache.dispatcher(FOO, BINARY_REPRESENTATION, QUX).resolve(), is(dynamicType.getBytes()));
+        } finally {
+            transformationCache.close();
+        }
+        transformationCache = AgentBuilder.TransformationCache.ForMappedFile.of(file, BAR);
+        try {
+            assertThat(transformationCache.getSize(), is(0));
+        } finally {
+            transformationCache.close();
+        }
+    }
+
+    @Test
+    public void testMappedFileIncompleteEntry() throws Exception {
+        AgentBuilder.TransformationCache.ForMappedFile transformationCache = AgentBuilder.TransformationCache.ForMappedFile.of(file, FOO);
+        long length;
+        try {
+            length = file.length();
+            transformationCache.dispatcher(FOO, BINARY_REPRESENTATION, QUX).register(mock(AgentBuilder.Listener.class)).onTransformation(dynamicType.getTypeDescription(),
+                    null,
+                    JavaModule.UNSUPPORTED,
+                    false,
+                    dynamicType);
+        } finally {
+            transformationCache.close();
+        }
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+        try {
+            randomAccessFile.setLength(randomAccessFile.length() - 1);
+        } finally {
+            randomAccessFile.close();
+        }
+        transformationCache = AgentBuilder.TransformationCache.ForMappedFile.of(file, FOO);
+        try {
+            assertThat(transformationCache.getSize(), is(0));
+            assertThat(file.length(), is(length + DIGEST_LENGTH + 4 + dynamicType.getBytes().length - 1));
+            transformationCache.dispatcher(FOO, BINARY_REPRESENTATION, QUX).register(mock(AgentBuilder.Listener.class)).onTransformation(dynamicType.getTypeDescription(),
+                    null,
+                    JavaModule.UNSUPPORTED,
+                    false,
+                    dynamicType);
+            assertThat(transformationCache.dispatcher(FOO, BINARY_REPRESENTATION, QUX).resolve(), is(dynamicType.getBytes()));
+        } finally {
+            transformationCache.close();
+        }
+        transformationCache = AgentBuilder.TransformationCache.ForMappedFile.of(file, FOO);
+        try {
+            assertThat(transformationCache.getSize(), is(1));
+            assertThat(transformationCache.dispatcher(FOO, BINARY_REPRESENTATION, QUX).resolve(), is(dynamicType.getBytes()));
+        } finally {
+            transformationCache.close();
+        }
+    }
+
+    @Test
+    public void testMappedFileUncommittedEntry() throws Exception {
+        AgentBuilder.TransformationCache.ForMappedFile transformationCache = AgentBuilder.TransformationCache.ForMappedFile.of(file, FOO);
+        long length;
+        try {
+            length = file.length();
+        } finally {
+            transformationCache.close();
+        }
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+        try {
+            randomAccessFile.seek(length);
+            randomAccessFile.write(new byte[DIGEST_LENGTH + 4 + 1]);
+        } finally {
+            randomAccessFile.close();
+        }
+        transformationCache = AgentBuilder.TransformationCache.ForMappedFile.of(file, FOO);
+        try {
+            assertThat(transformationCache.getSize(), is(0));
+            transformationCache.dispatcher(FOO, BINARY_REPRESENTATION, QUX).register(mock(AgentBuilder.Listener.class)).onTransformation(dynamicType.getTypeDescription(),
+                    null,
+                    JavaModule.UNSUPPORTED,
+                    false,
+                    dynamicType);
+            assertThat(file.length(), is(length + DIGEST_LENGTH + 4 + dynamicType.getBytes().length));
+        } finally {
+            transformationCache.close();
+        }
+        transformationCache = AgentBuilder.TransformationCache.ForMappedFile.of(file, FOO);
+        try {
+            assertThat(transformationCache.getSize(), is(1));
+            assertThat(transformationCache.dispatcher(FOO, BINARY_REPRESENTATION, QUX).resolve(), is(dynamicType.getBytes()));
+        } finally {
+            transformationCache.close();
+        }
+    }
+
+    @Test
+    public void testMappedFileIgnoresLoadedAndAuxiliaryTypes() throws Exception {
+        AgentBuilder.TransformationCache.ForMappedFile transformationCache = AgentBuilder.TransformationCache.ForMappedFile.of(file, FOO);
+        try {
+            transformationCache.dispatcher(FOO, BINARY_REPRESENTATION, QUX).register(mock(AgentBuilder.Listener.class)).onTransformation(dynamicType.getTypeDescription(),
+                    null,
+                    JavaModule.UNSUPPORTED,
+                    true,
+                    dynamicType);
+            DynamicType auxiliaryType = mock(DynamicType.class);
+            when(auxiliaryType.getAuxiliaryTypes()).thenReturn(Collections.<TypeDescription, byte[]>singletonMap(mock(TypeDescription.class), new byte[0]));
+            transformationCache.dispatcher(FOO, BINARY_REPRESENTATION, QUX).register(mock(AgentBuilder.Listener.class)).onTransformation(dynamicType.getTypeDescription(),
+                    null,
+                    JavaModule.UNSUPPORTED,
+                    false,
+                    auxiliaryType);
+            assertThat(transformationCache.getSize(), is(0));
+            assertThat(transformationCache.dispatcher(FOO, BINARY_REPRESENTATION, QUX).resolve(), nullValue(byte[].class));
+        } finally {
+            transformationCache.close();
+        }
+    }
+
+    @Test
+    public void testCachedTransformationRequiresMatch() throws Exception {
+        AgentBuilder.TransformationCache.ForMappedFile transformationCache = AgentBuilder.TransformationCache.ForMappedFile.of(file, FOO);
+        try {
+            ClassLoader classLoader = new URLClassLoader(new URL[0], getClass().getClassLoader()), otherClassLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+            AgentBuilder.Transformer transformer = mock(AgentBuilder.Transformer.class);
+            when(transformer.transform(any(DynamicType.Builder.class), any(TypeDescription.class), any(ClassLoader.class), any(JavaModule.class)))
+                    .then(new Answer<DynamicType.Builder<?>>() {
+                        public DynamicType.Builder<?> answer(InvocationOnMock invocation) {
+                            return ((DynamicType.Builder<?>) invocation.getArguments()[0]).method(named("foo")).intercept(FixedValue.value(BAR));
+                        }
+                    });
+            ClassFileTransformer classFileTransformer = new AgentBuilder.Default()
+                    .with(transformationCache)
+                    .ignore(none())
+                    .type(named(Sample.class.getName()), ElementMatchers.is(classLoader))
+                    .transform(transformer)
+                    .makeRaw();
+            byte[] binaryRepresentation = ClassFileLocator.ForClassLoader.read(Sample.class);
+            byte[] transformed = classFileTransformer.transform(classLoader, Type.getInternalName(Sample.class), null, null, binaryRepresentation);
+            assertThat(transformed, notNullValue(byte[].class));
+            assertThat(transformationCache.getSize(), is(1));
+            assertThat(classFileTransformer.transform(classLoader, Type.getInternalName(Sample.class), null, null, binaryRepresentation), is(transformed));
+            assertThat(classFileTransformer.transform(otherClassLoader, Type.getInternalName(Sample.class), null, null, binaryRepresentation), nullValue(byte[].class));
+            assertThat(new AgentBuilder.Default()
+                    .with(transformationCache)
+                    .ignore(ElementMatchers.any())
+                    .type(named(Sample.class.getName()))
+                    .transform(transformer)
+                    .makeRaw()
+                    .transform(classLoader, Type.getInternalName(Sample.class), null, null, binaryRepresentation), nullValue(byte[].class));
+            verify(transformer).transform(any(DynamicType.Builder.class), any(TypeDescription.class), any(ClassLoader.class), any(JavaModule.class));
+        } finally {
+            transformationCache.close();
+        }
+    }
+
+    @Test
+    public void testCachedTransformationRequiresSameTransformations() throws Exception {
+        AgentBuilder.TransformationCache.ForMappedFile transformationCache = AgentBuilder.TransformationCache.ForMappedFile.of(file, FOO);
+        try {
+            ClassLoader classLoader = new URLClassLoader(new URL[0], getClass().getClassLoader()), otherClassLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+            ClassFileTransformer classFileTransformer = new AgentBuilder.Default()
+                    .with(transformationCache)
+                    .ignore(none())
+                    .type(named(Sample.class.getName()), ElementMatchers.is(classLoader))
+                    .transform(new FixedValueTransformer(FOO))
+                    .type(named(Sample.class.getName()), ElementMatchers.is(otherClassLoader))
+                    .transform(new FixedValueTransformer(BAR))
+                    .makeRaw();
+            byte[] binaryRepresentation = ClassFileLocator.ForClassLoader.read(Sample.class);
+            byte[] transformed = classFileTransformer.transform(classLoader, Type.getInternalName(Sample.class), null, null, binaryRepresentation);
+            assertThat(transformed, notNullValue(byte[].class));
+            byte[] otherTransformed = classFileTransformer.transform(otherClassLoader, Type.getInternalName(Sample.class), null, null, binaryRepresentation);
+            assertThat(otherTransformed, notNullValue(byte[].class));
+            assertThat(Arrays.equals(transformed, otherTransformed), is(false));
+            assertThat(transformationCache.getSize(), is(2));
+            assertThat(classFileTransformer.transform(classLoader, Type.getInternalName(Sample.class), null, null, binaryRepresentation), is(transformed));
+            assertThat(classFileTransformer.transform(otherClassLoader, Type.getInternalName(Sample.class), null, null, binaryRepresentation), is(otherTransformed));
+        } finally {
+            transformationCache.close();
+        }
+    }
+
+    public static class Sample {
+
+        public String foo() {
+            return null;
+        }
+    }
+
+    private static class FixedValueTransformer implements AgentBuilder.Transformer {
+
+        private final String value;
+
+        private FixedValueTransformer(String value) {
+            this.value = value;
+        }
+
+        public DynamicType.Builder<?> transform(DynamicType.Builder<?> builder, TypeDescription typeDescription, ClassLoader classLoader, JavaModule module) {
+            return builder.method(named("foo")).intercept(FixedValue.value(value));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package net.bytebuddy.agent.builder;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class AgentBuilderTransformationMetricsTest {
+
+    @Test
+    public void testNoOp() throws Exception {
+        assertThat(AgentBuilder.TransformationMetrics.NoOp.INSTANCE.start(), is(AgentBuilder.TransformationMetrics.NOT_MEASURED));
+        assertThat(AgentBuilder.TransformationMetrics.NoOp.INSTANCE.onPhase(AgentBuilder.TransformationMetrics.Phase.LOCATION, 42L),
+                is(AgentBuilder.TransformationMetrics.NOT_MEASURED));
+        AgentBuilder.TransformationMetrics.NoOp.INSTANCE.onTransformation(42);
+    }
+
+    @Test
+    public void testRecordingPhase() throws Exception {
+        AgentBuilder.TransformationMetrics.Recording transformationMetrics = new AgentBuilder.TransformationMetrics.Recording(2);
+        long started = transformationMetrics.start();
+        long completed = transformationMetrics.onPhase(AgentBuilder.TransformationMetrics.Phase.DESCRIPTION, started);
+        AgentBuilder.TransformationMetrics.Recording.Histogram.Snapshot snapshot = transformationMetrics.getSnapshot(AgentBuilder.TransformationMetrics.Phase.DESCRIPTION);
+        assertThat(snapshot.getCount(), is(1L));
+        assertThat(snapshot.getTotal(), is(completed - started));
+        assertThat(transformationMetrics.getSnapshot(AgentBuilder.TransformationMetrics.Phase.LOCATION).getCount(), is(0L));
+        assertThat(transformationMetrics.getCount(AgentBuilder.TransformationMetrics.Phase.DESCRIPTION.name()), is(1L));
+        assertThat(transformationMetrics.getTotalNanos(AgentBuilder.TransformationMetrics.Phase.DESCRIPTION.name()), is(completed - started));
+    }
+
+    @Test
+    public void testRecordingTransformation() throws Exception {
+        AgentBuilder.TransformationMetrics.Recording transformationMetrics = new AgentBuilder.TransformationMetrics.Recording(2);
+        transformationMetrics.onTransformation(0);
+        transformationMetrics.onTransformation(1);
+        transformationMetrics.onTransformation(1000);
+        AgentBuilder.TransformationMetrics.Recording.Histogram.Snapshot snapshot = transformationMetrics.getTransformationSnapshot();
+        assertThat(snapshot.getCount(), is(3L));
+        assertThat(snapshot.getTotal(), is(1001L));
+        assertThat(snapshot.getBuckets()[0], is(1L));
+        assertThat(snapshot.getBuckets()[1], is(1L));
+        assertThat(snapshot.getBuckets()[10], is(1L));
+        assertThat(snapshot.getPercentile(0d), is(0L));
+        assertThat(snapshot.getPercentile(0.5d), is(1L));
+        assertThat(snapshot.getPercentile(1d), is(1023L));
+        assertThat(transformationMetrics.getTransformationCount(), is(3L));
+        assertThat(transformationMetrics.getTransformedBytes(), is(1001L));
+    }
+
+    @Test
+    public void testRecordingReset() throws Exception {
+        AgentBuilder.TransformationMetrics.Recording transformationMetrics = new AgentBuilder.TransformationMetrics.Recording();
+        transformationMetrics.onPhase(AgentBuilder.TransformationMetrics.Phase.GENERATION, transformationMetrics.start());
+        transformationMetrics.onTransformation(42);
+        transformationMetrics.reset();
+        assertThat(transformationMetrics.getSnapshot(AgentBuilder.TransformationMetrics.Phase.GENERATION).getCount(), is(0L));
+        assertThat(transformationMetrics.getTransformationSnapshot().getCount(), is(0L));
+        assertThat(transformationMetrics.getTransformationSnapshot().getPercentile(1d), is(0L));
+    }
+
+    @Test
+    public void testRecordingPhases() throws Exception {
+        assertThat(Arrays.asList(new AgentBuilder.TransformationMetrics.Recording().getPhases()),
+                is(Arrays.asList("LOCATION", "DESCRIPTION", "IGNORE_MATCHING", "RESOLUTION", "GENERATION")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRecordingIllegalStripes() throws Exception {
+        new AgentBuilder.TransformationMetrics.Recording(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalPercentile() throws Exception {
+        new AgentBuilder.TransformationMetrics.Recording().getTransformationSnapshot().getPercentile(2d);
+    }
+}
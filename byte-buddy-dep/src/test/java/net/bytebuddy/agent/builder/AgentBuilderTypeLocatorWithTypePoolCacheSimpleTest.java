@@ -12,6 +12,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 import static net.bytebuddy.test.utility.FieldByFieldComparison.hasPrototype;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
 
@@ -49,4 +50,20 @@ public class AgentBuilderTypeLocatorWithTypePoolCacheSimpleTest {
         assertThat(poolStrategy.typePool(classFileLocator, null), hasPrototype(poolStrategy.typePool(classFileLocator, null)));
         assertThat(poolStrategy.typePool(classFileLocator, null), not(hasPrototype(poolStrategy.typePool(classFileLocator, second))));
     }
+
+    @Test
+    public void testPlatformTypesAreNotSharedByDefault() throws Exception {
+        AgentBuilder.PoolStrategy poolStrategy = new AgentBuilder.PoolStrategy.WithTypePoolCache.Simple(TypePool.Default.ReaderMode.FAST,
+                new ConcurrentHashMap<ClassLoader, TypePool.CacheProvider>());
+        assertThat(poolStrategy.typePool(ClassFileLocator.NoOp.INSTANCE, first).describe(String.class.getName()).isResolved(), is(false));
+    }
+
+    @Test
+    public void testPlatformTypesAreShared() throws Exception {
+        AgentBuilder.PoolStrategy poolStrategy = new AgentBuilder.PoolStrategy.WithTypePoolCache.Simple(TypePool.Default.ReaderMode.FAST,
+                true,
+                new ConcurrentHashMap<ClassLoader, TypePool.CacheProvider>());
+        assertThat(poolStrategy.typePool(ClassFileLocator.NoOp.INSTANCE, first).describe(String.class.getName()).isResolved(), is(true));
+        assertThat(poolStrategy.typePool(ClassFileLocator.NoOp.INSTANCE, null).describe(String.class.getName()).isResolved(), is(false));
+    }
 }
@@ -0,0 +1,93 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.test.utility.MockitoRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class ClassFileLocatorCachingTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private ClassFileLocator classFileLocator;
+
+    @Before
+    public void setUp() throws Exception {
+        when(classFileLocator.locate(FOO)).thenReturn(new ClassFileLocator.Resolution.Explicit(new byte[]{1, 2, 3}));
+        when(classFileLocator.locate(BAR)).thenReturn(new ClassFileLocator.Resolution.Explicit(new byte[]{4, 5}));
+        when(classFileLocator.locate(QUX)).thenReturn(new ClassFileLocator.Resolution.Illegal(QUX));
+    }
+
+    @Test
+    public void testResolvedIsCached() throws Exception {
+        ClassFileLocator.Caching.Cache cache = new ClassFileLocator.Caching.Cache();
+        ClassFileLocator caching = new ClassFileLocator.Caching(classFileLocator, cache);
+        assertThat(caching.locate(FOO).resolve(), is(new byte[]{1, 2, 3}));
+        assertThat(caching.locate(FOO).resolve(), is(new byte[]{1, 2, 3}));
+        verify(classFileLocator).locate(FOO);
+        verifyNoMoreInteractions(classFileLocator);
+        assertThat(cache.getSize(), is(1));
+        assertThat(cache.getWeight(), is(3L));
+    }
+
+    @Test
+    public void testUnresolvedIsCached() throws Exception {
+        ClassFileLocator.Caching.Cache cache = new ClassFileLocator.Caching.Cache();
+        ClassFileLocator caching = new ClassFileLocator.Caching(classFileLocator, cache);
+        assertThat(caching.locate(QUX).isResolved(), is(false));
+        assertThat(caching.locate(QUX).isResolved(), is(false));
+        verify(classFileLocator).locate(QUX);
+        verifyNoMoreInteractions(classFileLocator);
+        assertThat(cache.getMisses(), is(1));
+    }
+
+    @Test
+    public void testWeightBound() throws Exception {
+        ClassFileLocator.Caching.Cache cache = new ClassFileLocator.Caching.Cache(4, 0);
+        ClassFileLocator caching = new ClassFileLocator.Caching(classFileLocator, cache);
+        caching.locate(FOO);
+        caching.locate(BAR);
+        assertThat(cache.getSize(), is(1));
+        assertThat(cache.getWeight(), is(2L));
+        caching.locate(QUX);
+        caching.locate(QUX);
+        assertThat(cache.getMisses(), is(0));
+        verify(classFileLocator, times(2)).locate(QUX);
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        ClassFileLocator.Caching.Cache cache = new ClassFileLocator.Caching.Cache();
+        ClassFileLocator caching = new ClassFileLocator.Caching(classFileLocator, cache);
+        caching.locate(FOO);
+        caching.locate(QUX);
+        cache.clear();
+        assertThat(cache.getSize(), is(0));
+        assertThat(cache.getWeight(), is(0L));
+        assertThat(cache.getMisses(), is(0));
+        caching.locate(FOO);
+        verify(classFileLocator, times(2)).locate(FOO);
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        new ClassFileLocator.Caching(classFileLocator).close();
+        verify(classFileLocator).close();
+        verifyNoMoreInteractions(classFileLocator);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWeight() throws Exception {
+        new ClassFileLocator.Caching.Cache(-1, 0);
+    }
+}
@@ -0,0 +1,123 @@
+package net.bytebuddy.dynamic;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ClassFileLocatorForMappedJarFileTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
+
+    private static final int VALUE = 42;
+
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile(FOO, BAR);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (!file.delete()) {
+            file.deleteOnExit(); // A mapped file cannot be deleted on some platforms.
+        }
+    }
+
+    @Test
+    public void testSuccessfulLocationDeflated() throws Exception {
+        JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(file));
+        try {
+            jarOutputStream.putNextEntry(new JarEntry(FOO + "/" + BAR + ".class"));
+            jarOutputStream.write(VALUE);
+            jarOutputStream.write(VALUE * 2);
+            jarOutputStream.closeEntry();
+            jarOutputStream.putNextEntry(new JarEntry(FOO + "/" + QUX + ".class"));
+            jarOutputStream.write(VALUE * 2);
+            jarOutputStream.closeEntry();
+        } finally {
+            jarOutputStream.close();
+        }
+        ClassFileLocator classFileLocator = ClassFileLocator.ForMappedJarFile.of(file);
+        try {
+            ClassFileLocator.Resolution resolution = classFileLocator.locate(FOO + "." + BAR);
+            assertThat(resolution.isResolved(), is(true));
+            assertThat(resolution.resolve(), is(new byte[]{VALUE, VALUE * 2}));
+            assertThat(classFileLocator.locate(FOO + "." + QUX).resolve(), is(new byte[]{VALUE * 2}));
+        } finally {
+            classFileLocator.close();
+        }
+    }
+
+    @Test
+    public void testSuccessfulLocationStored() throws Exception {
+        byte[] binaryRepresentation = new byte[]{VALUE, VALUE * 2};
+        CRC32 crc32 = new CRC32();
+        crc32.update(binaryRepresentation);
+        JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(file));
+        try {
+            JarEntry jarEntry = new JarEntry(FOO + "/" + BAR + ".class");
+            jarEntry.setMethod(ZipEntry.STORED);
+            jarEntry.setSize(binaryRepresentation.length);
+            jarEntry.setCompressedSize(binaryRepresentation.length);
+            jarEntry.setCrc(crc32.getValue());
+            jarOutputStream.putNextEntry(jarEntry);
+            jarOutputStream.write(binaryRepresentation);
+            jarOutputStream.closeEntry();
+        } finally {
+            jarOutputStream.close();
+        }
+        ClassFileLocator classFileLocator = ClassFileLocator.ForMappedJarFile.of(file);
+        try {
+            ClassFileLocator.Resolution resolution = classFileLocator.locate(FOO + "." + BAR);
+            assertThat(resolution.isResolved(), is(true));
+            assertThat(resolution.resolve(), is(binaryRepresentation));
+        } finally {
+            classFileLocator.close();
+        }
+    }
+
+    @Test
+    public void testNonSuccessfulLocation() throws Exception {
+        JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(file));
+        try {
+            jarOutputStream.putNextEntry(new JarEntry("noop.class"));
+            jarOutputStream.write(VALUE);
+            jarOutputStream.closeEntry();
+            jarOutputStream.putNextEntry(new JarEntry(FOO + "/" + BAR));
+            jarOutputStream.write(VALUE);
+            jarOutputStream.closeEntry();
+        } finally {
+            jarOutputStream.close();
+        }
+        ClassFileLocator classFileLocator = ClassFileLocator.ForMappedJarFile.of(file);
+        try {
+            assertThat(classFileLocator.locate(FOO + "." + BAR).isResolved(), is(false));
+            assertThat(classFileLocator.locate(QUX).isResolved(), is(false));
+        } finally {
+            classFileLocator.close();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testIllegalFile() throws Exception {
+        FileOutputStream outputStream = new FileOutputStream(file);
+        try {
+            outputStream.write(new byte[]{1, 2, 3});
+        } finally {
+            outputStream.close();
+        }
+        ClassFileLocator.ForMappedJarFile.of(file);
+    }
+}
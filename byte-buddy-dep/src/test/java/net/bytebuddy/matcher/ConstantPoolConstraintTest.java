@@ -0,0 +1,64 @@
+package net.bytebuddy.matcher;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static net.bytebuddy.matcher.ElementMatchers.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ConstantPoolConstraintTest {
+
+    private static final String FOO = "foo.Foo", BAR = "bar.Bar";
+
+    private static final String FOO_DESCRIPTOR = "Lfoo/Foo;", BAR_DESCRIPTOR = "Lbar/Bar;";
+
+    @Test
+    public void testAnnotatedWithType() throws Exception {
+        ConstantPoolConstraint constraint = ConstantPoolConstraint.of(isAnnotatedWith(Deprecated.class));
+        assertThat(constraint.isConstrained(), is(true));
+        assertThat(constraint.getEntries(), is(Collections.singleton("Ljava/lang/Deprecated;")));
+    }
+
+    @Test
+    public void testAnnotatedWithName() throws Exception {
+        ConstantPoolConstraint constraint = ConstantPoolConstraint.of(isAnnotatedWith(named(FOO)));
+        assertThat(constraint.isConstrained(), is(true));
+        assertThat(constraint.getEntries(), is(Collections.singleton(FOO_DESCRIPTOR)));
+    }
+
+    @Test
+    public void testDeclaredMethodAndField() throws Exception {
+        assertThat(ConstantPoolConstraint.of(declaresMethod(isAnnotatedWith(named(FOO)))).getEntries(), is(Collections.singleton(FOO_DESCRIPTOR)));
+        assertThat(ConstantPoolConstraint.of(declaresField(isAnnotatedWith(named(FOO)))).getEntries(), is(Collections.singleton(FOO_DESCRIPTOR)));
+    }
+
+    @Test
+    public void testUnconstrained() throws Exception {
+        assertThat(ConstantPoolConstraint.of(any()).isConstrained(), is(false));
+        assertThat(ConstantPoolConstraint.of(named(FOO)).isConstrained(), is(false));
+        assertThat(ConstantPoolConstraint.of(isSubTypeOf(Runnable.class)).isConstrained(), is(false));
+        assertThat(ConstantPoolConstraint.of(inheritsAnnotation(Deprecated.class)).isConstrained(), is(false));
+        assertThat(ConstantPoolConstraint.of(isAnnotatedWith(nameStartsWith(FOO))).isConstrained(), is(false));
+        assertThat(ConstantPoolConstraint.of(not(isAnnotatedWith(named(FOO)))).isConstrained(), is(false));
+        assertThat(ConstantPoolConstraint.of(declaresMethod(named(FOO))).isConstrained(), is(false));
+    }
+
+    @Test
+    public void testConjunction() throws Exception {
+        assertThat(ConstantPoolConstraint.of(isAnnotatedWith(named(FOO)).and(isAnnotatedWith(named(BAR)))).getEntries(),
+                is(Collections.singleton(FOO_DESCRIPTOR)));
+        assertThat(ConstantPoolConstraint.of(isAnnotatedWith(named(FOO)).and(any())).getEntries(), is(Collections.singleton(FOO_DESCRIPTOR)));
+    }
+
+    @Test
+    public void testDisjunction() throws Exception {
+        assertThat(ConstantPoolConstraint.of(isAnnotatedWith(named(FOO)).or(isAnnotatedWith(named(BAR)))).getEntries(),
+                is((Set<String>) new HashSet<String>(Arrays.asList(FOO_DESCRIPTOR, BAR_DESCRIPTOR))));
+        assertThat(ConstantPoolConstraint.of(isAnnotatedWith(named(FOO)).or(any())).isConstrained(), is(false));
+    }
+}
@@ -0,0 +1,39 @@
+package net.bytebuddy.matcher;
+
+import net.bytebuddy.utility.JavaModule;
+import org.junit.Test;
+
+import static net.bytebuddy.matcher.ElementMatchers.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class MemoizationTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testInapplicable() throws Exception {
+        assertThat(Memoization.of(mock(ElementMatcher.class)), is(Memoization.INAPPLICABLE));
+        assertThat(Memoization.of(hasChild(mock(ElementMatcher.class))), is(Memoization.INAPPLICABLE));
+        assertThat(Memoization.of(isChildOf(ClassLoader.getSystemClassLoader()).or(mock(ElementMatcher.class))), is(Memoization.INAPPLICABLE));
+    }
+
+    @Test
+    public void testRedundant() throws Exception {
+        assertThat(Memoization.of(isBootstrapClassLoader()), is(Memoization.REDUNDANT));
+        assertThat(Memoization.of(isBootstrapClassLoader().or(isSystemClassLoader())), is(Memoization.REDUNDANT));
+        assertThat(Memoization.of(any()), is(Memoization.REDUNDANT));
+        assertThat(Memoization.of(ElementMatchers.<JavaModule>supportsModules()), is(Memoization.REDUNDANT));
+        assertThat(Memoization.of(named("foo")), is(Memoization.REDUNDANT));
+    }
+
+    @Test
+    public void testBeneficial() throws Exception {
+        assertThat(Memoization.of(isChildOf(ClassLoader.getSystemClassLoader())), is(Memoization.BENEFICIAL));
+        assertThat(Memoization.of(isParentOf(ClassLoader.getSystemClassLoader())), is(Memoization.BENEFICIAL));
+        assertThat(Memoization.of(ofType(named("foo"))), is(Memoization.BENEFICIAL));
+        assertThat(Memoization.of(not(isBootstrapClassLoader()).and(isChildOf(ClassLoader.getSystemClassLoader()))), is(Memoization.BENEFICIAL));
+        assertThat(Memoization.of(isChildOf(ClassLoader.getSystemClassLoader())).isBeneficial(), is(true));
+        assertThat(Memoization.of(isBootstrapClassLoader()).isBeneficial(), is(false));
+    }
+}
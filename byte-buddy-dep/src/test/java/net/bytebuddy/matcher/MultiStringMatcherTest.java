@@ -0,0 +1,89 @@
+package net.bytebuddy.matcher;
+
+import net.bytebuddy.description.type.TypeDescription;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class MultiStringMatcherTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    @Test
+    public void testEquals() throws Exception {
+        MultiStringMatcher matcher = new MultiStringMatcher(new StringMatcher(FOO, StringMatcher.Mode.EQUALS_FULLY),
+                new StringMatcher(BAR, StringMatcher.Mode.EQUALS_FULLY));
+        assertThat(matcher.matches(FOO), is(true));
+        assertThat(matcher.matches(BAR), is(true));
+        assertThat(matcher.matches(FOO + BAR), is(false));
+        assertThat(matcher.matches("fo"), is(false));
+    }
+
+    @Test
+    public void testStartsWith() throws Exception {
+        MultiStringMatcher matcher = new MultiStringMatcher(new StringMatcher(FOO, StringMatcher.Mode.STARTS_WITH));
+        assertThat(matcher.matches(FOO + BAR), is(true));
+        assertThat(matcher.matches(BAR + FOO), is(false));
+    }
+
+    @Test
+    public void testEndsWith() throws Exception {
+        MultiStringMatcher matcher = new MultiStringMatcher(new StringMatcher(FOO, StringMatcher.Mode.ENDS_WITH));
+        assertThat(matcher.matches(BAR + FOO), is(true));
+        assertThat(matcher.matches(FOO + BAR), is(false));
+    }
+
+    @Test
+    public void testContains() throws Exception {
+        MultiStringMatcher matcher = new MultiStringMatcher(new StringMatcher("oob", StringMatcher.Mode.CONTAINS),
+                new StringMatcher("bo", StringMatcher.Mode.CONTAINS));
+        assertThat(matcher.matches(FOO + BAR), is(true));
+        assertThat(matcher.matches("xbox"), is(true));
+        assertThat(matcher.matches(BAR + FOO), is(false));
+    }
+
+    @Test
+    public void testOverlappingPatterns() throws Exception {
+        MultiStringMatcher matcher = new MultiStringMatcher(new StringMatcher("abcd", StringMatcher.Mode.CONTAINS),
+                new StringMatcher("bc", StringMatcher.Mode.ENDS_WITH));
+        assertThat(matcher.matches("xabc"), is(true));
+        assertThat(matcher.matches("xabcx"), is(false));
+    }
+
+    @Test
+    public void testEmptyPattern() throws Exception {
+        assertThat(new MultiStringMatcher(new StringMatcher("", StringMatcher.Mode.STARTS_WITH)).matches(FOO), is(true));
+        assertThat(new MultiStringMatcher(new StringMatcher("", StringMatcher.Mode.EQUALS_FULLY)).matches(FOO), is(false));
+        assertThat(new MultiStringMatcher(new StringMatcher("", StringMatcher.Mode.EQUALS_FULLY)).matches(""), is(true));
+    }
+
+    @Test
+    public void testFallback() throws Exception {
+        MultiStringMatcher matcher = new MultiStringMatcher(new StringMatcher("FOO", StringMatcher.Mode.EQUALS_FULLY_IGNORE_CASE));
+        assertThat(matcher.matches(FOO), is(true));
+        assertThat(matcher.matches(BAR), is(false));
+    }
+
+    @Test
+    public void testNoPattern() throws Exception {
+        assertThat(new MultiStringMatcher().matches(FOO), is(false));
+    }
+
+    @Test
+    public void testCollapsedNames() throws Exception {
+        ElementMatcher.Junction<TypeDescription> matcher = ElementMatchers.withCollapsedNames(ElementMatchers.<TypeDescription>named(FOO)
+                .or(ElementMatchers.isInterface())
+                .or(ElementMatchers.nameStartsWith("java.lang.")));
+        assertThat(matcher.matches(TypeDescription.STRING), is(true));
+        assertThat(matcher.matches(TypeDescription.ForLoadedType.of(Runnable.class)), is(true));
+        assertThat(matcher.matches(TypeDescription.ForLoadedType.of(MultiStringMatcherTest.class)), is(false));
+        assertThat(matcher.toString(), startsWith("(name(oneOf("));
+    }
+
+    @Test
+    public void testStringRepresentation() throws Exception {
+        assertThat(new MultiStringMatcher(new StringMatcher(FOO, StringMatcher.Mode.EQUALS_FULLY)).toString(), is("oneOf([equals(foo)])"));
+    }
+}
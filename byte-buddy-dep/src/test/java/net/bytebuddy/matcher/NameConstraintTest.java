@@ -0,0 +1,68 @@
+package net.bytebuddy.matcher;
+
+import net.bytebuddy.description.NamedElement;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static net.bytebuddy.matcher.ElementMatchers.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class NameConstraintTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    @Test
+    public void testNamed() throws Exception {
+        NameConstraint constraint = NameConstraint.of(named(FOO));
+        assertThat(constraint.isConstrained(), is(true));
+        assertThat(constraint.getNames(), is(Collections.singleton(FOO)));
+        assertThat(constraint.getPrefixes().isEmpty(), is(true));
+    }
+
+    @Test
+    public void testNameStartsWith() throws Exception {
+        NameConstraint constraint = NameConstraint.of(nameStartsWith(FOO));
+        assertThat(constraint.isConstrained(), is(true));
+        assertThat(constraint.getNames().isEmpty(), is(true));
+        assertThat(constraint.getPrefixes(), is(Collections.singleton(FOO)));
+    }
+
+    @Test
+    public void testUnconstrained() throws Exception {
+        assertThat(NameConstraint.of(any()).isConstrained(), is(false));
+        assertThat(NameConstraint.of(nameEndsWith(FOO)).isConstrained(), is(false));
+        assertThat(NameConstraint.of(not(named(FOO))).isConstrained(), is(false));
+    }
+
+    @Test
+    public void testConjunction() throws Exception {
+        NameConstraint constraint = NameConstraint.of(isInterface().and(named(FOO)));
+        assertThat(constraint.isConstrained(), is(true));
+        assertThat(constraint.getNames(), is(Collections.singleton(FOO)));
+    }
+
+    @Test
+    public void testDisjunction() throws Exception {
+        NameConstraint constraint = NameConstraint.of(named(FOO).or(nameStartsWith(BAR)));
+        assertThat(constraint.isConstrained(), is(true));
+        assertThat(constraint.getNames(), is(Collections.singleton(FOO)));
+        assertThat(constraint.getPrefixes(), is(Collections.singleton(BAR)));
+    }
+
+    @Test
+    public void testDisjunctionUnconstrained() throws Exception {
+        assertThat(NameConstraint.of(named(FOO).or(isInterface())).isConstrained(), is(false));
+    }
+
+    @Test
+    public void testNameMatcherDisjunction() throws Exception {
+        NameConstraint constraint = NameConstraint.of(new NameMatcher<NamedElement>(new StringMatcher(FOO, StringMatcher.Mode.EQUALS_FULLY)
+                .or(new StringMatcher(BAR, StringMatcher.Mode.EQUALS_FULLY))));
+        assertThat(constraint.getNames(), is((Set<String>) new HashSet<String>(Arrays.asList(FOO, BAR))));
+    }
+}
@@ -1,5 +1,6 @@
 package net.bytebuddy.pool;
 
+import net.bytebuddy.dynamic.ClassFileLocator;
 import net.bytebuddy.test.utility.MockitoRule;
 import org.hamcrest.CoreMatchers;
 import org.junit.Rule;
@@ -7,17 +8,23 @@ import org.junit.Test;
 import org.junit.rules.TestRule;
 import org.mockito.Mock;
 
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class TypePoolCacheProviderTest {
 
-    private static final String FOO = "foo";
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
 
     @Rule
     public TestRule mockitoRule = new MockitoRule(this);
@@ -54,4 +61,201 @@ public class TypePoolCacheProviderTest {
         TypePool.CacheProvider.Simple cacheProvider = new TypePool.CacheProvider.Simple(storage);
         assertThat(cacheProvider.getStorage(), sameInstance(storage));
     }
+
+    @Test
+    public void testBounded() throws Exception {
+        TypePool.CacheProvider.Bounded bounded = new TypePool.CacheProvider.Bounded(1);
+        assertThat(bounded.find(FOO), nullValue(TypePool.Resolution.class));
+        assertThat(bounded.register(FOO, resolution), sameInstance(resolution));
+        assertThat(bounded.find(FOO), sameInstance(resolution));
+        TypePool.Resolution resolution = mock(TypePool.Resolution.class);
+        assertThat(bounded.register(FOO, resolution), sameInstance(this.resolution));
+        assertThat(bounded.find(FOO), sameInstance(this.resolution));
+        assertThat(bounded.getHitCount(), is(2L));
+        assertThat(bounded.getMissCount(), is(1L));
+        bounded.clear();
+        assertThat(bounded.find(FOO), nullValue(TypePool.Resolution.class));
+        assertThat(bounded.getSize(), is(0));
+    }
+
+    @Test
+    public void testBoundedEviction() throws Exception {
+        TypePool.CacheProvider.Bounded bounded = new TypePool.CacheProvider.Bounded(2, TypePool.CacheProvider.Bounded.Weigher.ForEntryCount.INSTANCE, 1);
+        TypePool.Resolution bar = mock(TypePool.Resolution.class), qux = mock(TypePool.Resolution.class);
+        assertThat(bounded.register(FOO, resolution), sameInstance(resolution));
+        assertThat(bounded.register(BAR, bar), sameInstance(bar));
+        assertThat(bounded.find(FOO), sameInstance(resolution));
+        assertThat(bounded.register(QUX, qux), sameInstance(qux));
+        assertThat(bounded.find(BAR), nullValue(TypePool.Resolution.class));
+        assertThat(bounded.find(FOO), sameInstance(resolution));
+        assertThat(bounded.find(QUX), sameInstance(qux));
+        assertThat(bounded.getSize(), is(2));
+        assertThat(bounded.getWeight(), is(2L));
+        assertThat(bounded.getEvictionCount(), is(1L));
+    }
+
+    @Test
+    public void testBoundedWeigher() throws Exception {
+        TypePool.CacheProvider.Bounded.Weigher weigher = mock(TypePool.CacheProvider.Bounded.Weigher.class);
+        when(weigher.weigh(FOO, resolution)).thenReturn(3L);
+        TypePool.CacheProvider.Bounded bounded = new TypePool.CacheProvider.Bounded(2, weigher, 1);
+        assertThat(bounded.register(FOO, resolution), sameInstance(resolution));
+        assertThat(bounded.find(FOO), nullValue(TypePool.Resolution.class));
+        assertThat(bounded.getWeight(), is(0L));
+        assertThat(bounded.getEvictionCount(), is(1L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBoundedIllegalWeight() throws Exception {
+        new TypePool.CacheProvider.Bounded(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBoundedIllegalConcurrencyLevel() throws Exception {
+        new TypePool.CacheProvider.Bounded(1, TypePool.CacheProvider.Bounded.Weigher.ForEntryCount.INSTANCE, 0);
+    }
+
+    @Test
+    public void testReferencingSoft() throws Exception {
+        assertReferencing(new TypePool.CacheProvider.Referencing());
+    }
+
+    @Test
+    public void testReferencingWeak() throws Exception {
+        assertReferencing(new TypePool.CacheProvider.Referencing(TypePool.CacheProvider.Referencing.Sort.WEAK));
+    }
+
+    @Test
+    public void testCoordinating() throws Exception {
+        TypePool.CacheProvider cacheProvider = mock(TypePool.CacheProvider.class);
+        when(cacheProvider.find(FOO)).thenReturn(resolution);
+        when(cacheProvider.register(BAR, resolution)).thenReturn(resolution);
+        TypePool.CacheProvider.Coordinating coordinating = new TypePool.CacheProvider.Coordinating(cacheProvider);
+        assertThat(coordinating.find(FOO), sameInstance(resolution));
+        assertThat(coordinating.register(BAR, resolution), sameInstance(resolution));
+        coordinating.clear();
+        verify(cacheProvider).clear();
+    }
+
+    @Test
+    public void testCoordinatingDescribe() throws Exception {
+        TypePool.CacheProvider.Coordinating coordinating = new TypePool.CacheProvider.Coordinating();
+        assertThat(coordinating.describe(FOO, new Constant(resolution)), sameInstance(resolution));
+        assertThat(coordinating.getInFlight(), is(0));
+        assertThat(coordinating.find(FOO), sameInstance(resolution));
+    }
+
+    @Test
+    public void testCoordinatingDescribeRegistersBeforeCompletion() throws Exception {
+        final TypePool.CacheProvider.Coordinating coordinating = new TypePool.CacheProvider.Coordinating();
+        assertThat(coordinating.describe(FOO, new Callable<TypePool.Resolution>() {
+            public TypePool.Resolution call() {
+                assertThat(coordinating.getInFlight(), is(1));
+                return resolution;
+            }
+        }), sameInstance(resolution));
+        assertThat(coordinating.find(FOO), sameInstance(resolution));
+        assertThat(coordinating.describe(FOO, new Constant(mock(TypePool.Resolution.class))), sameInstance(resolution));
+    }
+
+    @Test
+    public void testCoordinatingDescribeAwaitsInFlight() throws Exception {
+        final TypePool.CacheProvider.Coordinating coordinating = new TypePool.CacheProvider.Coordinating();
+        final CountDownLatch started = new CountDownLatch(1), released = new CountDownLatch(1);
+        final AtomicInteger count = new AtomicInteger();
+        final Callable<TypePool.Resolution> description = new Callable<TypePool.Resolution>() {
+            public TypePool.Resolution call() throws Exception {
+                count.incrementAndGet();
+                started.countDown();
+                released.await();
+                return resolution;
+            }
+        };
+        final TypePool.Resolution[] resolutions = new TypePool.Resolution[1];
+        Thread thread = new Thread(new Runnable() {
+            public void run() {
+                resolutions[0] = coordinating.describe(FOO, new Constant(mock(TypePool.Resolution.class)));
+            }
+        });
+        Thread owner = new Thread(new Runnable() {
+            public void run() {
+                coordinating.describe(FOO, description);
+            }
+        });
+        owner.start();
+        started.await();
+        thread.start();
+        while (thread.getState() != Thread.State.WAITING) {
+            Thread.sleep(10);
+        }
+        assertThat(coordinating.getInFlight(), is(1));
+        released.countDown();
+        owner.join();
+        thread.join();
+        assertThat(resolutions[0], sameInstance(resolution));
+        assertThat(count.get(), is(1));
+        assertThat(coordinating.getInFlight(), is(0));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCoordinatingDescribeFailure() throws Exception {
+        TypePool.CacheProvider.Coordinating coordinating = new TypePool.CacheProvider.Coordinating();
+        try {
+            coordinating.describe(FOO, new Callable<TypePool.Resolution>() {
+                public TypePool.Resolution call() {
+                    throw new IllegalStateException();
+                }
+            });
+        } finally {
+            assertThat(coordinating.getInFlight(), is(0));
+        }
+    }
+
+    @Test
+    public void testCoordinatingDescribeReentrant() throws Exception {
+        final TypePool.CacheProvider.Coordinating coordinating = new TypePool.CacheProvider.Coordinating();
+        assertThat(coordinating.describe(FOO, new Callable<TypePool.Resolution>() {
+            public TypePool.Resolution call() {
+                return coordinating.describe(FOO, new Constant(resolution));
+            }
+        }), sameInstance(resolution));
+    }
+
+    @Test
+    public void testCoordinatingTypePool() throws Exception {
+        TypePool.CacheProvider.Coordinating coordinating = new TypePool.CacheProvider.Coordinating();
+        TypePool typePool = new TypePool.Default(coordinating, ClassFileLocator.ForClassLoader.ofSystemLoader(), TypePool.Default.ReaderMode.FAST);
+        TypePool.Resolution resolution = typePool.describe(Object.class.getName());
+        assertThat(resolution.resolve().represents(Object.class), is(true));
+        assertThat(coordinating.find(Object.class.getName()), sameInstance(resolution));
+        assertThat(coordinating.getInFlight(), is(0));
+    }
+
+    private void assertReferencing(TypePool.CacheProvider.Referencing referencing) throws Exception {
+        assertThat(referencing.find(FOO), nullValue(TypePool.Resolution.class));
+        assertThat(referencing.register(FOO, resolution), sameInstance(resolution));
+        assertThat(referencing.find(FOO), sameInstance(resolution));
+        TypePool.Resolution resolution = mock(TypePool.Resolution.class);
+        assertThat(referencing.register(FOO, resolution), sameInstance(this.resolution));
+        assertThat(referencing.find(FOO), sameInstance(this.resolution));
+        assertThat(referencing.getSize(), is(1));
+        referencing.clear();
+        assertThat(referencing.find(FOO), nullValue(TypePool.Resolution.class));
+        assertThat(referencing.getSize(), is(0));
+        assertThat(referencing.register(FOO, resolution), sameInstance(resolution));
+        assertThat(referencing.find(FOO), sameInstance(resolution));
+    }
+
+    private static class Constant implements Callable<TypePool.Resolution> {
+
+        private final TypePool.Resolution resolution;
+
+        private Constant(TypePool.Resolution resolution) {
+            this.resolution = resolution;
+        }
+
+        public TypePool.Resolution call() {
+            return resolution;
+        }
+    }
 }
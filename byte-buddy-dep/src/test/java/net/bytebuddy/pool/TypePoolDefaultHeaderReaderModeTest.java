@@ -0,0 +1,83 @@
+package net.bytebuddy.pool;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TypePoolDefaultHeaderReaderModeTest {
+
+    private TypePool fastPool;
+
+    @Before
+    public void setUp() throws Exception {
+        fastPool = new TypePool.Default(TypePool.CacheProvider.NoOp.INSTANCE,
+                ClassFileLocator.ForClassLoader.of(Sample.class.getClassLoader()),
+                TypePool.Default.ReaderMode.FAST);
+    }
+
+    @Test
+    public void testHeaderIsExtractedEagerly() throws Exception {
+        TypeDescription typeDescription = headerPool().describe(Sample.class.getName()).resolve();
+        assertThat(typeDescription, is(TypeDescription.ForLoadedType.of(Sample.class)));
+        assertThat(typeDescription.getModifiers(), is(Sample.class.getModifiers()));
+        assertThat(typeDescription.getSuperClass().asErasure().represents(Object.class), is(true));
+        assertThat(typeDescription.getInterfaces().size(), is(1));
+        assertThat(typeDescription.getInterfaces().getOnly().asErasure().represents(Runnable.class), is(true));
+        assertThat(typeDescription.getDeclaredAnnotations().isAnnotationPresent(Deprecated.class), is(true));
+    }
+
+    @Test
+    public void testMembersAreExtractedLazily() throws Exception {
+        TypeDescription typeDescription = headerPool().describe(Sample.class.getName()).resolve();
+        TypeDescription fastTypeDescription = fastPool.describe(Sample.class.getName()).resolve();
+        assertThat(typeDescription.getDeclaredFields(), is(fastTypeDescription.getDeclaredFields()));
+        assertThat(typeDescription.getDeclaredMethods(), is(fastTypeDescription.getDeclaredMethods()));
+        assertThat(typeDescription.getDeclaredFields().getOnly().getDeclaredAnnotations().isAnnotationPresent(Deprecated.class), is(true));
+        assertThat(typeDescription.getDeclaredMethods().filter(named("run")).getOnly().getDeclaredAnnotations().isAnnotationPresent(Deprecated.class), is(true));
+    }
+
+    @Test
+    public void testClassFileIsOnlyLocatedOnce() throws Exception {
+        final AtomicInteger count = new AtomicInteger();
+        final ClassFileLocator classFileLocator = ClassFileLocator.ForClassLoader.of(Sample.class.getClassLoader());
+        TypeDescription typeDescription = new TypePool.Default(TypePool.CacheProvider.NoOp.INSTANCE, new ClassFileLocator() {
+            public Resolution locate(String name) throws IOException {
+                count.incrementAndGet();
+                return classFileLocator.locate(name);
+            }
+
+            public void close() throws IOException {
+                classFileLocator.close();
+            }
+        }, TypePool.Default.ReaderMode.HEADER).describe(Sample.class.getName()).resolve();
+        assertThat(typeDescription.getDeclaredMethods().size(), is(2));
+        assertThat(typeDescription.getDeclaredFields().size(), is(1));
+        assertThat(count.get(), is(1));
+    }
+
+    private TypePool headerPool() {
+        return new TypePool.Default(TypePool.CacheProvider.NoOp.INSTANCE,
+                ClassFileLocator.ForClassLoader.of(Sample.class.getClassLoader()),
+                TypePool.Default.ReaderMode.HEADER);
+    }
+
+    @Deprecated
+    private static class Sample implements Runnable {
+
+        @Deprecated
+        private Object foo;
+
+        @Deprecated
+        public void run() {
+            /* empty */
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package net.bytebuddy.pool;
+
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.description.type.TypeList;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import org.junit.Test;
+
+import java.lang.reflect.GenericSignatureFormatError;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import static net.bytebuddy.matcher.ElementMatchers.isBridge;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.not;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TypePoolDefaultLazyGenericSignatureTest {
+
+    private static final String FOO = "foo";
+
+    @Test
+    public void testNonGenericIsRaw() throws Exception {
+        assertThat(TypePool.Default.LazyTypeDescription.GenericTypeToken.Resolution.ForType.Lazy.of(null),
+                is((Object) TypePool.Default.LazyTypeDescription.GenericTypeToken.Resolution.Raw.INSTANCE));
+        assertThat(TypePool.Default.LazyTypeDescription.GenericTypeToken.Resolution.ForMethod.Lazy.of(null),
+                is((Object) TypePool.Default.LazyTypeDescription.GenericTypeToken.Resolution.Raw.INSTANCE));
+        assertThat(TypePool.Default.LazyTypeDescription.GenericTypeToken.Resolution.ForField.Lazy.of(null),
+                is((Object) TypePool.Default.LazyTypeDescription.GenericTypeToken.Resolution.Raw.INSTANCE));
+    }
+
+    @Test
+    public void testGenericIsLazy() throws Exception {
+        assertThat(TypePool.Default.LazyTypeDescription.GenericTypeToken.Resolution.ForType.Lazy.of(FOO),
+                instanceOf(TypePool.Default.LazyTypeDescription.GenericTypeToken.Resolution.ForType.Lazy.class));
+        assertThat(TypePool.Default.LazyTypeDescription.GenericTypeToken.Resolution.ForMethod.Lazy.of(FOO),
+                instanceOf(TypePool.Default.LazyTypeDescription.GenericTypeToken.Resolution.ForMethod.Lazy.class));
+        assertThat(TypePool.Default.LazyTypeDescription.GenericTypeToken.Resolution.ForField.Lazy.of(FOO),
+                instanceOf(TypePool.Default.LazyTypeDescription.GenericTypeToken.Resolution.ForField.Lazy.class));
+    }
+
+    @Test
+    public void testGenericTypesAreResolved() throws Exception {
+        TypeDescription typeDescription = TypePool.Default.of(ClassFileLocator.ForClassLoader.of(Sample.class.getClassLoader()))
+                .describe(Sample.class.getName())
+                .resolve();
+        TypeDescription loadedType = TypeDescription.ForLoadedType.of(Sample.class);
+        assertThat(typeDescription.getTypeVariables(), is(loadedType.getTypeVariables()));
+        assertThat(typeDescription.getSuperClass(), is(loadedType.getSuperClass()));
+        assertThat(typeDescription.getInterfaces(), is(loadedType.getInterfaces()));
+        assertThat(typeDescription.getDeclaredFields().getOnly().getType(), is(loadedType.getDeclaredFields().getOnly().getType()));
+        assertThat(typeDescription.getDeclaredMethods().filter(named("call").and(not(isBridge()))).getOnly().getReturnType(), is(loadedType.getDeclaredMethods().filter(named("call").and(not(isBridge()))).getOnly().getReturnType()));
+    }
+
+    @Test(expected = GenericSignatureFormatError.class)
+    public void testMalformedSignatureIsResolvedLazily() throws Exception {
+        TypePool.Default.LazyTypeDescription.GenericTypeToken.Resolution.ForType resolution = TypePool.Default.LazyTypeDescription.GenericTypeToken.Resolution.ForType.Lazy.of(FOO);
+        resolution.resolveTypeVariables(TypePool.Empty.INSTANCE, TypeDescription.OBJECT, null, null);
+    }
+
+    @Test
+    public void testSuperClassErasureIsResolvedWithoutSignature() throws Exception {
+        TypeDescription.Generic superClass = TypePool.Default.LazyTypeDescription.GenericTypeToken.Resolution.ForType.Lazy.of(FOO)
+                .resolveSuperClass("Ljava/lang/Object;", TypePool.Default.ofSystemLoader(), null, TypeDescription.OBJECT);
+        assertThat(superClass.asErasure().represents(Object.class), is(true));
+    }
+
+    @Test(expected = GenericSignatureFormatError.class)
+    public void testSuperClassGenericTypeIsResolvedLazily() throws Exception {
+        TypePool.Default.LazyTypeDescription.GenericTypeToken.Resolution.ForType.Lazy.of(FOO)
+                .resolveSuperClass("Ljava/lang/Object;", TypePool.Default.ofSystemLoader(), null, TypeDescription.OBJECT)
+                .getSort();
+    }
+
+    @Test
+    public void testInterfaceTypeErasuresAreResolvedWithoutSignature() throws Exception {
+        TypeList.Generic interfaceTypes = TypePool.Default.LazyTypeDescription.GenericTypeToken.Resolution.ForType.Lazy.of(FOO)
+                .resolveInterfaceTypes(Arrays.asList("Ljava/util/concurrent/Callable;", "Ljava/lang/Runnable;"),
+                        TypePool.Default.ofSystemLoader(),
+                        Collections.<Integer, Map<String, List<TypePool.Default.LazyTypeDescription.AnnotationToken>>>emptyMap(),
+                        TypeDescription.OBJECT);
+        assertThat(interfaceTypes.size(), is(2));
+        assertThat(interfaceTypes.get(0).asErasure().represents(Callable.class), is(true));
+        assertThat(interfaceTypes.asErasures().get(1).represents(Runnable.class), is(true));
+    }
+
+    @Test(expected = GenericSignatureFormatError.class)
+    public void testInterfaceGenericTypeIsResolvedLazily() throws Exception {
+        TypePool.Default.LazyTypeDescription.GenericTypeToken.Resolution.ForType.Lazy.of(FOO)
+                .resolveInterfaceTypes(Collections.singletonList("Ljava/lang/Runnable;"),
+                        TypePool.Default.ofSystemLoader(),
+                        Collections.<Integer, Map<String, List<TypePool.Default.LazyTypeDescription.AnnotationToken>>>emptyMap(),
+                        TypeDescription.OBJECT)
+                .get(0)
+                .getSort();
+    }
+
+    @Test
+    public void testMethodTypeErasuresAreResolvedWithoutSignature() throws Exception {
+        TypePool.Default.LazyTypeDescription.GenericTypeToken.Resolution.ForMethod resolution = TypePool.Default.LazyTypeDescription.GenericTypeToken.Resolution.ForMethod.Lazy.of(FOO);
+        MethodDescription.InDefinedShape methodDescription = TypeDescription.OBJECT.getDeclaredMethods().filter(named("toString")).getOnly();
+        assertThat(resolution.resolveReturnType("Ljava/lang/String;",
+                TypePool.Default.ofSystemLoader(),
+                Collections.<String, List<TypePool.Default.LazyTypeDescription.AnnotationToken>>emptyMap(),
+                methodDescription).asErasure().represents(String.class), is(true));
+        TypeList.Generic parameterTypes = resolution.resolveParameterTypes(Collections.singletonList("Ljava/lang/String;"),
+                TypePool.Default.ofSystemLoader(),
+                Collections.<Integer, Map<String, List<TypePool.Default.LazyTypeDescription.AnnotationToken>>>emptyMap(),
+                methodDescription);
+        assertThat(parameterTypes.size(), is(1));
+        assertThat(parameterTypes.get(0).asErasure().represents(String.class), is(true));
+        assertThat(parameterTypes.asErasures().getOnly().represents(String.class), is(true));
+    }
+
+    @Test(expected = GenericSignatureFormatError.class)
+    public void testMethodGenericTypeIsResolvedLazily() throws Exception {
+        TypePool.Default.LazyTypeDescription.GenericTypeToken.Resolution.ForMethod.Lazy.of(FOO)
+                .resolveReturnType("Ljava/lang/String;",
+                        TypePool.Default.ofSystemLoader(),
+                        Collections.<String, List<TypePool.Default.LazyTypeDescription.AnnotationToken>>emptyMap(),
+                        TypeDescription.OBJECT.getDeclaredMethods().filter(named("toString")).getOnly())
+                .getSort();
+    }
+
+    private static class Sample<T extends Number> extends ThreadLocal<T> implements Callable<List<T>> {
+
+        private List<? super T> foo;
+
+        public List<T> call() {
+            return null;
+        }
+    }
+}
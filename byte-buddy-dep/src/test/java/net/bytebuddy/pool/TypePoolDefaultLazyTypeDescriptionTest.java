@@ -6,7 +6,15 @@ import org.junit.Test;
 import org.junit.rules.TestRule;
 import org.mockito.Mock;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 public class TypePoolDefaultLazyTypeDescriptionTest {
@@ -91,4 +99,28 @@ public class TypePoolDefaultLazyTypeDescriptionTest {
     public void testCannotResolvePrimaryBoundPropertyForUpperBoundWildcard() throws Exception {
         new TypePool.Default.LazyTypeDescription.GenericTypeToken.ForPrimitiveType.ForUpperBoundWildcard(genericTypeToken).isPrimaryBound(typePool);
     }
+
+    @Test
+    public void testCompactEmpty() throws Exception {
+        assertThat(TypePool.Default.LazyTypeDescription.compact(new ArrayList<String>()), sameInstance(Collections.<String>emptyList()));
+        assertThat(TypePool.Default.LazyTypeDescription.compact(new HashMap<String, String>()), sameInstance(Collections.<String, String>emptyMap()));
+    }
+
+    @Test
+    public void testCompactSingleton() throws Exception {
+        assertThat(TypePool.Default.LazyTypeDescription.compact(new ArrayList<String>(Collections.singletonList(FOO))), is(Collections.singletonList(FOO)));
+        Map<String, String> map = new HashMap<String, String>();
+        map.put(FOO, FOO);
+        assertThat(TypePool.Default.LazyTypeDescription.compact(map), is(Collections.singletonMap(FOO, FOO)));
+    }
+
+    @Test
+    public void testCompactMultiple() throws Exception {
+        List<String> list = new ArrayList<String>(Arrays.asList(FOO, FOO));
+        assertThat(TypePool.Default.LazyTypeDescription.compact(list), sameInstance(list));
+        Map<String, String> map = new HashMap<String, String>();
+        map.put(FOO, FOO);
+        map.put(FOO + FOO, FOO);
+        assertThat(TypePool.Default.LazyTypeDescription.compact(map), sameInstance(map));
+    }
 }
@@ -12,11 +12,16 @@ public class TypePoolDefaultReaderModeTest {
     public void testDefinition() throws Exception {
         assertThat(TypePool.Default.ReaderMode.EXTENDED.isExtended(), is(true));
         assertThat(TypePool.Default.ReaderMode.FAST.isExtended(), is(false));
+        assertThat(TypePool.Default.ReaderMode.HEADER.isExtended(), is(false));
+        assertThat(TypePool.Default.ReaderMode.EXTENDED.isHeaderOnly(), is(false));
+        assertThat(TypePool.Default.ReaderMode.FAST.isHeaderOnly(), is(false));
+        assertThat(TypePool.Default.ReaderMode.HEADER.isHeaderOnly(), is(true));
     }
 
     @Test
     public void testFlags() throws Exception {
         assertThat(TypePool.Default.ReaderMode.EXTENDED.getFlags(), is(ClassReader.SKIP_FRAMES));
         assertThat(TypePool.Default.ReaderMode.FAST.getFlags(), is(ClassReader.SKIP_CODE));
+        assertThat(TypePool.Default.ReaderMode.HEADER.getFlags(), is(ClassReader.SKIP_CODE));
     }
 }
\ No newline at end of file
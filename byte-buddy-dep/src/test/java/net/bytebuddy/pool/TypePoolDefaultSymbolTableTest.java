@@ -0,0 +1,55 @@
+package net.bytebuddy.pool;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TypePoolDefaultSymbolTableTest {
+
+    private static final String FOO = "foo";
+
+    @Test
+    public void testNoOp() throws Exception {
+        String symbol = new String(FOO);
+        assertThat(TypePool.Default.SymbolTable.NoOp.INSTANCE.intern(symbol), sameInstance(symbol));
+        assertThat(TypePool.Default.SymbolTable.NoOp.INSTANCE.intern(null), nullValue(String.class));
+    }
+
+    @Test
+    public void testInterning() throws Exception {
+        TypePool.Default.SymbolTable.Interning symbolTable = new TypePool.Default.SymbolTable.Interning();
+        String symbol = new String(FOO);
+        assertThat(symbolTable.intern(symbol), sameInstance(symbol));
+        assertThat(symbolTable.intern(new String(FOO)), sameInstance(symbol));
+        assertThat(symbolTable.intern(null), nullValue(String.class));
+        assertThat(symbolTable.getSize(), is(1));
+    }
+
+    @Test
+    public void testTypePoolInterning() throws Exception {
+        TypePool.Default.SymbolTable symbolTable = new TypePool.Default.SymbolTable.Interning();
+        TypeDescription first = typePool(symbolTable).describe(Sample.class.getName()).resolve();
+        TypeDescription second = typePool(symbolTable).describe(Sample.class.getName()).resolve();
+        assertThat(first.getDeclaredFields().getOnly().getName(), sameInstance(second.getDeclaredFields().getOnly().getName()));
+        assertThat(first.getDeclaredFields(), is(second.getDeclaredFields()));
+        assertThat(first.getDeclaredMethods(), is(second.getDeclaredMethods()));
+    }
+
+    private static TypePool typePool(TypePool.Default.SymbolTable symbolTable) {
+        return new TypePool.Default(TypePool.CacheProvider.NoOp.INSTANCE,
+                ClassFileLocator.ForClassLoader.of(Sample.class.getClassLoader()),
+                TypePool.Default.ReaderMode.FAST,
+                TypePool.Empty.INSTANCE,
+                symbolTable);
+    }
+
+    private static class Sample {
+
+        private String foo;
+    }
+}
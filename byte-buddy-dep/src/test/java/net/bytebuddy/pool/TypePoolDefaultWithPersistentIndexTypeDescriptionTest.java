@@ -0,0 +1,246 @@
+package net.bytebuddy.pool;
+
+import net.bytebuddy.description.type.AbstractTypeDescriptionTest;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import org.hamcrest.CoreMatchers;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import static net.bytebuddy.matcher.ElementMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TypePoolDefaultWithPersistentIndexTypeDescriptionTest extends AbstractTypeDescriptionTest {
+
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("foo", "bar");
+        assertThat(file.delete(), CoreMatchers.is(true));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        assertThat(!file.exists() || file.delete(), CoreMatchers.is(true));
+        for (int generation = 1; generation < 3; generation++) {
+            File previous = new File(file.getPath() + "." + generation);
+            assertThat(!previous.exists() || previous.delete(), CoreMatchers.is(true));
+        }
+    }
+
+    protected TypeDescription describe(Class<?> type) {
+        try {
+            ClassFileLocator classFileLocator = ClassFileLocator.ForClassLoader.of(type.getClassLoader());
+            TypePool.Default.PersistentIndex persistentIndex = TypePool.Default.PersistentIndex.of(file);
+            new TypePool.Default.WithPersistentIndex(TypePool.CacheProvider.NoOp.INSTANCE,
+                    classFileLocator,
+                    TypePool.Default.ReaderMode.EXTENDED,
+                    persistentIndex).describe(type.getName()).resolve();
+            persistentIndex.persist();
+            return new TypePool.Default.WithPersistentIndex(TypePool.CacheProvider.NoOp.INSTANCE,
+                    classFileLocator,
+                    TypePool.Default.ReaderMode.EXTENDED,
+                    TypePool.Default.PersistentIndex.of(file)).describe(type.getName()).resolve();
+        } catch (Exception exception) {
+            throw new AssertionError(exception);
+        }
+    }
+
+    protected TypeDescription.Generic describeType(Field field) {
+        return describe(field.getDeclaringClass()).getDeclaredFields().filter(is(field)).getOnly().getType();
+    }
+
+    protected TypeDescription.Generic describeReturnType(Method method) {
+        return describe(method.getDeclaringClass()).getDeclaredMethods().filter(is(method)).getOnly().getReturnType();
+    }
+
+    protected TypeDescription.Generic describeParameterType(Method method, int index) {
+        return describe(method.getDeclaringClass()).getDeclaredMethods().filter(is(method)).getOnly().getParameters().get(index).getType();
+    }
+
+    protected TypeDescription.Generic describeExceptionType(Method method, int index) {
+        return describe(method.getDeclaringClass()).getDeclaredMethods().filter(is(method)).getOnly().getExceptionTypes().get(index);
+    }
+
+    protected TypeDescription.Generic describeSuperClass(Class<?> type) {
+        return describe(type).getSuperClass();
+    }
+
+    protected TypeDescription.Generic describeInterfaceType(Class<?> type, int index) {
+        return describe(type).getInterfaces().get(index);
+    }
+
+    @Test
+    public void testIndexIsPersisted() throws Exception {
+        TypePool.Default.PersistentIndex persistentIndex = TypePool.Default.PersistentIndex.of(file);
+        assertThat(persistentIndex.getSize(), CoreMatchers.is(0));
+        new TypePool.Default.WithPersistentIndex(TypePool.CacheProvider.NoOp.INSTANCE,
+                ClassFileLocator.ForClassLoader.ofSystemLoader(),
+                TypePool.Default.ReaderMode.FAST,
+                persistentIndex).describe(Object.class.getName()).resolve();
+        assertThat(persistentIndex.getSize(), CoreMatchers.is(0));
+        persistentIndex.persist();
+        assertThat(persistentIndex.getSize(), CoreMatchers.is(1));
+        assertThat(TypePool.Default.PersistentIndex.of(file).getSize(), CoreMatchers.is(1));
+    }
+
+    @Test
+    public void testIndexIgnoresChangedClassFile() throws Exception {
+        TypePool.Default.PersistentIndex persistentIndex = TypePool.Default.PersistentIndex.of(file);
+        new TypePool.Default.WithPersistentIndex(TypePool.CacheProvider.NoOp.INSTANCE,
+                ClassFileLocator.ForClassLoader.ofSystemLoader(),
+                TypePool.Default.ReaderMode.FAST,
+                persistentIndex).describe(Object.class.getName()).resolve();
+        persistentIndex.persist();
+        assertThat(TypePool.Default.PersistentIndex.of(file).find(TypePool.Empty.INSTANCE,
+                Object.class.getName(),
+                TypePool.Default.PersistentIndex.digest(TypePool.Default.ReaderMode.FAST, new byte[]{1, 2, 3})), nullValue(TypeDescription.class));
+        assertThat(TypePool.Default.PersistentIndex.of(file).find(TypePool.Empty.INSTANCE,
+                Object.class.getName(),
+                TypePool.Default.PersistentIndex.digest(TypePool.Default.ReaderMode.EXTENDED,
+                        ClassFileLocator.ForClassLoader.read(Object.class))), nullValue(TypeDescription.class));
+    }
+
+    @Test
+    public void testIndexIsUsedByMetadata() throws Exception {
+        TypePool.Default.PersistentIndex.MetadataResolver metadataResolver = new TypePool.Default.PersistentIndex.MetadataResolver.ForClassLoader(getClass().getClassLoader());
+        TypePool.Default.PersistentIndex persistentIndex = TypePool.Default.PersistentIndex.of(file);
+        new TypePool.Default.WithPersistentIndex(TypePool.CacheProvider.NoOp.INSTANCE,
+                ClassFileLocator.ForClassLoader.of(getClass().getClassLoader()),
+                TypePool.Default.ReaderMode.FAST,
+                TypePool.Empty.INSTANCE,
+                persistentIndex,
+                metadataResolver).describe(getClass().getName()).resolve();
+        persistentIndex.persist();
+        TypePool.Resolution resolution = new TypePool.Default.WithPersistentIndex(TypePool.CacheProvider.NoOp.INSTANCE,
+                ClassFileLocator.NoOp.INSTANCE,
+                TypePool.Default.ReaderMode.FAST,
+                TypePool.Empty.INSTANCE,
+                TypePool.Default.PersistentIndex.of(file),
+                metadataResolver).describe(getClass().getName());
+        assertThat(resolution.isResolved(), CoreMatchers.is(true));
+        assertThat(resolution.resolve().getName(), CoreMatchers.is(getClass().getName()));
+        assertThat(new TypePool.Default.WithPersistentIndex(TypePool.CacheProvider.NoOp.INSTANCE,
+                ClassFileLocator.NoOp.INSTANCE,
+                TypePool.Default.ReaderMode.EXTENDED,
+                TypePool.Empty.INSTANCE,
+                TypePool.Default.PersistentIndex.of(file),
+                metadataResolver).describe(getClass().getName()).isResolved(), CoreMatchers.is(false));
+    }
+
+    @Test
+    public void testIncompleteEntryIsDiscarded() throws Exception {
+        TypePool.Default.PersistentIndex persistentIndex = TypePool.Default.PersistentIndex.of(file);
+        new TypePool.Default.WithPersistentIndex(TypePool.CacheProvider.NoOp.INSTANCE,
+                ClassFileLocator.ForClassLoader.ofSystemLoader(),
+                TypePool.Default.ReaderMode.FAST,
+                persistentIndex).describe(Object.class.getName()).resolve();
+        persistentIndex.persist();
+        long length = file.length();
+        OutputStream outputStream = new FileOutputStream(file, true);
+        try {
+            outputStream.write(new byte[]{0, 0, 0, 5, 1});
+        } finally {
+            outputStream.close();
+        }
+        persistentIndex = TypePool.Default.PersistentIndex.of(file);
+        assertThat(persistentIndex.getSize(), CoreMatchers.is(1));
+        new TypePool.Default.WithPersistentIndex(TypePool.CacheProvider.NoOp.INSTANCE,
+                ClassFileLocator.ForClassLoader.of(getClass().getClassLoader()),
+                TypePool.Default.ReaderMode.FAST,
+                persistentIndex).describe(getClass().getName()).resolve();
+        persistentIndex.persist();
+        assertThat(new File(file.getPath() + ".1").length() > length, CoreMatchers.is(true));
+        assertThat(TypePool.Default.PersistentIndex.of(file).getSize(), CoreMatchers.is(2));
+    }
+
+    @Test
+    public void testReplacedIndexRemainsReadable() throws Exception {
+        TypePool.Default.PersistentIndex persistentIndex = TypePool.Default.PersistentIndex.of(file);
+        new TypePool.Default.WithPersistentIndex(TypePool.CacheProvider.NoOp.INSTANCE,
+                ClassFileLocator.ForClassLoader.ofSystemLoader(),
+                TypePool.Default.ReaderMode.FAST,
+                persistentIndex).describe(Object.class.getName()).resolve();
+        persistentIndex.persist();
+        TypePool.Default.PersistentIndex mapped = TypePool.Default.PersistentIndex.of(file);
+        OutputStream outputStream = new FileOutputStream(file, true);
+        try {
+            outputStream.write(new byte[]{0, 0, 0, 5, 1});
+        } finally {
+            outputStream.close();
+        }
+        persistentIndex = TypePool.Default.PersistentIndex.of(file);
+        new TypePool.Default.WithPersistentIndex(TypePool.CacheProvider.NoOp.INSTANCE,
+                ClassFileLocator.ForClassLoader.of(getClass().getClassLoader()),
+                TypePool.Default.ReaderMode.FAST,
+                persistentIndex).describe(getClass().getName()).resolve();
+        persistentIndex.persist();
+        assertThat(new File(file.getPath() + ".1").isFile(), CoreMatchers.is(true));
+        assertThat(mapped.find(TypePool.Empty.INSTANCE,
+                Object.class.getName(),
+                TypePool.Default.PersistentIndex.digest(TypePool.Default.ReaderMode.FAST, ClassFileLocator.ForClassLoader.read(Object.class))).represents(Object.class), CoreMatchers.is(true));
+        assertThat(TypePool.Default.PersistentIndex.of(file).getSize(), CoreMatchers.is(2));
+    }
+
+    @Test
+    public void testConcurrentlyPersistedEntriesAreAdopted() throws Exception {
+        TypePool.Default.PersistentIndex first = TypePool.Default.PersistentIndex.of(file), second = TypePool.Default.PersistentIndex.of(file);
+        new TypePool.Default.WithPersistentIndex(TypePool.CacheProvider.NoOp.INSTANCE,
+                ClassFileLocator.ForClassLoader.ofSystemLoader(),
+                TypePool.Default.ReaderMode.FAST,
+                first).describe(Object.class.getName()).resolve();
+        first.persist();
+        new TypePool.Default.WithPersistentIndex(TypePool.CacheProvider.NoOp.INSTANCE,
+                ClassFileLocator.ForClassLoader.of(getClass().getClassLoader()),
+                TypePool.Default.ReaderMode.FAST,
+                second).describe(getClass().getName()).resolve();
+        second.persist();
+        assertThat(second.getSize(), CoreMatchers.is(2));
+        assertThat(TypePool.Default.PersistentIndex.of(file).getSize(), CoreMatchers.is(2));
+    }
+
+    @Test
+    public void testRegistrationsAreBounded() throws Exception {
+        TypePool.Default.PersistentIndex persistentIndex = TypePool.Default.PersistentIndex.of(file, 1);
+        TypePool typePool = new TypePool.Default.WithPersistentIndex(TypePool.CacheProvider.NoOp.INSTANCE,
+                ClassFileLocator.ForClassLoader.ofSystemLoader(),
+                TypePool.Default.ReaderMode.FAST,
+                persistentIndex);
+        typePool.describe(Object.class.getName()).resolve();
+        typePool.describe(String.class.getName()).resolve();
+        persistentIndex.persist();
+        assertThat(TypePool.Default.PersistentIndex.of(file).getSize(), CoreMatchers.is(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeRegistrationsThrowsException() throws Exception {
+        TypePool.Default.PersistentIndex.of(file, -1);
+    }
+
+    @Test
+    public void testIncompatibleIndexIsOverwritten() throws Exception {
+        OutputStream outputStream = new FileOutputStream(file);
+        try {
+            outputStream.write(new byte[]{1, 2, 3});
+        } finally {
+            outputStream.close();
+        }
+        TypePool.Default.PersistentIndex persistentIndex = TypePool.Default.PersistentIndex.of(file);
+        assertThat(persistentIndex.getSize(), CoreMatchers.is(0));
+        new TypePool.Default.WithPersistentIndex(TypePool.CacheProvider.NoOp.INSTANCE,
+                ClassFileLocator.ForClassLoader.ofSystemLoader(),
+                TypePool.Default.ReaderMode.FAST,
+                persistentIndex).describe(Object.class.getName()).resolve();
+        persistentIndex.persist();
+        assertThat(TypePool.Default.PersistentIndex.of(file).getSize(), CoreMatchers.is(1));
+    }
+}
@@ -0,0 +1,65 @@
+package net.bytebuddy.pool;
+
+import net.bytebuddy.dynamic.ClassFileLocator;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class TypePoolDefaultWithPrefetchingTest {
+
+    @Test
+    public void testPrefetchesSuperTypes() throws Exception {
+        TypePool.CacheProvider cacheProvider = new TypePool.CacheProvider.Simple();
+        new TypePool.Default.WithPrefetching(cacheProvider,
+                ClassFileLocator.ForClassLoader.ofSystemLoader(),
+                TypePool.Default.ReaderMode.FAST,
+                new DirectExecutor()).describe(Sample.class.getName()).resolve();
+        assertThat(cacheProvider.find(Sample.class.getName()), notNullValue(TypePool.Resolution.class));
+        assertThat(cacheProvider.find(Object.class.getName()), notNullValue(TypePool.Resolution.class));
+        assertThat(cacheProvider.find(Serializable.class.getName()), notNullValue(TypePool.Resolution.class));
+        assertThat(cacheProvider.find(Deprecated.class.getName()), notNullValue(TypePool.Resolution.class));
+    }
+
+    @Test
+    public void testCachedTypeIsNotPrefetched() throws Exception {
+        Executor executor = mock(Executor.class);
+        TypePool typePool = new TypePool.Default.WithPrefetching(TypePool.CacheProvider.Simple.withObjectType(),
+                ClassFileLocator.ForClassLoader.ofSystemLoader(),
+                TypePool.Default.ReaderMode.FAST,
+                executor);
+        typePool.describe(Serializable.class.getName()).resolve();
+        verifyZeroInteractions(executor);
+    }
+
+    @Test
+    public void testRejectedPrefetchIsIgnored() throws Exception {
+        Executor executor = mock(Executor.class);
+        doThrow(new RejectedExecutionException()).when(executor).execute(any(Runnable.class));
+        TypePool.CacheProvider cacheProvider = new TypePool.CacheProvider.Simple();
+        new TypePool.Default.WithPrefetching(cacheProvider,
+                ClassFileLocator.ForClassLoader.ofSystemLoader(),
+                TypePool.Default.ReaderMode.FAST,
+                executor).describe(Sample.class.getName()).resolve();
+        verify(executor, times(3)).execute(any(Runnable.class));
+        assertThat(cacheProvider.find(Object.class.getName()), nullValue(TypePool.Resolution.class));
+    }
+
+    private static class DirectExecutor implements Executor {
+
+        public void execute(Runnable command) {
+            command.run();
+        }
+    }
+
+    @Deprecated
+    private static class Sample implements Serializable {
+        /* empty */
+    }
+}
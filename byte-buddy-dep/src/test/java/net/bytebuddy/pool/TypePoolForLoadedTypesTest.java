@@ -0,0 +1,129 @@
+package net.bytebuddy.pool;
+
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.loading.ByteArrayClassLoader;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.test.utility.ClassReflectionInjectionAvailableRule;
+import net.bytebuddy.test.utility.MockitoRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class TypePoolForLoadedTypesTest {
+
+    private static final String FOO = "foo.Bar";
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Rule
+    public MethodRule classReflectionInjectionAvailableRule = new ClassReflectionInjectionAvailableRule();
+
+    private TypePool typePool;
+
+    @Mock
+    private TypePool parent;
+
+    @Before
+    public void setUp() throws Exception {
+        when(parent.describe(anyString())).thenReturn(new TypePool.Resolution.Illegal(FOO));
+        typePool = TypePool.ForLoadedTypes.of(Collections.<Class<?>>singleton(Foo.class), parent);
+    }
+
+    @Test
+    public void testSuccessfulLookup() throws Exception {
+        TypePool.Resolution resolution = typePool.describe(Foo.class.getName());
+        assertThat(resolution.isResolved(), is(true));
+        assertThat(resolution.resolve(), instanceOf(TypeDescription.ForLoadedType.class));
+        assertThat(resolution.resolve().represents(Foo.class), is(true));
+        verify(parent).describe(Foo.class.getName());
+        verifyNoMoreInteractions(parent);
+    }
+
+    @Test
+    public void testFailedLookup() throws Exception {
+        TypePool.Resolution resolution = typePool.describe(FOO);
+        assertThat(resolution.isResolved(), is(false));
+        verify(parent).describe(FOO);
+        verifyNoMoreInteractions(parent);
+    }
+
+    @Test
+    public void testDelegation() throws Exception {
+        TypePool.Resolution resolution = mock(TypePool.Resolution.class);
+        when(resolution.isResolved()).thenReturn(true);
+        when(parent.describe(FOO)).thenReturn(resolution);
+        assertThat(typePool.describe(FOO), sameInstance(resolution));
+        verify(parent).describe(FOO);
+        verifyNoMoreInteractions(parent);
+    }
+
+    @Test
+    public void testArrayTypeIsNotRegistered() throws Exception {
+        assertThat(TypePool.ForLoadedTypes.of(Collections.<Class<?>>singleton(Foo[].class)).describe(Foo.class.getName()).isResolved(), is(false));
+    }
+
+    @Test
+    @ClassReflectionInjectionAvailableRule.Enforce
+    public void testClassLoader() throws Exception {
+        ClassLoader classLoader = new URLClassLoader(new URL[0], Foo.class.getClassLoader());
+        TypePool typePool = TypePool.ForLoadedTypes.of(classLoader);
+        assertThat(typePool.describe(Foo.class.getName()).resolve().represents(Foo.class), is(true));
+        assertThat(typePool.describe(FOO).isResolved(), is(false));
+    }
+
+    @Test
+    @ClassReflectionInjectionAvailableRule.Enforce
+    public void testClassLoaderDoesNotLoadTypes() throws Exception {
+        ClassLoader classLoader = new ByteArrayClassLoader(ClassLoadingStrategy.BOOTSTRAP_LOADER,
+                ClassFileLocator.ForClassLoader.readToNames(Qux.class));
+        TypePool typePool = TypePool.ForLoadedTypes.of(classLoader);
+        assertThat(typePool.describe(Qux.class.getName()).isResolved(), is(false));
+        Class<?> type = classLoader.loadClass(Qux.class.getName());
+        assertThat(typePool.describe(Qux.class.getName()).resolve().represents(type), is(true));
+    }
+
+    @Test
+    public void testBootstrapClassLoader() throws Exception {
+        assertThat(TypePool.ForLoadedTypes.of(ClassLoadingStrategy.BOOTSTRAP_LOADER, parent), sameInstance(parent));
+    }
+
+    @Test
+    public void testParentOfParsingTypePool() throws Exception {
+        TypePool typePool = new TypePool.Default(TypePool.CacheProvider.NoOp.INSTANCE,
+                ClassFileLocator.ForClassLoader.of(Bar.class.getClassLoader()),
+                TypePool.Default.ReaderMode.FAST,
+                TypePool.ForLoadedTypes.of(Arrays.<Class<?>>asList(Object.class, Foo.class)));
+        TypeDescription typeDescription = typePool.describe(Bar.class.getName()).resolve();
+        assertThat(typeDescription, instanceOf(TypePool.Default.LazyTypeDescription.class));
+        assertThat(typeDescription.getSuperClass().asErasure(), instanceOf(TypeDescription.ForLoadedType.class));
+        assertThat(typeDescription.getSuperClass().asErasure().represents(Foo.class), is(true));
+    }
+
+    private static class Foo {
+        /* empty */
+    }
+
+    private static class Bar extends Foo {
+        /* empty */
+    }
+
+    public static class Qux {
+        /* empty */
+    }
+}
@@ -0,0 +1,85 @@
+package net.bytebuddy.pool;
+
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.test.utility.MockitoRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+public class TypePoolPlatformTest {
+
+    private static final String FOO = "foo.Bar";
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private TypePool typePool;
+
+    @Mock
+    private TypePool.Resolution resolution;
+
+    @Test
+    public void testJavaType() throws Exception {
+        when(typePool.describe(Object.class.getName())).thenReturn(resolution);
+        assertThat(new TypePool.Platform(typePool).describe(Object.class.getName()), sameInstance(resolution));
+    }
+
+    @Test
+    public void testNonJavaType() throws Exception {
+        assertThat(new TypePool.Platform(typePool).describe(FOO).isResolved(), is(false));
+        verifyNoMoreInteractions(typePool);
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        new TypePool.Platform(typePool).clear();
+        verify(typePool).clear();
+    }
+
+    @Test
+    public void testShared() throws Exception {
+        TypePool typePool = TypePool.Platform.shared(TypePool.Default.ReaderMode.FAST);
+        assertThat(TypePool.Platform.shared(TypePool.Default.ReaderMode.FAST), sameInstance(typePool));
+        assertThat(typePool.describe(Object.class.getName()).resolve().represents(Object.class), is(true));
+        assertThat(typePool.describe(Object.class.getName()), sameInstance(typePool.describe(Object.class.getName())));
+        assertThat(typePool.describe(TypePoolPlatformTest.class.getName()).isResolved(), is(false));
+    }
+
+    @Test
+    public void testSharedIsNotClearedByChild() throws Exception {
+        TypePool.Resolution resolution = TypePool.Platform.shared(TypePool.Default.ReaderMode.FAST).describe(Object.class.getName());
+        new TypePool.Default(TypePool.CacheProvider.NoOp.INSTANCE,
+                ClassFileLocator.NoOp.INSTANCE,
+                TypePool.Default.ReaderMode.FAST,
+                TypePool.Platform.shared(TypePool.Default.ReaderMode.FAST)).clear();
+        assertThat(TypePool.Platform.shared(TypePool.Default.ReaderMode.FAST).describe(Object.class.getName()), sameInstance(resolution));
+    }
+
+    @Test
+    public void testClearShared() throws Exception {
+        TypePool.Resolution resolution = TypePool.Platform.shared(TypePool.Default.ReaderMode.FAST).describe(Object.class.getName());
+        TypePool.Platform.clearShared();
+        TypePool.Resolution cleared = TypePool.Platform.shared(TypePool.Default.ReaderMode.FAST).describe(Object.class.getName());
+        assertThat(cleared == resolution, is(false));
+        assertThat(cleared.resolve().represents(Object.class), is(true));
+    }
+
+    @Test
+    public void testHierarchical() throws Exception {
+        TypePool typePool = new TypePool.Default(TypePool.CacheProvider.NoOp.INSTANCE,
+                ClassFileLocator.ForClassLoader.of(TypePoolPlatformTest.class.getClassLoader()),
+                TypePool.Default.ReaderMode.FAST,
+                TypePool.Platform.shared(TypePool.Default.ReaderMode.FAST));
+        assertThat(typePool.describe(String.class.getName()), sameInstance(TypePool.Platform.shared(TypePool.Default.ReaderMode.FAST).describe(String.class.getName())));
+        assertThat(typePool.describe(TypePoolPlatformTest.class.getName()).resolve().represents(TypePoolPlatformTest.class), is(true));
+    }
+}
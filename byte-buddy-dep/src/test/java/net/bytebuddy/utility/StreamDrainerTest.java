@@ -14,4 +14,34 @@ public class StreamDrainerTest {
         byte[] input = new byte[]{1, 2, 3, 4};
         assertThat(new StreamDrainer(1).drain(new ByteArrayInputStream(input)), is(input));
     }
+
+    @Test
+    public void testDrainageExactSize() throws Exception {
+        byte[] input = new byte[]{1, 2, 3, 4};
+        assertThat(new StreamDrainer(1).drain(new ByteArrayInputStream(input), input.length), is(input));
+    }
+
+    @Test
+    public void testDrainageUnderestimatedSize() throws Exception {
+        byte[] input = new byte[]{1, 2, 3, 4};
+        assertThat(new StreamDrainer(1).drain(new ByteArrayInputStream(input), 2), is(input));
+    }
+
+    @Test
+    public void testDrainageOverestimatedSize() throws Exception {
+        byte[] input = new byte[]{1, 2, 3, 4};
+        assertThat(new StreamDrainer(1).drain(new ByteArrayInputStream(input), 8), is(input));
+    }
+
+    @Test
+    public void testDrainageUnknownSize() throws Exception {
+        byte[] input = new byte[]{1, 2, 3, 4};
+        assertThat(new StreamDrainer(1).drain(new ByteArrayInputStream(input), 0), is(input));
+        assertThat(new StreamDrainer(1).drain(new ByteArrayInputStream(input), -1), is(input));
+    }
+
+    @Test
+    public void testDrainageEmpty() throws Exception {
+        assertThat(new StreamDrainer(1).drain(new ByteArrayInputStream(new byte[0])), is(new byte[0]));
+    }
 }